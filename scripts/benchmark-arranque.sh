@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Mide el tiempo hasta la primera respuesta HTTP y la memoria residente (RSS)
+# de la aplicación en cada modo de arranque, usando la base H2 en memoria.
+#
+# Uso: scripts/benchmark-arranque.sh [repeticiones]
+#
+# Modos:
+#   jar      java -jar con el jar empaquetado (fat jar).
+#   extraido jar extraído, sin AOT ni CDS.
+#   aot      jar extraído con el código AOT de Spring.
+#   aot-cds  jar extraído con AOT y el archivo AppCDS entrenado.
+#
+# Requiere haber construido antes el artefacto de arranque rápido:
+#   ./mvnw -Parranque-rapido package -DskipTests
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+REPETICIONES="${1:-5}"
+PUERTO="${PUERTO:-18081}"
+JAR="target/escuela-0.0.1-SNAPSHOT.jar"
+DIRECTORIO="target/arranque-rapido"
+URL="http://127.0.0.1:${PUERTO}/api/grados"
+
+if [[ ! -f "${DIRECTORIO}/escuela.jsa" ]]; then
+    echo "No existe ${DIRECTORIO}/escuela.jsa; ejecute ./mvnw -Parranque-rapido package -DskipTests" >&2
+    exit 1
+fi
+
+argumentos_modo() {
+    case "$1" in
+        jar)      echo "-jar ${JAR}" ;;
+        extraido) echo "-jar ${DIRECTORIO}/escuela-0.0.1-SNAPSHOT.jar" ;;
+        aot)      echo "-Dspring.aot.enabled=true -jar ${DIRECTORIO}/escuela-0.0.1-SNAPSHOT.jar" ;;
+        aot-cds)  echo "-XX:SharedArchiveFile=${DIRECTORIO}/escuela.jsa -Dspring.aot.enabled=true -jar ${DIRECTORIO}/escuela-0.0.1-SNAPSHOT.jar" ;;
+    esac
+}
+
+# Arranca la aplicación una vez y escribe "<milisegundos> <rss en KB>".
+medir() {
+    local inicio pid fin rss
+    inicio=$(date +%s%N)
+    # shellcheck disable=SC2046
+    java $(argumentos_modo "$1") --spring.profiles.active=h2 --server.port="${PUERTO}" \
+        --logging.level.root=WARN >/dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "${URL}"; do
+        if ! kill -0 "${pid}" 2>/dev/null; then
+            echo "La aplicación terminó antes de responder en modo $1" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    fin=$(date +%s%N)
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    echo "$(( (fin - inicio) / 1000000 )) ${rss}"
+}
+
+printf "%-10s %22s %18s\n" "modo" "primera respuesta (ms)" "RSS (MB)"
+for modo in jar extraido aot aot-cds; do
+    total_ms=0
+    total_rss=0
+    for ((i = 0; i < REPETICIONES; i++)); do
+        read -r ms rss < <(medir "${modo}")
+        total_ms=$((total_ms + ms))
+        total_rss=$((total_rss + rss))
+    done
+    printf "%-10s %22d %18d\n" "${modo}" $((total_ms / REPETICIONES)) $((total_rss / REPETICIONES / 1024))
+done
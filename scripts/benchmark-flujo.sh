@@ -0,0 +1,113 @@
+#!/usr/bin/env bash
+# Compara el listado bloqueante de calificaciones con el flujo reactivo (NDJSON)
+# cuando varios clientes lentos lo descargan a la vez, usando la base H2 en
+# memoria.
+#
+# Uso: scripts/benchmark-flujo.sh [clientes] [calificaciones]
+#
+# Para cada ruta se lanzan <clientes> descargas limitadas a LIMITE bytes por
+# segundo y, mientras duran, se mide la latencia de GET /api/alumnos/{id}. Con
+# el listado bloqueante cada cliente lento retiene una conexión JDBC hasta
+# terminar la respuesta (la sesión de JPA sigue abierta durante la vista), de
+# modo que con más clientes que conexiones las consultas cortas esperan; con el
+# flujo reactivo las filas se leen por R2DBC conforme el cliente las consume.
+#
+# Requiere haber construido antes el jar:
+#   ./mvnw package -DskipTests
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CLIENTES="${1:-20}"
+CALIFICACIONES="${2:-5000}"
+PUERTO="${PUERTO:-18082}"
+LIMITE="${LIMITE:-64k}"
+POOL="${POOL:-10}"
+SONDEOS="${SONDEOS:-50}"
+JAR="target/escuela-0.0.1-SNAPSHOT.jar"
+BASE="http://127.0.0.1:${PUERTO}/api"
+TEMPORAL="$(mktemp -d)"
+
+if [[ ! -f "${JAR}" ]]; then
+    echo "No existe ${JAR}; ejecute ./mvnw package -DskipTests" >&2
+    exit 1
+fi
+
+java -jar "${JAR}" --spring.profiles.active=h2 --server.port="${PUERTO}" --logging.level.root=WARN \
+    --escuela.reactivo.habilitado=true \
+    --spring.datasource.hikari.maximum-pool-size="${POOL}" \
+    --escuela.admision.listado.concurrencia=1000 --escuela.admision.listado.rafaga=1000 \
+    --escuela.admision.flujo.concurrencia=1000 --escuela.admision.flujo.rafaga=1000 \
+    --escuela.admision.escritura.fichas-por-segundo=100000 --escuela.admision.escritura.rafaga=100000 \
+    --escuela.admision.escritura.concurrencia=1000 \
+    --escuela.admision.consulta.fichas-por-segundo=100000 --escuela.admision.consulta.rafaga=100000 \
+    >"${TEMPORAL}/aplicacion.log" 2>&1 &
+PID=$!
+trap 'kill "${PID}" 2>/dev/null || true; wait "${PID}" 2>/dev/null || true; rm -rf "${TEMPORAL}"' EXIT
+
+until curl -sf -o /dev/null "${BASE}/grados"; do
+    if ! kill -0 "${PID}" 2>/dev/null; then
+        echo "La aplicación terminó antes de responder; ver ${TEMPORAL}/aplicacion.log" >&2
+        cat "${TEMPORAL}/aplicacion.log" >&2
+        exit 1
+    fi
+    sleep 0.2
+done
+
+# Siembra: un grado, 50 asignaturas y los alumnos necesarios para llegar al
+# número de calificaciones pedido.
+publicar() {
+    curl -sf -H 'Content-Type: application/json' -d "$2" "${BASE}/$1"
+}
+extraer_id() {
+    grep -o '^{"id":[0-9]*' | cut -d: -f2
+}
+ASIGNATURAS=50
+ALUMNOS=$(( (CALIFICACIONES + ASIGNATURAS - 1) / ASIGNATURAS ))
+ID_GRADO=$(publicar grados '{"nombre_grado":"BF"}' | extraer_id)
+for ((i = 0; i < ASIGNATURAS; i++)); do
+    publicar asignaturas "{\"nombre\":\"Asignatura ${i}\",\"id_grado\":${ID_GRADO}}" | extraer_id
+done >"${TEMPORAL}/asignaturas"
+for ((i = 0; i < ALUMNOS; i++)); do
+    publicar alumnos "{\"matricula\":\"BF${i}\",\"nombre\":\"Alumno ${i}\",\"correoElectronico\":\"bf${i}@escuela.mx\",\"id_grado\":${ID_GRADO}}" | extraer_id
+done >"${TEMPORAL}/alumnos"
+total=0
+while read -r alumno && ((total < CALIFICACIONES)); do
+    while read -r asignatura && ((total < CALIFICACIONES)); do
+        ((total == 0)) || echo "next"
+        printf 'url = "%s/calificaciones"\nheader = "Content-Type: application/json"\ndata = "{\\"id_alumno\\":%s,\\"id_asignatura\\":%s,\\"calificacion\\":%s}"\noutput = "/dev/null"\n' \
+            "${BASE}" "${alumno}" "${asignatura}" $((total % 101))
+        total=$((total + 1))
+    done <"${TEMPORAL}/asignaturas"
+done <"${TEMPORAL}/alumnos" >"${TEMPORAL}/calificaciones.curl"
+curl -sf --no-progress-meter --parallel --parallel-max 16 -K "${TEMPORAL}/calificaciones.curl"
+ID_ALUMNO=$(head -1 "${TEMPORAL}/alumnos")
+
+# Lanza los clientes lentos contra la ruta y sondea la consulta por id mientras
+# descargan. Escribe "<ms cliente promedio> <ms sondeo p50> <ms sondeo máx>".
+medir() {
+    local ruta="$1" aceptar="$2" pids=() inicio fin
+    inicio=$(date +%s%N)
+    for ((c = 0; c < CLIENTES; c++)); do
+        curl -sf -o /dev/null -H "Accept: ${aceptar}" --limit-rate "${LIMITE}" "${BASE}/${ruta}" &
+        pids+=($!)
+    done
+    sleep 1
+    for ((s = 0; s < SONDEOS; s++)); do
+        curl -sf -o /dev/null -w '%{time_total}\n' "${BASE}/alumnos/${ID_ALUMNO}"
+    done | awk '{print $1 * 1000}' | sort -n >"${TEMPORAL}/sondeos"
+    for pid in "${pids[@]}"; do
+        wait "${pid}"
+    done
+    fin=$(date +%s%N)
+    awk -v total=$(( (fin - inicio) / 1000000 )) -v n="$(wc -l <"${TEMPORAL}/sondeos")" \
+        'NR == int((n + 1) / 2) {p50 = $1} {max = $1} END {printf "%d %.1f %.1f\n", total, p50, max}' \
+        "${TEMPORAL}/sondeos"
+}
+
+echo "${CALIFICACIONES} calificaciones, ${CLIENTES} clientes a ${LIMITE}/s, pool JDBC de ${POOL}"
+printf "%-12s %18s %20s %20s\n" "ruta" "clientes (ms)" "sondeo p50 (ms)" "sondeo máx (ms)"
+read -r total p50 max < <(medir "calificaciones" "application/json")
+printf "%-12s %18d %20.1f %20.1f\n" "bloqueante" "${total}" "${p50}" "${max}"
+read -r total p50 max < <(medir "calificaciones/flujo" "application/x-ndjson")
+printf "%-12s %18d %20.1f %20.1f\n" "flujo" "${total}" "${p50}" "${max}"
@@ -0,0 +1,93 @@
+#!/usr/bin/env bash
+# Compara la imagen nativa con la JVM usando la base H2 en memoria: tiempo hasta
+# la primera respuesta HTTP, memoria residente en reposo y rendimiento sostenido
+# (solicitudes por segundo a GET /api/alumnos/{id}/kardex).
+#
+# Uso: scripts/benchmark-nativo.sh [solicitudes] [concurrencia]
+#
+# Requiere Linux y haber construido ambos artefactos:
+#   ./mvnw package -DskipTests                   (target/escuela-0.0.1-SNAPSHOT.jar)
+#   ./mvnw -Pnative native:compile -DskipTests   (target/escuela, requiere GraalVM)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+SOLICITUDES="${1:-20000}"
+CONCURRENCIA="${2:-8}"
+REPOSO_SEGUNDOS="${REPOSO_SEGUNDOS:-10}"
+PUERTO="${PUERTO:-18082}"
+BASE="http://127.0.0.1:${PUERTO}/api"
+JAR="target/escuela-0.0.1-SNAPSHOT.jar"
+NATIVO="target/escuela"
+
+for artefacto in "${JAR}" "${NATIVO}"; do
+    if [[ ! -e "${artefacto}" ]]; then
+        echo "No existe ${artefacto}; construya los artefactos antes de medir" >&2
+        exit 1
+    fi
+done
+
+comando_modo() {
+    case "$1" in
+        jvm)    echo "java -jar ${JAR}" ;;
+        nativo) echo "${NATIVO}" ;;
+    esac
+}
+
+rss_mb() {
+    awk '/VmRSS/ {printf "%d", $2 / 1024}' "/proc/$1/status"
+}
+
+# Crea un grado, tres asignaturas y un alumno con sus calificaciones.
+sembrar() {
+    local json='Content-Type: application/json'
+    curl -sf -o /dev/null -H "${json}" -d '{"nombre_grado":"1A"}' "${BASE}/grados"
+    curl -sf -o /dev/null -H "${json}" -d '{"matricula":"B1","nombre":"Alumno","correoElectronico":"b1@escuela.mx","id_grado":1}' "${BASE}/alumnos"
+    for i in 1 2 3; do
+        curl -sf -o /dev/null -H "${json}" -d "{\"nombre\":\"Asignatura ${i}\",\"id_grado\":1}" "${BASE}/asignaturas"
+        curl -sf -o /dev/null -H "${json}" -d "{\"id_alumno\":1,\"id_asignatura\":${i},\"calificacion\":9${i}}" "${BASE}/calificaciones"
+    done
+}
+
+# Envía solicitudes con conexiones persistentes y escribe las solicitudes por segundo.
+carga() {
+    local total=$1 config inicio fin
+    config=$(mktemp)
+    for ((i = 0; i < total; i++)); do
+        printf 'url = "%s/alumnos/1/kardex"\noutput = "/dev/null"\n' "${BASE}"
+    done > "${config}"
+    inicio=$(date +%s%N)
+    curl -s --no-progress-meter --parallel --parallel-max "${CONCURRENCIA}" -K "${config}"
+    fin=$(date +%s%N)
+    rm -f "${config}"
+    echo $(( total * 1000000000 / (fin - inicio) ))
+}
+
+printf "%-8s %22s %16s %16s %14s\n" "modo" "primera respuesta (ms)" "RSS reposo (MB)" "RSS carga (MB)" "solicitudes/s"
+for modo in jvm nativo; do
+    inicio=$(date +%s%N)
+    # shellcheck disable=SC2046
+    $(comando_modo "${modo}") --spring.profiles.active=h2 --server.port="${PUERTO}" \
+        --logging.level.root=WARN >/dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "${BASE}/grados"; do
+        if ! kill -0 "${pid}" 2>/dev/null; then
+            echo "La aplicación terminó antes de responder en modo ${modo}" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    arranque=$(( ($(date +%s%N) - inicio) / 1000000 ))
+
+    sembrar
+    sleep "${REPOSO_SEGUNDOS}"
+    reposo=$(rss_mb "${pid}")
+
+    carga $(( SOLICITUDES / 5 )) > /dev/null
+    rendimiento=$(carga "${SOLICITUDES}")
+    bajo_carga=$(rss_mb "${pid}")
+
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    printf "%-8s %22d %16d %16d %14d\n" "${modo}" "${arranque}" "${reposo}" "${bajo_carga}" "${rendimiento}"
+done
@@ -0,0 +1,30 @@
+package com.example.dto;
+
+import com.example.escuela.model.Puntaje;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) que confirma la aceptación de una calificación en
+ * modo de escritura diferida.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>secuencia - Secuencia asignada en el diario local.</li>
+ *   <li>id_alumno - Identificador del alumno.</li>
+ *   <li>id_asignatura - Identificador de la asignatura.</li>
+ *   <li>calificacion - Calificación aceptada.</li>
+ * </ul>
+ */
+@Data
+public class AcuseCalificacionDTO {
+    private Long secuencia;
+    private Integer id_alumno;
+    private Integer id_asignatura;
+    private Puntaje calificacion;
+
+    /**
+     * Constructor por defecto para la clase AcuseCalificacionDTO.
+     */
+    public AcuseCalificacionDTO() {
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.dto;
 
+import com.example.escuela.model.Puntaje;
 import lombok.Data;
 
 /**
@@ -17,7 +18,7 @@ import lombok.Data;
 public class CalificacionDTO {
     private Integer id_alumno;
     private Integer id_asignatura;
-    private Float calificacion;
+    private Puntaje calificacion;
     
     /**
      * Constructor por defecto para la clase CalificacionDTO.
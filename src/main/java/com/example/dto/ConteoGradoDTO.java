@@ -0,0 +1,20 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con el número de alumnos de un grado.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>idGrado - Identificador del grado.</li>
+ *   <li>alumnos - Número de alumnos inscritos en el grado.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class ConteoGradoDTO {
+    private Integer idGrado;
+    private Long alumnos;
+}
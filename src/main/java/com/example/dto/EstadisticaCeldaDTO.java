@@ -0,0 +1,44 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con las estadísticas de las calificaciones de una
+ * asignatura entre los alumnos de un grado. Los percentiles tienen una
+ * resolución de una décima de punto.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>idGrado - Identificador del grado de los alumnos.</li>
+ *   <li>idAsignatura - Identificador de la asignatura.</li>
+ *   <li>calificaciones - Número de calificaciones.</li>
+ *   <li>promedio - Promedio de las calificaciones.</li>
+ *   <li>minima - Calificación más baja.</li>
+ *   <li>maxima - Calificación más alta.</li>
+ *   <li>percentil10 - Percentil 10.</li>
+ *   <li>percentil25 - Percentil 25.</li>
+ *   <li>mediana - Percentil 50.</li>
+ *   <li>percentil75 - Percentil 75.</li>
+ *   <li>percentil90 - Percentil 90.</li>
+ *   <li>reprobadas - Calificaciones menores a la aprobatoria.</li>
+ *   <li>tasaReprobacion - reprobadas / calificaciones.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class EstadisticaCeldaDTO {
+    private Integer idGrado;
+    private Integer idAsignatura;
+    private long calificaciones;
+    private double promedio;
+    private double minima;
+    private double maxima;
+    private double percentil10;
+    private double percentil25;
+    private double mediana;
+    private double percentil75;
+    private double percentil90;
+    private long reprobadas;
+    private double tasaReprobacion;
+}
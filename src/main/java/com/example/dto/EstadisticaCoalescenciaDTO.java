@@ -0,0 +1,29 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con las estadísticas de coalescencia de lecturas
+ * de un método de servicio.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>metodo - Nombre del método en la configuración.</li>
+ *   <li>habilitado - Si las lecturas concurrentes idénticas se comparten.</li>
+ *   <li>solicitudes - Llamadas recibidas.</li>
+ *   <li>ejecuciones - Llamadas que consultaron la base de datos.</li>
+ *   <li>compartidas - Llamadas que recibieron el resultado de otra en curso.</li>
+ *   <li>razonCoalescencia - compartidas / solicitudes, o 0 sin solicitudes.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class EstadisticaCoalescenciaDTO {
+    private String metodo;
+    private boolean habilitado;
+    private long solicitudes;
+    private long ejecuciones;
+    private long compartidas;
+    private double razonCoalescencia;
+}
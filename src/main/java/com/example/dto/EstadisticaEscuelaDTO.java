@@ -0,0 +1,33 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con las solicitudes y el uso del pool de
+ * conexiones de una escuela.
+ *
+ * Fields:
+ * <ul>
+ *   <li>escuela - Identificador de la escuela.</li>
+ *   <li>predeterminada - Si atiende las solicitudes que no indican escuela.</li>
+ *   <li>solicitudes - Solicitudes atendidas.</li>
+ *   <li>errores - Solicitudes que terminaron con un estado 5xx.</li>
+ *   <li>poolMaximo - Conexiones máximas del pool de la escuela.</li>
+ *   <li>conexionesActivas - Conexiones prestadas en este momento.</li>
+ *   <li>conexionesInactivas - Conexiones abiertas y libres.</li>
+ *   <li>hilosEnEspera - Hilos esperando una conexión del pool.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class EstadisticaEscuelaDTO {
+    private String escuela;
+    private boolean predeterminada;
+    private long solicitudes;
+    private long errores;
+    private int poolMaximo;
+    private int conexionesActivas;
+    private int conexionesInactivas;
+    private int hilosEnEspera;
+}
@@ -0,0 +1,27 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con las estadísticas de una región de la caché de
+ * segundo nivel.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>region - Nombre de la región.</li>
+ *   <li>aciertos - Lecturas resueltas desde la caché.</li>
+ *   <li>fallos - Lecturas que tuvieron que ir a la base de datos.</li>
+ *   <li>escrituras - Entradas guardadas en la caché.</li>
+ *   <li>entradasEnMemoria - Entradas actuales de la región, o -1 si no se conoce.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class EstadisticaRegionCacheDTO {
+    private String region;
+    private long aciertos;
+    private long fallos;
+    private long escrituras;
+    private long entradasEnMemoria;
+}
@@ -0,0 +1,31 @@
+package com.example.dto;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con el estado de la escritura diferida de
+ * calificaciones.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>habilitada - Indica si el modo de escritura diferida está activo.</li>
+ *   <li>pendientes - Calificaciones aceptadas que aún no se escriben en la base de datos.</li>
+ *   <li>ultimaSecuencia - Última secuencia aceptada en el diario.</li>
+ *   <li>secuenciaConfirmada - Última secuencia escrita en la base de datos.</li>
+ *   <li>retrasoMs - Antigüedad en milisegundos de la calificación pendiente más antigua.</li>
+ * </ul>
+ */
+@Data
+public class EstadoEscrituraDiferidaDTO {
+    private boolean habilitada;
+    private int pendientes;
+    private long ultimaSecuencia;
+    private long secuenciaConfirmada;
+    private long retrasoMs;
+
+    /**
+     * Constructor por defecto para la clase EstadoEscrituraDiferidaDTO.
+     */
+    public EstadoEscrituraDiferidaDTO() {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) con el estado de la instantánea columnar de
+ * calificaciones.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>habilitada - Si la instantánea se genera periódicamente.</li>
+ *   <li>filas - Calificaciones incluidas, o 0 si aún no hay instantánea.</li>
+ *   <li>bytes - Tamaño del archivo.</li>
+ *   <li>generada - Momento en que se generó, o null si aún no hay.</li>
+ *   <li>duracionMs - Duración de la última generación.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class EstadoInstantaneaDTO {
+    private boolean habilitada;
+    private int filas;
+    private long bytes;
+    private Instant generada;
+    private long duracionMs;
+}
@@ -0,0 +1,27 @@
+package com.example.dto;
+
+import com.example.escuela.model.Puntaje;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con el grado de un alumno y su calificación actual
+ * en una asignatura, sin cargar las entidades relacionadas.
+ * Se utiliza para validar en una sola consulta las calificaciones de un grupo.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>idAlumno - Identificador del alumno.</li>
+ *   <li>idGrado - Identificador del grado del alumno.</li>
+ *   <li>idCalificacion - Identificador de la calificación, o null si el alumno no tiene una.</li>
+ *   <li>calificacion - Calificación actual, o null si el alumno no tiene una.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class FilaAlumnoAsignaturaDTO {
+    private Integer idAlumno;
+    private Integer idGrado;
+    private Integer idCalificacion;
+    private Puntaje calificacion;
+}
@@ -0,0 +1,28 @@
+package com.example.dto;
+
+import com.example.escuela.model.Puntaje;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con los identificadores y el valor de una
+ * calificación, sin cargar las entidades relacionadas.
+ * Se utiliza para reconstruir las estructuras en memoria a partir de la base de
+ * datos.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>idAlumno - Identificador del alumno.</li>
+ *   <li>idGrado - Identificador del grado del alumno.</li>
+ *   <li>idAsignatura - Identificador de la asignatura.</li>
+ *   <li>calificacion - Calificación obtenida.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class FilaCalificacionDTO {
+    private Integer idAlumno;
+    private Integer idGrado;
+    private Integer idAsignatura;
+    private Puntaje calificacion;
+}
@@ -0,0 +1,30 @@
+package com.example.dto;
+
+import com.example.escuela.model.Puntaje;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con una calificación guardada y el grado de su
+ * alumno, sin cargar las entidades relacionadas.
+ * Se utiliza para escribir en una sola sentencia las calificaciones diferidas
+ * de varios alumnos y asignaturas.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>idCalificacion - Identificador de la calificación.</li>
+ *   <li>idAlumno - Identificador del alumno.</li>
+ *   <li>idGrado - Identificador del grado del alumno.</li>
+ *   <li>idAsignatura - Identificador de la asignatura.</li>
+ *   <li>calificacion - Calificación guardada.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class FilaCalificacionGuardadaDTO {
+    private Integer idCalificacion;
+    private Integer idAlumno;
+    private Integer idGrado;
+    private Integer idAsignatura;
+    private Puntaje calificacion;
+}
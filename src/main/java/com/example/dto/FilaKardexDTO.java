@@ -0,0 +1,31 @@
+package com.example.dto;
+
+import com.example.escuela.model.Puntaje;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con una fila de la consulta del kardex: los datos
+ * del alumno y su grado junto con una de sus calificaciones. Si el alumno no
+ * tiene calificaciones, los campos de la calificación son nulos.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>idAlumno, matricula, nombre - Datos del alumno.</li>
+ *   <li>idGrado, nombreGrado - Grado del alumno.</li>
+ *   <li>idCalificacion, idAsignatura, nombreAsignatura, calificacion - Calificación de la fila.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class FilaKardexDTO {
+    private Integer idAlumno;
+    private String matricula;
+    private String nombre;
+    private Integer idGrado;
+    private String nombreGrado;
+    private Integer idCalificacion;
+    private Integer idAsignatura;
+    private String nombreAsignatura;
+    private Puntaje calificacion;
+}
@@ -0,0 +1,40 @@
+package com.example.dto;
+
+import com.example.escuela.model.Puntaje;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) con el kardex de un alumno: sus datos, su grado,
+ * sus calificaciones por materia y su promedio.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>id_alumno - Identificador del alumno.</li>
+ *   <li>matricula - Matrícula del alumno.</li>
+ *   <li>nombre - Nombre completo del alumno.</li>
+ *   <li>id_grado - Identificador del grado del alumno.</li>
+ *   <li>grado - Nombre del grado del alumno.</li>
+ *   <li>materias - Calificaciones del alumno por asignatura.</li>
+ *   <li>promedio - Promedio de las calificaciones redondeado a centésimas, o
+ *   null si no tiene.</li>
+ * </ul>
+ */
+@Data
+public class KardexDTO {
+    private Integer id_alumno;
+    private String matricula;
+    private String nombre;
+    private Integer id_grado;
+    private String grado;
+    private List<MateriaKardexDTO> materias = new ArrayList<>();
+    private Puntaje promedio;
+
+    /**
+     * Constructor por defecto para la clase KardexDTO.
+     */
+    public KardexDTO() {
+    }
+}
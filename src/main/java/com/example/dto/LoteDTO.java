@@ -0,0 +1,61 @@
+package com.example.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Data Transfer Object (DTO) con el resultado de una consulta por lote de ids.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>encontrados - Elementos encontrados por id, en el orden solicitado.</li>
+ *   <li>faltantes - Ids solicitados que no existen.</li>
+ * </ul>
+ *
+ * @param <T> Tipo de los elementos del lote.
+ */
+@Data
+public class LoteDTO<T> {
+    private Map<Integer, T> encontrados;
+    private List<Integer> faltantes;
+
+    /**
+     * Constructor por defecto para la clase LoteDTO.
+     */
+    public LoteDTO() {
+    }
+
+    /**
+     * Crea el DTO ordenando los elementos según los ids solicitados.
+     *
+     * @param ids       Ids solicitados, sin repetir.
+     * @param elementos Elementos obtenidos del repositorio en cualquier orden.
+     * @param id        Función que obtiene el id de un elemento.
+     * @param <T>       Tipo de los elementos del lote.
+     * @return El DTO con los elementos encontrados y los ids faltantes.
+     */
+    public static <T> LoteDTO<T> de(Collection<Integer> ids, List<T> elementos, Function<T, Integer> id) {
+        Map<Integer, T> porId = new LinkedHashMap<>();
+        for (T elemento : elementos) {
+            porId.put(id.apply(elemento), elemento);
+        }
+        LoteDTO<T> dto = new LoteDTO<>();
+        dto.setEncontrados(new LinkedHashMap<>());
+        dto.setFaltantes(new ArrayList<>());
+        for (Integer solicitado : ids) {
+            T elemento = porId.get(solicitado);
+            if (elemento != null) {
+                dto.getEncontrados().put(solicitado, elemento);
+            } else {
+                dto.getFaltantes().add(solicitado);
+            }
+        }
+        return dto;
+    }
+}
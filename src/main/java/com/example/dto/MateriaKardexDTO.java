@@ -0,0 +1,25 @@
+package com.example.dto;
+
+import com.example.escuela.model.Puntaje;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con una materia del kardex de un alumno.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>id_calificacion - Identificador de la calificación.</li>
+ *   <li>id_asignatura - Identificador de la asignatura.</li>
+ *   <li>asignatura - Nombre de la asignatura.</li>
+ *   <li>calificacion - Calificación obtenida.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class MateriaKardexDTO {
+    private Integer id_calificacion;
+    private Integer id_asignatura;
+    private String asignatura;
+    private Puntaje calificacion;
+}
@@ -0,0 +1,52 @@
+package com.example.dto;
+
+import lombok.Data;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) con una página de resultados.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>contenido - Elementos de la página.</li>
+ *   <li>pagina - Número de página, empezando en 0.</li>
+ *   <li>tamanio - Tamaño de página solicitado.</li>
+ *   <li>totalElementos - Total de elementos en todas las páginas.</li>
+ *   <li>totalPaginas - Total de páginas.</li>
+ * </ul>
+ *
+ * @param <T> Tipo de los elementos de la página.
+ */
+@Data
+public class PaginaDTO<T> {
+    private List<T> contenido;
+    private int pagina;
+    private int tamanio;
+    private long totalElementos;
+    private int totalPaginas;
+
+    /**
+     * Constructor por defecto para la clase PaginaDTO.
+     */
+    public PaginaDTO() {
+    }
+
+    /**
+     * Crea el DTO a partir de una página de Spring Data.
+     *
+     * @param pagina Página obtenida del repositorio.
+     * @param <T>    Tipo de los elementos de la página.
+     * @return El DTO con el contenido y los datos de paginación.
+     */
+    public static <T> PaginaDTO<T> de(Page<T> pagina) {
+        PaginaDTO<T> dto = new PaginaDTO<>();
+        dto.setContenido(pagina.getContent());
+        dto.setPagina(pagina.getNumber());
+        dto.setTamanio(pagina.getSize());
+        dto.setTotalElementos(pagina.getTotalElements());
+        dto.setTotalPaginas(pagina.getTotalPages());
+        return dto;
+    }
+}
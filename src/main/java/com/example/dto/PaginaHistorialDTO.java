@@ -0,0 +1,24 @@
+package com.example.dto;
+
+import com.example.escuela.model.CambioCalificacion;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) con una página del historial de cambios de una
+ * calificación.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>contenido - Cambios de la página, del más reciente al más antiguo.</li>
+ *   <li>siguiente - Valor del parámetro antes para pedir la página siguiente, o null si no hay más cambios.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class PaginaHistorialDTO {
+    private List<CambioCalificacion> contenido;
+    private Long siguiente;
+}
@@ -0,0 +1,27 @@
+package com.example.dto;
+
+import com.example.escuela.model.Puntaje;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con la posición de un alumno en un ranking.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>posicion - Lugar del alumno en el ranking, empezando en 1.</li>
+ *   <li>total - Número de alumnos en el ranking.</li>
+ *   <li>id_alumno - Identificador del alumno.</li>
+ *   <li>calificacion - Calificación con la que se ordena el ranking.</li>
+ *   <li>promedio - Promedio general del alumno, usado para desempatar.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class PosicionRankingDTO {
+    private int posicion;
+    private int total;
+    private Integer id_alumno;
+    private Puntaje calificacion;
+    private double promedio;
+}
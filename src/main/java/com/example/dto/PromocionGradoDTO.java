@@ -0,0 +1,27 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con la promoción de los alumnos de un grado a
+ * otro.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>idGradoOrigen - Identificador del grado actual de los alumnos.</li>
+ *   <li>gradoOrigen - Nombre del grado actual.</li>
+ *   <li>idGradoDestino - Identificador del grado al que pasan.</li>
+ *   <li>gradoDestino - Nombre del grado al que pasan.</li>
+ *   <li>alumnos - Número de alumnos que pasan de un grado al otro.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class PromocionGradoDTO {
+    private Integer idGradoOrigen;
+    private String gradoOrigen;
+    private Integer idGradoDestino;
+    private String gradoDestino;
+    private long alumnos;
+}
@@ -0,0 +1,30 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) con el reporte de estadísticas de fin de periodo:
+ * una entrada por cada combinación de grado y asignatura.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>generado - Momento en que se calculó.</li>
+ *   <li>duracionMs - Duración del cálculo.</li>
+ *   <li>paralelismo - Hilos del pool con que se calculó.</li>
+ *   <li>calificaciones - Calificaciones consideradas.</li>
+ *   <li>celdas - Estadísticas ordenadas por grado y asignatura.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class ReporteEstadisticasDTO {
+    private Instant generado;
+    private long duracionMs;
+    private int paralelismo;
+    private long calificaciones;
+    private List<EstadisticaCeldaDTO> celdas;
+}
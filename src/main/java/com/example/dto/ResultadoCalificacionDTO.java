@@ -0,0 +1,56 @@
+package com.example.dto;
+
+import com.example.escuela.model.Puntaje;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con el resultado de la calificación de un alumno
+ * al calificar a todo un grupo en una asignatura.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>id_alumno - Identificador del alumno.</li>
+ *   <li>resultado - CREADA, ACTUALIZADA, SIN_CAMBIO o RECHAZADA.</li>
+ *   <li>id_calificacion - Identificador de la calificación, o null si se rechazó.</li>
+ *   <li>anterior - Calificación antes del cambio, o null si no tenía.</li>
+ *   <li>calificacion - Calificación enviada.</li>
+ *   <li>mensaje - Motivo del rechazo, o null.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class ResultadoCalificacionDTO {
+
+    /**
+     * Resultado de la calificación de un alumno.
+     */
+    public enum Resultado {
+        /**
+         * El alumno no tenía calificación y se asignó.
+         */
+        CREADA,
+
+        /**
+         * Se cambió la calificación del alumno.
+         */
+        ACTUALIZADA,
+
+        /**
+         * El alumno ya tenía la calificación enviada.
+         */
+        SIN_CAMBIO,
+
+        /**
+         * No se calificó al alumno; el motivo está en el mensaje.
+         */
+        RECHAZADA
+    }
+
+    private Integer id_alumno;
+    private Resultado resultado;
+    private Integer id_calificacion;
+    private Puntaje anterior;
+    private Puntaje calificacion;
+    private String mensaje;
+}
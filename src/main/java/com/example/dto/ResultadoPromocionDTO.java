@@ -0,0 +1,25 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) con el resultado de promover de grado a los
+ * alumnos de varios grados.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>simulada - Indica si sólo se contaron los alumnos sin cambiarlos de grado.</li>
+ *   <li>alumnos - Total de alumnos que cambian de grado.</li>
+ *   <li>grados - Promoción de cada grado, en el orden recibido.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class ResultadoPromocionDTO {
+    private boolean simulada;
+    private long alumnos;
+    private List<PromocionGradoDTO> grados;
+}
@@ -0,0 +1,33 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) con el resumen analítico de las calificaciones de
+ * un grupo de calificaciones, calculado sobre la instantánea columnar o sobre
+ * la tabla analítica en memoria.
+ * 
+ * Fields:
+ * <ul>
+ *   <li>id - Identificador del grupo (grado, asignatura o alumno); null en un
+ *   total sin agrupar.</li>
+ *   <li>calificaciones - Número de calificaciones.</li>
+ *   <li>promedio - Promedio de las calificaciones.</li>
+ *   <li>minima - Calificación más baja.</li>
+ *   <li>maxima - Calificación más alta.</li>
+ *   <li>reprobadas - Calificaciones menores a la aprobatoria.</li>
+ *   <li>tasaReprobacion - reprobadas / calificaciones.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class ResumenAnaliticoDTO {
+    private Integer id;
+    private long calificaciones;
+    private double promedio;
+    private double minima;
+    private double maxima;
+    private long reprobadas;
+    private double tasaReprobacion;
+}
@@ -1,14 +1,21 @@
 package com.example.escuela;
 
+import com.example.escuela.config.EscuelaRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Clase principal de la aplicación Escuela.
  * Esta clase inicia la aplicación Spring Boot.
  * Utiliza la anotación @SpringBootApplication para habilitar la configuración automática y el escaneo de componentes.
+ * La anotación @EnableScheduling habilita las tareas programadas en segundo plano.
+ * La anotación @ImportRuntimeHints registra las pistas necesarias para compilar la imagen nativa.
  */
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(EscuelaRuntimeHints.class)
 public class EscuelaApplication {
 
 	/**
@@ -0,0 +1,23 @@
+package com.example.escuela.admision;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indica la clase de un endpoint para el control de admisión. Los métodos sin
+ * esta anotación son {@link ClaseEndpoint#CONSULTA} si responden a GET y
+ * {@link ClaseEndpoint#ESCRITURA} en otro caso.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Admision {
+
+    /**
+     * @return Clase del endpoint.
+     */
+    ClaseEndpoint value();
+}
@@ -0,0 +1,90 @@
+package com.example.escuela.admision;
+
+/**
+ * Clases de endpoints para el control de admisión. Cada clase tiene su propio
+ * límite de solicitudes por segundo (por endpoint y cliente) y su propio límite
+ * de solicitudes concurrentes, de modo que las consultas costosas no agoten las
+ * conexiones del pool que necesitan las escrituras.
+ *
+ * Los valores de cada clase se configuran con
+ * escuela.admision.&lt;propiedad&gt;.{fichas-por-segundo,rafaga,concurrencia}; los
+ * valores de este enum son los predeterminados.
+ */
+public enum ClaseEndpoint {
+
+    /**
+     * Consultas de un solo registro por id. Es la clase predeterminada de los GET.
+     */
+    CONSULTA("consulta", 100, 200, 8),
+
+    /**
+     * Listados completos o por grado, alumno o asignatura.
+     */
+    LISTADO("listado", 20, 40, 4),
+
+    /**
+     * Consultas que agregan datos de varias tablas, como el kardex.
+     */
+    AGREGADO("agregado", 10, 20, 2),
+
+    /**
+     * Altas, cambios y bajas. Es la clase predeterminada de los métodos distintos
+     * de GET.
+     */
+    ESCRITURA("escritura", 50, 100, 8),
+
+    /**
+     * Listados entregados como flujo reactivo. No ocupan una conexión JDBC, pero
+     * sí un hilo del servidor y una conexión del pool de R2DBC mientras el
+     * cliente descarga, por lo que su concurrencia predeterminada es
+     * escuela.reactivo.pool.maximo.
+     */
+    FLUJO("flujo", 20, 40, 10),
+
+    /**
+     * Suscripciones a eventos (SSE). Cada una ocupa un lugar de concurrencia
+     * mientras está abierta, por lo que este límite es el número máximo de
+     * suscriptores.
+     */
+    SUSCRIPCION("suscripcion", 5, 20, 256);
+
+    private final String propiedad;
+    private final double fichasPorSegundo;
+    private final int rafaga;
+    private final int concurrencia;
+
+    ClaseEndpoint(String propiedad, double fichasPorSegundo, int rafaga, int concurrencia) {
+        this.propiedad = propiedad;
+        this.fichasPorSegundo = fichasPorSegundo;
+        this.rafaga = rafaga;
+        this.concurrencia = concurrencia;
+    }
+
+    /**
+     * @return Nombre de la clase en las propiedades de configuración.
+     */
+    public String getPropiedad() {
+        return propiedad;
+    }
+
+    /**
+     * @return Fichas que recupera por segundo la cubeta de cada endpoint y cliente.
+     */
+    public double getFichasPorSegundo() {
+        return fichasPorSegundo;
+    }
+
+    /**
+     * @return Capacidad de la cubeta, es decir, solicitudes seguidas permitidas.
+     */
+    public int getRafaga() {
+        return rafaga;
+    }
+
+    /**
+     * @return Solicitudes de esta clase que pueden atenderse a la vez.
+     */
+    public int getConcurrencia() {
+        return concurrencia;
+    }
+}
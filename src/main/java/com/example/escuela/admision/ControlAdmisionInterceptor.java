@@ -0,0 +1,201 @@
+package com.example.escuela.admision;
+
+import com.example.escuela.excepciones.AdmisionExcepcion;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Control de admisión de las solicitudes a la API.
+ *
+ * Antes de llegar al controlador, cada solicitud debe:
+ * <ul>
+ *   <li>Obtener una ficha de la cubeta de su endpoint y cliente, que se recarga
+ *   a la tasa de la clase del endpoint.</li>
+ *   <li>Obtener un permiso del semáforo de la clase del endpoint, que limita
+ *   cuántas solicitudes de la clase se atienden a la vez.</li>
+ * </ul>
+ * Si alguna de las dos falla se lanza {@link AdmisionExcepcion} de inmediato,
+ * que se responde con 429 y Retry-After, en lugar de esperar en cola a que el
+ * pool de conexiones agote su tiempo de espera. El permiso se libera al
+ * terminar la solicitud.
+ *
+ * El cliente es la dirección remota o, si se configura
+ * escuela.admision.cabecera-cliente, el primer valor de esa cabecera (por
+ * ejemplo X-Forwarded-For detrás de un proxy).
+ *
+ * Anotaciones:
+ * - @Component: Indica que esta clase es un componente de Spring.
+ * - @ConditionalOnProperty: Sólo se activa si escuela.admision.habilitada es true;
+ * está deshabilitado por defecto porque los límites dependen del pool de
+ * conexiones y de la carga medida de cada instalación.
+ */
+@Component
+@ConditionalOnProperty(name = "escuela.admision.habilitada", havingValue = "true")
+public class ControlAdmisionInterceptor implements HandlerInterceptor {
+
+    /**
+     * Atributo de la solicitud con la clase cuyo permiso se obtuvo.
+     */
+    static final String ATRIBUTO_CLASE = ControlAdmisionInterceptor.class.getName() + ".clase";
+
+    private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+
+    /**
+     * Entorno para leer los límites de cada clase.
+     */
+    @Autowired
+    private Environment entorno;
+
+    /**
+     * Cabecera que identifica al cliente; vacía para usar la dirección remota.
+     */
+    @Value("${escuela.admision.cabecera-cliente:}")
+    private String cabeceraCliente;
+
+    /**
+     * Segundos de Retry-After cuando se rechaza por concurrencia.
+     */
+    @Value("${escuela.admision.reintento-segundos:1}")
+    private long reintentoSegundos;
+
+    /**
+     * Límites configurados de una clase de endpoint.
+     */
+    private record Limite(int rafaga, double fichasPorSegundo, Semaphore concurrencia) {
+    }
+
+    private final Map<ClaseEndpoint, Limite> limites = new EnumMap<>(ClaseEndpoint.class);
+    private final Map<String, CubetaFichas> cubetas = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor por defecto para la clase ControlAdmisionInterceptor.
+     */
+    public ControlAdmisionInterceptor() {
+    }
+
+    /**
+     * Lee los límites de cada clase de endpoint.
+     */
+    @PostConstruct
+    void configurar() {
+        for (ClaseEndpoint clase : ClaseEndpoint.values()) {
+            String prefijo = "escuela.admision." + clase.getPropiedad() + ".";
+            double fichasPorSegundo = entorno.getProperty(prefijo + "fichas-por-segundo", Double.class,
+                    clase.getFichasPorSegundo());
+            int rafaga = entorno.getProperty(prefijo + "rafaga", Integer.class, clase.getRafaga());
+            int concurrencia = entorno.getProperty(prefijo + "concurrencia", Integer.class,
+                    concurrenciaPredeterminada(clase));
+            if (fichasPorSegundo <= 0 || rafaga < 1 || concurrencia < 1) {
+                throw new IllegalStateException("Límites de admisión inválidos para " + prefijo
+                        + "*: se requieren fichas-por-segundo > 0, rafaga >= 1 y concurrencia >= 1");
+            }
+            limites.put(clase, new Limite(rafaga, fichasPorSegundo, new Semaphore(concurrencia)));
+        }
+    }
+
+    /**
+     * Obtiene la concurrencia de una clase cuando no se configura. La de
+     * {@link ClaseEndpoint#FLUJO} es el tamaño del pool de R2DBC, pues cada flujo
+     * retiene una conexión de ese pool hasta terminar.
+     */
+    private int concurrenciaPredeterminada(ClaseEndpoint clase) {
+        if (clase == ClaseEndpoint.FLUJO) {
+            return entorno.getProperty("escuela.reactivo.pool.maximo", Integer.class, clase.getConcurrencia());
+        }
+        return clase.getConcurrencia();
+    }
+
+    /**
+     * Admite o rechaza la solicitud antes de ejecutar el controlador.
+     *
+     * @throws AdmisionExcepcion Si se excede el límite de tasa o de concurrencia.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod metodo) || request.getAttribute(ATRIBUTO_CLASE) != null) {
+            return true;
+        }
+        ClaseEndpoint clase = clase(metodo, request.getMethod());
+        String endpoint = request.getMethod() + " "
+                + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        long ahora = System.nanoTime();
+        Limite limite = limites.get(clase);
+        CubetaFichas cubeta = cubetas.computeIfAbsent(endpoint + " " + cliente(request),
+                clave -> new CubetaFichas(limite.rafaga(), limite.fichasPorSegundo(), ahora));
+        long espera = cubeta.consumir(ahora);
+        if (espera > 0) {
+            long segundos = (espera + NANOS_POR_SEGUNDO - 1) / NANOS_POR_SEGUNDO;
+            throw new AdmisionExcepcion("Se excedió el límite de solicitudes para " + endpoint, segundos);
+        }
+        if (!limite.concurrencia().tryAcquire()) {
+            throw new AdmisionExcepcion("Hay demasiadas solicitudes en curso de tipo "
+                    + clase.getPropiedad() + "; intente más tarde", reintentoSegundos);
+        }
+        request.setAttribute(ATRIBUTO_CLASE, clase);
+        return true;
+    }
+
+    /**
+     * Libera el permiso de concurrencia al terminar la solicitud. En solicitudes
+     * asíncronas se llama al terminar el despacho asíncrono.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(ATRIBUTO_CLASE) instanceof ClaseEndpoint clase) {
+            request.removeAttribute(ATRIBUTO_CLASE);
+            limites.get(clase).concurrencia().release();
+        }
+    }
+
+    /**
+     * Descarta las cubetas llenas para que el mapa no crezca con cada cliente
+     * que alguna vez hizo una solicitud.
+     */
+    @Scheduled(fixedDelayString = "${escuela.admision.purga-intervalo-ms:60000}")
+    public void purgarCubetas() {
+        long ahora = System.nanoTime();
+        cubetas.values().removeIf(cubeta -> cubeta.llena(ahora));
+    }
+
+    /**
+     * Obtiene la clase del endpoint a partir de su anotación {@link Admision} o,
+     * si no la tiene, del método HTTP.
+     */
+    static ClaseEndpoint clase(HandlerMethod metodo, String metodoHttp) {
+        Admision admision = metodo.getMethodAnnotation(Admision.class);
+        if (admision != null) {
+            return admision.value();
+        }
+        return "GET".equals(metodoHttp) || "HEAD".equals(metodoHttp) ? ClaseEndpoint.CONSULTA
+                : ClaseEndpoint.ESCRITURA;
+    }
+
+    private String cliente(HttpServletRequest request) {
+        if (StringUtils.hasText(cabeceraCliente)) {
+            String valor = request.getHeader(cabeceraCliente);
+            if (StringUtils.hasText(valor)) {
+                int coma = valor.indexOf(',');
+                return (coma < 0 ? valor : valor.substring(0, coma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.escuela.admision;
+
+/**
+ * Cubeta de fichas para limitar la tasa de solicitudes. Empieza llena, cada
+ * solicitud consume una ficha y las fichas se recuperan de forma continua hasta
+ * la capacidad. El tiempo se recibe como parámetro (System.nanoTime()) para
+ * poder probarla sin esperas.
+ */
+public class CubetaFichas {
+
+    private final double capacidad;
+    private final double fichasPorNano;
+    private double fichas;
+    private long ultimaRecarga;
+
+    /**
+     * Crea una cubeta llena.
+     *
+     * @param capacidad        Número máximo de fichas acumuladas.
+     * @param fichasPorSegundo Fichas recuperadas por segundo; debe ser positivo.
+     * @param ahora            Instante actual en nanosegundos.
+     */
+    public CubetaFichas(double capacidad, double fichasPorSegundo, long ahora) {
+        this.capacidad = capacidad;
+        this.fichasPorNano = fichasPorSegundo / 1_000_000_000d;
+        this.fichas = capacidad;
+        this.ultimaRecarga = ahora;
+    }
+
+    /**
+     * Intenta consumir una ficha.
+     *
+     * @param ahora Instante actual en nanosegundos.
+     * @return 0 si se consumió la ficha; en otro caso, los nanosegundos que
+     *         faltan para que haya una disponible.
+     */
+    public synchronized long consumir(long ahora) {
+        recargar(ahora);
+        if (fichas >= 1) {
+            fichas -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - fichas) / fichasPorNano);
+    }
+
+    /**
+     * Indica si la cubeta ya recuperó todas sus fichas. Una cubeta llena puede
+     * descartarse, pues una nueva empezaría igual.
+     *
+     * @param ahora Instante actual en nanosegundos.
+     * @return true si la cubeta está llena.
+     */
+    public synchronized boolean llena(long ahora) {
+        recargar(ahora);
+        return fichas >= capacidad;
+    }
+
+    private void recargar(long ahora) {
+        long transcurrido = ahora - ultimaRecarga;
+        if (transcurrido > 0) {
+            fichas = Math.min(capacidad, fichas + transcurrido * fichasPorNano);
+            ultimaRecarga = ahora;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.escuela.config;
+
+import com.example.escuela.admision.ControlAdmisionInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra el control de admisión para las rutas de la API. El interceptor no
+ * existe si escuela.admision.habilitada es false.
+ *
+ * Anotaciones:
+ * - @Configuration: Indica que esta clase declara configuración de Spring MVC.
+ */
+@Configuration
+public class AdmisionConfig implements WebMvcConfigurer {
+
+    /**
+     * Interceptor de control de admisión, si está habilitado.
+     */
+    @Autowired(required = false)
+    private ControlAdmisionInterceptor controlAdmision;
+
+    /**
+     * Constructor por defecto para la clase AdmisionConfig.
+     */
+    public AdmisionConfig() {
+    }
+
+    /**
+     * Agrega el interceptor de control de admisión a /api/**.
+     *
+     * @param registry Registro de interceptores de Spring MVC.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (controlAdmision != null) {
+            registry.addInterceptor(controlAdmision).addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.escuela.config;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Configuración de la caché de segundo nivel de Hibernate para los datos de
+ * referencia (grados y asignaturas) y de la caché de consultas.
+ *
+ * Las regiones se crean en un CacheManager de Ehcache propio de este contexto,
+ * con el número de entradas y el tiempo de vida de cada una configurables:
+ * <ul>
+ *   <li>grados: entidades Grado.</li>
+ *   <li>asignaturas: entidades Asignatura.</li>
+ *   <li>asignaturas-por-grado: resultados de AsignaturaRepository.findByGradoId.</li>
+ * </ul>
+ * La región de marcas de tiempo de Hibernate, que invalida la caché de
+ * consultas cuando cambia una tabla, no expira. Una región que no esté en esta
+ * lista hace fallar el arranque en lugar de crearse con los valores por defecto
+ * de Ehcache.
+ * Sin esta configuración, por ejemplo con escuela.cache.habilitada=false, la
+ * caché de segundo nivel queda deshabilitada por application.properties aunque
+ * hibernate-jcache esté en el classpath.
+ *
+ * Anotaciones:
+ * - @Configuration: Indica que esta clase declara beans de Spring.
+ * - @ConditionalOnProperty: Sólo se activa si escuela.cache.habilitada es true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "escuela.cache.habilitada", havingValue = "true", matchIfMissing = true)
+public class CacheConfig {
+
+    /**
+     * Región de Hibernate que guarda la última modificación de cada tabla.
+     */
+    static final String REGION_MARCAS_TIEMPO = "default-update-timestamps-region";
+
+    /**
+     * Región de Hibernate para las consultas cacheables sin región propia.
+     */
+    static final String REGION_CONSULTAS = "default-query-results-region";
+
+    /**
+     * Número máximo de grados en la región "grados".
+     */
+    @Value("${escuela.cache.grados.entradas:1000}")
+    private long entradasGrados;
+
+    /**
+     * Tiempo de vida en segundos de cada grado en caché.
+     */
+    @Value("${escuela.cache.grados.ttl-segundos:3600}")
+    private long ttlGrados;
+
+    /**
+     * Número máximo de asignaturas en la región "asignaturas".
+     */
+    @Value("${escuela.cache.asignaturas.entradas:5000}")
+    private long entradasAsignaturas;
+
+    /**
+     * Tiempo de vida en segundos de cada asignatura en caché.
+     */
+    @Value("${escuela.cache.asignaturas.ttl-segundos:3600}")
+    private long ttlAsignaturas;
+
+    /**
+     * Número máximo de resultados en la región "asignaturas-por-grado".
+     */
+    @Value("${escuela.cache.asignaturas-por-grado.entradas:1000}")
+    private long entradasAsignaturasPorGrado;
+
+    /**
+     * Tiempo de vida en segundos de cada resultado de consulta en caché.
+     */
+    @Value("${escuela.cache.asignaturas-por-grado.ttl-segundos:600}")
+    private long ttlAsignaturasPorGrado;
+
+    /**
+     * Indica si Hibernate recopila estadísticas de aciertos y fallos por región.
+     * Tienen un costo en cada sesión, por lo que están deshabilitadas por
+     * defecto.
+     */
+    @Value("${escuela.cache.estadisticas:false}")
+    private boolean estadisticas;
+
+    /**
+     * Constructor por defecto para la clase CacheConfig.
+     */
+    public CacheConfig() {
+    }
+
+    /**
+     * Crea el CacheManager con las regiones configuradas. Cada contexto de
+     * Spring usa su propia URI para no compartir regiones con otros contextos
+     * de la misma JVM, como ocurre en las pruebas.
+     *
+     * @return El CacheManager de JCache respaldado por Ehcache.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerHibernate() {
+        org.ehcache.config.Configuration configuracion = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache("grados", region(entradasGrados, ttlGrados))
+                .withCache("asignaturas", region(entradasAsignaturas, ttlAsignaturas))
+                .withCache("asignaturas-por-grado", region(entradasAsignaturasPorGrado, ttlAsignaturasPorGrado))
+                .withCache(REGION_CONSULTAS, region(entradasAsignaturasPorGrado, ttlAsignaturasPorGrado))
+                .withCache(REGION_MARCAS_TIEMPO, CacheConfigurationBuilder
+                        .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(10_000))
+                        .withExpiry(ExpiryPolicyBuilder.noExpiration())
+                        .build())
+                .build();
+        EhcacheCachingProvider proveedor = (EhcacheCachingProvider) Caching
+                .getCachingProvider(EhcacheCachingProvider.class.getName());
+        return proveedor.getCacheManager(URI.create("urn:escuela:cache:" + UUID.randomUUID()), configuracion);
+    }
+
+    /**
+     * Construye la configuración de una región acotada por número de entradas y
+     * con tiempo de vida desde su escritura.
+     *
+     * @param entradas    Número máximo de entradas en memoria.
+     * @param ttlSegundos Tiempo de vida de cada entrada en segundos.
+     * @return La configuración de la región.
+     */
+    private static CacheConfiguration<Object, Object> region(long entradas, long ttlSegundos) {
+        return CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(entradas))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSegundos)))
+                .build();
+    }
+
+    /**
+     * Habilita la caché de segundo nivel y la de consultas en Hibernate usando
+     * el CacheManager de este contexto.
+     *
+     * @param cacheManager El CacheManager con las regiones ya creadas.
+     * @return El personalizador de las propiedades de Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivel(CacheManager cacheManager) {
+        return propiedades -> {
+            propiedades.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            propiedades.put(AvailableSettings.USE_QUERY_CACHE, true);
+            propiedades.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            propiedades.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            propiedades.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            if (estadisticas) {
+                propiedades.put(AvailableSettings.GENERATE_STATISTICS, true);
+                propiedades.put(AvailableSettings.LOG_SESSION_METRICS, false);
+            }
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.escuela.config;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import jakarta.persistence.Converter;
+import jakarta.persistence.Entity;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Pistas de reflexión y recursos para la imagen nativa de GraalVM.
+ *
+ * Los DTOs se devuelven desde controladores con ResponseEntity&lt;?&gt; y se
+ * construyen desde consultas JPQL con "select new", por lo que el análisis AOT
+ * no puede descubrirlos. Se registran todas las clases de com.example.dto y
+ * las entidades, enumeraciones, convertidores JPA y tipos con serialización
+ * JSON propia de com.example.escuela.model con sus constructores, campos y
+ * métodos públicos, que incluyen los accesores generados por Lombok.
+ * Las clases se buscan al construir, de modo que los DTOs nuevos quedan
+ * cubiertos sin modificar esta clase.
+ */
+public class EscuelaRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * Paquete de los Data Transfer Objects.
+     */
+    static final String PAQUETE_DTO = "com.example.dto";
+
+    /**
+     * Paquete de las entidades JPA.
+     */
+    static final String PAQUETE_MODELO = "com.example.escuela.model";
+
+    private static final MemberCategory[] MIEMBROS = {
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_PUBLIC_METHODS,
+            MemberCategory.DECLARED_FIELDS
+    };
+
+    /**
+     * Constructor por defecto para la clase EscuelaRuntimeHints.
+     */
+    public EscuelaRuntimeHints() {
+    }
+
+    /**
+     * Registra las pistas de los DTOs, las entidades y los archivos de
+     * configuración.
+     *
+     * @param hints       Pistas de la aplicación.
+     * @param classLoader Cargador de clases de la aplicación.
+     */
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider dtos = escaner();
+        dtos.addIncludeFilter((lector, fabrica) -> true);
+        registrar(hints, classLoader, dtos, PAQUETE_DTO);
+
+        ClassPathScanningCandidateComponentProvider modelo = escaner();
+        modelo.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        modelo.addIncludeFilter((lector, fabrica) -> lector.getClassMetadata().getSuperClassName() != null
+                && lector.getClassMetadata().getSuperClassName().equals(Enum.class.getName()));
+        modelo.addIncludeFilter(new AnnotationTypeFilter(Converter.class));
+        modelo.addIncludeFilter(new AnnotationTypeFilter(JsonSerialize.class));
+        modelo.addIncludeFilter(new AssignableTypeFilter(JsonSerializer.class));
+        modelo.addIncludeFilter(new AssignableTypeFilter(JsonDeserializer.class));
+        registrar(hints, classLoader, modelo, PAQUETE_MODELO);
+
+        hints.resources().registerPattern("application*.properties");
+    }
+
+    /**
+     * Crea un escáner de clases que acepta cualquier clase de nivel superior o
+     * anidada estática, no sólo componentes de Spring.
+     *
+     * @return El escáner sin filtros de inclusión.
+     */
+    private static ClassPathScanningCandidateComponentProvider escaner() {
+        return new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition definicion) {
+                return definicion.getMetadata().isIndependent();
+            }
+        };
+    }
+
+    /**
+     * Registra la reflexión de todas las clases del paquete aceptadas por el
+     * escáner.
+     */
+    private static void registrar(RuntimeHints hints, ClassLoader classLoader,
+            ClassPathScanningCandidateComponentProvider escaner, String paquete) {
+        for (BeanDefinition definicion : escaner.findCandidateComponents(paquete)) {
+            Class<?> clase = ClassUtils.resolveClassName(definicion.getBeanClassName(), classLoader);
+            hints.reflection().registerType(clase, MIEMBROS);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.escuela.config;
+
+import com.example.escuela.multiescuela.ConexionesPorEscuela;
+import com.example.escuela.multiescuela.FuenteDatosEscuelas;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Configuración para atender varias escuelas desde un solo despliegue, cada una
+ * con su propia base de datos.
+ *
+ * Las escuelas se listan en escuela.multiescuela.escuelas y cada una se
+ * configura con escuela.multiescuela.&lt;escuela&gt;.url, usuario, contrasena y
+ * driver; usuario, contrasena y driver toman los de spring.datasource si no se
+ * indican. Cada escuela tiene su propio pool de Hikari, cuyos límites
+ * (pool.maximo, pool.minimo-inactivas, pool.timeout-conexion-ms) pueden
+ * indicarse por escuela o para todas en escuela.multiescuela.pool.*.
+ *
+ * Al iniciar se aplican las migraciones de Flyway a la base de cada escuela. El
+ * DataSource de la aplicación es una {@link FuenteDatosEscuelas} y Hibernate
+ * obtiene las conexiones de la escuela de cada sesión con
+ * {@link ConexionesPorEscuela}.
+ *
+ * La escritura diferida, la instantánea de analítica y la lectura reactiva
+ * guardan estado de una sola base de datos, por lo que la aplicación no inicia
+ * si alguna está habilitada junto con varias escuelas.
+ *
+ * Anotaciones:
+ * - @Configuration: Indica que esta clase declara beans de Spring.
+ * - @ConditionalOnProperty: Sólo se activa si escuela.multiescuela.habilitada es true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "escuela.multiescuela.habilitada", havingValue = "true")
+public class MultiescuelaConfig {
+
+    private static final Pattern IDENTIFICADOR = Pattern.compile("[a-z0-9][a-z0-9-]*");
+
+    private static final List<String> INCOMPATIBLES = List.of(
+            "escuela.calificaciones.diferidas.habilitada",
+            "escuela.analitica.habilitada",
+            "escuela.reactivo.habilitado");
+
+    /**
+     * Entorno para leer la configuración de cada escuela.
+     */
+    @Autowired
+    private Environment entorno;
+
+    /**
+     * Identificadores de las escuelas.
+     */
+    @Value("${escuela.multiescuela.escuelas:}")
+    private List<String> escuelas;
+
+    /**
+     * Escuela que atiende las solicitudes sin escuela.
+     */
+    @Value("${escuela.multiescuela.predeterminada:principal}")
+    private String predeterminada;
+
+    /**
+     * Conexiones máximas del pool de cada escuela sin límite propio.
+     */
+    @Value("${escuela.multiescuela.pool.maximo:10}")
+    private int poolMaximo;
+
+    /**
+     * Conexiones inactivas mínimas del pool de cada escuela sin límite propio.
+     */
+    @Value("${escuela.multiescuela.pool.minimo-inactivas:2}")
+    private int poolMinimoInactivas;
+
+    /**
+     * Milisegundos de espera por una conexión en cada escuela sin límite propio.
+     */
+    @Value("${escuela.multiescuela.pool.timeout-conexion-ms:30000}")
+    private long poolTimeoutConexionMs;
+
+    /**
+     * Constructor por defecto para la clase MultiescuelaConfig.
+     */
+    public MultiescuelaConfig() {
+    }
+
+    /**
+     * Crea el pool de cada escuela, migra su base de datos y los reúne en el
+     * DataSource de la aplicación.
+     *
+     * @return El DataSource que dirige cada conexión a la escuela actual.
+     * @throws IllegalStateException Si la configuración de las escuelas no es
+     *                               válida.
+     */
+    @Bean(destroyMethod = "close")
+    @Primary
+    public FuenteDatosEscuelas dataSource() {
+        for (String propiedad : INCOMPATIBLES) {
+            if (entorno.getProperty(propiedad, Boolean.class, false)) {
+                throw new IllegalStateException(propiedad + " no admite varias escuelas; deshabilítelo o "
+                        + "deshabilite escuela.multiescuela.habilitada");
+            }
+        }
+        if (escuelas.isEmpty()) {
+            throw new IllegalStateException("escuela.multiescuela.escuelas no indica ninguna escuela");
+        }
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        try {
+            for (String escuela : escuelas) {
+                String idEscuela = escuela.trim();
+                if (!IDENTIFICADOR.matcher(idEscuela).matches() || pools.containsKey(idEscuela)) {
+                    throw new IllegalStateException("Identificador de escuela inválido o repetido: " + idEscuela
+                            + "; use minúsculas, dígitos y guiones");
+                }
+                HikariDataSource pool = pool(idEscuela);
+                pools.put(idEscuela, pool);
+                migrar(pool);
+            }
+            return new FuenteDatosEscuelas(pools, predeterminada);
+        } catch (RuntimeException e) {
+            pools.values().forEach(HikariDataSource::close);
+            throw e;
+        }
+    }
+
+    /**
+     * Hace que Hibernate obtenga las conexiones de la escuela de cada sesión y
+     * distinga las escuelas en la caché de segundo nivel.
+     *
+     * @param fuenteDatos El DataSource con los pools de las escuelas.
+     * @return El personalizador de las propiedades de Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer conexionesPorEscuela(FuenteDatosEscuelas fuenteDatos) {
+        ConexionesPorEscuela conexiones = new ConexionesPorEscuela(fuenteDatos);
+        return propiedades -> {
+            propiedades.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, conexiones);
+            propiedades.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, conexiones);
+        };
+    }
+
+    /**
+     * Crea el pool de una escuela con sus propios límites.
+     */
+    private HikariDataSource pool(String idEscuela) {
+        String prefijo = "escuela.multiescuela." + idEscuela + ".";
+        String url = entorno.getProperty(prefijo + "url");
+        if (!StringUtils.hasText(url)) {
+            throw new IllegalStateException("Falta " + prefijo + "url");
+        }
+        HikariConfig configuracion = new HikariConfig();
+        configuracion.setPoolName("escuela-" + idEscuela);
+        configuracion.setJdbcUrl(url);
+        configuracion.setUsername(entorno.getProperty(prefijo + "usuario",
+                entorno.getProperty("spring.datasource.username", "")));
+        configuracion.setPassword(entorno.getProperty(prefijo + "contrasena",
+                entorno.getProperty("spring.datasource.password", "")));
+        String driver = entorno.getProperty(prefijo + "driver",
+                entorno.getProperty("spring.datasource.driver-class-name", ""));
+        if (StringUtils.hasText(driver)) {
+            configuracion.setDriverClassName(driver);
+        }
+        int maximo = entorno.getProperty(prefijo + "pool.maximo", Integer.class, poolMaximo);
+        configuracion.setMaximumPoolSize(maximo);
+        configuracion.setMinimumIdle(Math.min(maximo,
+                entorno.getProperty(prefijo + "pool.minimo-inactivas", Integer.class, poolMinimoInactivas)));
+        configuracion.setConnectionTimeout(entorno.getProperty(prefijo + "pool.timeout-conexion-ms", Long.class,
+                poolTimeoutConexionMs));
+        return new HikariDataSource(configuracion);
+    }
+
+    /**
+     * Aplica a la base de una escuela las mismas migraciones que Flyway aplica
+     * a la base única.
+     */
+    private void migrar(HikariDataSource pool) {
+        Flyway.configure()
+                .dataSource(pool)
+                .locations(entorno.getProperty("spring.flyway.locations", String[].class,
+                        new String[] { "classpath:db/migration" }))
+                .baselineOnMigrate(entorno.getProperty("spring.flyway.baseline-on-migrate", Boolean.class, false))
+                .baselineVersion(entorno.getProperty("spring.flyway.baseline-version", "1"))
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.escuela.config;
+
+import com.example.escuela.multiescuela.EscuelaInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra el interceptor que establece la escuela de cada solicitud para las
+ * rutas de la API.
+ *
+ * Anotaciones:
+ * - @Configuration: Indica que esta clase declara configuración de Spring MVC.
+ */
+@Configuration
+public class MultiescuelaWebConfig implements WebMvcConfigurer {
+
+    /**
+     * Interceptor que establece la escuela de la solicitud.
+     */
+    @Autowired
+    private EscuelaInterceptor escuelaInterceptor;
+
+    /**
+     * Constructor por defecto para la clase MultiescuelaWebConfig.
+     */
+    public MultiescuelaWebConfig() {
+    }
+
+    /**
+     * Agrega el interceptor de escuela a /api/** antes que cualquier otro, de
+     * modo que la escuela ya esté establecida cuando se abre el EntityManager y
+     * cuando se aplica el control de admisión.
+     *
+     * @param registry Registro de interceptores de Spring MVC.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(escuelaInterceptor).addPathPatterns("/api/**").order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
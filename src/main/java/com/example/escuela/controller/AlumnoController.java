@@ -1,11 +1,16 @@
 package com.example.escuela.controller;
 
 import com.example.dto.AlumnoDTO;
+import com.example.dto.ResultadoPromocionDTO;
+import com.example.escuela.admision.Admision;
+import com.example.escuela.admision.ClaseEndpoint;
 import com.example.escuela.excepciones.AlumnoExcepcion;
+import com.example.escuela.excepciones.CamposExcepcion;
 import com.example.escuela.excepciones.GradoExcepcion;
 import com.example.escuela.excepciones.MatriculaExcepcion;
 import com.example.escuela.model.Alumno;
 import com.example.escuela.service.AlumnoService;
+import com.example.escuela.service.ProyeccionCamposService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -35,6 +40,12 @@ public class AlumnoController {
     @Autowired
     private AlumnoService alumnoService;
 
+    /**
+     * Servicio para listar sólo los campos pedidos con el parámetro fields.
+     */
+    @Autowired
+    private ProyeccionCamposService proyeccionCamposService;
+
     /**
      * Constructor por defecto para la clase AlumnoController.
      */
@@ -65,11 +76,84 @@ public class AlumnoController {
      * 
      * @return Lista de alumnos.
      */
+    @Admision(ClaseEndpoint.LISTADO)
     @GetMapping
     public List<Alumno> listarAlumnos() {
         return alumnoService.listarAlumnos();
     }
 
+    /**
+     * Lista los alumnos con sólo los campos indicados, por ejemplo
+     * fields=id,nombre,grado.nombre_grado. La consulta SQL lee únicamente esas
+     * columnas y une sólo las tablas necesarias.
+     * 
+     * @param fields Campos separados por comas; las asociaciones usan punto.
+     * @return Lista con los campos pedidos o un mensaje de error si algún campo
+     *         no existe.
+     */
+    @Admision(ClaseEndpoint.LISTADO)
+    @GetMapping(params = { "fields", "!ids" })
+    public ResponseEntity<?> listarAlumnosConCampos(@RequestParam String fields) {
+        try {
+            return ResponseEntity.ok(proyeccionCamposService.listar(Alumno.class, fields));
+        } catch (CamposExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Obtiene los alumnos con los ids indicados en una sola consulta, por ejemplo
+     * ids=1,2,3. La respuesta trae los encontrados por id y los ids que no
+     * existen. No puede combinarse con fields.
+     * 
+     * @param ids    Identificadores separados por comas.
+     * @param fields No se admite junto con ids.
+     * @return El lote encontrado o un mensaje de error si no hay ids, se excede el
+     *         tamaño máximo del lote o se indica fields.
+     */
+    @Admision(ClaseEndpoint.LISTADO)
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> obtenerAlumnosPorIds(@RequestParam List<Integer> ids,
+            @RequestParam(required = false) String fields) {
+        try {
+            if (fields != null) {
+                throw new AlumnoExcepcion("El parámetro fields no puede combinarse con ids");
+            }
+            return ResponseEntity.ok(alumnoService.obtenerAlumnosPorIds(ids));
+        } catch (AlumnoExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Lista una página de los alumnos de un grado ordenados por nombre o por
+     * matrícula.
+     * 
+     * @param idGrado Identificador del grado.
+     * @param pagina  Número de página, empezando en 0.
+     * @param tamanio Tamaño de la página.
+     * @param orden   Campo de ordenamiento: "nombre" o "matricula".
+     * @return La página de alumnos o un mensaje de error si ocurre una excepción.
+     */
+    @Admision(ClaseEndpoint.LISTADO)
+    @GetMapping("/grado/{idGrado}")
+    public ResponseEntity<?> listarAlumnosPorGrado(@PathVariable Integer idGrado,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamanio,
+            @RequestParam(defaultValue = "nombre") String orden) {
+        try {
+            return ResponseEntity.ok(alumnoService.listarAlumnosPorGrado(idGrado, pagina, tamanio, orden));
+        } catch (AlumnoExcepcion | GradoExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     /**
      * Obtiene un alumno por su ID.
      * 
@@ -89,6 +173,25 @@ public class AlumnoController {
 
     }
 
+    /**
+     * Obtiene el kardex de un alumno: sus datos, su grado, sus calificaciones por
+     * asignatura y su promedio, resueltos en una sola consulta.
+     * 
+     * @param id Identificador del alumno.
+     * @return El kardex del alumno o un mensaje de error si no existe.
+     */
+    @Admision(ClaseEndpoint.AGREGADO)
+    @GetMapping("/{id}/kardex")
+    public ResponseEntity<?> obtenerKardex(@PathVariable Integer id) {
+        try {
+            return ResponseEntity.ok(alumnoService.obtenerKardex(id));
+        } catch (AlumnoExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     /**
      * Actualiza un alumno existente buscándolo por su ID.
      * 
@@ -108,6 +211,31 @@ public class AlumnoController {
         }
     }
 
+    /**
+     * Promueve a todos los alumnos de uno o más grados a otro grado en una sola
+     * transacción, por ejemplo al terminar el ciclo escolar. El cuerpo es un
+     * objeto con el id del grado nuevo por id de grado actual, por ejemplo
+     * {"1": 2, "2": 3}. Con simular=true sólo se cuentan los alumnos que
+     * cambiarían de grado.
+     * 
+     * @param promociones Id del grado nuevo por id de grado actual.
+     * @param simular     Indica si sólo se cuentan los alumnos.
+     * @return Una respuesta con el número de alumnos promovidos de cada grado o
+     *         un mensaje de error si algún grado no es válido.
+     */
+    @PostMapping("/promocion")
+    public ResponseEntity<?> promoverGrados(@RequestBody Map<Integer, Integer> promociones,
+            @RequestParam(defaultValue = "false") boolean simular) {
+        try {
+            ResultadoPromocionDTO resultado = alumnoService.promoverGrados(promociones, simular);
+            return ResponseEntity.ok(resultado);
+        } catch (GradoExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     /**
      * Elimina un alumno por su ID.
      * 
@@ -0,0 +1,156 @@
+package com.example.escuela.controller;
+
+import com.example.dto.EstadoInstantaneaDTO;
+import com.example.dto.ReporteEstadisticasDTO;
+import com.example.escuela.admision.Admision;
+import com.example.escuela.admision.ClaseEndpoint;
+import com.example.escuela.excepciones.CalificacionExcepcion;
+import com.example.escuela.excepciones.InstantaneaExcepcion;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.service.AnaliticaService;
+import com.example.escuela.service.MotorAnaliticoService;
+import com.example.escuela.service.ReporteEstadisticasService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controlador REST para las consultas analíticas de calificaciones: promedios
+ * y tasas de reprobación por grado y por asignatura. Las respuestas de /grados
+ * y /asignaturas se calculan sobre la instantánea columnar en disco, sin
+ * consultar la base de datos, por lo que pueden tener el retraso del intervalo
+ * de generación; /consulta y /reporte usan la tabla en memoria, que está al día
+ * con cada cambio confirmado.
+ * 
+ * Anotaciones:
+ * - @RestController: Indica que esta clase es un controlador REST.
+ * - @CrossOrigin: Permite solicitudes de origen cruzado desde cualquier origen.
+ * - @RequestMapping: Define la ruta base para todas las operaciones de este
+ * controlador.
+ */
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/analitica")
+public class AnaliticaController {
+
+    /**
+     * Servicio que mantiene la instantánea analítica.
+     */
+    @Autowired
+    private AnaliticaService analiticaService;
+
+    /**
+     * Servicio que mantiene la tabla analítica en memoria.
+     */
+    @Autowired
+    private MotorAnaliticoService motorAnaliticoService;
+
+    /**
+     * Servicio que calcula el reporte de estadísticas por grado y asignatura.
+     */
+    @Autowired
+    private ReporteEstadisticasService reporteEstadisticasService;
+
+    /**
+     * Constructor por defecto para la clase AnaliticaController.
+     */
+    public AnaliticaController() {
+    }
+
+    /**
+     * Obtiene el resumen de calificaciones de cada grado.
+     * 
+     * @return Lista con un resumen por grado o un mensaje de error si no hay
+     *         instantánea.
+     */
+    @GetMapping("/grados")
+    public ResponseEntity<?> resumirPorGrado() {
+        try {
+            return ResponseEntity.ok(analiticaService.resumirPorGrado());
+        } catch (InstantaneaExcepcion e) {
+            return noDisponible(e);
+        }
+    }
+
+    /**
+     * Obtiene el resumen de calificaciones de cada asignatura para compararlas
+     * entre sí.
+     * 
+     * @param idGrado Si se indica, sólo considera a los alumnos de ese grado.
+     * @return Lista con un resumen por asignatura o un mensaje de error si no hay
+     *         instantánea.
+     */
+    @GetMapping("/asignaturas")
+    public ResponseEntity<?> resumirPorAsignatura(@RequestParam(required = false) Integer idGrado) {
+        try {
+            return ResponseEntity.ok(analiticaService.resumirPorAsignatura(idGrado));
+        } catch (InstantaneaExcepcion e) {
+            return noDisponible(e);
+        }
+    }
+
+    /**
+     * Obtiene el tamaño y la fecha de la instantánea vigente.
+     * 
+     * @return El estado de la instantánea.
+     */
+    @GetMapping("/instantanea")
+    public EstadoInstantaneaDTO obtenerEstado() {
+        return analiticaService.obtenerEstado();
+    }
+
+    /**
+     * Filtra, agrupa y resume las calificaciones actuales, por ejemplo
+     * agrupar=asignatura&amp;idGrado=2&amp;maxima=59.99.
+     * 
+     * @param agrupar      "alumno", "asignatura" o "grado"; sin él se obtiene
+     *                     un solo total.
+     * @param idAlumno     Si se indica, sólo considera a ese alumno.
+     * @param idAsignatura Si se indica, sólo considera esa asignatura.
+     * @param idGrado      Si se indica, sólo considera a los alumnos de ese grado.
+     * @param minima       Calificación mínima incluida.
+     * @param maxima       Calificación máxima incluida.
+     * @return Lista con un resumen por grupo o un mensaje de error si la
+     *         agrupación o el rango no son válidos.
+     */
+    @Admision(ClaseEndpoint.AGREGADO)
+    @GetMapping("/consulta")
+    public ResponseEntity<?> consultar(@RequestParam(required = false) String agrupar,
+            @RequestParam(required = false) Integer idAlumno,
+            @RequestParam(required = false) Integer idAsignatura,
+            @RequestParam(required = false) Integer idGrado,
+            @RequestParam(required = false) Puntaje minima,
+            @RequestParam(required = false) Puntaje maxima) {
+        try {
+            return ResponseEntity.ok(motorAnaliticoService.agregar(agrupar, idAlumno, idAsignatura, idGrado,
+                    minima, maxima));
+        } catch (CalificacionExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Calcula el reporte de fin de periodo: promedio, mediana, percentiles y
+     * reprobadas de cada asignatura entre los alumnos de cada grado, sobre las
+     * calificaciones actuales.
+     * 
+     * @return El reporte con una entrada por grado y asignatura.
+     */
+    @Admision(ClaseEndpoint.AGREGADO)
+    @GetMapping("/reporte")
+    public ReporteEstadisticasDTO generarReporte() {
+        return reporteEstadisticasService.generar();
+    }
+
+    private static ResponseEntity<?> noDisponible(InstantaneaExcepcion e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("mensaje", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.escuela.controller;
 
 import com.example.dto.AsignaturaDTO;
+import com.example.escuela.admision.Admision;
+import com.example.escuela.admision.ClaseEndpoint;
 import com.example.escuela.excepciones.AsignaturaExcepcion;
+import com.example.escuela.excepciones.CamposExcepcion;
 import com.example.escuela.excepciones.GradoExcepcion;
 import com.example.escuela.model.Asignatura;
 import com.example.escuela.service.AsignaturaService;
+import com.example.escuela.service.ProyeccionCamposService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -36,6 +40,12 @@ public class AsignaturaController {
     @Autowired
     private AsignaturaService asignaturaService;
 
+    /**
+     * Servicio para listar sólo los campos pedidos con el parámetro fields.
+     */
+    @Autowired
+    private ProyeccionCamposService proyeccionCamposService;
+
     /**
      * Constructor por defecto para la clase AsignaturaController.
      */
@@ -102,11 +112,59 @@ public class AsignaturaController {
      * 
      * @return Lista de asignaturas.
      */
+    @Admision(ClaseEndpoint.LISTADO)
     @GetMapping
     public List<Asignatura> obtenerAsignaturas() {
         return asignaturaService.obtenerAsignaturas();
     }
 
+    /**
+     * Lista las asignaturas con sólo los campos indicados, por ejemplo
+     * fields=id,nombre. La consulta SQL lee únicamente esas
+     * columnas y une sólo las tablas necesarias.
+     * 
+     * @param fields Campos separados por comas; las asociaciones usan punto.
+     * @return Lista con los campos pedidos o un mensaje de error si algún campo
+     *         no existe.
+     */
+    @Admision(ClaseEndpoint.LISTADO)
+    @GetMapping(params = { "fields", "!ids" })
+    public ResponseEntity<?> obtenerAsignaturasConCampos(@RequestParam String fields) {
+        try {
+            return ResponseEntity.ok(proyeccionCamposService.listar(Asignatura.class, fields));
+        } catch (CamposExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Obtiene las asignaturas con los ids indicados en una sola consulta, por ejemplo
+     * ids=1,2,3. La respuesta trae los encontrados por id y los ids que no
+     * existen. No puede combinarse con fields.
+     * 
+     * @param ids    Identificadores separados por comas.
+     * @param fields No se admite junto con ids.
+     * @return El lote encontrado o un mensaje de error si no hay ids, se excede el
+     *         tamaño máximo del lote o se indica fields.
+     */
+    @Admision(ClaseEndpoint.LISTADO)
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> obtenerAsignaturasPorIds(@RequestParam List<Integer> ids,
+            @RequestParam(required = false) String fields) {
+        try {
+            if (fields != null) {
+                throw new AsignaturaExcepcion("El parámetro fields no puede combinarse con ids");
+            }
+            return ResponseEntity.ok(asignaturaService.obtenerAsignaturasPorIds(ids));
+        } catch (AsignaturaExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     /**
      * Obtiene las asignaturas asociadas a un grado específico.
      * 
@@ -114,6 +172,7 @@ public class AsignaturaController {
      *                asignaturas.
      * @return Lista de asignaturas asociadas al grado especificado.
      */
+    @Admision(ClaseEndpoint.LISTADO)
     @GetMapping("/grado/{idGrado}")
     public ResponseEntity<?>  obtenerAsignaturasPorGrado(@PathVariable Integer idGrado) {
         try {
@@ -0,0 +1,45 @@
+package com.example.escuela.controller;
+
+import com.example.dto.EstadisticaRegionCacheDTO;
+import com.example.escuela.service.EstadisticasCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST para consultar el estado de la caché de segundo nivel.
+ * 
+ * Anotaciones:
+ * - @RestController: Indica que esta clase es un controlador REST.
+ * - @CrossOrigin: Permite solicitudes de origen cruzado desde cualquier origen.
+ * - @RequestMapping: Define la ruta base para todas las operaciones de este
+ * controlador.
+ */
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    /**
+     * Servicio que lee las estadísticas de la caché.
+     */
+    @Autowired
+    private EstadisticasCacheService estadisticasCacheService;
+
+    /**
+     * Constructor por defecto para la clase CacheController.
+     */
+    public CacheController() {
+    }
+
+    /**
+     * Obtiene los aciertos, fallos y escrituras de cada región de la caché.
+     * 
+     * @return Lista con las estadísticas de cada región.
+     */
+    @GetMapping("/estadisticas")
+    public List<EstadisticaRegionCacheDTO> obtenerEstadisticas() {
+        return estadisticasCacheService.obtenerEstadisticas();
+    }
+}
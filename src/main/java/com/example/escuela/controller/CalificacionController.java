@@ -1,15 +1,32 @@
 package com.example.escuela.controller;
 
+import com.example.dto.AcuseCalificacionDTO;
 import com.example.dto.CalificacionDTO;
+import com.example.dto.EstadoEscrituraDiferidaDTO;
+import com.example.dto.PaginaHistorialDTO;
+import com.example.dto.ResultadoCalificacionDTO;
+import com.example.escuela.admision.Admision;
+import com.example.escuela.admision.ClaseEndpoint;
 import com.example.escuela.excepciones.AlumnoExcepcion;
 import com.example.escuela.excepciones.AsignaturaExcepcion;
 import com.example.escuela.excepciones.CalificacionExcepcion;
+import com.example.escuela.excepciones.CamposExcepcion;
 import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.EventoCalificacion;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.service.CalificacionDiferidaService;
 import com.example.escuela.service.CalificacionService;
+import com.example.escuela.service.EventoCalificacionService;
+import com.example.escuela.service.HistorialCalificacionService;
+import com.example.escuela.service.ProyeccionCamposService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +55,30 @@ public class CalificacionController {
     @Autowired
     private CalificacionService calificacionService;
 
+    /**
+     * Servicio para listar sólo los campos pedidos con el parámetro fields.
+     */
+    @Autowired
+    private ProyeccionCamposService proyeccionCamposService;
+
+    /**
+     * Servicio para aceptar calificaciones en modo de escritura diferida.
+     */
+    @Autowired
+    private CalificacionDiferidaService calificacionDiferidaService;
+
+    /**
+     * Servicio para consultar la bandeja de salida de eventos de calificaciones.
+     */
+    @Autowired
+    private EventoCalificacionService eventoCalificacionService;
+
+    /**
+     * Servicio para consultar el historial de cambios de calificaciones.
+     */
+    @Autowired
+    private HistorialCalificacionService historialCalificacionService;
+
     /**
      * Constructor por defecto para la clase CalificacionController.
      */
@@ -64,6 +105,122 @@ public class CalificacionController {
         }
     }
 
+    /**
+     * Acepta una calificación para escribirla de forma diferida en la base de
+     * datos. La respuesta se envía en cuanto la calificación queda registrada en
+     * el diario local.
+     * 
+     * @param calificacionDTO Objeto que contiene los datos de la calificación a
+     *                        asignar.
+     * @return El acuse con la secuencia asignada o un mensaje de error si ocurre
+     *         una excepción.
+     */
+    @PostMapping("/diferidas")
+    public ResponseEntity<?> aceptarCalificacionDiferida(@RequestBody CalificacionDTO calificacionDTO) {
+        try {
+            AcuseCalificacionDTO acuse = calificacionDiferidaService.aceptarCalificacion(calificacionDTO);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(acuse);
+        } catch (AlumnoExcepcion | AsignaturaExcepcion | CalificacionExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Obtiene el estado de la escritura diferida, incluyendo el número de
+     * calificaciones pendientes y el retraso de escritura.
+     * 
+     * @return El estado de la escritura diferida.
+     */
+    @GetMapping("/diferidas/estado")
+    public EstadoEscrituraDiferidaDTO obtenerEstadoDiferidas() {
+        return calificacionDiferidaService.obtenerEstado();
+    }
+
+    /**
+     * Obtiene los cambios de calificaciones posteriores a un evento, en orden.
+     * Permite a los consumidores actualizarse de forma incremental en lugar de
+     * volver a leer todas las calificaciones. Los eventos de los últimos
+     * escuela.eventos.gracia-ms se devuelven en una consulta posterior, de modo
+     * que el consumidor puede usar el id del último evento recibido como cursor.
+     * 
+     * @param desde  Id del último evento procesado por el consumidor.
+     * @param limite Número máximo de eventos a devolver.
+     * @return Lista de eventos en orden de id.
+     */
+    @Admision(ClaseEndpoint.LISTADO)
+    @GetMapping("/eventos")
+    public List<EventoCalificacion> obtenerEventos(@RequestParam(defaultValue = "0") Long desde,
+            @RequestParam(defaultValue = "100") int limite) {
+        return eventoCalificacionService.obtenerEventosDesde(desde, limite);
+    }
+
+    /**
+     * Abre una suscripción SSE a los cambios de calificaciones de un alumno. Cada
+     * evento lleva como id el de la bandeja de salida; al reconectarse, el
+     * navegador envía la cabecera Last-Event-ID y se reproducen los eventos
+     * posteriores.
+     * 
+     * @param idAlumno     Identificador del alumno.
+     * @param ultimoEvento Id del último evento recibido (cabecera Last-Event-ID).
+     * @param desde        Alternativa a la cabecera para la primera conexión.
+     * @return El flujo de eventos o un evento "error" con el mensaje si el alumno
+     *         no existe.
+     */
+    @Admision(ClaseEndpoint.SUSCRIPCION)
+    @GetMapping("/eventos/alumno/{idAlumno}")
+    public ResponseEntity<SseEmitter> suscribirPorAlumno(@PathVariable Integer idAlumno,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEvento,
+            @RequestParam(required = false) Long desde) {
+        try {
+            return ResponseEntity.ok(eventoCalificacionService.suscribirPorAlumno(idAlumno,
+                    ultimoEvento != null ? ultimoEvento : desde));
+        } catch (AlumnoExcepcion e) {
+            return errorSuscripcion(e.getMessage());
+        }
+    }
+
+    /**
+     * Abre una suscripción SSE a los cambios de calificaciones de una asignatura.
+     * Admite Last-Event-ID igual que la suscripción por alumno.
+     * 
+     * @param idAsignatura Identificador de la asignatura.
+     * @param ultimoEvento Id del último evento recibido (cabecera Last-Event-ID).
+     * @param desde        Alternativa a la cabecera para la primera conexión.
+     * @return El flujo de eventos o un evento "error" con el mensaje si la
+     *         asignatura no existe.
+     */
+    @Admision(ClaseEndpoint.SUSCRIPCION)
+    @GetMapping("/eventos/asignatura/{idAsignatura}")
+    public ResponseEntity<SseEmitter> suscribirPorAsignatura(@PathVariable Integer idAsignatura,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEvento,
+            @RequestParam(required = false) Long desde) {
+        try {
+            return ResponseEntity.ok(eventoCalificacionService.suscribirPorAsignatura(idAsignatura,
+                    ultimoEvento != null ? ultimoEvento : desde));
+        } catch (AsignaturaExcepcion e) {
+            return errorSuscripcion(e.getMessage());
+        }
+    }
+
+    /**
+     * Responde 400 con un único evento "error" que contiene el mensaje, pues un
+     * cliente SSE no acepta un cuerpo JSON.
+     */
+    private static ResponseEntity<SseEmitter> errorSuscripcion(String mensaje) {
+        SseEmitter emisor = new SseEmitter();
+        try {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", mensaje);
+            emisor.send(SseEmitter.event().name("error").data(error, MediaType.APPLICATION_JSON));
+            emisor.complete();
+        } catch (IOException e) {
+            emisor.completeWithError(e);
+        }
+        return ResponseEntity.badRequest().body(emisor);
+    }
+
     /**
      * Actualiza una calificación existente por su ID.
      * 
@@ -90,17 +247,66 @@ public class CalificacionController {
      * 
      * @return Lista de todas las calificaciones.
      */
+    @Admision(ClaseEndpoint.LISTADO)
     @GetMapping
     public List<Calificacion> obtenerCalificaciones() {
         return calificacionService.obtenerCalificaciones();
     }
 
+    /**
+     * Lista las calificaciones con sólo los campos indicados, por ejemplo
+     * fields=id,calificacion,alumno.nombre. La consulta SQL lee únicamente esas
+     * columnas y une sólo las tablas necesarias.
+     * 
+     * @param fields Campos separados por comas; las asociaciones usan punto.
+     * @return Lista con los campos pedidos o un mensaje de error si algún campo
+     *         no existe.
+     */
+    @Admision(ClaseEndpoint.LISTADO)
+    @GetMapping(params = { "fields", "!ids" })
+    public ResponseEntity<?> obtenerCalificacionesConCampos(@RequestParam String fields) {
+        try {
+            return ResponseEntity.ok(proyeccionCamposService.listar(Calificacion.class, fields));
+        } catch (CamposExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Obtiene las calificaciones con los ids indicados en una sola consulta, por ejemplo
+     * ids=1,2,3. La respuesta trae los encontrados por id y los ids que no
+     * existen. No puede combinarse con fields.
+     * 
+     * @param ids    Identificadores separados por comas.
+     * @param fields No se admite junto con ids.
+     * @return El lote encontrado o un mensaje de error si no hay ids, se excede el
+     *         tamaño máximo del lote o se indica fields.
+     */
+    @Admision(ClaseEndpoint.LISTADO)
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> obtenerCalificacionesPorIds(@RequestParam List<Integer> ids,
+            @RequestParam(required = false) String fields) {
+        try {
+            if (fields != null) {
+                throw new CalificacionExcepcion("El parámetro fields no puede combinarse con ids");
+            }
+            return ResponseEntity.ok(calificacionService.obtenerCalificacionesPorIds(ids));
+        } catch (CalificacionExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     /**
      * Obtiene una calificación por el ID del alumno.
      * 
      * @param idAlumno Identificador del alumno.
      * @return La calificación correspondiente al ID proporcionado.
      */
+    @Admision(ClaseEndpoint.LISTADO)
     @GetMapping("/alumno/{idAlumno}")
     public ResponseEntity<?> obtenerPorAlumno(@PathVariable Integer idAlumno) {
         try {
@@ -121,6 +327,7 @@ public class CalificacionController {
      *                     desean obtener.
      * @return Lista de calificaciones asociadas a la asignatura.
      */
+    @Admision(ClaseEndpoint.LISTADO)
     @GetMapping("/asignatura/{idAsignatura}")
     public ResponseEntity<?> obtenerPorAsignatura(@PathVariable Integer idAsignatura) {
         try {
@@ -133,6 +340,58 @@ public class CalificacionController {
         }
     }
 
+    /**
+     * Asigna o actualiza en una sola transacción las calificaciones de un grupo
+     * de alumnos en una asignatura. El cuerpo es un objeto con la calificación
+     * de cada alumno por id, por ejemplo {"12": 85, "13": 90.5}.
+     * 
+     * @param idAsignatura   Identificador de la asignatura.
+     * @param calificaciones Calificación de cada alumno, por id de alumno.
+     * @return El resultado de cada alumno (CREADA, ACTUALIZADA, SIN_CAMBIO o
+     *         RECHAZADA con el motivo) o un mensaje de error si la asignatura
+     *         no existe o el grupo está vacío o excede el máximo.
+     */
+    @PutMapping("/asignatura/{idAsignatura}")
+    public ResponseEntity<?> calificarGrupo(@PathVariable Integer idAsignatura,
+            @RequestBody Map<Integer, Puntaje> calificaciones) {
+        try {
+            List<ResultadoCalificacionDTO> resultados = calificacionService.calificarGrupo(idAsignatura,
+                    calificaciones);
+            return ResponseEntity.ok(resultados);
+        } catch (AsignaturaExcepcion | CalificacionExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Obtiene el historial de cambios de la calificación de un alumno en una
+     * asignatura, del más reciente al más antiguo. Para la página siguiente se
+     * envía en antes el valor de siguiente de la respuesta.
+     * 
+     * @param idAlumno     Identificador del alumno.
+     * @param idAsignatura Identificador de la asignatura.
+     * @param antes        Id del último cambio de la página anterior.
+     * @param limite       Número máximo de cambios a devolver.
+     * @return La página de cambios o un mensaje de error si el límite no es
+     *         válido.
+     */
+    @Admision(ClaseEndpoint.LISTADO)
+    @GetMapping("/historial/alumno/{idAlumno}/asignatura/{idAsignatura}")
+    public ResponseEntity<?> obtenerHistorial(@PathVariable Integer idAlumno, @PathVariable Integer idAsignatura,
+            @RequestParam(required = false) Long antes, @RequestParam(defaultValue = "20") int limite) {
+        try {
+            PaginaHistorialDTO pagina = historialCalificacionService.obtenerHistorial(idAlumno, idAsignatura,
+                    antes, limite);
+            return ResponseEntity.ok(pagina);
+        } catch (CalificacionExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     /**
      * Elimina una calificación por su ID.
      * 
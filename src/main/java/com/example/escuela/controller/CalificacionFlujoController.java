@@ -0,0 +1,108 @@
+package com.example.escuela.controller;
+
+import com.example.escuela.admision.Admision;
+import com.example.escuela.admision.ClaseEndpoint;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.repository.CalificacionReactivaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controlador REST que entrega las calificaciones como flujos NDJSON (una
+ * calificación por línea) leídos con R2DBC. Las filas se piden a la base de
+ * datos conforme el cliente consume la respuesta.
+ *
+ * Lo que se gana es aislar el pool de JDBC: un cliente lento no retiene una
+ * conexión JDBC mientras descarga el listado, por lo que no retrasa a los demás
+ * endpoints. No se libera el hilo: en Spring MVC cada elemento se escribe con
+ * una escritura bloqueante del servlet, y cada flujo retiene una conexión del
+ * pool de R2DBC hasta terminar, por lo que la concurrencia de la clase
+ * {@link ClaseEndpoint#FLUJO} se limita al tamaño de ese pool. Tampoco es más
+ * rápido: con clientes lentos la mediana de las demás consultas sube y lo que
+ * mejora es el peor caso, que deja de depender de cuánto tarden en descargar.
+ *
+ * Si el alumno o la asignatura no existen se responde 400 con una sola línea
+ * que contiene el mensaje de error.
+ *
+ * Anotaciones:
+ * - @RestController: Indica que esta clase es un controlador REST.
+ * - @CrossOrigin: Permite solicitudes de origen cruzado desde cualquier origen.
+ * - @RequestMapping: Define la ruta base para todas las operaciones de este
+ * controlador.
+ * - @ConditionalOnProperty: Sólo se activa si escuela.reactivo.habilitado es true.
+ */
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping(value = "/api/calificaciones/flujo", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@ConditionalOnProperty(name = "escuela.reactivo.habilitado", havingValue = "true")
+public class CalificacionFlujoController {
+
+    /**
+     * Repositorio reactivo de calificaciones.
+     */
+    @Autowired
+    private CalificacionReactivaRepository calificacionReactivaRepository;
+
+    /**
+     * Constructor por defecto para la clase CalificacionFlujoController.
+     */
+    public CalificacionFlujoController() {
+    }
+
+    /**
+     * Obtiene todas las calificaciones como flujo.
+     *
+     * @return Flujo de todas las calificaciones.
+     */
+    @Admision(ClaseEndpoint.FLUJO)
+    @GetMapping
+    public Flux<Calificacion> obtenerCalificaciones() {
+        return calificacionReactivaRepository.findAll();
+    }
+
+    /**
+     * Obtiene las calificaciones de un alumno como flujo.
+     *
+     * @param idAlumno Identificador del alumno.
+     * @return Flujo de calificaciones del alumno o un mensaje de error si el
+     *         alumno no existe.
+     */
+    @Admision(ClaseEndpoint.FLUJO)
+    @GetMapping("/alumno/{idAlumno}")
+    public Mono<ResponseEntity<Flux<?>>> obtenerPorAlumno(@PathVariable Integer idAlumno) {
+        return calificacionReactivaRepository.existeAlumno(idAlumno)
+                .map(existe -> existe
+                        ? ResponseEntity.ok(calificacionReactivaRepository.findByAlumnoId(idAlumno))
+                        : error("Alumno no encontrado con id: " + idAlumno));
+    }
+
+    /**
+     * Obtiene las calificaciones de una asignatura como flujo.
+     *
+     * @param idAsignatura Identificador de la asignatura.
+     * @return Flujo de calificaciones de la asignatura o un mensaje de error si la
+     *         asignatura no existe.
+     */
+    @Admision(ClaseEndpoint.FLUJO)
+    @GetMapping("/asignatura/{idAsignatura}")
+    public Mono<ResponseEntity<Flux<?>>> obtenerPorAsignatura(@PathVariable Integer idAsignatura) {
+        return calificacionReactivaRepository.existeAsignatura(idAsignatura)
+                .map(existe -> existe
+                        ? ResponseEntity.ok(calificacionReactivaRepository.findByAsignaturaId(idAsignatura))
+                        : error("Asignatura no encontrada con id: " + idAsignatura));
+    }
+
+    private static ResponseEntity<Flux<?>> error(String mensaje) {
+        Map<String, String> error = new HashMap<>();
+        error.put("mensaje", mensaje);
+        return ResponseEntity.badRequest().body(Flux.just(error));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.escuela.controller;
+
+import com.example.dto.EstadisticaCoalescenciaDTO;
+import com.example.escuela.service.CoalescenciaLecturasService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST para consultar la coalescencia de lecturas concurrentes.
+ * 
+ * Anotaciones:
+ * - @RestController: Indica que esta clase es un controlador REST.
+ * - @CrossOrigin: Permite solicitudes de origen cruzado desde cualquier origen.
+ * - @RequestMapping: Define la ruta base para todas las operaciones de este
+ * controlador.
+ */
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/coalescencia")
+public class CoalescenciaController {
+
+    /**
+     * Servicio que comparte las lecturas concurrentes idénticas.
+     */
+    @Autowired
+    private CoalescenciaLecturasService coalescenciaLecturasService;
+
+    /**
+     * Constructor por defecto para la clase CoalescenciaController.
+     */
+    public CoalescenciaController() {
+    }
+
+    /**
+     * Obtiene las solicitudes, ejecuciones y lecturas compartidas de cada método.
+     * 
+     * @return Lista con las estadísticas de cada método.
+     */
+    @GetMapping("/estadisticas")
+    public List<EstadisticaCoalescenciaDTO> obtenerEstadisticas() {
+        return coalescenciaLecturasService.obtenerEstadisticas();
+    }
+}
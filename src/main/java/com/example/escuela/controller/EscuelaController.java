@@ -0,0 +1,46 @@
+package com.example.escuela.controller;
+
+import com.example.dto.EstadisticaEscuelaDTO;
+import com.example.escuela.service.EscuelaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST para consultar las escuelas atendidas por la aplicación.
+ *
+ * Anotaciones:
+ * - @RestController: Indica que esta clase es un controlador REST.
+ * - @CrossOrigin: Permite solicitudes de origen cruzado desde cualquier origen.
+ * - @RequestMapping: Define la ruta base para todas las operaciones de este
+ * controlador.
+ */
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/escuelas")
+public class EscuelaController {
+
+    /**
+     * Servicio de escuelas.
+     */
+    @Autowired
+    private EscuelaService escuelaService;
+
+    /**
+     * Constructor por defecto para la clase EscuelaController.
+     */
+    public EscuelaController() {
+    }
+
+    /**
+     * Obtiene las solicitudes atendidas y el uso del pool de conexiones de cada
+     * escuela.
+     *
+     * @return Lista con las estadísticas de cada escuela.
+     */
+    @GetMapping("/estadisticas")
+    public List<EstadisticaEscuelaDTO> obtenerEstadisticas() {
+        return escuelaService.obtenerEstadisticas();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.escuela.controller;
 
+import com.example.escuela.admision.Admision;
+import com.example.escuela.admision.ClaseEndpoint;
 import com.example.escuela.model.Grado;
 import com.example.escuela.service.GradoService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -63,6 +65,7 @@ public class GradoController {
      * 
      * @return Una lista de todos los grados disponibles.
      */
+    @Admision(ClaseEndpoint.LISTADO)
     @GetMapping
     public List<Grado> listarGrados() {
         return gradoService.listarGrados();
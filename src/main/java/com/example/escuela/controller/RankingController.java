@@ -0,0 +1,106 @@
+package com.example.escuela.controller;
+
+import com.example.dto.PosicionRankingDTO;
+import com.example.escuela.excepciones.CalificacionExcepcion;
+import com.example.escuela.service.RankingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador REST para consultar los rankings de alumnos por asignatura y por
+ * grado. Las respuestas se obtienen de los rankings en memoria, sin consultar la
+ * base de datos.
+ * 
+ * Anotaciones:
+ * - @RestController: Indica que esta clase es un controlador REST.
+ * - @CrossOrigin: Permite solicitudes de origen cruzado desde cualquier origen.
+ * - @RequestMapping: Define la ruta base para todas las operaciones de este
+ * controlador.
+ */
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/ranking")
+public class RankingController {
+
+    /**
+     * Servicio que mantiene los rankings en memoria.
+     */
+    @Autowired
+    private RankingService rankingService;
+
+    /**
+     * Constructor por defecto para la clase RankingController.
+     */
+    public RankingController() {
+    }
+
+    /**
+     * Obtiene los mejores alumnos de una asignatura.
+     * 
+     * @param idAsignatura Identificador de la asignatura.
+     * @param limite       Número máximo de alumnos a devolver (hasta 100).
+     * @return Lista con las primeras posiciones del ranking.
+     */
+    @GetMapping("/asignatura/{idAsignatura}")
+    public List<PosicionRankingDTO> obtenerRankingAsignatura(@PathVariable Integer idAsignatura,
+            @RequestParam(defaultValue = "10") int limite) {
+        return rankingService.obtenerRankingAsignatura(idAsignatura, limite);
+    }
+
+    /**
+     * Obtiene la posición de un alumno en el ranking de una asignatura.
+     * 
+     * @param idAsignatura Identificador de la asignatura.
+     * @param idAlumno     Identificador del alumno.
+     * @return La posición del alumno o un mensaje de error si no tiene
+     *         calificación en la asignatura.
+     */
+    @GetMapping("/asignatura/{idAsignatura}/alumno/{idAlumno}")
+    public ResponseEntity<?> obtenerPosicionEnAsignatura(@PathVariable Integer idAsignatura,
+            @PathVariable Integer idAlumno) {
+        try {
+            return ResponseEntity.ok(rankingService.obtenerPosicionEnAsignatura(idAsignatura, idAlumno));
+        } catch (CalificacionExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Obtiene los mejores alumnos de un grado según su promedio general.
+     * 
+     * @param idGrado Identificador del grado.
+     * @param limite  Número máximo de alumnos a devolver (hasta 100).
+     * @return Lista con las primeras posiciones del ranking.
+     */
+    @GetMapping("/grado/{idGrado}")
+    public List<PosicionRankingDTO> obtenerRankingGrado(@PathVariable Integer idGrado,
+            @RequestParam(defaultValue = "10") int limite) {
+        return rankingService.obtenerRankingGrado(idGrado, limite);
+    }
+
+    /**
+     * Obtiene la posición de un alumno en el ranking de su grado.
+     * 
+     * @param idGrado  Identificador del grado.
+     * @param idAlumno Identificador del alumno.
+     * @return La posición del alumno o un mensaje de error si no tiene
+     *         calificaciones en el grado.
+     */
+    @GetMapping("/grado/{idGrado}/alumno/{idAlumno}")
+    public ResponseEntity<?> obtenerPosicionEnGrado(@PathVariable Integer idGrado, @PathVariable Integer idAlumno) {
+        try {
+            return ResponseEntity.ok(rankingService.obtenerPosicionEnGrado(idGrado, idAlumno));
+        } catch (CalificacionExcepcion e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("mensaje", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.escuela.estadisticas;
+
+import com.example.escuela.estructuras.TablaCalificaciones;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Calcula las estadísticas de cada combinación de grado y asignatura (celda)
+ * en un {@link ForkJoinPool}.
+ * Primero numera las celdas con un índice de direccionamiento abierto y agrupa
+ * las calificaciones por celda con un ordenamiento por conteo sobre arreglos
+ * primitivos, en dos recorridos secuenciales de las filas. Después reparte las celdas entre las tareas,
+ * dividiendo el intervalo de celdas a la mitad hasta llegar a una sola; una
+ * celda con más filas que el umbral se divide a su vez en rangos de filas. Cada
+ * rango se resume con acumuladores primitivos y un
+ * {@link HistogramaCalificaciones}, y los resúmenes se combinan al unir las
+ * tareas, de modo que el resultado no depende del paralelismo.
+ */
+public class CalculoEstadisticas {
+
+    /**
+     * Estadísticas de una celda; las calificaciones están en centésimas y los
+     * percentiles tienen la resolución del histograma.
+     *
+     * @param idGrado        Grado de los alumnos.
+     * @param idAsignatura   Asignatura.
+     * @param calificaciones Número de calificaciones.
+     * @param suma           Suma de las calificaciones.
+     * @param minima         Calificación más baja.
+     * @param maxima         Calificación más alta.
+     * @param reprobadas     Calificaciones menores a la aprobatoria.
+     * @param percentil10    Percentil 10.
+     * @param percentil25    Percentil 25.
+     * @param mediana        Percentil 50.
+     * @param percentil75    Percentil 75.
+     * @param percentil90    Percentil 90.
+     */
+    public record Celda(int idGrado, int idAsignatura, long calificaciones, long suma, int minima, int maxima,
+            long reprobadas, int percentil10, int percentil25, int mediana, int percentil75, int percentil90) {
+    }
+
+    /**
+     * Resumen combinable de un rango de calificaciones.
+     */
+    private static final class Acumulado {
+        private long calificaciones;
+        private long suma;
+        private int minima = Integer.MAX_VALUE;
+        private int maxima = Integer.MIN_VALUE;
+        private long reprobadas;
+        private final HistogramaCalificaciones histograma = new HistogramaCalificaciones();
+
+        private void combinar(Acumulado otro) {
+            calificaciones += otro.calificaciones;
+            suma += otro.suma;
+            minima = Math.min(minima, otro.minima);
+            maxima = Math.max(maxima, otro.maxima);
+            reprobadas += otro.reprobadas;
+            histograma.combinar(otro.histograma);
+        }
+
+        /**
+         * El límite inferior de la cubeta se ajusta al rango observado para que
+         * los percentiles extremos no queden por debajo de la mínima.
+         */
+        private int percentil(double p) {
+            return Math.max(minima, Math.min(maxima, histograma.percentil(p)));
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final int umbralFilas;
+
+    /**
+     * Crea un cálculo que usa el pool indicado.
+     *
+     * @param pool        Pool en el que se ejecutan las tareas.
+     * @param umbralFilas Número de filas a partir del cual una celda se divide.
+     */
+    public CalculoEstadisticas(ForkJoinPool pool, int umbralFilas) {
+        this.pool = pool;
+        this.umbralFilas = Math.max(1, umbralFilas);
+    }
+
+    /**
+     * Calcula las estadísticas de todas las celdas de la tabla.
+     *
+     * @param tabla       Tabla que no cambia durante el cálculo.
+     * @param aprobatoria Calificación aprobatoria en centésimas.
+     * @return Las celdas en orden de grado y asignatura.
+     */
+    public Celda[] calcular(TablaCalificaciones tabla, short aprobatoria) {
+        int filas = tabla.filas();
+        int[] celdaDeFila = new int[filas];
+        long[] claves = numerarCeldas(tabla, celdaDeFila);
+
+        long[] ordenadas = claves.clone();
+        Arrays.sort(ordenadas);
+        int[] posicion = new int[claves.length];
+        for (int i = 0; i < claves.length; i++) {
+            posicion[i] = Arrays.binarySearch(ordenadas, claves[i]);
+        }
+        int[] inicio = new int[claves.length + 1];
+        for (int fila = 0; fila < filas; fila++) {
+            celdaDeFila[fila] = posicion[celdaDeFila[fila]];
+            inicio[celdaDeFila[fila] + 1]++;
+        }
+        for (int celda = 0; celda < claves.length; celda++) {
+            inicio[celda + 1] += inicio[celda];
+        }
+        short[] valores = new short[filas];
+        int[] siguiente = Arrays.copyOf(inicio, claves.length);
+        for (int fila = 0; fila < filas; fila++) {
+            valores[siguiente[celdaDeFila[fila]]++] = tabla.calificacion(fila);
+        }
+
+        Celda[] resultado = new Celda[claves.length];
+        pool.invoke(new TareaCeldas(ordenadas, inicio, valores, aprobatoria, resultado, 0, claves.length));
+        return resultado;
+    }
+
+    /**
+     * Asigna a cada fila el número de su celda, en orden de aparición, con un
+     * índice de direccionamiento abierto sobre la clave de grado y asignatura.
+     *
+     * @return Las claves de las celdas, con el grado en los 32 bits altos.
+     */
+    private static long[] numerarCeldas(TablaCalificaciones tabla, int[] celdaDeFila) {
+        long[] claves = new long[16];
+        int celdas = 0;
+        long[] ranuras = new long[64];
+        int[] numeros = new int[64];
+        Arrays.fill(numeros, -1);
+        for (int fila = 0; fila < celdaDeFila.length; fila++) {
+            long clave = clave(tabla.grado(fila), tabla.asignatura(fila));
+            int mascara = ranuras.length - 1;
+            int ranura = (int) ((clave * 0x9E3779B97F4A7C15L) >>> 40) & mascara;
+            while (numeros[ranura] != -1 && ranuras[ranura] != clave) {
+                ranura = (ranura + 1) & mascara;
+            }
+            if (numeros[ranura] == -1) {
+                if (celdas == claves.length) {
+                    claves = Arrays.copyOf(claves, celdas * 2);
+                }
+                claves[celdas] = clave;
+                ranuras[ranura] = clave;
+                numeros[ranura] = celdas++;
+                if (celdas * 2 > ranuras.length) {
+                    ranuras = new long[ranuras.length * 2];
+                    numeros = new int[ranuras.length];
+                    Arrays.fill(numeros, -1);
+                    for (int c = 0; c < celdas; c++) {
+                        int r = (int) ((claves[c] * 0x9E3779B97F4A7C15L) >>> 40) & (ranuras.length - 1);
+                        while (numeros[r] != -1) {
+                            r = (r + 1) & (ranuras.length - 1);
+                        }
+                        ranuras[r] = claves[c];
+                        numeros[r] = c;
+                    }
+                }
+                celdaDeFila[fila] = celdas - 1;
+            } else {
+                celdaDeFila[fila] = numeros[ranura];
+            }
+        }
+        return Arrays.copyOf(claves, celdas);
+    }
+
+    private static long clave(int idGrado, int idAsignatura) {
+        return ((long) idGrado << 32) | (idAsignatura & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Calcula un intervalo de celdas dividiéndolo a la mitad.
+     */
+    private final class TareaCeldas extends RecursiveAction {
+        private final long[] claves;
+        private final int[] inicio;
+        private final short[] valores;
+        private final short aprobatoria;
+        private final Celda[] resultado;
+        private final int desde;
+        private final int hasta;
+
+        private TareaCeldas(long[] claves, int[] inicio, short[] valores, short aprobatoria, Celda[] resultado,
+                int desde, int hasta) {
+            this.claves = claves;
+            this.inicio = inicio;
+            this.valores = valores;
+            this.aprobatoria = aprobatoria;
+            this.resultado = resultado;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > 1) {
+                int mitad = (desde + hasta) >>> 1;
+                invokeAll(new TareaCeldas(claves, inicio, valores, aprobatoria, resultado, desde, mitad),
+                        new TareaCeldas(claves, inicio, valores, aprobatoria, resultado, mitad, hasta));
+                return;
+            }
+            if (hasta == desde) {
+                return;
+            }
+            Acumulado a = new TareaFilas(valores, aprobatoria, inicio[desde], inicio[desde + 1]).compute();
+            long clave = claves[desde];
+            resultado[desde] = new Celda((int) (clave >>> 32), (int) clave, a.calificaciones, a.suma, a.minima,
+                    a.maxima, a.reprobadas, a.percentil(0.10), a.percentil(0.25), a.percentil(0.50),
+                    a.percentil(0.75), a.percentil(0.90));
+        }
+    }
+
+    /**
+     * Resume un rango de filas de una celda, dividiéndolo mientras supere el
+     * umbral.
+     */
+    private final class TareaFilas extends RecursiveTask<Acumulado> {
+        private final short[] valores;
+        private final short aprobatoria;
+        private final int desde;
+        private final int hasta;
+
+        private TareaFilas(short[] valores, short aprobatoria, int desde, int hasta) {
+            this.valores = valores;
+            this.aprobatoria = aprobatoria;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Acumulado compute() {
+            if (hasta - desde > umbralFilas) {
+                int mitad = (desde + hasta) >>> 1;
+                TareaFilas izquierda = new TareaFilas(valores, aprobatoria, desde, mitad);
+                izquierda.fork();
+                Acumulado acumulado = new TareaFilas(valores, aprobatoria, mitad, hasta).compute();
+                acumulado.combinar(izquierda.join());
+                return acumulado;
+            }
+            Acumulado acumulado = new Acumulado();
+            long suma = 0;
+            int minima = Integer.MAX_VALUE;
+            int maxima = Integer.MIN_VALUE;
+            long reprobadas = 0;
+            for (int i = desde; i < hasta; i++) {
+                short valor = valores[i];
+                suma += valor;
+                minima = Math.min(minima, valor);
+                maxima = Math.max(maxima, valor);
+                if (valor < aprobatoria) {
+                    reprobadas++;
+                }
+                acumulado.histograma.agregar(valor);
+            }
+            acumulado.calificaciones = hasta - desde;
+            acumulado.suma = suma;
+            acumulado.minima = minima;
+            acumulado.maxima = maxima;
+            acumulado.reprobadas = reprobadas;
+            return acumulado;
+        }
+    }
+}
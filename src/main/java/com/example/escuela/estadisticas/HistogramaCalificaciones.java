@@ -0,0 +1,83 @@
+package com.example.escuela.estadisticas;
+
+/**
+ * Histograma de calificaciones con una cubeta por décima de punto, de 0 a 100.
+ * Sirve como resumen combinable para calcular percentiles: dos histogramas de
+ * partes distintas de los datos se combinan sumando sus cubetas, y el
+ * resultado es igual al histograma de todos los datos juntos. Los percentiles
+ * se obtienen con una resolución de una décima y ocupa lo mismo sin importar
+ * cuántas calificaciones contenga.
+ * No es seguro para uso concurrente.
+ */
+public class HistogramaCalificaciones {
+
+    /**
+     * Centésimas de punto que abarca cada cubeta.
+     */
+    public static final int ANCHO_CUBETA = 10;
+
+    private static final int CUBETAS = 100 * 100 / ANCHO_CUBETA + 1;
+
+    private final int[] cubetas = new int[CUBETAS];
+    private long total;
+
+    /**
+     * Crea un histograma vacío.
+     */
+    public HistogramaCalificaciones() {
+    }
+
+    /**
+     * Agrega una calificación.
+     *
+     * @param centesimas Calificación en centésimas, de 0 a 10000.
+     */
+    public void agregar(short centesimas) {
+        cubetas[centesimas / ANCHO_CUBETA]++;
+        total++;
+    }
+
+    /**
+     * Suma las cubetas de otro histograma a este.
+     *
+     * @param otro El histograma a combinar.
+     */
+    public void combinar(HistogramaCalificaciones otro) {
+        for (int i = 0; i < CUBETAS; i++) {
+            cubetas[i] += otro.cubetas[i];
+        }
+        total += otro.total;
+    }
+
+    /**
+     * Obtiene el número de calificaciones del histograma.
+     *
+     * @return El número de calificaciones.
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Obtiene el percentil indicado por rango más cercano: el menor valor tal
+     * que al menos la fracción p de las calificaciones es menor o igual a él.
+     *
+     * @param p Fracción entre 0 y 1; 0.5 es la mediana.
+     * @return El límite inferior de la cubeta del percentil, en centésimas, o -1
+     *         si el histograma está vacío.
+     */
+    public int percentil(double p) {
+        if (total == 0) {
+            return -1;
+        }
+        long rango = Math.max(1, (long) Math.ceil(p * total));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += cubetas[i];
+            if (acumulado >= rango) {
+                return i * ANCHO_CUBETA;
+            }
+        }
+        return (CUBETAS - 1) * ANCHO_CUBETA;
+    }
+}
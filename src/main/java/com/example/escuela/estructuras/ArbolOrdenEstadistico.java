@@ -0,0 +1,207 @@
+package com.example.escuela.estructuras;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Árbol ordenado que además conoce la posición de cada elemento.
+ * Es un treap en el que cada nodo guarda el tamaño de su subárbol, de modo que
+ * agregar, eliminar, obtener la posición de un elemento y obtener el elemento
+ * en una posición toman tiempo O(log n) esperado.
+ * El comparador debe definir un orden total: dos elementos distintos nunca
+ * deben compararse como iguales.
+ * No es seguro para uso concurrente; quien lo utilice debe sincronizar el acceso.
+ *
+ * @param <T> Tipo de los elementos.
+ */
+public class ArbolOrdenEstadistico<T> {
+
+    private static final class Nodo<T> {
+        private final T valor;
+        private final int prioridad;
+        private int tamanio = 1;
+        private Nodo<T> izquierdo;
+        private Nodo<T> derecho;
+
+        private Nodo(T valor) {
+            this.valor = valor;
+            this.prioridad = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private final Comparator<? super T> comparador;
+    private Nodo<T> raiz;
+
+    /**
+     * Crea un árbol vacío.
+     *
+     * @param comparador Orden total de los elementos.
+     */
+    public ArbolOrdenEstadistico(Comparator<? super T> comparador) {
+        this.comparador = comparador;
+    }
+
+    /**
+     * Obtiene el número de elementos del árbol.
+     *
+     * @return El número de elementos.
+     */
+    public int tamanio() {
+        return tamanio(raiz);
+    }
+
+    /**
+     * Agrega un elemento. Si ya existe un elemento igual, el árbol no cambia.
+     *
+     * @param valor El elemento a agregar.
+     * @return true si el elemento se agregó.
+     */
+    public boolean agregar(T valor) {
+        if (posicion(valor) >= 0) {
+            return false;
+        }
+        Nodo<T>[] partes = dividir(raiz, valor, false);
+        raiz = unir(unir(partes[0], new Nodo<>(valor)), partes[1]);
+        return true;
+    }
+
+    /**
+     * Elimina un elemento.
+     *
+     * @param valor El elemento a eliminar.
+     * @return true si el elemento existía.
+     */
+    public boolean eliminar(T valor) {
+        Nodo<T>[] menores = dividir(raiz, valor, false);
+        Nodo<T>[] resto = dividir(menores[1], valor, true);
+        raiz = unir(menores[0], resto[1]);
+        return resto[0] != null;
+    }
+
+    /**
+     * Obtiene la posición, empezando en cero, de un elemento.
+     *
+     * @param valor El elemento a buscar.
+     * @return La posición del elemento, o -1 si no está en el árbol.
+     */
+    public int posicion(T valor) {
+        int anteriores = 0;
+        Nodo<T> nodo = raiz;
+        while (nodo != null) {
+            int c = comparador.compare(valor, nodo.valor);
+            if (c < 0) {
+                nodo = nodo.izquierdo;
+            } else if (c > 0) {
+                anteriores += tamanio(nodo.izquierdo) + 1;
+                nodo = nodo.derecho;
+            } else {
+                return anteriores + tamanio(nodo.izquierdo);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Obtiene el elemento en una posición.
+     *
+     * @param indice La posición, empezando en cero.
+     * @return El elemento en esa posición.
+     * @throws IndexOutOfBoundsException Si la posición no existe.
+     */
+    public T obtener(int indice) {
+        if (indice < 0 || indice >= tamanio()) {
+            throw new IndexOutOfBoundsException(indice);
+        }
+        Nodo<T> nodo = raiz;
+        while (true) {
+            int izquierdos = tamanio(nodo.izquierdo);
+            if (indice < izquierdos) {
+                nodo = nodo.izquierdo;
+            } else if (indice > izquierdos) {
+                indice -= izquierdos + 1;
+                nodo = nodo.derecho;
+            } else {
+                return nodo.valor;
+            }
+        }
+    }
+
+    /**
+     * Obtiene los primeros elementos en orden.
+     *
+     * @param limite Número máximo de elementos a devolver.
+     * @return Los primeros elementos del árbol.
+     */
+    public List<T> primeros(int limite) {
+        List<T> resultado = new ArrayList<>(Math.min(Math.max(limite, 0), tamanio()));
+        Deque<Nodo<T>> pila = new ArrayDeque<>();
+        Nodo<T> nodo = raiz;
+        while ((nodo != null || !pila.isEmpty()) && resultado.size() < limite) {
+            while (nodo != null) {
+                pila.push(nodo);
+                nodo = nodo.izquierdo;
+            }
+            nodo = pila.pop();
+            resultado.add(nodo.valor);
+            nodo = nodo.derecho;
+        }
+        return resultado;
+    }
+
+    private static int tamanio(Nodo<?> nodo) {
+        return nodo == null ? 0 : nodo.tamanio;
+    }
+
+    private static void recalcular(Nodo<?> nodo) {
+        nodo.tamanio = 1 + tamanio(nodo.izquierdo) + tamanio(nodo.derecho);
+    }
+
+    /**
+     * Divide un subárbol en los elementos menores que el valor y el resto. Si
+     * incluirIgual es verdadero, el valor igual queda en la primera parte.
+     */
+    @SuppressWarnings("unchecked")
+    private Nodo<T>[] dividir(Nodo<T> nodo, T valor, boolean incluirIgual) {
+        if (nodo == null) {
+            return new Nodo[] { null, null };
+        }
+        int c = comparador.compare(nodo.valor, valor);
+        if (c < 0 || (incluirIgual && c == 0)) {
+            Nodo<T>[] partes = dividir(nodo.derecho, valor, incluirIgual);
+            nodo.derecho = partes[0];
+            recalcular(nodo);
+            partes[0] = nodo;
+            return partes;
+        }
+        Nodo<T>[] partes = dividir(nodo.izquierdo, valor, incluirIgual);
+        nodo.izquierdo = partes[1];
+        recalcular(nodo);
+        partes[1] = nodo;
+        return partes;
+    }
+
+    /**
+     * Une dos subárboles donde todos los elementos del primero son menores que
+     * los del segundo.
+     */
+    private Nodo<T> unir(Nodo<T> menor, Nodo<T> mayor) {
+        if (menor == null) {
+            return mayor;
+        }
+        if (mayor == null) {
+            return menor;
+        }
+        if (menor.prioridad > mayor.prioridad) {
+            menor.derecho = unir(menor.derecho, mayor);
+            recalcular(menor);
+            return menor;
+        }
+        mayor.izquierdo = unir(menor, mayor.izquierdo);
+        recalcular(mayor);
+        return mayor;
+    }
+}
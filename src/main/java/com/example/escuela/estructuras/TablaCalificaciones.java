@@ -0,0 +1,523 @@
+package com.example.escuela.estructuras;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Tabla columnar de calificaciones en memoria.
+ * Cada calificación ocupa una fila repartida en cuatro arreglos primitivos:
+ * alumno, asignatura y grado como int y la calificación en centésimas como
+ * short, sin objetos por fila. Un índice de direccionamiento abierto sobre el
+ * par (alumno, asignatura) permite insertar, actualizar y eliminar en tiempo
+ * O(1) esperado; al eliminar, la última fila ocupa el lugar de la eliminada,
+ * por lo que las filas no guardan ningún orden.
+ * Las consultas recorren las columnas completas y acumulan en arreglos
+ * indexados por id, de modo que el resultado ya sale en orden de id.
+ * No es seguro para uso concurrente; quien lo utilice debe sincronizar el acceso.
+ */
+public class TablaCalificaciones {
+
+    /**
+     * Número de centésimas por punto de calificación.
+     */
+    public static final int ESCALA = 100;
+
+    /**
+     * Columna por la que se agrupan las calificaciones en una consulta.
+     */
+    public enum Dimension {
+        ALUMNO, ASIGNATURA, GRADO
+    }
+
+    /**
+     * Condiciones que debe cumplir una fila para entrar en una consulta. Los ids
+     * en 0 no filtran; el rango de calificación es inclusivo y está en
+     * centésimas.
+     *
+     * @param idAlumno     Alumno de la calificación o 0.
+     * @param idAsignatura Asignatura de la calificación o 0.
+     * @param idGrado      Grado del alumno o 0.
+     * @param minima       Calificación mínima.
+     * @param maxima       Calificación máxima.
+     */
+    public record Filtro(int idAlumno, int idAsignatura, int idGrado, short minima, short maxima) {
+
+        /**
+         * Filtro que acepta todas las filas.
+         */
+        public static final Filtro TODAS = new Filtro(0, 0, 0, Short.MIN_VALUE, Short.MAX_VALUE);
+    }
+
+    /**
+     * Resultado de una consulta: un grupo por posición, en orden de id. Las
+     * calificaciones están en centésimas.
+     */
+    public static final class Agregado {
+        private final int grupos;
+        private final int[] ids;
+        private final int[] calificaciones;
+        private final long[] sumas;
+        private final short[] minimas;
+        private final short[] maximas;
+        private final int[] reprobadas;
+
+        private Agregado(int grupos) {
+            this.grupos = grupos;
+            this.ids = new int[grupos];
+            this.calificaciones = new int[grupos];
+            this.sumas = new long[grupos];
+            this.minimas = new short[grupos];
+            this.maximas = new short[grupos];
+            this.reprobadas = new int[grupos];
+        }
+
+        public int grupos() {
+            return grupos;
+        }
+
+        /**
+         * Obtiene el id del grupo; es 0 cuando la consulta no agrupa.
+         */
+        public int id(int grupo) {
+            return ids[grupo];
+        }
+
+        public int calificaciones(int grupo) {
+            return calificaciones[grupo];
+        }
+
+        public long suma(int grupo) {
+            return sumas[grupo];
+        }
+
+        public short minima(int grupo) {
+            return minimas[grupo];
+        }
+
+        public short maxima(int grupo) {
+            return maximas[grupo];
+        }
+
+        public int reprobadas(int grupo) {
+            return reprobadas[grupo];
+        }
+    }
+
+    private static final int VACIA = -1;
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private int filas;
+    private int[] alumnos;
+    private int[] asignaturas;
+    private int[] grados;
+    private short[] calificaciones;
+
+    /**
+     * Mayor id visto en cada columna; dimensiona los acumuladores de las
+     * consultas agrupadas. No disminuye al eliminar filas.
+     */
+    private int maximoAlumno;
+    private int maximoAsignatura;
+    private int maximoGrado;
+
+    /**
+     * Índice (alumno, asignatura) a fila con sondeo lineal. Su capacidad es
+     * potencia de dos y al menos el doble del número de filas.
+     */
+    private long[] claves;
+    private int[] posiciones;
+
+    /**
+     * Crea una tabla vacía.
+     */
+    public TablaCalificaciones() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea una tabla vacía con espacio para el número de filas indicado.
+     *
+     * @param capacidad Número de filas esperado.
+     */
+    public TablaCalificaciones(int capacidad) {
+        int inicial = Math.max(capacidad, CAPACIDAD_INICIAL);
+        alumnos = new int[inicial];
+        asignaturas = new int[inicial];
+        grados = new int[inicial];
+        calificaciones = new short[inicial];
+        int ranuras = Integer.highestOneBit(inicial * 2 - 1) << 1;
+        claves = new long[ranuras];
+        posiciones = new int[ranuras];
+        Arrays.fill(posiciones, VACIA);
+    }
+
+    /**
+     * Obtiene el número de calificaciones de la tabla.
+     *
+     * @return El número de filas.
+     */
+    public int filas() {
+        return filas;
+    }
+
+    /**
+     * Estima la memoria ocupada por las columnas y el índice.
+     *
+     * @return El número aproximado de bytes.
+     */
+    public long bytes() {
+        return (long) alumnos.length * (3 * Integer.BYTES + Short.BYTES)
+                + (long) claves.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    public int alumno(int fila) {
+        return alumnos[fila];
+    }
+
+    public int asignatura(int fila) {
+        return asignaturas[fila];
+    }
+
+    public int grado(int fila) {
+        return grados[fila];
+    }
+
+    /**
+     * Obtiene la calificación de una fila en centésimas.
+     */
+    public short calificacion(int fila) {
+        return calificaciones[fila];
+    }
+
+    /**
+     * Crea una copia independiente de la tabla, para recorrerla sin retener el
+     * candado de quien la comparte.
+     *
+     * @return Una tabla con las mismas filas.
+     */
+    public TablaCalificaciones copiar() {
+        TablaCalificaciones copia = new TablaCalificaciones(0);
+        copia.filas = filas;
+        copia.alumnos = alumnos.clone();
+        copia.asignaturas = asignaturas.clone();
+        copia.grados = grados.clone();
+        copia.calificaciones = calificaciones.clone();
+        copia.maximoAlumno = maximoAlumno;
+        copia.maximoAsignatura = maximoAsignatura;
+        copia.maximoGrado = maximoGrado;
+        copia.claves = claves.clone();
+        copia.posiciones = posiciones.clone();
+        return copia;
+    }
+
+    /**
+     * Agrega la calificación de un alumno en una asignatura o reemplaza la que
+     * ya tenía.
+     *
+     * @param idAlumno     Identificador del alumno.
+     * @param idGrado      Identificador del grado del alumno.
+     * @param idAsignatura Identificador de la asignatura.
+     * @param calificacion Calificación en centésimas.
+     */
+    public void poner(int idAlumno, int idGrado, int idAsignatura, short calificacion) {
+        long clave = clave(idAlumno, idAsignatura);
+        int ranura = buscar(clave);
+        int fila = posiciones[ranura];
+        if (fila == VACIA) {
+            if (filas == alumnos.length) {
+                crecer();
+                ranura = buscar(clave);
+            }
+            fila = filas++;
+            alumnos[fila] = idAlumno;
+            asignaturas[fila] = idAsignatura;
+            claves[ranura] = clave;
+            posiciones[ranura] = fila;
+            maximoAlumno = Math.max(maximoAlumno, idAlumno);
+            maximoAsignatura = Math.max(maximoAsignatura, idAsignatura);
+        }
+        grados[fila] = idGrado;
+        calificaciones[fila] = calificacion;
+        maximoGrado = Math.max(maximoGrado, idGrado);
+    }
+
+    /**
+     * Obtiene la calificación de un alumno en una asignatura.
+     *
+     * @param idAlumno     Identificador del alumno.
+     * @param idAsignatura Identificador de la asignatura.
+     * @return La calificación en centésimas o -1 si no existe.
+     */
+    public int obtener(int idAlumno, int idAsignatura) {
+        int fila = posiciones[buscar(clave(idAlumno, idAsignatura))];
+        return fila == VACIA ? -1 : calificaciones[fila];
+    }
+
+    /**
+     * Elimina la calificación de un alumno en una asignatura.
+     *
+     * @param idAlumno     Identificador del alumno.
+     * @param idAsignatura Identificador de la asignatura.
+     * @return true si la calificación existía.
+     */
+    public boolean quitar(int idAlumno, int idAsignatura) {
+        int ranura = buscar(clave(idAlumno, idAsignatura));
+        if (posiciones[ranura] == VACIA) {
+            return false;
+        }
+        quitarFila(posiciones[ranura]);
+        return true;
+    }
+
+    /**
+     * Cambia el grado de todas las calificaciones de un alumno.
+     *
+     * @param idAlumno Identificador del alumno.
+     * @param idGrado  Nuevo grado.
+     */
+    public void cambiarGrado(int idAlumno, int idGrado) {
+        for (int fila = 0; fila < filas; fila++) {
+            if (alumnos[fila] == idAlumno) {
+                grados[fila] = idGrado;
+            }
+        }
+        maximoGrado = Math.max(maximoGrado, idGrado);
+    }
+
+    /**
+     * Cambia de grado, en un solo recorrido, las calificaciones de todos los
+     * alumnos de los grados indicados. Cada fila se cambia según su grado
+     * original, por lo que se admiten cadenas (1 a 2 y 2 a 3) e intercambios.
+     *
+     * @param remapeo Grado nuevo por grado original.
+     * @return El número de calificaciones que cambiaron de grado.
+     */
+    public int cambiarGrados(Map<Integer, Integer> remapeo) {
+        int cambiadas = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            Integer idGrado = remapeo.get(grados[fila]);
+            if (idGrado != null) {
+                grados[fila] = idGrado;
+                cambiadas++;
+            }
+        }
+        for (int idGrado : remapeo.values()) {
+            maximoGrado = Math.max(maximoGrado, idGrado);
+        }
+        return cambiadas;
+    }
+
+    /**
+     * Elimina todas las calificaciones de un alumno.
+     *
+     * @param idAlumno Identificador del alumno.
+     * @return El número de calificaciones eliminadas.
+     */
+    public int quitarAlumno(int idAlumno) {
+        return quitarDonde(alumnos, idAlumno);
+    }
+
+    /**
+     * Elimina todas las calificaciones de una asignatura.
+     *
+     * @param idAsignatura Identificador de la asignatura.
+     * @return El número de calificaciones eliminadas.
+     */
+    public int quitarAsignatura(int idAsignatura) {
+        return quitarDonde(asignaturas, idAsignatura);
+    }
+
+    /**
+     * Acumula número, suma, mínima, máxima y reprobadas de las filas que cumplen
+     * el filtro.
+     *
+     * @param filtro      Condiciones de las filas.
+     * @param agrupar     Columna por la que se agrupa o null para un solo total.
+     * @param aprobatoria Calificación aprobatoria en centésimas.
+     * @return Los grupos con al menos una calificación, en orden de id; sin
+     *         agrupar, un solo grupo con id 0 que puede tener 0 calificaciones.
+     */
+    public Agregado agregar(Filtro filtro, Dimension agrupar, short aprobatoria) {
+        int[] columna;
+        int maximo;
+        if (agrupar == null) {
+            columna = null;
+            maximo = 0;
+        } else {
+            columna = switch (agrupar) {
+                case ALUMNO -> alumnos;
+                case ASIGNATURA -> asignaturas;
+                case GRADO -> grados;
+            };
+            maximo = switch (agrupar) {
+                case ALUMNO -> maximoAlumno;
+                case ASIGNATURA -> maximoAsignatura;
+                case GRADO -> maximoGrado;
+            };
+        }
+
+        int[] cuenta = new int[maximo + 1];
+        long[] suma = new long[maximo + 1];
+        short[] minima = new short[maximo + 1];
+        short[] maxima = new short[maximo + 1];
+        int[] reprobadas = new int[maximo + 1];
+        Arrays.fill(minima, Short.MAX_VALUE);
+        Arrays.fill(maxima, Short.MIN_VALUE);
+
+        int idAlumno = filtro.idAlumno();
+        int idAsignatura = filtro.idAsignatura();
+        int idGrado = filtro.idGrado();
+        short desde = filtro.minima();
+        short hasta = filtro.maxima();
+        for (int fila = 0; fila < filas; fila++) {
+            short valor = calificaciones[fila];
+            if ((idAlumno != 0 && alumnos[fila] != idAlumno)
+                    || (idAsignatura != 0 && asignaturas[fila] != idAsignatura)
+                    || (idGrado != 0 && grados[fila] != idGrado)
+                    || valor < desde || valor > hasta) {
+                continue;
+            }
+            int g = columna == null ? 0 : columna[fila];
+            cuenta[g]++;
+            suma[g] += valor;
+            if (valor < minima[g]) {
+                minima[g] = valor;
+            }
+            if (valor > maxima[g]) {
+                maxima[g] = valor;
+            }
+            if (valor < aprobatoria) {
+                reprobadas[g]++;
+            }
+        }
+
+        if (columna == null) {
+            Agregado total = new Agregado(1);
+            copiar(total, 0, 0, cuenta, suma, minima, maxima, reprobadas);
+            return total;
+        }
+        int grupos = 0;
+        for (int id = 0; id <= maximo; id++) {
+            if (cuenta[id] > 0) {
+                grupos++;
+            }
+        }
+        Agregado agregado = new Agregado(grupos);
+        int g = 0;
+        for (int id = 0; id <= maximo; id++) {
+            if (cuenta[id] > 0) {
+                copiar(agregado, g++, id, cuenta, suma, minima, maxima, reprobadas);
+            }
+        }
+        return agregado;
+    }
+
+    private static void copiar(Agregado destino, int grupo, int id, int[] cuenta, long[] suma, short[] minima,
+            short[] maxima, int[] reprobadas) {
+        destino.ids[grupo] = id;
+        destino.calificaciones[grupo] = cuenta[id];
+        destino.sumas[grupo] = suma[id];
+        destino.minimas[grupo] = minima[id];
+        destino.maximas[grupo] = maxima[id];
+        destino.reprobadas[grupo] = reprobadas[id];
+    }
+
+    /**
+     * Elimina las filas cuya columna tiene el valor indicado. Se recorre de atrás
+     * hacia adelante para que la fila que ocupa el lugar de una eliminada ya
+     * haya sido revisada.
+     */
+    private int quitarDonde(int[] columna, int valor) {
+        int eliminadas = 0;
+        for (int fila = filas - 1; fila >= 0; fila--) {
+            if (columna[fila] == valor) {
+                quitarFila(fila);
+                eliminadas++;
+            }
+        }
+        return eliminadas;
+    }
+
+    /**
+     * Elimina una fila moviendo la última a su lugar.
+     */
+    private void quitarFila(int fila) {
+        borrarRanura(buscar(clave(alumnos[fila], asignaturas[fila])));
+        int ultima = --filas;
+        if (fila != ultima) {
+            alumnos[fila] = alumnos[ultima];
+            asignaturas[fila] = asignaturas[ultima];
+            grados[fila] = grados[ultima];
+            calificaciones[fila] = calificaciones[ultima];
+            posiciones[buscar(clave(alumnos[fila], asignaturas[fila]))] = fila;
+        }
+    }
+
+    private static long clave(int idAlumno, int idAsignatura) {
+        return ((long) idAlumno << 32) | (idAsignatura & 0xFFFFFFFFL);
+    }
+
+    private int ranuraInicial(long clave) {
+        return (int) ((clave * 0x9E3779B97F4A7C15L) >>> (64 - Integer.numberOfTrailingZeros(claves.length)));
+    }
+
+    /**
+     * Obtiene la ranura de la clave o la primera ranura vacía de su secuencia de
+     * sondeo.
+     */
+    private int buscar(long clave) {
+        int mascara = claves.length - 1;
+        int ranura = ranuraInicial(clave);
+        while (posiciones[ranura] != VACIA && claves[ranura] != clave) {
+            ranura = (ranura + 1) & mascara;
+        }
+        return ranura;
+    }
+
+    /**
+     * Vacía una ranura y recorre hacia atrás las claves siguientes que ya no
+     * serían alcanzables desde su ranura inicial, sin dejar marcas de borrado.
+     */
+    private void borrarRanura(int ranura) {
+        int mascara = claves.length - 1;
+        int hueco = ranura;
+        int siguiente = (hueco + 1) & mascara;
+        while (posiciones[siguiente] != VACIA) {
+            int inicial = ranuraInicial(claves[siguiente]);
+            if (((siguiente - inicial) & mascara) >= ((siguiente - hueco) & mascara)) {
+                claves[hueco] = claves[siguiente];
+                posiciones[hueco] = posiciones[siguiente];
+                hueco = siguiente;
+            }
+            siguiente = (siguiente + 1) & mascara;
+        }
+        posiciones[hueco] = VACIA;
+    }
+
+    /**
+     * Aumenta la capacidad de las columnas a la mitad más y, si hace falta,
+     * duplica el índice.
+     */
+    private void crecer() {
+        int capacidad = alumnos.length + (alumnos.length >> 1);
+        alumnos = Arrays.copyOf(alumnos, capacidad);
+        asignaturas = Arrays.copyOf(asignaturas, capacidad);
+        grados = Arrays.copyOf(grados, capacidad);
+        calificaciones = Arrays.copyOf(calificaciones, capacidad);
+        if (capacidad * 2 > claves.length) {
+            int ranuras = claves.length;
+            while (capacidad * 2 > ranuras) {
+                ranuras <<= 1;
+            }
+            claves = new long[ranuras];
+            posiciones = new int[ranuras];
+            Arrays.fill(posiciones, VACIA);
+            for (int fila = 0; fila < filas; fila++) {
+                long clave = clave(alumnos[fila], asignaturas[fila]);
+                int ranura = buscar(clave);
+                claves[ranura] = clave;
+                posiciones[ranura] = fila;
+            }
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package com.example.escuela.eventos;
+
+import com.example.escuela.model.EventoCalificacion;
+import com.example.escuela.multiescuela.EscuelaActual;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Difunde los eventos de calificaciones confirmados a los suscriptores SSE de
+ * un alumno o de una asignatura.
+ *
+ * Cada suscriptor tiene un búfer acotado de eventos pendientes; publicar sólo
+ * agrega el evento a los búferes y el envío ocurre en hilos propios, de modo que
+ * la transacción que confirmó el cambio nunca espera a un cliente. Si el búfer
+ * de un suscriptor se llena, el suscriptor se desconecta; al reconectarse con
+ * Last-Event-ID recupera los eventos faltantes de la bandeja de salida.
+ *
+ * El envío con SseEmitter bloquea el hilo mientras el cliente no lee. Por eso
+ * cada suscriptor con eventos por enviar ocupa su propio hilo de envío, de modo
+ * que un cliente detenido no retrasa a los demás, y un suscriptor cuyo envío
+ * excede escuela.eventos.sse.plazo-envio-ms se desconecta. El hilo detenido se
+ * libera cuando el contenedor agota el tiempo de escritura del socket.
+ *
+ * El latido y la revisión de los envíos corren en un hilo propio y no en el de
+ * tareas programadas, que comparten las demás tareas (@Scheduled) de la
+ * aplicación: la revisión debe correr justamente cuando otra tarea tarda.
+ */
+@Component
+public class DifusorEventosCalificacion {
+
+    private static final Logger log = LoggerFactory.getLogger(DifusorEventosCalificacion.class);
+
+    /**
+     * Eventos pendientes de envío que admite cada suscriptor antes de
+     * desconectarlo.
+     */
+    @Value("${escuela.eventos.sse.capacidad:256}")
+    private int capacidad;
+
+    /**
+     * Duración máxima de una suscripción; al vencer, el cliente se reconecta.
+     */
+    @Value("${escuela.eventos.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    /**
+     * Hilos de envío que se conservan aunque estén ociosos. Si todos están
+     * ocupados se crea otro, hasta uno por suscriptor con eventos por enviar.
+     */
+    @Value("${escuela.eventos.sse.hilos-envio:2}")
+    private int hilosEnvio;
+
+    /**
+     * Tiempo máximo que puede tardar un envío antes de desconectar al
+     * suscriptor.
+     */
+    @Value("${escuela.eventos.sse.plazo-envio-ms:10000}")
+    private long plazoEnvioMs;
+
+    /**
+     * Intervalo del latido que mantiene abiertas las conexiones.
+     */
+    @Value("${escuela.eventos.sse.latido-ms:15000}")
+    private long latidoMs;
+
+    /**
+     * Intervalo de la revisión de los envíos que exceden el plazo.
+     */
+    @Value("${escuela.eventos.sse.revision-ms:1000}")
+    private long revisionMs;
+
+    private final Map<String, Set<Suscripcion>> suscripciones = new ConcurrentHashMap<>();
+    private final AtomicInteger desconectados = new AtomicInteger();
+    private ExecutorService envio;
+    private ScheduledExecutorService revision;
+
+    /**
+     * Constructor por defecto para la clase DifusorEventosCalificacion.
+     */
+    public DifusorEventosCalificacion() {
+    }
+
+    /**
+     * Crea el ejecutor de los hilos de envío y programa el latido y la revisión
+     * de los envíos en su propio hilo.
+     */
+    @PostConstruct
+    void iniciar() {
+        AtomicInteger numero = new AtomicInteger();
+        envio = new ThreadPoolExecutor(hilosEnvio, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), tarea -> {
+                    Thread hilo = new Thread(tarea, "eventos-sse-" + numero.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+        revision = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "eventos-sse-revision");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        revision.scheduleWithFixedDelay(this::latir, latidoMs, latidoMs, TimeUnit.MILLISECONDS);
+        revision.scheduleWithFixedDelay(this::revisarEnvios, revisionMs, revisionMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Crea el emisor de una suscripción.
+     *
+     * @return El emisor SSE.
+     */
+    SseEmitter crearEmisor() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    /**
+     * Cierra las suscripciones abiertas y detiene los hilos de envío y de
+     * revisión.
+     */
+    @PreDestroy
+    void detener() {
+        revision.shutdownNow();
+        suscripciones.values().forEach(conjunto -> List.copyOf(conjunto).forEach(Suscripcion::cerrar));
+        envio.shutdownNow();
+    }
+
+    /**
+     * La clave incluye la escuela actual, de modo que el alumno 1 de una escuela
+     * no recibe los eventos del alumno 1 de otra.
+     *
+     * @param idAlumno el identificador del alumno
+     * @return La clave de suscripción a los eventos del alumno.
+     */
+    public static String claveAlumno(Integer idAlumno) {
+        return prefijoEscuela() + "alumno:" + idAlumno;
+    }
+
+    /**
+     * La clave incluye la escuela actual, como en {@link #claveAlumno(Integer)}.
+     *
+     * @param idAsignatura el identificador de la asignatura
+     * @return La clave de suscripción a los eventos de la asignatura.
+     */
+    public static String claveAsignatura(Integer idAsignatura) {
+        return prefijoEscuela() + "asignatura:" + idAsignatura;
+    }
+
+    private static String prefijoEscuela() {
+        String idEscuela = EscuelaActual.obtener();
+        return idEscuela == null ? "" : idEscuela + "/";
+    }
+
+    /**
+     * Abre una suscripción. La suscripción se registra antes de leer los eventos
+     * a reproducir, de modo que un evento confirmado mientras tanto no se pierde;
+     * si llega por ambos caminos se envía una sola vez.
+     *
+     * @param clave              La clave de la suscripción.
+     * @param reproduccion       Lee los eventos posteriores al último que recibió
+     *                           el cliente, en orden de id.
+     * @param maximoReproduccion Número máximo de eventos a reproducir. Si hay
+     *                           más, en su lugar se envía un evento "reinicio" para
+     *                           que el cliente vuelva a consultar el estado
+     *                           completo.
+     * @return El emisor SSE de la suscripción.
+     */
+    public SseEmitter suscribir(String clave, Supplier<List<EventoCalificacion>> reproduccion,
+            int maximoReproduccion) {
+        SseEmitter emisor = crearEmisor();
+        Suscripcion suscripcion = new Suscripcion(clave, emisor);
+        emisor.onCompletion(() -> quitar(suscripcion));
+        emisor.onTimeout(suscripcion::cerrar);
+        emisor.onError(error -> quitar(suscripcion));
+        suscripciones.compute(clave, (k, conjunto) -> {
+            Set<Suscripcion> actual = conjunto != null ? conjunto : ConcurrentHashMap.newKeySet();
+            actual.add(suscripcion);
+            return actual;
+        });
+        try {
+            List<EventoCalificacion> eventos = reproduccion.get();
+            if (eventos.size() > maximoReproduccion) {
+                suscripcion.enviarReinicio();
+            } else {
+                suscripcion.reproducir(eventos);
+            }
+        } catch (IOException | RuntimeException e) {
+            quitar(suscripcion);
+            emisor.completeWithError(e);
+            return emisor;
+        }
+        suscripcion.activar();
+        return emisor;
+    }
+
+    /**
+     * Agrega un evento confirmado a los búferes de los suscriptores de su alumno
+     * y de su asignatura. No espera a que se envíe.
+     *
+     * @param evento El evento a difundir.
+     */
+    public void publicar(EventoCalificacion evento) {
+        for (String clave : List.of(claveAlumno(evento.getIdAlumno()), claveAsignatura(evento.getIdAsignatura()))) {
+            Set<Suscripcion> conjunto = suscripciones.get(clave);
+            if (conjunto != null) {
+                conjunto.forEach(suscripcion -> suscripcion.encolar(evento));
+            }
+        }
+    }
+
+    /**
+     * Envía un comentario a cada suscriptor para mantener abierta la conexión y
+     * detectar los clientes que ya se desconectaron.
+     */
+    public void latir() {
+        suscripciones.values().forEach(conjunto -> conjunto.forEach(Suscripcion::latir));
+    }
+
+    /**
+     * Desconecta a los suscriptores cuyo envío en curso excede el plazo, para
+     * que dejen de acumular eventos. Al reconectarse recuperan los faltantes con
+     * Last-Event-ID.
+     */
+    public void revisarEnvios() {
+        try {
+            long limite = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(plazoEnvioMs);
+            suscripciones.values().forEach(conjunto -> conjunto.forEach(suscripcion -> suscripcion.revisar(limite)));
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron revisar los envíos de eventos", e);
+        }
+    }
+
+    /**
+     * @return Número de suscripciones abiertas.
+     */
+    public int getSuscriptores() {
+        return suscripciones.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * @return Número de suscriptores desconectados por llenar su búfer o por
+     *         exceder el plazo de envío.
+     */
+    public int getDesconectados() {
+        return desconectados.get();
+    }
+
+    private void quitar(Suscripcion suscripcion) {
+        suscripciones.computeIfPresent(suscripcion.clave, (k, conjunto) -> {
+            conjunto.remove(suscripcion);
+            return conjunto.isEmpty() ? null : conjunto;
+        });
+    }
+
+    /**
+     * Suscripción de un cliente. Los eventos se envían desde un solo hilo a la
+     * vez y en el orden en que se publicaron.
+     */
+    private final class Suscripcion {
+        private final String clave;
+        private final SseEmitter emisor;
+        private final BlockingQueue<EventoCalificacion> pendientes = new ArrayBlockingQueue<>(capacidad);
+        private final Set<Long> reproducidos = new HashSet<>();
+        private final AtomicBoolean programada = new AtomicBoolean();
+        private final AtomicBoolean cerrada = new AtomicBoolean();
+        private volatile boolean activa;
+        private volatile boolean latido;
+        /**
+         * Instante (System.nanoTime) en que empezó el envío en curso; 0 si no hay
+         * ninguno.
+         */
+        private volatile long inicioEnvio;
+
+        Suscripcion(String clave, SseEmitter emisor) {
+            this.clave = clave;
+            this.emisor = emisor;
+        }
+
+        void reproducir(List<EventoCalificacion> eventos) throws IOException {
+            for (EventoCalificacion evento : eventos) {
+                enviar(evento);
+                reproducidos.add(evento.getId());
+            }
+        }
+
+        void enviarReinicio() throws IOException {
+            enviar(SseEmitter.event().name("reinicio")
+                    .data(Map.of("mensaje", "Hay demasiados eventos pendientes; vuelva a consultar las calificaciones"),
+                            MediaType.APPLICATION_JSON));
+        }
+
+        void activar() {
+            activa = true;
+            programar();
+        }
+
+        void encolar(EventoCalificacion evento) {
+            if (cerrada.get()) {
+                return;
+            }
+            if (!pendientes.offer(evento)) {
+                desconectados.incrementAndGet();
+                log.info("Se desconecta un suscriptor de {} con {} eventos sin enviar", clave, capacidad);
+                cerrar();
+                return;
+            }
+            programar();
+        }
+
+        void latir() {
+            latido = true;
+            programar();
+        }
+
+        void revisar(long limite) {
+            long inicio = inicioEnvio;
+            if (inicio != 0 && inicio - limite < 0 && !cerrada.get()) {
+                desconectados.incrementAndGet();
+                log.info("Se desconecta un suscriptor de {} cuyo envío excedió {} ms", clave, plazoEnvioMs);
+                cerrar();
+            }
+        }
+
+        /**
+         * Cierra la suscripción. El emisor se completa en un hilo de envío, pues
+         * complete() espera a que termine un envío en curso.
+         */
+        void cerrar() {
+            if (cerrada.compareAndSet(false, true)) {
+                quitar(this);
+                pendientes.clear();
+                try {
+                    envio.execute(emisor::complete);
+                } catch (RejectedExecutionException e) {
+                    emisor.complete();
+                }
+            }
+        }
+
+        private void programar() {
+            if (activa && !cerrada.get() && programada.compareAndSet(false, true)) {
+                try {
+                    envio.execute(this::drenar);
+                } catch (RejectedExecutionException e) {
+                    programada.set(false);
+                }
+            }
+        }
+
+        private void drenar() {
+            try {
+                EventoCalificacion evento;
+                while (!cerrada.get() && (evento = pendientes.poll()) != null) {
+                    if (!reproducidos.remove(evento.getId())) {
+                        enviar(evento);
+                    }
+                }
+                if (latido && !cerrada.get()) {
+                    latido = false;
+                    enviar(SseEmitter.event().comment("latido"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                cerrar();
+            } finally {
+                programada.set(false);
+            }
+            if (!pendientes.isEmpty() || latido) {
+                programar();
+            }
+        }
+
+        private void enviar(EventoCalificacion evento) throws IOException {
+            enviar(SseEmitter.event()
+                    .id(String.valueOf(evento.getId()))
+                    .name(evento.getTipo().name().toLowerCase(Locale.ROOT))
+                    .data(evento, MediaType.APPLICATION_JSON));
+        }
+
+        private void enviar(SseEmitter.SseEventBuilder evento) throws IOException {
+            long ahora = System.nanoTime();
+            inicioEnvio = ahora != 0 ? ahora : 1;
+            try {
+                emisor.send(evento);
+            } finally {
+                inicioEnvio = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.escuela.eventos;
+
+import com.example.escuela.model.EventoCalificacion;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Marca de agua para leer la bandeja de salida en orden de id.
+ * El id de un evento se asigna al insertarlo y no al confirmar su transacción,
+ * por lo que un evento con id menor puede hacerse visible después de otro con
+ * id mayor. Un consumidor que avanza por id sólo puede dar por leídos los
+ * eventos registrados antes de un periodo de gracia: se supone que ninguna
+ * transacción que escribe en la bandeja de salida tarda más que ese periodo en
+ * confirmarse. Los eventos posteriores se entregan en una lectura siguiente.
+ */
+public final class MarcaAguaEventos {
+
+    private MarcaAguaEventos() {
+    }
+
+    /**
+     * Recorta una página de eventos en orden de id antes del primer evento
+     * registrado después del corte. Los eventos siguientes se descartan aunque
+     * sean más antiguos, para no avanzar el cursor de id más allá de un evento
+     * cuya transacción podría no haber terminado.
+     *
+     * @param eventos Eventos leídos en orden de id.
+     * @param corte   Momento hasta el que los eventos se consideran confirmados.
+     * @return Los eventos anteriores al primero registrado después del corte.
+     */
+    public static List<EventoCalificacion> hastaCorte(List<EventoCalificacion> eventos, LocalDateTime corte) {
+        for (int i = 0; i < eventos.size(); i++) {
+            if (eventos.get(i).getFecha().isAfter(corte)) {
+                return eventos.subList(0, i);
+            }
+        }
+        return eventos;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.escuela.eventos;
+
+import com.example.escuela.model.EventoCalificacion;
+import com.example.escuela.multiescuela.EscuelaActual;
+import com.example.escuela.repository.EventoCalificacionRepository;
+import com.example.escuela.service.EscuelaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Relevo que publica los eventos de la bandeja de salida en los sumideros
+ * configurados.
+ * Lee los eventos no publicados en orden de id hasta la marca de agua de
+ * {@link MarcaAguaEventos}, los entrega a cada {@link SumideroEventos} y después
+ * los marca como publicados. Si un sumidero falla, el lote se vuelve a entregar
+ * en el siguiente ciclo, por lo que los consumidores deben tolerar eventos
+ * repetidos. Un evento cuya transacción tarda más que el periodo de gracia en
+ * confirmarse no se pierde, porque sigue sin publicar, pero puede entregarse
+ * después de eventos con id mayor. Con varias escuelas, cada ciclo recorre la
+ * bandeja de salida de cada una.
+ */
+@Component
+public class RelevoEventosCalificacion {
+
+    private static final Logger log = LoggerFactory.getLogger(RelevoEventosCalificacion.class);
+
+    /**
+     * Repositorio de la bandeja de salida.
+     */
+    @Autowired
+    private EventoCalificacionRepository eventoCalificacionRepository;
+
+    /**
+     * Servicio para recorrer las escuelas.
+     */
+    @Autowired
+    private EscuelaService escuelaService;
+
+    /**
+     * Sumideros registrados como beans. Puede estar vacía.
+     */
+    @Autowired(required = false)
+    private List<SumideroEventos> sumideros = List.of();
+
+    /**
+     * Número máximo de eventos publicados por ciclo.
+     */
+    @Value("${escuela.eventos.relevo.tamanio-lote:200}")
+    private int tamanioLote;
+
+    /**
+     * Milisegundos que se espera antes de publicar un evento, para que las
+     * transacciones con ids menores terminen de confirmarse.
+     */
+    @Value("${escuela.eventos.gracia-ms:2000}")
+    private long graciaMs;
+
+    /**
+     * Constructor por defecto para la clase RelevoEventosCalificacion.
+     */
+    public RelevoEventosCalificacion() {
+    }
+
+    /**
+     * Publica un lote de eventos pendientes de cada escuela. Si no hay sumideros
+     * configurados no hace nada y los eventos permanecen disponibles para la
+     * consulta incremental.
+     */
+    @Scheduled(fixedDelayString = "${escuela.eventos.relevo.intervalo-ms:500}")
+    public void publicarPendientes() {
+        if (sumideros.isEmpty()) {
+            return;
+        }
+        for (String idEscuela : escuelaService.escuelas()) {
+            EscuelaActual.ejecutar(idEscuela, this::publicarLote);
+        }
+    }
+
+    private void publicarLote() {
+        try {
+            List<EventoCalificacion> eventos = MarcaAguaEventos.hastaCorte(eventoCalificacionRepository
+                    .findByPublicadoFalseOrderByIdAsc(PageRequest.of(0, tamanioLote)),
+                    LocalDateTime.now().minus(Duration.ofMillis(graciaMs)));
+            if (eventos.isEmpty()) {
+                return;
+            }
+            for (SumideroEventos sumidero : sumideros) {
+                sumidero.publicar(eventos);
+            }
+            eventoCalificacionRepository.marcarPublicados(eventos.stream().map(EventoCalificacion::getId).toList());
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron publicar los eventos de calificaciones de la escuela {}: {}",
+                    escuelaService.actual(), e.getMessage());
+        }
+    }
+}
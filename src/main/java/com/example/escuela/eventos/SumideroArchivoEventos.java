@@ -0,0 +1,62 @@
+package com.example.escuela.eventos;
+
+import com.example.escuela.model.EventoCalificacion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sumidero que agrega cada evento como una línea JSON a un archivo de registro.
+ * Se habilita con la propiedad escuela.eventos.sumidero.archivo.habilitado.
+ */
+@Component
+@ConditionalOnProperty(name = "escuela.eventos.sumidero.archivo.habilitado", havingValue = "true")
+public class SumideroArchivoEventos implements SumideroEventos {
+
+    /**
+     * Serializador JSON de la aplicación.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Ruta del archivo donde se agregan los eventos.
+     */
+    @Value("${escuela.eventos.sumidero.archivo.ruta:eventos-calificaciones.log}")
+    private String ruta;
+
+    /**
+     * Constructor por defecto para la clase SumideroArchivoEventos.
+     */
+    public SumideroArchivoEventos() {
+    }
+
+    /**
+     * Agrega los eventos al archivo, uno por línea.
+     *
+     * @param eventos Los eventos a entregar.
+     */
+    @Override
+    public void publicar(List<EventoCalificacion> eventos) {
+        try (BufferedWriter escritor = Files.newBufferedWriter(Path.of(ruta), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (EventoCalificacion evento : eventos) {
+                escritor.write(objectMapper.writeValueAsString(evento));
+                escritor.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron escribir los eventos en " + ruta, e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.escuela.eventos;
+
+import com.example.escuela.model.EventoCalificacion;
+
+import java.util.List;
+
+/**
+ * Destino al que el {@link RelevoEventosCalificacion} entrega los eventos de
+ * calificaciones. Cualquier bean que implemente esta interfaz se registra
+ * automáticamente como sumidero.
+ */
+public interface SumideroEventos {
+
+    /**
+     * Entrega un lote de eventos en orden de id. Si el método lanza una
+     * excepción, el lote completo se vuelve a entregar en el siguiente ciclo.
+     *
+     * @param eventos Los eventos a entregar.
+     */
+    void publicar(List<EventoCalificacion> eventos);
+}
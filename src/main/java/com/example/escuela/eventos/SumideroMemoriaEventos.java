@@ -0,0 +1,59 @@
+package com.example.escuela.eventos;
+
+import com.example.escuela.model.EventoCalificacion;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sumidero que guarda los eventos en una cola en memoria. Está pensado para
+ * pruebas y para consumidores dentro del mismo proceso.
+ * Se habilita con la propiedad escuela.eventos.sumidero.memoria.habilitado.
+ */
+@Component
+@ConditionalOnProperty(name = "escuela.eventos.sumidero.memoria.habilitado", havingValue = "true")
+public class SumideroMemoriaEventos implements SumideroEventos {
+
+    private final BlockingQueue<EventoCalificacion> cola = new LinkedBlockingQueue<>();
+
+    /**
+     * Constructor por defecto para la clase SumideroMemoriaEventos.
+     */
+    public SumideroMemoriaEventos() {
+    }
+
+    /**
+     * Agrega los eventos a la cola en memoria.
+     *
+     * @param eventos Los eventos a entregar.
+     */
+    @Override
+    public void publicar(List<EventoCalificacion> eventos) {
+        cola.addAll(eventos);
+    }
+
+    /**
+     * Espera el siguiente evento publicado.
+     *
+     * @param espera Tiempo máximo de espera.
+     * @param unidad Unidad del tiempo de espera.
+     * @return El siguiente evento, o null si no llegó ninguno a tiempo.
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera.
+     */
+    public EventoCalificacion siguiente(long espera, TimeUnit unidad) throws InterruptedException {
+        return cola.poll(espera, unidad);
+    }
+
+    /**
+     * Obtiene la cola de eventos publicados.
+     *
+     * @return La cola en memoria.
+     */
+    public BlockingQueue<EventoCalificacion> getCola() {
+        return cola;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.escuela.excepciones;
+
+/**
+ * Excepción lanzada cuando el control de admisión rechaza una solicitud por
+ * exceder el límite de tasa o de concurrencia. Se responde con 429 Too Many
+ * Requests y la cabecera Retry-After. No guarda la traza de la pila, pues se
+ * lanza con frecuencia bajo carga y siempre desde el mismo lugar.
+ */
+public class AdmisionExcepcion extends RuntimeException {
+
+    /**
+     * Segundos que el cliente debe esperar antes de reintentar.
+     */
+    private final long segundosReintento;
+
+    /**
+     * Constructor por defecto para la clase AdmisionExcepcion.
+     * @param message           Mensaje de error que describe la excepción.
+     * @param segundosReintento Segundos que el cliente debe esperar antes de reintentar.
+     */
+    public AdmisionExcepcion(String message, long segundosReintento) {
+        super(message, null, false, false);
+        this.segundosReintento = segundosReintento;
+    }
+
+    /**
+     * @return Segundos que el cliente debe esperar antes de reintentar.
+     */
+    public long getSegundosReintento() {
+        return segundosReintento;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.escuela.excepciones;
+
+/**
+ * Excepción lanzada cuando el parámetro fields de un listado pide un campo que
+ * no existe o que no puede seleccionarse.
+ * Extiende RuntimeException para permitir que se lance sin necesidad de
+ * declarar la excepción en los métodos.
+ */
+public class CamposExcepcion extends RuntimeException {
+
+    /**
+     * Constructor por defecto para la clase CamposExcepcion.
+     * @param message Mensaje de error que describe la excepción.
+     */
+    public CamposExcepcion(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.escuela.excepciones;
+
+/**
+ * Excepción lanzada cuando una solicitud indica una escuela que no está
+ * configurada o no indica ninguna y la escuela es obligatoria.
+ * Extiende RuntimeException para permitir que se lance sin necesidad de
+ * declarar la excepción en los métodos.
+ */
+public class EscuelaExcepcion extends RuntimeException {
+
+    /**
+     * Constructor por defecto para la clase EscuelaExcepcion.
+     * @param message Mensaje de error que describe la excepción.
+     */
+    public EscuelaExcepcion(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.escuela.excepciones;
+
+/**
+ * Excepción lanzada cuando se consulta la analítica de calificaciones y no hay
+ * una instantánea disponible, porque está deshabilitada o aún no se genera.
+ * Extiende RuntimeException para permitir que se lance sin necesidad de
+ * declarar la excepción en los métodos.
+ */
+public class InstantaneaExcepcion extends RuntimeException {
+
+    /**
+     * Constructor por defecto para la clase InstantaneaExcepcion.
+     * @param message Mensaje de error que describe la excepción.
+     */
+    public InstantaneaExcepcion(String message) {
+        super(message);
+    }
+
+}
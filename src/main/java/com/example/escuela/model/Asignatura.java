@@ -1,6 +1,8 @@
 package com.example.escuela.model;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Clase que representa un alumno en el sistema escolar.
@@ -9,10 +11,13 @@ import lombok.Data;
  * Anotaciones:
  * - @Entity: Indica que esta clase es una entidad JPA.
  * - @Table: Especifica la tabla de la base de datos a la que está mapeada esta entidad.
+ * - @Cacheable / @Cache: Guarda la entidad en la caché de segundo nivel (región "asignaturas").
  * - @Data: Genera automáticamente los métodos getter, setter, toString, equals y hashCode.
  */
 @Entity
 @Table(name = "asignaturas")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "asignaturas")
 @Data
 public class Asignatura {
 
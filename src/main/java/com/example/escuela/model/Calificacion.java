@@ -49,9 +49,9 @@ public class Calificacion {
     private Asignatura asignatura;
 
     /**
-     * Calificación obtenida por el alumno en la asignatura.
+     * Calificación obtenida por el alumno en la asignatura, en punto fijo.
      * Es un campo obligatorio.
      */
     @Column(name = "calificacion")
-    private Float calificacion;
+    private Puntaje calificacion;
 }
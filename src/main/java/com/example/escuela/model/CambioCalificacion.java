@@ -0,0 +1,82 @@
+package com.example.escuela.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clase que representa un cambio de calificación en el historial.
+ * El historial sólo admite inserciones: cada asignación, actualización o
+ * eliminación agrega una fila con el valor anterior, el nuevo y quién hizo el
+ * cambio.
+ * 
+ * Anotaciones:
+ * - @Entity: Indica que esta clase es una entidad JPA.
+ * - @Immutable: Hibernate no actualiza ni elimina las filas leídas.
+ * - @Table: Especifica la tabla de la base de datos a la que está mapeada esta entidad.
+ * - @Data: Genera automáticamente los métodos getter, setter, toString, equals y hashCode.
+ */
+@Entity
+@Immutable
+@Table(name = "historial_calificaciones")
+@Data
+public class CambioCalificacion {
+
+    /**
+     * Constructor por defecto para la clase CambioCalificacion.
+     */
+    public CambioCalificacion() {
+    }
+
+    /**
+     * Identificador del cambio. Define el orden del historial.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_cambio")
+    private Long id;
+
+    /**
+     * Identificador de la calificación modificada.
+     */
+    @Column(name = "id_calificacion")
+    private Integer idCalificacion;
+
+    /**
+     * Identificador del alumno calificado.
+     */
+    @Column(name = "id_alumno")
+    private Integer idAlumno;
+
+    /**
+     * Identificador de la asignatura calificada.
+     */
+    @Column(name = "id_asignatura")
+    private Integer idAsignatura;
+
+    /**
+     * Valor antes del cambio, o null si la calificación se asignó.
+     */
+    @Column(name = "calificacion_anterior")
+    private Puntaje anterior;
+
+    /**
+     * Valor después del cambio, o null si la calificación se eliminó.
+     */
+    @Column(name = "calificacion_nueva")
+    private Puntaje nueva;
+
+    /**
+     * Momento en que se realizó el cambio.
+     */
+    @Column(name = "fecha")
+    private LocalDateTime fecha;
+
+    /**
+     * Quién realizó el cambio.
+     */
+    @Column(name = "actor")
+    private String actor;
+}
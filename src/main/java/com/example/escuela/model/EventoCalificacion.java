@@ -0,0 +1,81 @@
+package com.example.escuela.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clase que representa un cambio de calificación registrado en la bandeja de
+ * salida (outbox).
+ * Cada evento se escribe en la misma transacción que el cambio que describe y
+ * después se publica en orden de id a los consumidores.
+ * 
+ * Anotaciones:
+ * - @Entity: Indica que esta clase es una entidad JPA.
+ * - @Table: Especifica la tabla de la base de datos a la que está mapeada esta entidad.
+ * - @Data: Genera automáticamente los métodos getter, setter, toString, equals y hashCode.
+ */
+@Entity
+@Table(name = "eventos_calificaciones")
+@Data
+public class EventoCalificacion {
+
+    /**
+     * Constructor por defecto para la clase EventoCalificacion.
+     */
+    public EventoCalificacion() {
+    }
+
+    /**
+     * Identificador del evento. Define el orden de publicación.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_evento")
+    private Long id;
+
+    /**
+     * Tipo de cambio realizado.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo")
+    private TipoEventoCalificacion tipo;
+
+    /**
+     * Identificador de la calificación modificada.
+     */
+    @Column(name = "id_calificacion")
+    private Integer idCalificacion;
+
+    /**
+     * Identificador del alumno calificado.
+     */
+    @Column(name = "id_alumno")
+    private Integer idAlumno;
+
+    /**
+     * Identificador de la asignatura calificada.
+     */
+    @Column(name = "id_asignatura")
+    private Integer idAsignatura;
+
+    /**
+     * Valor de la calificación después del cambio, o el último valor si fue
+     * eliminada.
+     */
+    @Column(name = "calificacion")
+    private Puntaje calificacion;
+
+    /**
+     * Momento en que se registró el cambio.
+     */
+    @Column(name = "fecha")
+    private LocalDateTime fecha;
+
+    /**
+     * Indica si el evento ya se entregó a los sumideros configurados.
+     */
+    @Column(name = "publicado")
+    private boolean publicado;
+}
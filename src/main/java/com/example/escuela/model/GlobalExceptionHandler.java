@@ -1,12 +1,16 @@
 package com.example.escuela.model;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import com.example.escuela.excepciones.AdmisionExcepcion;
 import com.example.escuela.excepciones.AlumnoExcepcion;
+import com.example.escuela.excepciones.EscuelaExcepcion;
 import com.example.escuela.excepciones.GradoExcepcion;
 
 import java.util.HashMap;
@@ -36,6 +40,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    /**
+     * Maneja los cuerpos de solicitud que no se pueden leer, por ejemplo una
+     * calificación con más de dos decimales.
+     *
+     * @param ex La excepción lanzada.
+     * @return Una respuesta con un mapa de error y un código de estado 400 Bad
+     *         Request.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, String>> handleNotReadable(HttpMessageNotReadableException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("mensaje", "Cuerpo de la solicitud inválido");
+        error.put("error", ex.getMostSpecificCause().getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+
     /**
      * Maneja excepciones de validación de argumentos de método.
      * Captura errores de validación en los DTOs y devuelve un mapa con los errores.
@@ -78,6 +98,38 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Maneja las solicitudes con una escuela que no está configurada.
+     *
+     * @param ex La excepción lanzada.
+     * @return Una respuesta con un mapa de error y un código de estado 400 Bad
+     *         Request.
+     */
+    @ExceptionHandler(EscuelaExcepcion.class)
+    public ResponseEntity<Map<String, String>> handleEscuelaExcepcion(EscuelaExcepcion ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Error con la escuela");
+        error.put("mensaje", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja las solicitudes rechazadas por el control de admisión.
+     *
+     * @param ex La excepción lanzada.
+     * @return Una respuesta con un mapa de error, un código de estado 429 Too Many
+     *         Requests y la cabecera Retry-After.
+     */
+    @ExceptionHandler(AdmisionExcepcion.class)
+    public ResponseEntity<Map<String, String>> handleAdmisionExcepcion(AdmisionExcepcion ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Demasiadas solicitudes");
+        error.put("mensaje", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getSegundosReintento()))
+                .body(error);
+    }
+
     // Catch-all para cualquier otra excepción
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGeneralException(Exception ex) {
@@ -0,0 +1,228 @@
+package com.example.escuela.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Calificación en punto fijo: un entero con el número de centésimas, igual que
+ * la columna DECIMAL(5,2). Evita el redondeo de float (89.95 se guarda como
+ * 8995, no como 89.9499969...) y la conversión en cada lectura.
+ * Es inmutable y las instancias de 0.00 a 100.00 se comparten, por lo que leer
+ * una calificación válida no crea objetos.
+ * En JSON se escribe y se lee como número decimal, por ejemplo 89.95; se
+ * convierte a la columna con {@link PuntajeConverter}.
+ */
+@JsonSerialize(using = Puntaje.Serializador.class)
+@JsonDeserialize(using = Puntaje.Deserializador.class)
+public final class Puntaje implements Comparable<Puntaje>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Centésimas por punto.
+     */
+    public static final int ESCALA = 100;
+
+    private static final Puntaje[] COMUNES = new Puntaje[100 * ESCALA + 1];
+
+    static {
+        for (int i = 0; i < COMUNES.length; i++) {
+            COMUNES[i] = new Puntaje(i);
+        }
+    }
+
+    /**
+     * Calificación mínima válida.
+     */
+    public static final Puntaje CERO = COMUNES[0];
+
+    /**
+     * Calificación máxima válida.
+     */
+    public static final Puntaje CIEN = COMUNES[100 * ESCALA];
+
+    private final int centesimas;
+
+    private Puntaje(int centesimas) {
+        this.centesimas = centesimas;
+    }
+
+    /**
+     * Obtiene el puntaje con el número de centésimas indicado.
+     *
+     * @param centesimas Calificación multiplicada por 100.
+     * @return El puntaje.
+     */
+    public static Puntaje deCentesimas(int centesimas) {
+        return centesimas >= 0 && centesimas < COMUNES.length ? COMUNES[centesimas] : new Puntaje(centesimas);
+    }
+
+    /**
+     * Obtiene el puntaje de un valor decimal con a lo más dos decimales.
+     *
+     * @param valor El valor decimal.
+     * @return El puntaje.
+     * @throws NumberFormatException Si el valor tiene más de dos decimales o no
+     *                               cabe en un int.
+     */
+    public static Puntaje de(BigDecimal valor) {
+        try {
+            return deCentesimas(valor.movePointRight(2).intValueExact());
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("La calificación " + valor.toPlainString()
+                    + " debe tener a lo más dos decimales");
+        }
+    }
+
+    /**
+     * Obtiene el puntaje de un texto como "89.95". Permite usar Puntaje en
+     * parámetros de solicitud y en propiedades de configuración.
+     *
+     * @param texto El valor decimal.
+     * @return El puntaje.
+     * @throws NumberFormatException Si el texto no es un número con a lo más dos
+     *                               decimales.
+     */
+    public static Puntaje valueOf(String texto) {
+        return de(new BigDecimal(texto.trim()));
+    }
+
+    /**
+     * Obtiene la calificación multiplicada por 100.
+     *
+     * @return El número de centésimas.
+     */
+    public int centesimas() {
+        return centesimas;
+    }
+
+    /**
+     * Obtiene el valor exacto como BigDecimal con dos decimales.
+     *
+     * @return El valor decimal.
+     */
+    public BigDecimal aBigDecimal() {
+        return BigDecimal.valueOf(centesimas, 2);
+    }
+
+    /**
+     * Indica si la calificación está entre 0 y 100.
+     *
+     * @return true si es una calificación válida.
+     */
+    public boolean esValida() {
+        return centesimas >= 0 && centesimas <= 100 * ESCALA;
+    }
+
+    @Override
+    public int compareTo(Puntaje otro) {
+        return Integer.compare(centesimas, otro.centesimas);
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        return otro instanceof Puntaje puntaje && puntaje.centesimas == centesimas;
+    }
+
+    @Override
+    public int hashCode() {
+        return centesimas;
+    }
+
+    @Override
+    public String toString() {
+        return aBigDecimal().toPlainString();
+    }
+
+    /**
+     * Conserva la instancia compartida al deserializar, por ejemplo desde la
+     * caché de segundo nivel.
+     */
+    private Object readResolve() {
+        return deCentesimas(centesimas);
+    }
+
+    /**
+     * Escribe el puntaje como número decimal con dos decimales.
+     */
+    public static final class Serializador extends StdScalarSerializer<Puntaje> {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructor por defecto para la clase Serializador.
+         */
+        public Serializador() {
+            super(Puntaje.class);
+        }
+
+        @Override
+        public void serialize(Puntaje valor, JsonGenerator generador, SerializerProvider proveedor)
+                throws IOException {
+            generador.writeNumber(valor.aBigDecimal());
+        }
+    }
+
+    /**
+     * Lee el puntaje de un número o de un texto. Un valor con más de dos
+     * decimales es un error en lugar de redondearse en silencio.
+     *
+     * Los formatos binarios (Smile, CBOR) pueden enviar el número como double o
+     * float; se toma su representación decimal más corta, de modo que 89.95
+     * enviado como double se lee como 89.95 y no como su valor binario exacto.
+     */
+    public static final class Deserializador extends StdScalarDeserializer<Puntaje> {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructor por defecto para la clase Deserializador.
+         */
+        public Deserializador() {
+            super(Puntaje.class);
+        }
+
+        @Override
+        public Puntaje deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+            JsonToken token = parser.currentToken();
+            try {
+                if (token == JsonToken.VALUE_NUMBER_INT) {
+                    return deCentesimas(Math.multiplyExact(parser.getIntValue(), ESCALA));
+                }
+                if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    return de(decimal(parser));
+                }
+                if (token == JsonToken.VALUE_STRING) {
+                    return valueOf(parser.getText());
+                }
+            } catch (NumberFormatException | ArithmeticException e) {
+                return (Puntaje) contexto.handleWeirdStringValue(Puntaje.class, parser.getText(), e.getMessage());
+            }
+            return (Puntaje) contexto.handleUnexpectedToken(Puntaje.class, parser);
+        }
+
+        /**
+         * Obtiene el valor decimal de un número con punto. En JSON el texto se lee
+         * tal cual; un double o float binario se lee por su representación más
+         * corta.
+         */
+        private static BigDecimal decimal(JsonParser parser) throws IOException {
+            return switch (parser.getNumberTypeFP()) {
+                case DOUBLE64 -> BigDecimal.valueOf(parser.getDoubleValue());
+                case FLOAT16, FLOAT32 -> new BigDecimal(Float.toString(parser.getFloatValue()));
+                default -> parser.getDecimalValue();
+            };
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.escuela.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Convierte un {@link Puntaje} a la columna DECIMAL(5,2) y de vuelta sin pasar
+ * por float. Se aplica automáticamente a todos los atributos de tipo Puntaje.
+ */
+@Converter(autoApply = true)
+public class PuntajeConverter implements AttributeConverter<Puntaje, BigDecimal> {
+
+    /**
+     * Constructor por defecto para la clase PuntajeConverter.
+     */
+    public PuntajeConverter() {
+    }
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Puntaje puntaje) {
+        return puntaje == null ? null : puntaje.aBigDecimal();
+    }
+
+    @Override
+    public Puntaje convertToEntityAttribute(BigDecimal valor) {
+        return valor == null ? null : Puntaje.de(valor);
+    }
+}
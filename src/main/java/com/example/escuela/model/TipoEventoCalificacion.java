@@ -0,0 +1,22 @@
+package com.example.escuela.model;
+
+/**
+ * Tipos de cambio que se registran en la bandeja de salida de eventos de
+ * calificaciones.
+ */
+public enum TipoEventoCalificacion {
+    /**
+     * Se asignó una calificación nueva.
+     */
+    CREADA,
+
+    /**
+     * Se modificó el valor de una calificación existente.
+     */
+    ACTUALIZADA,
+
+    /**
+     * Se eliminó una calificación.
+     */
+    ELIMINADA
+}
@@ -0,0 +1,55 @@
+package com.example.escuela.multiescuela;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.hibernate.engine.jdbc.connections.spi.AbstractDataSourceBasedMultiTenantConnectionProviderImpl;
+
+import javax.sql.DataSource;
+
+/**
+ * Conecta Hibernate con los pools de cada escuela y le indica la escuela de la
+ * sesión. Con la escuela como identificador de inquilino, Hibernate incluye la
+ * escuela en las claves de la caché de segundo nivel y de la caché de
+ * consultas, por lo que el grado 1 de una escuela no se confunde con el grado 1
+ * de otra.
+ */
+public class ConexionesPorEscuela extends AbstractDataSourceBasedMultiTenantConnectionProviderImpl<String>
+        implements CurrentTenantIdentifierResolver<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient FuenteDatosEscuelas fuenteDatos;
+
+    /**
+     * Crea el proveedor sobre los pools de la fuente de datos.
+     *
+     * @param fuenteDatos Fuente de datos con un pool por escuela.
+     */
+    public ConexionesPorEscuela(FuenteDatosEscuelas fuenteDatos) {
+        this.fuenteDatos = fuenteDatos;
+    }
+
+    @Override
+    protected DataSource selectAnyDataSource() {
+        return fuenteDatos.pool(fuenteDatos.getPredeterminada());
+    }
+
+    @Override
+    protected DataSource selectDataSource(String idEscuela) {
+        return fuenteDatos.pool(idEscuela);
+    }
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        String idEscuela = EscuelaActual.obtener();
+        return idEscuela == null ? fuenteDatos.getPredeterminada() : idEscuela;
+    }
+
+    /**
+     * Una sesión abierta conserva su escuela aunque el hilo cambie de escuela,
+     * como ocurre en las tareas que recorren todas las escuelas.
+     */
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+}
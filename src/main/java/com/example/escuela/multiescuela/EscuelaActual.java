@@ -0,0 +1,81 @@
+package com.example.escuela.multiescuela;
+
+import java.util.function.Supplier;
+
+/**
+ * Escuela a la que pertenece el trabajo del hilo actual.
+ * La establece {@link EscuelaInterceptor} al recibir cada solicitud y la usan
+ * {@link FuenteDatosEscuelas} y Hibernate para elegir la base de datos, y los
+ * servicios con estado en memoria para elegir el de la escuela. Sin una escuela
+ * establecida, por ejemplo en las tareas programadas o con una sola escuela, se
+ * usa la escuela predeterminada.
+ */
+public final class EscuelaActual {
+
+    private static final ThreadLocal<String> ACTUAL = new ThreadLocal<>();
+
+    private EscuelaActual() {
+    }
+
+    /**
+     * Obtiene la escuela del hilo actual.
+     *
+     * @return El identificador de la escuela, o null si no se estableció.
+     */
+    public static String obtener() {
+        return ACTUAL.get();
+    }
+
+    /**
+     * Establece la escuela del hilo actual.
+     *
+     * @param idEscuela El identificador de la escuela.
+     */
+    public static void establecer(String idEscuela) {
+        ACTUAL.set(idEscuela);
+    }
+
+    /**
+     * Quita la escuela del hilo actual.
+     */
+    public static void limpiar() {
+        ACTUAL.remove();
+    }
+
+    /**
+     * Ejecuta una acción para una escuela y restaura después la escuela anterior
+     * del hilo.
+     *
+     * @param idEscuela El identificador de la escuela.
+     * @param accion    La acción a ejecutar.
+     * @param <T>       Tipo del resultado.
+     * @return El resultado de la acción.
+     */
+    public static <T> T ejecutar(String idEscuela, Supplier<T> accion) {
+        String anterior = ACTUAL.get();
+        ACTUAL.set(idEscuela);
+        try {
+            return accion.get();
+        } finally {
+            if (anterior == null) {
+                ACTUAL.remove();
+            } else {
+                ACTUAL.set(anterior);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta una acción para una escuela y restaura después la escuela anterior
+     * del hilo.
+     *
+     * @param idEscuela El identificador de la escuela.
+     * @param accion    La acción a ejecutar.
+     */
+    public static void ejecutar(String idEscuela, Runnable accion) {
+        ejecutar(idEscuela, () -> {
+            accion.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.escuela.multiescuela;
+
+import com.example.escuela.excepciones.EscuelaExcepcion;
+import com.example.escuela.service.EscuelaService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Establece la escuela de cada solicitud a la API y la cuenta en las
+ * estadísticas de esa escuela.
+ *
+ * Con escuela.multiescuela.habilitada, la escuela se toma de la cabecera
+ * configurada (X-Escuela por omisión); si falta, se usa la predeterminada, a
+ * menos que escuela.multiescuela.obligatoria sea true. Una escuela que no está
+ * configurada se rechaza con {@link EscuelaExcepcion}. Con una sola escuela la
+ * cabecera se ignora.
+ *
+ * Se registra antes que los demás interceptores, incluido el que abre el
+ * EntityManager de la vista, para que la sesión de Hibernate se abra ya con la
+ * escuela. La escuela se quita del hilo al terminar la solicitud o al pasar a
+ * procesamiento asíncrono, y se vuelve a establecer en cada despacho.
+ *
+ * Anotaciones:
+ * - @Component: Indica que esta clase es un componente de Spring.
+ */
+@Component
+public class EscuelaInterceptor implements AsyncHandlerInterceptor {
+
+    /**
+     * Atributo de la solicitud con la escuela establecida.
+     */
+    static final String ATRIBUTO_ESCUELA = EscuelaInterceptor.class.getName() + ".escuela";
+
+    /**
+     * Servicio de escuelas.
+     */
+    @Autowired
+    private EscuelaService escuelaService;
+
+    /**
+     * Indica si se atienden varias escuelas.
+     */
+    @Value("${escuela.multiescuela.habilitada:false}")
+    private boolean habilitada;
+
+    /**
+     * Cabecera que identifica a la escuela.
+     */
+    @Value("${escuela.multiescuela.cabecera:X-Escuela}")
+    private String cabecera;
+
+    /**
+     * Indica si las solicitudes sin escuela se rechazan.
+     */
+    @Value("${escuela.multiescuela.obligatoria:false}")
+    private boolean obligatoria;
+
+    /**
+     * Constructor por defecto para la clase EscuelaInterceptor.
+     */
+    public EscuelaInterceptor() {
+    }
+
+    /**
+     * Establece la escuela del hilo antes de ejecutar el controlador.
+     *
+     * @throws EscuelaExcepcion Si la escuela no existe o falta siendo
+     *                          obligatoria.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(ATRIBUTO_ESCUELA) instanceof String idEscuela) {
+            EscuelaActual.establecer(idEscuela);
+            return true;
+        }
+        String idEscuela = escuelaService.actual();
+        if (habilitada) {
+            String valor = request.getHeader(cabecera);
+            if (StringUtils.hasText(valor)) {
+                idEscuela = valor.trim();
+                if (!escuelaService.existe(idEscuela)) {
+                    throw new EscuelaExcepcion("Escuela no configurada: " + idEscuela);
+                }
+            } else if (obligatoria) {
+                throw new EscuelaExcepcion("Falta la cabecera " + cabecera + " con la escuela");
+            }
+            EscuelaActual.establecer(idEscuela);
+        }
+        request.setAttribute(ATRIBUTO_ESCUELA, idEscuela);
+        return true;
+    }
+
+    /**
+     * Quita la escuela del hilo cuando la solicitud continúa en otro hilo.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        EscuelaActual.limpiar();
+    }
+
+    /**
+     * Cuenta la solicitud y quita la escuela del hilo. En solicitudes
+     * asíncronas se llama al terminar el despacho asíncrono.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        EscuelaActual.limpiar();
+        if (request.getAttribute(ATRIBUTO_ESCUELA) instanceof String idEscuela) {
+            request.removeAttribute(ATRIBUTO_ESCUELA);
+            escuelaService.registrarSolicitud(idEscuela, response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.escuela.multiescuela;
+
+import com.example.escuela.excepciones.EscuelaExcepcion;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource que dirige cada conexión a la base de datos de la escuela del hilo
+ * actual ({@link EscuelaActual}). Cada escuela tiene su propio pool de Hikari
+ * con sus propios límites, de modo que una escuela con mucha carga no agota las
+ * conexiones de las demás. Sin una escuela establecida se usa la
+ * predeterminada; una escuela desconocida es un error en lugar de caer en la
+ * predeterminada.
+ */
+public class FuenteDatosEscuelas extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<String, HikariDataSource> pools;
+    private final String predeterminada;
+
+    /**
+     * Crea la fuente de datos con un pool por escuela.
+     *
+     * @param pools          Pools de cada escuela, en el orden configurado.
+     * @param predeterminada Escuela usada cuando el hilo no tiene una.
+     */
+    public FuenteDatosEscuelas(Map<String, HikariDataSource> pools, String predeterminada) {
+        if (!pools.containsKey(predeterminada)) {
+            throw new IllegalStateException("La escuela predeterminada " + predeterminada
+                    + " no está entre las escuelas configuradas " + pools.keySet());
+        }
+        this.pools = new LinkedHashMap<>(pools);
+        this.predeterminada = predeterminada;
+        setTargetDataSources(new LinkedHashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(predeterminada));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String idEscuela = EscuelaActual.obtener();
+        return idEscuela == null ? predeterminada : idEscuela;
+    }
+
+    /**
+     * Obtiene el pool de una escuela.
+     *
+     * @param idEscuela El identificador de la escuela.
+     * @return El pool de la escuela.
+     * @throws EscuelaExcepcion Si la escuela no está configurada.
+     */
+    public HikariDataSource pool(String idEscuela) {
+        HikariDataSource pool = pools.get(idEscuela);
+        if (pool == null) {
+            throw new EscuelaExcepcion("Escuela no configurada: " + idEscuela);
+        }
+        return pool;
+    }
+
+    /**
+     * Obtiene los identificadores de las escuelas configuradas.
+     *
+     * @return Las escuelas en el orden configurado.
+     */
+    public List<String> escuelas() {
+        return new ArrayList<>(pools.keySet());
+    }
+
+    /**
+     * Obtiene la escuela usada cuando el hilo no tiene una.
+     *
+     * @return El identificador de la escuela predeterminada.
+     */
+    public String getPredeterminada() {
+        return predeterminada;
+    }
+
+    /**
+     * Cierra los pools de todas las escuelas.
+     */
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
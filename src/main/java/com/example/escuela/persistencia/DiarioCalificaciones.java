@@ -0,0 +1,328 @@
+package com.example.escuela.persistencia;
+
+import com.example.escuela.model.Puntaje;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Diario local de solo anexado para las calificaciones aceptadas en modo de
+ * escritura diferida.
+ * El archivo se mapea en memoria y cada registro se fuerza a disco antes de
+ * confirmar la solicitud, de modo que una calificación aceptada sobrevive a un
+ * reinicio aunque todavía no se haya escrito en la base de datos.
+ *
+ * Formato del archivo:
+ * <ul>
+ *   <li>Encabezado (16 bytes): número mágico, versión y la última secuencia
+ *   confirmada en la base de datos.</li>
+ *   <li>Registros (24 bytes): secuencia, id del alumno, id de la asignatura,
+ *   calificación en centésimas (int) y una suma CRC32 de los campos
+ *   anteriores.</li>
+ * </ul>
+ * Cuando todos los registros están confirmados el diario vuelve a escribir
+ * desde el inicio. Si con carga sostenida siempre quedan pendientes, el diario
+ * se compacta: los registros sin confirmar se copian al inicio de un archivo
+ * nuevo que reemplaza al actual con un renombrado atómico, de modo que un
+ * reinicio a mitad de la compactación encuentra el archivo anterior completo.
+ * Así el tamaño sólo depende de las calificaciones pendientes.
+ */
+public class DiarioCalificaciones implements AutoCloseable {
+
+    private static final int MAGICO = 0x43414C44;
+    private static final int VERSION = 1;
+    private static final int TAMANIO_ENCABEZADO = 16;
+    private static final int POSICION_CONFIRMADA = 8;
+    private static final int TAMANIO_REGISTRO = 24;
+
+    /**
+     * Registro leído del diario.
+     *
+     * @param secuencia    Número de secuencia asignado al aceptar la calificación.
+     * @param idAlumno     Identificador del alumno.
+     * @param idAsignatura Identificador de la asignatura.
+     * @param calificacion Calificación aceptada.
+     */
+    public record Registro(long secuencia, int idAlumno, int idAsignatura, Puntaje calificacion) {
+    }
+
+    private final Path ruta;
+    private final int capacidad;
+    private FileChannel canal;
+    private MappedByteBuffer buffer;
+    private final List<Registro> pendientesAlAbrir;
+    private int posicion;
+    private long ultimaSecuencia;
+    private long secuenciaConfirmada;
+
+    private DiarioCalificaciones(Path ruta, FileChannel canal, MappedByteBuffer buffer, int capacidad) {
+        this.ruta = ruta;
+        this.canal = canal;
+        this.buffer = buffer;
+        this.capacidad = capacidad;
+        this.pendientesAlAbrir = new ArrayList<>();
+        leer();
+    }
+
+    /**
+     * Abre el diario en la ruta indicada, creándolo si no existe.
+     *
+     * @param ruta      Ruta del archivo del diario.
+     * @param capacidad Tamaño en bytes de la región mapeada.
+     * @return El diario abierto con sus registros pendientes ya leídos.
+     * @throws IOException Si el archivo no se puede crear o mapear.
+     */
+    public static DiarioCalificaciones abrir(Path ruta, int capacidad) throws IOException {
+        if (capacidad < TAMANIO_ENCABEZADO + TAMANIO_REGISTRO) {
+            throw new IllegalArgumentException("La capacidad del diario es demasiado pequeña: " + capacidad);
+        }
+        Path directorio = ruta.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+        FileChannel canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        int tamanio = (int) Math.max(capacidad, canal.size());
+        MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanio);
+        return new DiarioCalificaciones(ruta, canal, buffer, tamanio);
+    }
+
+    /**
+     * Lee el encabezado y los registros válidos del archivo. Un archivo nuevo se
+     * inicializa con un encabezado vacío.
+     */
+    private void leer() {
+        if (buffer.getInt(0) != MAGICO) {
+            buffer.putInt(0, MAGICO);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(POSICION_CONFIRMADA, 0L);
+            buffer.putLong(TAMANIO_ENCABEZADO, 0L);
+            buffer.force();
+        }
+        secuenciaConfirmada = buffer.getLong(POSICION_CONFIRMADA);
+        ultimaSecuencia = secuenciaConfirmada;
+        posicion = TAMANIO_ENCABEZADO;
+
+        // Los registros anteriores a la última compactación pueden seguir en el
+        // archivo; la lectura se detiene cuando la secuencia deja de crecer o el
+        // registro quedó escrito a medias.
+        long anterior = 0L;
+        while (posicion + TAMANIO_REGISTRO <= capacidad) {
+            long secuencia = buffer.getLong(posicion);
+            if (secuencia <= anterior || buffer.getInt(posicion + 20) != suma(posicion)) {
+                break;
+            }
+            anterior = secuencia;
+            if (secuencia > secuenciaConfirmada) {
+                pendientesAlAbrir.add(new Registro(secuencia, buffer.getInt(posicion + 8),
+                        buffer.getInt(posicion + 12), Puntaje.deCentesimas(buffer.getInt(posicion + 16))));
+            }
+            ultimaSecuencia = Math.max(ultimaSecuencia, secuencia);
+            posicion += TAMANIO_REGISTRO;
+        }
+        if (pendientesAlAbrir.isEmpty()) {
+            reiniciar();
+        }
+    }
+
+    /**
+     * Calcula la suma de verificación de los primeros 20 bytes de un registro.
+     *
+     * @param inicio Posición del registro dentro del archivo.
+     * @return La suma CRC32 truncada a 32 bits.
+     */
+    private int suma(int inicio) {
+        CRC32 crc = new CRC32();
+        ByteBuffer vista = buffer.duplicate();
+        vista.position(inicio).limit(inicio + 20);
+        crc.update(vista);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Vuelve a escribir desde el inicio del área de registros. Sólo se invoca
+     * cuando no quedan registros sin confirmar.
+     */
+    private void reiniciar() {
+        posicion = TAMANIO_ENCABEZADO;
+        buffer.putLong(TAMANIO_ENCABEZADO, 0L);
+        buffer.force(TAMANIO_ENCABEZADO, 8);
+    }
+
+    /**
+     * Agrega una calificación al diario y la fuerza a disco.
+     *
+     * @param idAlumno     Identificador del alumno.
+     * @param idAsignatura Identificador de la asignatura.
+     * @param calificacion Calificación aceptada.
+     * @return La secuencia asignada al registro.
+     * @throws IllegalStateException Si el diario no tiene espacio para más
+     *                               registros pendientes.
+     * @throws UncheckedIOException  Si el diario está lleno y no se pudo
+     *                               compactar.
+     */
+    public synchronized long agregar(int idAlumno, int idAsignatura, Puntaje calificacion) {
+        if (posicion + TAMANIO_REGISTRO > capacidad && hayConfirmados()) {
+            compactar();
+        }
+        if (posicion + TAMANIO_REGISTRO > capacidad) {
+            throw new IllegalStateException("El diario de calificaciones está lleno.");
+        }
+        long secuencia = ultimaSecuencia + 1;
+        int inicio = posicion;
+        buffer.putInt(inicio + 8, idAlumno);
+        buffer.putInt(inicio + 12, idAsignatura);
+        buffer.putInt(inicio + 16, calificacion.centesimas());
+        buffer.putLong(inicio, secuencia);
+        buffer.putInt(inicio + 20, suma(inicio));
+        if (inicio + 2 * TAMANIO_REGISTRO <= capacidad) {
+            buffer.putLong(inicio + TAMANIO_REGISTRO, 0L);
+        }
+        buffer.force(inicio, Math.min(2 * TAMANIO_REGISTRO, capacidad - inicio));
+        posicion += TAMANIO_REGISTRO;
+        ultimaSecuencia = secuencia;
+        return secuencia;
+    }
+
+    /**
+     * Marca como escritos en la base de datos todos los registros con secuencia
+     * menor o igual a la indicada. Si ya no quedan pendientes, el espacio del
+     * diario se reutiliza; si se usa más de la mitad del diario y al menos la
+     * mitad de lo usado ya está confirmado, se compacta.
+     *
+     * @param secuencia Última secuencia confirmada.
+     * @throws UncheckedIOException Si no se pudo compactar el diario.
+     */
+    public synchronized void confirmarHasta(long secuencia) {
+        if (secuencia <= secuenciaConfirmada) {
+            return;
+        }
+        secuenciaConfirmada = Math.min(secuencia, ultimaSecuencia);
+        buffer.putLong(POSICION_CONFIRMADA, secuenciaConfirmada);
+        buffer.force(0, TAMANIO_ENCABEZADO);
+        if (secuenciaConfirmada == ultimaSecuencia) {
+            reiniciar();
+        } else if (2 * usados() > capacidad - TAMANIO_ENCABEZADO && 2 * confirmados() >= usados()) {
+            compactar();
+        }
+    }
+
+    /**
+     * Bytes ocupados por los registros escritos desde el último reinicio o
+     * compactación.
+     */
+    private int usados() {
+        return posicion - TAMANIO_ENCABEZADO;
+    }
+
+    /**
+     * Bytes ocupados por los registros ya confirmados. Las secuencias de los
+     * registros son consecutivas desde el inicio del área de registros.
+     */
+    private int confirmados() {
+        if (usados() == 0) {
+            return 0;
+        }
+        long primera = buffer.getLong(TAMANIO_ENCABEZADO);
+        long registros = Math.max(0L, Math.min(secuenciaConfirmada - primera + 1, usados() / TAMANIO_REGISTRO));
+        return (int) registros * TAMANIO_REGISTRO;
+    }
+
+    private boolean hayConfirmados() {
+        return confirmados() > 0;
+    }
+
+    /**
+     * Copia los registros sin confirmar al inicio de un archivo nuevo y lo pone
+     * en lugar del actual con un renombrado atómico.
+     *
+     * @throws UncheckedIOException Si el archivo nuevo no se pudo escribir o
+     *                              renombrar; en ese caso el diario actual sigue
+     *                              en uso sin cambios.
+     */
+    private void compactar() {
+        int desde = TAMANIO_ENCABEZADO + confirmados();
+        int longitud = posicion - desde;
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".compactando");
+        FileChannel nuevoCanal = null;
+        try {
+            nuevoCanal = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer nuevo = nuevoCanal.map(FileChannel.MapMode.READ_WRITE, 0, capacidad);
+            nuevo.putInt(0, MAGICO);
+            nuevo.putInt(4, VERSION);
+            nuevo.putLong(POSICION_CONFIRMADA, secuenciaConfirmada);
+            nuevo.put(TAMANIO_ENCABEZADO, buffer, desde, longitud);
+            nuevo.force();
+            Files.move(temporal, ruta, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            FileChannel anterior = canal;
+            canal = nuevoCanal;
+            buffer = nuevo;
+            posicion = TAMANIO_ENCABEZADO + longitud;
+            try {
+                anterior.close();
+            } catch (IOException ignorada) {
+                // El archivo anterior ya fue reemplazado; sólo se libera el descriptor.
+            }
+        } catch (IOException e) {
+            try {
+                if (nuevoCanal != null) {
+                    nuevoCanal.close();
+                }
+                Files.deleteIfExists(temporal);
+            } catch (IOException ignorada) {
+                e.addSuppressed(ignorada);
+            }
+            throw new UncheckedIOException("No se pudo compactar el diario de calificaciones.", e);
+        }
+    }
+
+    /**
+     * Obtiene los registros que no se habían confirmado al abrir el diario.
+     * Se utilizan para reprocesar las calificaciones tras un reinicio.
+     *
+     * @return Los registros pendientes en orden de secuencia.
+     */
+    public List<Registro> pendientesAlAbrir() {
+        return List.copyOf(pendientesAlAbrir);
+    }
+
+    /**
+     * Obtiene la última secuencia asignada.
+     *
+     * @return La última secuencia escrita en el diario.
+     */
+    public synchronized long getUltimaSecuencia() {
+        return ultimaSecuencia;
+    }
+
+    /**
+     * Obtiene la última secuencia confirmada en la base de datos.
+     *
+     * @return La secuencia confirmada.
+     */
+    public synchronized long getSecuenciaConfirmada() {
+        return secuenciaConfirmada;
+    }
+
+    /**
+     * Fuerza el contenido pendiente a disco y cierra el archivo.
+     *
+     * @throws IOException Si ocurre un error al cerrar el canal.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        canal.close();
+    }
+}
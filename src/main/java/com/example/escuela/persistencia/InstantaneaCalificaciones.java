@@ -0,0 +1,212 @@
+package com.example.escuela.persistencia;
+
+import com.example.escuela.model.Puntaje;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Instantánea columnar de solo lectura de las calificaciones, para responder
+ * consultas analíticas sin acceder a la base de datos.
+ * El archivo se mapea en memoria y cada columna se expone como una vista sobre
+ * el mapeo, por lo que abrirlo no copia los datos al heap.
+ *
+ * Formato del archivo:
+ * <ul>
+ *   <li>Encabezado (32 bytes): número mágico, versión, número de filas, escala
+ *   de las calificaciones, fecha de generación en milisegundos y una suma
+ *   CRC32 de las columnas.</li>
+ *   <li>Columnas, una tras otra: ids de alumno (int), ids de asignatura (int),
+ *   ids del grado del alumno (int) y calificaciones en punto fijo (short, en
+ *   centésimas).</li>
+ * </ul>
+ * Una instantánea nueva se escribe en un archivo temporal y se mueve sobre la
+ * anterior, de modo que quien tenga abierta la anterior sigue leyendo datos
+ * completos.
+ */
+public class InstantaneaCalificaciones implements AutoCloseable {
+
+    private static final int MAGICO = 0x43414C53;
+    private static final int VERSION = 1;
+    private static final int TAMANIO_ENCABEZADO = 32;
+    private static final int BYTES_POR_FILA = 3 * Integer.BYTES + Short.BYTES;
+
+    private final FileChannel canal;
+    private final int filas;
+    private final long generada;
+    private final long bytes;
+    private final IntBuffer alumnos;
+    private final IntBuffer asignaturas;
+    private final IntBuffer grados;
+    private final ShortBuffer calificaciones;
+
+    private InstantaneaCalificaciones(FileChannel canal, MappedByteBuffer buffer, int filas, long generada) {
+        this.canal = canal;
+        this.filas = filas;
+        this.generada = generada;
+        this.bytes = buffer.capacity();
+        this.alumnos = columna(buffer, 0, filas * Integer.BYTES).asIntBuffer();
+        this.asignaturas = columna(buffer, filas * Integer.BYTES, filas * Integer.BYTES).asIntBuffer();
+        this.grados = columna(buffer, 2 * filas * Integer.BYTES, filas * Integer.BYTES).asIntBuffer();
+        this.calificaciones = columna(buffer, 3 * filas * Integer.BYTES, filas * Short.BYTES).asShortBuffer();
+    }
+
+    private static ByteBuffer columna(ByteBuffer buffer, int desplazamiento, int longitud) {
+        return buffer.slice(TAMANIO_ENCABEZADO + desplazamiento, longitud);
+    }
+
+    /**
+     * Escribe una instantánea nueva y la coloca en la ruta indicada, reemplazando
+     * la anterior.
+     *
+     * @param ruta           Ruta del archivo de la instantánea.
+     * @param alumnos        Ids de alumno de cada fila.
+     * @param asignaturas    Ids de asignatura de cada fila.
+     * @param grados         Ids del grado del alumno de cada fila.
+     * @param calificaciones Calificaciones de cada fila, en centésimas.
+     * @param filas          Número de filas a escribir.
+     * @throws IOException Si el archivo no se puede escribir o mover.
+     */
+    public static void escribir(Path ruta, int[] alumnos, int[] asignaturas, int[] grados, short[] calificaciones,
+            int filas) throws IOException {
+        Path destino = ruta.toAbsolutePath();
+        Files.createDirectories(destino.getParent());
+        Path temporal = Files.createTempFile(destino.getParent(), destino.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0,
+                        TAMANIO_ENCABEZADO + (long) filas * BYTES_POR_FILA);
+                buffer.position(TAMANIO_ENCABEZADO);
+                buffer.asIntBuffer().put(alumnos, 0, filas);
+                buffer.position(buffer.position() + filas * Integer.BYTES);
+                buffer.asIntBuffer().put(asignaturas, 0, filas);
+                buffer.position(buffer.position() + filas * Integer.BYTES);
+                buffer.asIntBuffer().put(grados, 0, filas);
+                buffer.position(buffer.position() + filas * Integer.BYTES);
+                buffer.asShortBuffer().put(calificaciones, 0, filas);
+                buffer.putInt(0, MAGICO);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, filas);
+                buffer.putInt(12, Puntaje.ESCALA);
+                buffer.putLong(16, System.currentTimeMillis());
+                buffer.putInt(24, suma(buffer));
+                buffer.force();
+            }
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Abre y valida la instantánea de la ruta indicada.
+     *
+     * @param ruta Ruta del archivo de la instantánea.
+     * @return La instantánea mapeada en memoria.
+     * @throws IOException Si el archivo no existe, no se puede mapear o no es una
+     *                     instantánea válida.
+     */
+    public static InstantaneaCalificaciones abrir(Path ruta) throws IOException {
+        FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ);
+        try {
+            if (canal.size() < TAMANIO_ENCABEZADO || canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("Tamaño de instantánea inválido: " + canal.size());
+            }
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            int filas = buffer.getInt(8);
+            if (buffer.getInt(0) != MAGICO || buffer.getInt(4) != VERSION || buffer.getInt(12) != Puntaje.ESCALA
+                    || filas < 0 || buffer.capacity() != TAMANIO_ENCABEZADO + (long) filas * BYTES_POR_FILA) {
+                throw new IOException("El archivo " + ruta + " no es una instantánea de calificaciones válida");
+            }
+            if (buffer.getInt(24) != suma(buffer)) {
+                throw new IOException("La suma de verificación de la instantánea " + ruta + " no coincide");
+            }
+            return new InstantaneaCalificaciones(canal, buffer, filas, buffer.getLong(16));
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Calcula la suma CRC32 de las columnas.
+     */
+    private static int suma(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(TAMANIO_ENCABEZADO, buffer.capacity() - TAMANIO_ENCABEZADO));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * @return Número de filas de la instantánea.
+     */
+    public int getFilas() {
+        return filas;
+    }
+
+    /**
+     * @return Fecha de generación en milisegundos desde la época.
+     */
+    public long getGenerada() {
+        return generada;
+    }
+
+    /**
+     * @return Tamaño del archivo en bytes.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @param fila Índice de la fila.
+     * @return Id del alumno de la fila.
+     */
+    public int alumno(int fila) {
+        return alumnos.get(fila);
+    }
+
+    /**
+     * @param fila Índice de la fila.
+     * @return Id de la asignatura de la fila.
+     */
+    public int asignatura(int fila) {
+        return asignaturas.get(fila);
+    }
+
+    /**
+     * @param fila Índice de la fila.
+     * @return Id del grado del alumno de la fila.
+     */
+    public int grado(int fila) {
+        return grados.get(fila);
+    }
+
+    /**
+     * @param fila Índice de la fila.
+     * @return Calificación de la fila en centésimas.
+     */
+    public int calificacion(int fila) {
+        return calificaciones.get(fila);
+    }
+
+    /**
+     * Cierra el archivo. Las vistas ya obtenidas siguen siendo válidas hasta que
+     * el mapeo se libera.
+     *
+     * @throws IOException Si ocurre un error al cerrar el canal.
+     */
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
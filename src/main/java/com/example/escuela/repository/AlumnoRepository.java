@@ -1,7 +1,18 @@
 package com.example.escuela.repository;
 
+import com.example.dto.ConteoGradoDTO;
+import com.example.dto.FilaKardexDTO;
 import com.example.escuela.model.Alumno;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repositorio para la entidad Alumno.
@@ -12,4 +23,79 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * - @JpaRepository: Proporciona métodos predefinidos para operaciones CRUD y consultas personalizadas.
  */
 public interface AlumnoRepository extends JpaRepository<Alumno, Integer> {
+
+    /**
+     * Obtiene el kardex de un alumno en una sola consulta: una fila por
+     * calificación con los datos del alumno, su grado y el nombre de la
+     * asignatura. Si el alumno no tiene calificaciones devuelve una sola fila con
+     * los campos de calificación nulos, y si no existe devuelve una lista vacía.
+     *
+     * @param idAlumno el identificador del alumno
+     * @return las filas del kardex ordenadas por nombre de asignatura
+     */
+    @Query("select new com.example.dto.FilaKardexDTO(a.id, a.matricula, a.nombre, g.id, g.nombre_grado, "
+            + "c.id, s.id, s.nombre, c.calificacion) "
+            + "from Alumno a join a.grado g "
+            + "left join Calificacion c on c.alumno = a "
+            + "left join c.asignatura s "
+            + "where a.id = :idAlumno "
+            + "order by s.nombre")
+    List<FilaKardexDTO> obtenerKardex(@Param("idAlumno") Integer idAlumno);
+
+    /**
+     * Obtiene una página de los alumnos de un grado. El grado se trae en la misma
+     * consulta y el orden de la página se apoya en los índices
+     * (id_grado, nombre) e (id_grado, matricula).
+     *
+     * @param idGrado  el identificador del grado
+     * @param pageable la página solicitada con su orden
+     * @return la página de alumnos del grado
+     */
+    @Query(value = "select a from Alumno a join fetch a.grado g where g.id = :idGrado",
+            countQuery = "select count(a) from Alumno a where a.grado.id = :idGrado")
+    Page<Alumno> findByGradoId(@Param("idGrado") Integer idGrado, Pageable pageable);
+
+    /**
+     * Indica si ya existe un alumno con la matrícula dada. Se resuelve con el
+     * índice único de la matrícula.
+     *
+     * @param matricula la matrícula a buscar
+     * @return true si la matrícula ya está registrada
+     */
+    boolean existsByMatricula(String matricula);
+
+    /**
+     * Obtiene los alumnos con los ids indicados y su grado en una sola consulta.
+     *
+     * @param ids Ids de los alumnos.
+     * @return Los alumnos encontrados, en cualquier orden.
+     */
+    @Query("select a from Alumno a left join fetch a.grado where a.id in :ids")
+    List<Alumno> findAllByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Cuenta los alumnos de cada uno de los grados indicados con una sola
+     * consulta sobre los índices por grado. Los grados sin alumnos no aparecen.
+     *
+     * @param idsGrados los identificadores de los grados
+     * @return el número de alumnos de cada grado con alumnos
+     */
+    @Query("select new com.example.dto.ConteoGradoDTO(a.grado.id, count(a)) from Alumno a "
+            + "where a.grado.id in :idsGrados group by a.grado.id")
+    List<ConteoGradoDTO> contarPorGrado(@Param("idsGrados") Collection<Integer> idsGrados);
+
+    /**
+     * Bloquea con SELECT ... FOR UPDATE los alumnos de los grados indicados y
+     * devuelve el grado de cada uno, para contarlos dentro de la transacción que
+     * los va a cambiar de grado. Un alumno que otra transacción cambió antes se
+     * espera y se lee con su grado confirmado; en InnoDB también se bloquea el
+     * rango del índice por grado, para que no entren alumnos nuevos mientras
+     * tanto.
+     *
+     * @param idsGrados los identificadores de los grados
+     * @return el grado de cada alumno bloqueado
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a.grado.id from Alumno a where a.grado.id in :idsGrados")
+    List<Integer> bloquearPorGrados(@Param("idsGrados") Collection<Integer> idsGrados);
 }
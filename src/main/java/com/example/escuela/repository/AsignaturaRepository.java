@@ -1,8 +1,14 @@
 package com.example.escuela.repository;
 
 import com.example.escuela.model.Asignatura;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,9 +23,34 @@ public interface AsignaturaRepository extends JpaRepository<Asignatura, Integer>
 
     /**
      * Encuentra una lista de asignaturas asociadas a un grado específico.
+     * El resultado se guarda en la caché de consultas (región
+     * "asignaturas-por-grado") cuando la caché de segundo nivel está habilitada.
      *
      * @param idGrado el identificador del grado
      * @return una lista de asignaturas que pertenecen al grado especificado
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "asignaturas-por-grado")
+    })
     List<Asignatura> findByGradoId(Integer idGrado);
+
+    /**
+     * Indica si ya existe una asignatura con el nombre dado. Se resuelve con el
+     * índice idx_asignaturas_nombre.
+     *
+     * @param nombre el nombre a buscar
+     * @return true si el nombre ya está registrado
+     */
+    boolean existsByNombre(String nombre);
+
+    /**
+     * Obtiene las asignaturas con los ids indicados y su grado en una sola
+     * consulta.
+     *
+     * @param ids Ids de las asignaturas.
+     * @return Las asignaturas encontradas, en cualquier orden.
+     */
+    @Query("select s from Asignatura s left join fetch s.grado where s.id in :ids")
+    List<Asignatura> findAllByIdIn(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,209 @@
+package com.example.escuela.repository;
+
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.Grado;
+import com.example.escuela.model.Puntaje;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Repositorio reactivo de sólo lectura para las calificaciones, paralelo a
+ * {@link CalificacionRepository}.
+ *
+ * Usa R2DBC con un pool propio: las filas se leen conforme el consumidor las
+ * pide, sin ocupar una conexión JDBC mientras el cliente descarga la respuesta,
+ * aunque cada flujo retiene una conexión de este pool hasta terminar. Cada calificación se arma con su alumno, asignatura y grados en una
+ * sola consulta, con la misma forma que las entidades JPA.
+ *
+ * El pool no se registra como bean ConnectionFactory, pues Spring Boot
+ * deshabilitaría el DataSource de JDBC al encontrarlo.
+ *
+ * Anotaciones:
+ * - @Repository: Indica que esta clase es un repositorio de Spring.
+ * - @ConditionalOnProperty: Sólo se activa si escuela.reactivo.habilitado es true.
+ */
+@Repository
+@ConditionalOnProperty(name = "escuela.reactivo.habilitado", havingValue = "true")
+public class CalificacionReactivaRepository {
+
+    private static final String CONSULTA = "select c.id_calificacion, c.calificacion, "
+            + "a.id_alumno, a.matricula, a.nombre as nombre_alumno, a.correo_electronico, "
+            + "ga.id_grado as id_grado_alumno, ga.nombre_grado as nombre_grado_alumno, "
+            + "s.id_asignatura, s.nombre as nombre_asignatura, "
+            + "gs.id_grado as id_grado_asignatura, gs.nombre_grado as nombre_grado_asignatura "
+            + "from calificaciones c "
+            + "join alumnos a on a.id_alumno = c.id_alumno "
+            + "join grados ga on ga.id_grado = a.id_grado "
+            + "join asignaturas s on s.id_asignatura = c.id_asignatura "
+            + "join grados gs on gs.id_grado = s.id_grado ";
+
+    /**
+     * URL de conexión R2DBC, por ejemplo r2dbc:mysql://127.0.0.1:3306/base.
+     */
+    @Value("${escuela.reactivo.url:r2dbc:mysql://127.0.0.1:3306/gestion_calificaciones}")
+    private String url;
+
+    /**
+     * Usuario de la base de datos.
+     */
+    @Value("${escuela.reactivo.usuario:root}")
+    private String usuario;
+
+    /**
+     * Contraseña de la base de datos.
+     */
+    @Value("${escuela.reactivo.contrasena:}")
+    private String contrasena;
+
+    /**
+     * Conexiones que el pool abre al iniciar.
+     */
+    @Value("${escuela.reactivo.pool.inicial:2}")
+    private int conexionesIniciales;
+
+    /**
+     * Conexiones máximas del pool reactivo.
+     */
+    @Value("${escuela.reactivo.pool.maximo:10}")
+    private int conexionesMaximas;
+
+    private ConnectionPool pool;
+    private DatabaseClient cliente;
+
+    /**
+     * Constructor por defecto para la clase CalificacionReactivaRepository.
+     */
+    public CalificacionReactivaRepository() {
+    }
+
+    /**
+     * Crea el pool de conexiones R2DBC.
+     */
+    @PostConstruct
+    void iniciar() {
+        ConnectionFactoryOptions opciones = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, usuario)
+                .option(ConnectionFactoryOptions.PASSWORD, contrasena)
+                .build();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opciones))
+                .initialSize(conexionesIniciales)
+                .maxSize(conexionesMaximas)
+                .build());
+        cliente = DatabaseClient.create(pool);
+    }
+
+    /**
+     * Cierra el pool de conexiones R2DBC.
+     */
+    @PreDestroy
+    void cerrar() {
+        pool.dispose();
+    }
+
+    /**
+     * Obtiene todas las calificaciones ordenadas por id.
+     *
+     * @return Flujo de calificaciones.
+     */
+    public Flux<Calificacion> findAll() {
+        return cliente.sql(CONSULTA + "order by c.id_calificacion")
+                .map(CalificacionReactivaRepository::calificacion)
+                .all();
+    }
+
+    /**
+     * Obtiene las calificaciones de un alumno ordenadas por id.
+     *
+     * @param idAlumno el identificador del alumno
+     * @return Flujo de calificaciones del alumno.
+     */
+    public Flux<Calificacion> findByAlumnoId(Integer idAlumno) {
+        return cliente.sql(CONSULTA + "where c.id_alumno = :id order by c.id_calificacion")
+                .bind("id", idAlumno)
+                .map(CalificacionReactivaRepository::calificacion)
+                .all();
+    }
+
+    /**
+     * Obtiene las calificaciones de una asignatura ordenadas por id.
+     *
+     * @param idAsignatura el identificador de la asignatura
+     * @return Flujo de calificaciones de la asignatura.
+     */
+    public Flux<Calificacion> findByAsignaturaId(Integer idAsignatura) {
+        return cliente.sql(CONSULTA + "where c.id_asignatura = :id order by c.id_calificacion")
+                .bind("id", idAsignatura)
+                .map(CalificacionReactivaRepository::calificacion)
+                .all();
+    }
+
+    /**
+     * Indica si existe el alumno.
+     *
+     * @param idAlumno el identificador del alumno
+     * @return true si el alumno existe
+     */
+    public Mono<Boolean> existeAlumno(Integer idAlumno) {
+        return existe("select 1 from alumnos where id_alumno = :id", idAlumno);
+    }
+
+    /**
+     * Indica si existe la asignatura.
+     *
+     * @param idAsignatura el identificador de la asignatura
+     * @return true si la asignatura existe
+     */
+    public Mono<Boolean> existeAsignatura(Integer idAsignatura) {
+        return existe("select 1 from asignaturas where id_asignatura = :id", idAsignatura);
+    }
+
+    private Mono<Boolean> existe(String sql, Integer id) {
+        return cliente.sql(sql).bind("id", id).map(fila -> Boolean.TRUE).first().defaultIfEmpty(Boolean.FALSE);
+    }
+
+    private static Calificacion calificacion(Readable fila) {
+        Alumno alumno = new Alumno();
+        alumno.setId(fila.get("id_alumno", Integer.class));
+        alumno.setMatricula(fila.get("matricula", String.class));
+        alumno.setNombre(fila.get("nombre_alumno", String.class));
+        alumno.setCorreoElectronico(fila.get("correo_electronico", String.class));
+        alumno.setGrado(grado(fila.get("id_grado_alumno", Integer.class),
+                fila.get("nombre_grado_alumno", String.class)));
+
+        Asignatura asignatura = new Asignatura();
+        asignatura.setId(fila.get("id_asignatura", Integer.class));
+        asignatura.setNombre(fila.get("nombre_asignatura", String.class));
+        asignatura.setGrado(grado(fila.get("id_grado_asignatura", Integer.class),
+                fila.get("nombre_grado_asignatura", String.class)));
+
+        Calificacion calificacion = new Calificacion();
+        calificacion.setId(fila.get("id_calificacion", Integer.class));
+        calificacion.setAlumno(alumno);
+        calificacion.setAsignatura(asignatura);
+        BigDecimal valor = fila.get("calificacion", BigDecimal.class);
+        calificacion.setCalificacion(valor == null ? null : Puntaje.de(valor));
+        return calificacion;
+    }
+
+    private static Grado grado(Integer id, String nombre) {
+        Grado grado = new Grado();
+        grado.setId(id);
+        grado.setNombre_grado(nombre);
+        return grado;
+    }
+}
@@ -1,13 +1,25 @@
 package com.example.escuela.repository;
 
+import com.example.dto.FilaAlumnoAsignaturaDTO;
+import com.example.dto.FilaCalificacionDTO;
+import com.example.dto.FilaCalificacionGuardadaDTO;
 import com.example.escuela.model.Calificacion;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio para la entidad Calificacion.
  * Proporciona métodos para realizar operaciones CRUD sobre la tabla "calificaciones".
+ * Las búsquedas por alumno y asignatura se escriben en JPQL porque las consultas
+ * derivadas agregan un LEFT JOIN a alumnos o asignaturas y filtran por la tabla
+ * unida, lo que impide usar los índices de calificaciones.
  *
  * Anotaciones:
  * - @Repository: Indica que esta interfaz es un repositorio de Spring Data JPA.
@@ -21,7 +33,8 @@ public interface CalificacionRepository extends JpaRepository<Calificacion, Inte
      * @param idAlumno el identificador del alumno
      * @return una lista de calificaciones que pertenecen al alumno especificado
      */
-    List<Calificacion> findByAlumnoId(Integer idAlumno);
+    @Query("select c from Calificacion c where c.alumno.id = :idAlumno")
+    List<Calificacion> findByAlumnoId(@Param("idAlumno") Integer idAlumno);
 
     /**
      * Encuentra una lista de calificaciones asociadas a una asignatura específica.
@@ -29,5 +42,126 @@ public interface CalificacionRepository extends JpaRepository<Calificacion, Inte
      * @param idAsignatura el identificador de la asignatura
      * @return una lista de calificaciones que pertenecen a la asignatura especificada
      */
-    List<Calificacion> findByAsignaturaId(Integer idAsignatura);
+    @Query("select c from Calificacion c where c.asignatura.id = :idAsignatura")
+    List<Calificacion> findByAsignaturaId(@Param("idAsignatura") Integer idAsignatura);
+
+    /**
+     * Encuentra la calificación de un alumno en una asignatura específica.
+     *
+     * @param idAlumno     el identificador del alumno
+     * @param idAsignatura el identificador de la asignatura
+     * @return la calificación, si el alumno ya fue calificado en la asignatura
+     */
+    @Query("select c from Calificacion c where c.alumno.id = :idAlumno and c.asignatura.id = :idAsignatura")
+    Optional<Calificacion> findByAlumnoIdAndAsignaturaId(@Param("idAlumno") Integer idAlumno,
+            @Param("idAsignatura") Integer idAsignatura);
+
+    /**
+     * Indica si un alumno ya tiene calificación en una asignatura específica.
+     *
+     * @param idAlumno     el identificador del alumno
+     * @param idAsignatura el identificador de la asignatura
+     * @return true si ya existe una calificación para el alumno en la asignatura
+     */
+    boolean existsByAlumnoIdAndAsignaturaId(Integer idAlumno, Integer idAsignatura);
+
+    /**
+     * Obtiene todas las calificaciones como filas de identificadores, sin
+     * cargar las entidades de alumno, asignatura ni grado.
+     *
+     * @return una lista con una fila por calificación
+     */
+    @Query("select new com.example.dto.FilaCalificacionDTO(al.id, al.grado.id, c.asignatura.id, c.calificacion) "
+            + "from Calificacion c join c.alumno al")
+    List<FilaCalificacionDTO> obtenerFilas();
+
+    /**
+     * Obtiene y bloquea las calificaciones de un alumno antes de eliminarlo, de
+     * modo que no se agreguen otras hasta que termine la transacción.
+     *
+     * @param idAlumno el identificador del alumno
+     * @return las calificaciones del alumno
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Calificacion c where c.alumno.id = :idAlumno")
+    List<Calificacion> bloquearPorAlumno(@Param("idAlumno") Integer idAlumno);
+
+    /**
+     * Obtiene y bloquea las calificaciones de una asignatura antes de
+     * eliminarla, como {@link #bloquearPorAlumno(Integer)}.
+     *
+     * @param idAsignatura el identificador de la asignatura
+     * @return las calificaciones de la asignatura
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Calificacion c where c.asignatura.id = :idAsignatura")
+    List<Calificacion> bloquearPorAsignatura(@Param("idAsignatura") Integer idAsignatura);
+
+    /**
+     * Obtiene y bloquea (SELECT ... FOR UPDATE) las calificaciones de los alumnos
+     * indicados en una asignatura hasta que termina la transacción. Una
+     * transacción que las cambió antes se espera y se lee su valor confirmado; en
+     * InnoDB también se bloquea el hueco del índice UNIQUE (id_alumno,
+     * id_asignatura) de las que no existen, para que no se creen mientras tanto.
+     *
+     * La consulta parte de las calificaciones: con un JOIN, H2 sólo vuelve a
+     * leer después de la espera las filas de la primera tabla.
+     *
+     * @param idAsignatura el identificador de la asignatura
+     * @param idsAlumnos   los identificadores de los alumnos
+     * @return una fila por calificación existente
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.example.dto.FilaAlumnoAsignaturaDTO(c.alumno.id, c.alumno.grado.id, c.id, c.calificacion) "
+            + "from Calificacion c where c.asignatura.id = :idAsignatura and c.alumno.id in :idsAlumnos")
+    List<FilaAlumnoAsignaturaDTO> bloquearDeAlumnos(@Param("idAsignatura") Integer idAsignatura,
+            @Param("idsAlumnos") Collection<Integer> idsAlumnos);
+
+    /**
+     * Obtiene y bloquea (SELECT ... FOR UPDATE) hasta que termina la transacción
+     * las calificaciones de cualquiera de los alumnos en cualquiera de las
+     * asignaturas indicadas, con el grado de su alumno. Devuelve todas las
+     * combinaciones de alumno y asignatura que existan, aunque no se hayan
+     * pedido juntas; como en {@link #bloquearDeAlumnos}, la consulta parte de las
+     * calificaciones.
+     *
+     * @param idsAlumnos     los identificadores de los alumnos
+     * @param idsAsignaturas los identificadores de las asignaturas
+     * @return una fila por calificación existente
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.example.dto.FilaCalificacionGuardadaDTO(c.id, c.alumno.id, c.alumno.grado.id, "
+            + "c.asignatura.id, c.calificacion) from Calificacion c "
+            + "where c.alumno.id in :idsAlumnos and c.asignatura.id in :idsAsignaturas")
+    List<FilaCalificacionGuardadaDTO> bloquearDeAlumnosYAsignaturas(
+            @Param("idsAlumnos") Collection<Integer> idsAlumnos,
+            @Param("idsAsignaturas") Collection<Integer> idsAsignaturas);
+
+    /**
+     * Obtiene el grado de cada alumno indicado y su calificación en una
+     * asignatura, si la tiene, en una sola consulta. Los alumnos que no existen
+     * no aparecen en el resultado.
+     *
+     * @param idAsignatura el identificador de la asignatura
+     * @param idsAlumnos   los identificadores de los alumnos
+     * @return una fila por alumno existente
+     */
+    @Query("select new com.example.dto.FilaAlumnoAsignaturaDTO(al.id, al.grado.id, c.id, c.calificacion) "
+            + "from Alumno al left join Calificacion c on c.alumno = al and c.asignatura.id = :idAsignatura "
+            + "where al.id in :idsAlumnos")
+    List<FilaAlumnoAsignaturaDTO> obtenerFilasDeAlumnos(@Param("idAsignatura") Integer idAsignatura,
+            @Param("idsAlumnos") Collection<Integer> idsAlumnos);
+
+    /**
+     * Obtiene las calificaciones con los ids indicados junto con su alumno,
+     * asignatura y grados en una sola consulta.
+     *
+     * @param ids Ids de las calificaciones.
+     * @return Las calificaciones encontradas, en cualquier orden.
+     */
+    @Query("select c from Calificacion c "
+            + "left join fetch c.alumno al left join fetch al.grado "
+            + "left join fetch c.asignatura s left join fetch s.grado "
+            + "where c.id in :ids")
+    List<Calificacion> findAllByIdIn(@Param("ids") Collection<Integer> ids);
 }
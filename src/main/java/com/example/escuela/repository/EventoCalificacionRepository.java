@@ -0,0 +1,75 @@
+package com.example.escuela.repository;
+
+import com.example.escuela.model.EventoCalificacion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repositorio para la entidad EventoCalificacion.
+ * Proporciona métodos para leer la bandeja de salida de eventos de calificaciones.
+ *
+ * Anotaciones:
+ * - @Repository: Indica que esta interfaz es un repositorio de Spring Data JPA.
+ * - @JpaRepository: Proporciona métodos predefinidos para operaciones CRUD y consultas personalizadas.
+ */
+public interface EventoCalificacionRepository extends JpaRepository<EventoCalificacion, Long> {
+
+    /**
+     * Encuentra los eventos que aún no se han publicado, en orden de id.
+     *
+     * @param pagina el número máximo de eventos a leer
+     * @return una lista de eventos pendientes de publicar
+     */
+    List<EventoCalificacion> findByPublicadoFalseOrderByIdAsc(Pageable pagina);
+
+    /**
+     * Encuentra los eventos posteriores a un id, en orden de id. Puede incluir
+     * eventos confirmados después de otros con id mayor; la consulta incremental
+     * los recorta con MarcaAguaEventos.
+     *
+     * @param id     el id del último evento que el consumidor ya procesó
+     * @param pagina el número máximo de eventos a leer
+     * @return una lista de eventos posteriores al id indicado
+     */
+    List<EventoCalificacion> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pagina);
+
+    /**
+     * Encuentra los eventos de un alumno posteriores a un id, en orden de id.
+     *
+     * @param idAlumno el identificador del alumno
+     * @param id       el id del último evento que el consumidor ya procesó
+     * @param pagina   el número máximo de eventos a leer
+     * @return una lista de eventos del alumno posteriores al id indicado
+     */
+    List<EventoCalificacion> findByIdAlumnoAndIdGreaterThanOrderByIdAsc(Integer idAlumno, Long id, Pageable pagina);
+
+    /**
+     * Encuentra los eventos de una asignatura posteriores a un id, en orden de id.
+     *
+     * @param idAsignatura el identificador de la asignatura
+     * @param id           el id del último evento que el consumidor ya procesó
+     * @param pagina       el número máximo de eventos a leer
+     * @return una lista de eventos de la asignatura posteriores al id indicado
+     */
+    List<EventoCalificacion> findByIdAsignaturaAndIdGreaterThanOrderByIdAsc(Integer idAsignatura, Long id,
+            Pageable pagina);
+
+    /**
+     * Marca como publicados los eventos indicados. Se marcan por id y no por
+     * rango, porque un evento con id menor puede confirmarse después de que se
+     * leyó el lote.
+     *
+     * @param ids los ids de los eventos entregados
+     * @return el número de eventos marcados
+     */
+    @Transactional
+    @Modifying
+    @Query("update EventoCalificacion e set e.publicado = true where e.id in :ids")
+    int marcarPublicados(@Param("ids") List<Long> ids);
+}
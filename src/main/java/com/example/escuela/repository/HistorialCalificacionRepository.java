@@ -0,0 +1,32 @@
+package com.example.escuela.repository;
+
+import com.example.escuela.model.CambioCalificacion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Repositorio para la entidad CambioCalificacion.
+ * Proporciona métodos para leer el historial de cambios de calificaciones. Las
+ * filas se insertan en lotes desde HistorialCalificacionServiceImpl.
+ *
+ * Anotaciones:
+ * - @Repository: Indica que esta interfaz es un repositorio de Spring Data JPA.
+ * - @JpaRepository: Proporciona métodos predefinidos para operaciones CRUD y consultas personalizadas.
+ */
+public interface HistorialCalificacionRepository extends JpaRepository<CambioCalificacion, Long> {
+
+    /**
+     * Encuentra los cambios de un alumno en una asignatura anteriores a un id,
+     * del más reciente al más antiguo.
+     *
+     * @param idAlumno     el identificador del alumno
+     * @param idAsignatura el identificador de la asignatura
+     * @param id           el id del último cambio de la página anterior
+     * @param pagina       el número máximo de cambios a leer
+     * @return una lista de cambios anteriores al id indicado
+     */
+    List<CambioCalificacion> findByIdAlumnoAndIdAsignaturaAndIdLessThanOrderByIdDesc(Integer idAlumno,
+            Integer idAsignatura, Long id, Pageable pagina);
+}
@@ -1,9 +1,14 @@
 package com.example.escuela.service;
 
 import com.example.dto.AlumnoDTO;
+import com.example.dto.KardexDTO;
+import com.example.dto.LoteDTO;
+import com.example.dto.PaginaDTO;
+import com.example.dto.ResultadoPromocionDTO;
 import com.example.escuela.model.Alumno;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interfaz del servicio AlumnoService.
@@ -49,4 +54,45 @@ public interface AlumnoService {
      * @return una lista de objetos Alumno
      */
     List<Alumno> listarAlumnos();
+
+    /**
+     * Obtiene el kardex de un alumno: sus datos, su grado, sus calificaciones y
+     * su promedio.
+     *
+     * @param id el identificador del alumno
+     * @return el kardex del alumno
+     */
+    KardexDTO obtenerKardex(Integer id);
+
+    /**
+     * Lista una página de los alumnos de un grado ordenados por nombre o por
+     * matrícula.
+     *
+     * @param idGrado el identificador del grado
+     * @param pagina  el número de página, empezando en 0
+     * @param tamanio el tamaño de la página
+     * @param orden   el campo de ordenamiento: "nombre" o "matricula"
+     * @return la página de alumnos del grado
+     */
+    PaginaDTO<Alumno> listarAlumnosPorGrado(Integer idGrado, int pagina, int tamanio, String orden);
+
+    /**
+     * Obtiene los alumnos con los ids indicados en una sola consulta.
+     *
+     * @param ids los identificadores; los repetidos se consultan una vez
+     * @return los alumnos encontrados por id y los ids que no existen
+     * @throws com.example.escuela.excepciones.AlumnoExcepcion Si no se indica ningún id o se excede el tamaño máximo del lote
+     */
+    LoteDTO<Alumno> obtenerAlumnosPorIds(List<Integer> ids);
+
+    /**
+     * Cambia de grado a todos los alumnos de los grados indicados en una sola
+     * transacción, o sólo los cuenta si es una simulación.
+     *
+     * @param promociones el identificador del grado nuevo por grado actual
+     * @param simular     true para sólo contar los alumnos de cada grado
+     * @return el número de alumnos promovidos de cada grado
+     * @throws com.example.escuela.excepciones.GradoExcepcion Si algún grado no existe o se promueve a sí mismo
+     */
+    ResultadoPromocionDTO promoverGrados(Map<Integer, Integer> promociones, boolean simular);
 }
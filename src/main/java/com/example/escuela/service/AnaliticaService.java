@@ -0,0 +1,53 @@
+package com.example.escuela.service;
+
+import com.example.dto.EstadoInstantaneaDTO;
+import com.example.dto.ResumenAnaliticoDTO;
+import com.example.escuela.excepciones.InstantaneaExcepcion;
+
+import java.util.List;
+
+/**
+ * Interfaz del servicio AnaliticaService.
+ * Exporta periódicamente las calificaciones a una instantánea columnar en disco
+ * y responde las consultas analíticas desde ella, sin acceder a la base de
+ * datos.
+ */
+public interface AnaliticaService {
+    /**
+     * Vuelve a generar la instantánea a partir de la base de datos.
+     */
+    void reconstruir();
+
+    /**
+     * Pide volver a generar la instantánea. No lee la base de datos en el hilo
+     * que la pide: en la siguiente revisión programada se encarga al hilo de
+     * generación del servicio, y varias solicitudes antes de esa revisión la
+     * generan una sola vez.
+     */
+    void solicitarReconstruccion();
+
+    /**
+     * Obtiene el resumen de las calificaciones de cada grado, en orden de id.
+     *
+     * @return Una lista con un resumen por grado.
+     * @throws InstantaneaExcepcion Si no hay instantánea disponible.
+     */
+    List<ResumenAnaliticoDTO> resumirPorGrado();
+
+    /**
+     * Obtiene el resumen de las calificaciones de cada asignatura, en orden de
+     * id, para comparar asignaturas entre sí.
+     *
+     * @param idGrado Si no es null, sólo considera a los alumnos de ese grado.
+     * @return Una lista con un resumen por asignatura.
+     * @throws InstantaneaExcepcion Si no hay instantánea disponible.
+     */
+    List<ResumenAnaliticoDTO> resumirPorAsignatura(Integer idGrado);
+
+    /**
+     * Obtiene el estado de la instantánea.
+     *
+     * @return El estado de la instantánea.
+     */
+    EstadoInstantaneaDTO obtenerEstado();
+}
@@ -1,6 +1,7 @@
 package com.example.escuela.service;
 
 import com.example.dto.AsignaturaDTO;
+import com.example.dto.LoteDTO;
 import com.example.escuela.model.Asignatura;
 
 import java.util.List;
@@ -56,4 +57,13 @@ public interface AsignaturaService {
      * @return el objeto Asignatura correspondiente al identificador
      */
     Asignatura obtenerAsignaturaPorId(Integer id);
+
+    /**
+     * Obtiene las asignaturas con los ids indicados en una sola consulta.
+     *
+     * @param ids los identificadores; los repetidos se consultan una vez
+     * @return las asignaturas encontradas por id y los ids que no existen
+     * @throws com.example.escuela.excepciones.AsignaturaExcepcion Si no se indica ningún id o se excede el tamaño máximo del lote
+     */
+    LoteDTO<Asignatura> obtenerAsignaturasPorIds(List<Integer> ids);
 }
@@ -0,0 +1,36 @@
+package com.example.escuela.service;
+
+import com.example.dto.AcuseCalificacionDTO;
+import com.example.dto.CalificacionDTO;
+import com.example.dto.EstadoEscrituraDiferidaDTO;
+
+/**
+ * Interfaz del servicio CalificacionDiferidaService.
+ * Proporciona la asignación asíncrona de calificaciones: la calificación se
+ * valida, se registra en un diario local y se escribe en la base de datos más
+ * tarde en lotes.
+ */
+public interface CalificacionDiferidaService {
+    /**
+     * Acepta una calificación para escribirla de forma diferida.
+     * Gana la última escritura: si otra solicitud crea la calificación antes de
+     * que se escriba, la diferida la sobrescribe.
+     *
+     * @param calificacionDTO Objeto que contiene los datos de la calificación a asignar.
+     * @return El acuse con la secuencia asignada en el diario.
+     */
+    AcuseCalificacionDTO aceptarCalificacion(CalificacionDTO calificacionDTO);
+
+    /**
+     * Escribe en la base de datos las calificaciones pendientes.
+     */
+    void vaciarPendientes();
+
+    /**
+     * Obtiene el estado de la escritura diferida, incluyendo el retraso de
+     * escritura.
+     *
+     * @return El estado actual de la escritura diferida.
+     */
+    EstadoEscrituraDiferidaDTO obtenerEstado();
+}
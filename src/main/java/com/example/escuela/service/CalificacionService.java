@@ -1,8 +1,12 @@
 package com.example.escuela.service;
 
 import com.example.dto.CalificacionDTO;
+import com.example.dto.LoteDTO;
+import com.example.dto.ResultadoCalificacionDTO;
 import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.Puntaje;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interfaz del servicio CalificacionService.
@@ -48,6 +52,16 @@ public interface CalificacionService {
      */
     List<Calificacion> obtenerCalificacionesPorAsignatura(Integer idAsignatura);   
 
+    /**
+     * Asigna o actualiza en una sola transacción las calificaciones de un grupo
+     * de alumnos en una asignatura.
+     *
+     * @param idAsignatura   El identificador de la asignatura.
+     * @param calificaciones La calificación de cada alumno, por id de alumno.
+     * @return El resultado de cada alumno, en el orden recibido.
+     */
+    List<ResultadoCalificacionDTO> calificarGrupo(Integer idAsignatura, Map<Integer, Puntaje> calificaciones);
+
     /**
      * Elimina una calificación por su identificador.
      *
@@ -55,6 +69,25 @@ public interface CalificacionService {
      */
     void eliminarCalificacion(Integer id);
 
+    /**
+     * Registra en la bandeja de salida y en el historial la eliminación de las
+     * calificaciones de un alumno, que la base de datos elimina en cascada con
+     * el alumno. Debe invocarse dentro de la transacción que lo elimina y antes
+     * de eliminarlo.
+     *
+     * @param idAlumno El identificador del alumno que se va a eliminar.
+     */
+    void registrarEliminacionPorAlumno(Integer idAlumno);
+
+    /**
+     * Registra la eliminación de las calificaciones de una asignatura, como
+     * {@link #registrarEliminacionPorAlumno(Integer)}.
+     *
+     * @param idAsignatura El identificador de la asignatura que se va a
+     *                     eliminar.
+     */
+    void registrarEliminacionPorAsignatura(Integer idAsignatura);
+
     /**
      * Obtiene una calificación por su identificador.
      *
@@ -62,4 +95,13 @@ public interface CalificacionService {
      * @return La calificación correspondiente al identificador proporcionado.
      */
     Calificacion obtenerCalificacionPorId(Integer id);
+
+    /**
+     * Obtiene las calificaciones, con su alumno y asignatura, con los ids indicados en una sola consulta.
+     *
+     * @param ids los identificadores; los repetidos se consultan una vez
+     * @return las calificaciones encontradas por id y los ids que no existen
+     * @throws com.example.escuela.excepciones.CalificacionExcepcion Si no se indica ningún id o se excede el tamaño máximo del lote
+     */
+    LoteDTO<Calificacion> obtenerCalificacionesPorIds(List<Integer> ids);
 }
\ No newline at end of file
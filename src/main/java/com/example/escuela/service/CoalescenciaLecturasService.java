@@ -0,0 +1,35 @@
+package com.example.escuela.service;
+
+import com.example.dto.EstadisticaCoalescenciaDTO;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Interfaz del servicio CoalescenciaLecturasService.
+ * Hace que las lecturas idénticas que se ejecutan al mismo tiempo compartan una
+ * sola consulta a la base de datos y su resultado.
+ */
+public interface CoalescenciaLecturasService {
+    /**
+     * Ejecuta la lectura o, si ya hay una en curso con el mismo método y
+     * argumento, espera y devuelve su resultado o su excepción. El resultado
+     * puede entregarse a varios hilos, por lo que no debe modificarse.
+     *
+     * @param metodo    Nombre del método en la configuración, por ejemplo
+     *                  "alumnos.obtener-por-id".
+     * @param argumento Argumento que identifica la lectura; debe implementar
+     *                  equals y hashCode.
+     * @param lectura   Lectura a ejecutar.
+     * @param <T>       Tipo del resultado.
+     * @return El resultado de la lectura.
+     */
+    <T> T ejecutar(String metodo, Object argumento, Supplier<T> lectura);
+
+    /**
+     * Obtiene las estadísticas de cada método que ha recibido lecturas.
+     *
+     * @return Una lista con las estadísticas de cada método ordenada por nombre.
+     */
+    List<EstadisticaCoalescenciaDTO> obtenerEstadisticas();
+}
@@ -0,0 +1,59 @@
+package com.example.escuela.service;
+
+import com.example.dto.EstadisticaEscuelaDTO;
+
+import java.util.List;
+
+/**
+ * Interfaz del servicio EscuelaService.
+ * Conoce las escuelas que atiende la aplicación, la escuela de la solicitud en
+ * curso y las estadísticas de cada una. Con una sola escuela, ésta es la
+ * predeterminada y usa el DataSource de spring.datasource.
+ */
+public interface EscuelaService {
+    /**
+     * Obtiene la escuela del hilo actual o, si no tiene, la predeterminada.
+     *
+     * @return El identificador de la escuela.
+     */
+    String actual();
+
+    /**
+     * Obtiene las escuelas configuradas.
+     *
+     * @return Los identificadores de las escuelas.
+     */
+    List<String> escuelas();
+
+    /**
+     * Indica si una escuela está configurada.
+     *
+     * @param idEscuela El identificador de la escuela.
+     * @return true si la escuela existe.
+     */
+    boolean existe(String idEscuela);
+
+    /**
+     * Ejecuta una acción una vez por escuela, con la escuela establecida en el
+     * hilo. Si la acción falla en una escuela, continúa con las demás y lanza
+     * el primer error al terminar.
+     *
+     * @param accion La acción a ejecutar.
+     */
+    void ejecutarEnCadaEscuela(Runnable accion);
+
+    /**
+     * Cuenta una solicitud atendida para una escuela.
+     *
+     * @param idEscuela El identificador de la escuela.
+     * @param estado    El código de estado HTTP de la respuesta.
+     */
+    void registrarSolicitud(String idEscuela, int estado);
+
+    /**
+     * Obtiene las solicitudes y el uso del pool de cada escuela.
+     *
+     * @return Una estadística por escuela.
+     */
+    List<EstadisticaEscuelaDTO> obtenerEstadisticas();
+}
@@ -0,0 +1,20 @@
+package com.example.escuela.service;
+
+import com.example.dto.EstadisticaRegionCacheDTO;
+
+import java.util.List;
+
+/**
+ * Interfaz del servicio EstadisticasCacheService.
+ * Expone los aciertos y fallos de las regiones de la caché de segundo nivel de
+ * Hibernate.
+ */
+public interface EstadisticasCacheService {
+    /**
+     * Obtiene las estadísticas de todas las regiones de la caché de segundo
+     * nivel y de la caché de consultas.
+     *
+     * @return Una lista con las estadísticas de cada región.
+     */
+    List<EstadisticaRegionCacheDTO> obtenerEstadisticas();
+}
@@ -0,0 +1,71 @@
+package com.example.escuela.service;
+
+import com.example.escuela.excepciones.AlumnoExcepcion;
+import com.example.escuela.excepciones.AsignaturaExcepcion;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.EventoCalificacion;
+import com.example.escuela.model.TipoEventoCalificacion;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Interfaz del servicio EventoCalificacionService.
+ * Proporciona métodos para registrar los cambios de calificaciones en la bandeja
+ * de salida y para que los consumidores los lean de forma incremental o se
+ * suscriban a ellos.
+ */
+public interface EventoCalificacionService {
+    /**
+     * Registra un cambio de calificación. Debe invocarse dentro de la
+     * transacción que realiza el cambio.
+     *
+     * @param tipo         El tipo de cambio realizado.
+     * @param calificacion La calificación después del cambio.
+     * @return El evento registrado.
+     */
+    EventoCalificacion registrar(TipoEventoCalificacion tipo, Calificacion calificacion);
+
+    /**
+     * Registra varios cambios de calificación con una sola sentencia por
+     * lotes. Debe invocarse dentro de la transacción que realiza los cambios.
+     *
+     * @param eventos Los eventos con el tipo, los identificadores y el valor de
+     *                cada cambio; se completan con su id y fecha.
+     * @return Los mismos eventos, ya registrados.
+     */
+    List<EventoCalificacion> registrarTodos(List<EventoCalificacion> eventos);
+
+    /**
+     * Obtiene los eventos posteriores a un id, en orden. Los eventos registrados
+     * en el periodo de gracia más reciente se devuelven en una consulta
+     * posterior.
+     *
+     * @param desde  El id del último evento procesado por el consumidor.
+     * @param limite El número máximo de eventos a devolver.
+     * @return Una lista de eventos en orden de id.
+     */
+    List<EventoCalificacion> obtenerEventosDesde(Long desde, int limite);
+
+    /**
+     * Abre una suscripción SSE a los cambios de calificaciones de un alumno.
+     *
+     * @param idAlumno El id del alumno.
+     * @param desde    El id del último evento que recibió el cliente, o null para
+     *                 recibir sólo los eventos nuevos.
+     * @return El emisor SSE de la suscripción.
+     * @throws AlumnoExcepcion Si el alumno no existe.
+     */
+    SseEmitter suscribirPorAlumno(Integer idAlumno, Long desde);
+
+    /**
+     * Abre una suscripción SSE a los cambios de calificaciones de una asignatura.
+     *
+     * @param idAsignatura El id de la asignatura.
+     * @param desde        El id del último evento que recibió el cliente, o null
+     *                     para recibir sólo los eventos nuevos.
+     * @return El emisor SSE de la suscripción.
+     * @throws AsignaturaExcepcion Si la asignatura no existe.
+     */
+    SseEmitter suscribirPorAsignatura(Integer idAsignatura, Long desde);
+}
@@ -0,0 +1,43 @@
+package com.example.escuela.service;
+
+import com.example.dto.PaginaHistorialDTO;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.Puntaje;
+
+/**
+ * Interfaz del servicio HistorialCalificacionService.
+ * Proporciona métodos para registrar cada cambio de calificación en el
+ * historial, que sólo admite inserciones, y para consultarlo por alumno y
+ * asignatura.
+ */
+public interface HistorialCalificacionService {
+    /**
+     * Registra un cambio de calificación. Si se invoca dentro de una
+     * transacción, el cambio se encola al confirmarla y se escribe después en
+     * un lote, por lo que puede perderse si la cola está llena o la aplicación
+     * termina antes de escribirlo.
+     *
+     * @param calificacion La calificación modificada.
+     * @param anterior     El valor antes del cambio, o null si se asignó.
+     * @param nueva        El valor después del cambio, o null si se eliminó.
+     */
+    void registrar(Calificacion calificacion, Puntaje anterior, Puntaje nueva);
+
+    /**
+     * Escribe en la base de datos los cambios encolados.
+     */
+    void vaciarPendientes();
+
+    /**
+     * Obtiene una página del historial de un alumno en una asignatura, del
+     * cambio más reciente al más antiguo.
+     *
+     * @param idAlumno     El identificador del alumno.
+     * @param idAsignatura El identificador de la asignatura.
+     * @param antes        El id del último cambio de la página anterior, o null
+     *                     para la primera página.
+     * @param limite       El número máximo de cambios a devolver.
+     * @return La página de cambios y el valor de antes para la siguiente.
+     */
+    PaginaHistorialDTO obtenerHistorial(Integer idAlumno, Integer idAsignatura, Long antes, int limite);
+}
@@ -0,0 +1,99 @@
+package com.example.escuela.service;
+
+import com.example.dto.ResumenAnaliticoDTO;
+import com.example.escuela.estructuras.TablaCalificaciones;
+import com.example.escuela.excepciones.CalificacionExcepcion;
+import com.example.escuela.model.Puntaje;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interfaz del servicio MotorAnaliticoService.
+ * Mantiene todas las calificaciones en una tabla columnar de arreglos
+ * primitivos y la actualiza con cada cambio confirmado, de modo que las
+ * consultas de filtro, agrupación y agregación se responden al momento sin
+ * leer la base de datos ni crear entidades.
+ */
+public interface MotorAnaliticoService {
+    /**
+     * Filtra las calificaciones, las agrupa y calcula número, promedio, mínima,
+     * máxima y reprobadas de cada grupo.
+     *
+     * @param agrupar      "alumno", "asignatura", "grado" o null para un solo
+     *                     total.
+     * @param idAlumno     Si no es null, sólo considera a ese alumno.
+     * @param idAsignatura Si no es null, sólo considera esa asignatura.
+     * @param idGrado      Si no es null, sólo considera a los alumnos de ese
+     *                     grado.
+     * @param minima       Si no es null, calificación mínima incluida.
+     * @param maxima       Si no es null, calificación máxima incluida.
+     * @return Un resumen por grupo en orden de id; sin agrupar, un único resumen
+     *         con id null.
+     * @throws CalificacionExcepcion Si la agrupación no existe o el rango de
+     *                               calificaciones no es válido.
+     */
+    List<ResumenAnaliticoDTO> agregar(String agrupar, Integer idAlumno, Integer idAsignatura, Integer idGrado,
+            Puntaje minima, Puntaje maxima);
+
+    /**
+     * Obtiene una copia de la tabla vigente, para cálculos largos que no deben
+     * bloquear las actualizaciones.
+     *
+     * @return Una copia independiente de la tabla.
+     */
+    TablaCalificaciones obtenerCopia();
+
+    /**
+     * Registra una calificación nueva o modificada.
+     *
+     * @param idAlumno     El identificador del alumno.
+     * @param idGrado      El identificador del grado del alumno.
+     * @param idAsignatura El identificador de la asignatura.
+     * @param calificacion El valor de la calificación.
+     */
+    void registrarCalificacion(Integer idAlumno, Integer idGrado, Integer idAsignatura, Puntaje calificacion);
+
+    /**
+     * Quita la calificación de un alumno en una asignatura.
+     *
+     * @param idAlumno     El identificador del alumno.
+     * @param idAsignatura El identificador de la asignatura.
+     */
+    void eliminarCalificacion(Integer idAlumno, Integer idAsignatura);
+
+    /**
+     * Registra que un alumno cambió de grado.
+     *
+     * @param idAlumno El identificador del alumno.
+     * @param idGrado  El identificador del nuevo grado.
+     */
+    void cambiarGrado(Integer idAlumno, Integer idGrado);
+
+    /**
+     * Registra que todos los alumnos de los grados indicados cambiaron de
+     * grado. Cada alumno se cambia según su grado original.
+     *
+     * @param remapeo El identificador del grado nuevo por grado original.
+     */
+    void cambiarGrados(Map<Integer, Integer> remapeo);
+
+    /**
+     * Quita todas las calificaciones de un alumno eliminado.
+     *
+     * @param idAlumno El identificador del alumno.
+     */
+    void eliminarAlumno(Integer idAlumno);
+
+    /**
+     * Quita todas las calificaciones de una asignatura eliminada.
+     *
+     * @param idAsignatura El identificador de la asignatura.
+     */
+    void eliminarAsignatura(Integer idAsignatura);
+
+    /**
+     * Vuelve a cargar la tabla completa desde la base de datos.
+     */
+    void reconstruir();
+}
@@ -0,0 +1,28 @@
+package com.example.escuela.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interfaz del servicio ProyeccionCamposService.
+ * Lista entidades seleccionando en la consulta SQL sólo los campos pedidos con
+ * el parámetro fields de los listados.
+ */
+public interface ProyeccionCamposService {
+    /**
+     * Lista todas las filas de una entidad con sólo los campos indicados.
+     *
+     * Los campos se separan con comas y usan los nombres del JSON de la entidad.
+     * Los campos de las asociaciones se indican con punto (alumno.nombre,
+     * alumno.grado.nombre_grado) y el nombre de una asociación sola incluye
+     * todos sus campos. El resultado conserva la forma anidada del JSON
+     * completo.
+     *
+     * @param entidad Clase de la entidad a listar.
+     * @param campos  Lista de campos separados por comas.
+     * @return Una lista de mapas con los campos pedidos, ordenada por id.
+     * @throws com.example.escuela.excepciones.CamposExcepcion Si la lista está
+     *         vacía o contiene un campo desconocido.
+     */
+    List<Map<String, Object>> listar(Class<?> entidad, String campos);
+}
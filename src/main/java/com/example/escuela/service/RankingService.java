@@ -0,0 +1,105 @@
+package com.example.escuela.service;
+
+import com.example.dto.PosicionRankingDTO;
+import com.example.escuela.model.Puntaje;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interfaz del servicio RankingService.
+ * Mantiene en memoria los rankings de alumnos por asignatura y por grado y los
+ * actualiza con cada cambio de calificación, de modo que las consultas no
+ * necesitan leer ni ordenar todas las calificaciones.
+ */
+public interface RankingService {
+    /**
+     * Obtiene los mejores alumnos de una asignatura, ordenados por calificación
+     * y después por promedio general.
+     *
+     * @param idAsignatura El identificador de la asignatura.
+     * @param limite       El número máximo de alumnos a devolver.
+     * @return Una lista con las primeras posiciones del ranking.
+     */
+    List<PosicionRankingDTO> obtenerRankingAsignatura(Integer idAsignatura, int limite);
+
+    /**
+     * Obtiene la posición de un alumno en el ranking de una asignatura.
+     *
+     * @param idAsignatura El identificador de la asignatura.
+     * @param idAlumno     El identificador del alumno.
+     * @return La posición del alumno.
+     */
+    PosicionRankingDTO obtenerPosicionEnAsignatura(Integer idAsignatura, Integer idAlumno);
+
+    /**
+     * Obtiene los mejores alumnos de un grado, ordenados por promedio general.
+     *
+     * @param idGrado El identificador del grado.
+     * @param limite  El número máximo de alumnos a devolver.
+     * @return Una lista con las primeras posiciones del ranking.
+     */
+    List<PosicionRankingDTO> obtenerRankingGrado(Integer idGrado, int limite);
+
+    /**
+     * Obtiene la posición de un alumno en el ranking de su grado.
+     *
+     * @param idGrado  El identificador del grado.
+     * @param idAlumno El identificador del alumno.
+     * @return La posición del alumno.
+     */
+    PosicionRankingDTO obtenerPosicionEnGrado(Integer idGrado, Integer idAlumno);
+
+    /**
+     * Registra una calificación nueva o modificada.
+     *
+     * @param idAlumno     El identificador del alumno.
+     * @param idGrado      El identificador del grado del alumno.
+     * @param idAsignatura El identificador de la asignatura.
+     * @param calificacion El valor de la calificación.
+     */
+    void registrarCalificacion(Integer idAlumno, Integer idGrado, Integer idAsignatura, Puntaje calificacion);
+
+    /**
+     * Quita una calificación de los rankings.
+     *
+     * @param idAlumno     El identificador del alumno.
+     * @param idAsignatura El identificador de la asignatura.
+     */
+    void eliminarCalificacion(Integer idAlumno, Integer idAsignatura);
+
+    /**
+     * Cambia el grado de un alumno en los rankings.
+     *
+     * @param idAlumno El identificador del alumno.
+     * @param idGrado  El identificador del nuevo grado.
+     */
+    void cambiarGrado(Integer idAlumno, Integer idGrado);
+
+    /**
+     * Cambia de grado a todos los alumnos de los grados indicados. Cada alumno
+     * se cambia según su grado original.
+     *
+     * @param remapeo El identificador del grado nuevo por grado original.
+     */
+    void cambiarGrados(Map<Integer, Integer> remapeo);
+
+    /**
+     * Quita de los rankings a un alumno y todas sus calificaciones.
+     *
+     * @param idAlumno El identificador del alumno.
+     */
+    void eliminarAlumno(Integer idAlumno);
+
+    /**
+     * Quita de los rankings todas las calificaciones de una asignatura.
+     *
+     * @param idAsignatura El identificador de la asignatura.
+     */
+    void eliminarAsignatura(Integer idAsignatura);
+
+    /**
+     * Reconstruye todos los rankings a partir de la base de datos.
+     */
+    void reconstruir();
+}
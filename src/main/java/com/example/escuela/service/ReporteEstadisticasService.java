@@ -0,0 +1,18 @@
+package com.example.escuela.service;
+
+import com.example.dto.ReporteEstadisticasDTO;
+
+/**
+ * Interfaz del servicio ReporteEstadisticasService.
+ * Calcula el reporte de estadísticas de todas las calificaciones: promedio,
+ * mediana, percentiles y reprobadas por grado y asignatura, repartiendo el
+ * cálculo entre varios hilos.
+ */
+public interface ReporteEstadisticasService {
+    /**
+     * Calcula el reporte sobre las calificaciones actuales.
+     *
+     * @return El reporte con una entrada por grado y asignatura.
+     */
+    ReporteEstadisticasDTO generar();
+}
@@ -1,19 +1,47 @@
 package com.example.escuela.service.impl;
 
 import com.example.dto.AlumnoDTO;
+import com.example.dto.ConteoGradoDTO;
+import com.example.dto.FilaKardexDTO;
+import com.example.dto.KardexDTO;
+import com.example.dto.LoteDTO;
+import com.example.dto.MateriaKardexDTO;
+import com.example.dto.PaginaDTO;
+import com.example.dto.PromocionGradoDTO;
+import com.example.dto.ResultadoPromocionDTO;
 import com.example.escuela.excepciones.AlumnoExcepcion;
 import com.example.escuela.excepciones.GradoExcepcion;
 import com.example.escuela.excepciones.MatriculaExcepcion;
 import com.example.escuela.model.Alumno;
 import com.example.escuela.model.Grado;
+import com.example.escuela.model.Puntaje;
 import com.example.escuela.repository.AlumnoRepository;
 import com.example.escuela.repository.GradoRepository;
 import com.example.escuela.service.AlumnoService;
+import com.example.escuela.service.AnaliticaService;
+import com.example.escuela.service.CalificacionService;
+import com.example.escuela.service.CoalescenciaLecturasService;
+import com.example.escuela.service.MotorAnaliticoService;
+import com.example.escuela.service.RankingService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio AlumnoService.
@@ -38,6 +66,57 @@ public class AlumnoServiceImpl implements AlumnoService {
     @Autowired
     private GradoRepository gradoRepository;
 
+    /**
+     * Servicio de rankings en memoria, que se actualiza cuando un alumno cambia
+     * de grado o se elimina.
+     */
+    @Autowired
+    private RankingService rankingService;
+
+    /**
+     * Tabla analítica en memoria, que se actualiza cuando un alumno cambia de
+     * grado o se elimina.
+     */
+    @Autowired
+    private MotorAnaliticoService motorAnaliticoService;
+
+    /**
+     * Servicio de calificaciones, que registra la eliminación de las
+     * calificaciones del alumno.
+     */
+    @Autowired
+    private CalificacionService calificacionService;
+
+    /**
+     * Instantánea analítica que se vuelve a generar después de promover grados.
+     */
+    @Autowired
+    private AnaliticaService analiticaService;
+
+    /**
+     * EntityManager para ejecutar la promoción de grados.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Servicio que comparte las lecturas concurrentes de un mismo alumno.
+     */
+    @Autowired
+    private CoalescenciaLecturasService coalescenciaLecturasService;
+
+    /**
+     * Tamaño máximo de página permitido al listar los alumnos de un grado.
+     */
+    @Value("${escuela.alumnos.tamanio-maximo-pagina:100}")
+    private int tamanioMaximoPagina;
+
+    /**
+     * Número máximo de ids distintos en una consulta por lote.
+     */
+    @Value("${escuela.lotes.tamanio-maximo:200}")
+    private int tamanioMaximoLote;
+
     /**
      * Constructor por defecto para la clase AlumnoServiceImpl.
      */
@@ -78,12 +157,8 @@ public class AlumnoServiceImpl implements AlumnoService {
      * @throws MatriculaExcepcion Si la matrícula ya está registrada.
      */
     public void validarMatricula(String matriculaDTO) {
-        List<Alumno> alumnos = listarAlumnos();
-        for (Alumno alumno : alumnos) {
-            String matriculaAlumno = alumno.getMatricula();
-            if (matriculaAlumno.equals(matriculaDTO)) {
-                throw new MatriculaExcepcion("La mátricula ya está registrada para otro alumno.");
-            }
+        if (alumnoRepository.existsByMatricula(matriculaDTO)) {
+            throw new MatriculaExcepcion("La mátricula ya está registrada para otro alumno.");
         }
     }
 
@@ -123,18 +198,30 @@ public class AlumnoServiceImpl implements AlumnoService {
         alumno.setNombre(alumnoDTO.getNombre());
         alumno.setCorreoElectronico(alumnoDTO.getCorreoElectronico());
         alumno.setGrado(grado);
-        return alumnoRepository.save(alumno);
+        Alumno actualizado = alumnoRepository.save(alumno);
+        rankingService.cambiarGrado(actualizado.getId(), grado.getId());
+        motorAnaliticoService.cambiarGrado(actualizado.getId(), grado.getId());
+        return actualizado;
     }
 
     /**
-     * Elimina un alumno de la base de datos.
+     * Elimina un alumno de la base de datos. Sus calificaciones se eliminan en
+     * cascada; antes se registra la eliminación de cada una en la bandeja de
+     * salida y en el historial.
      * 
      * @param id El identificador del alumno a eliminar.
      */
     @Override
+    @Transactional
     public void eliminarAlumno(Integer id) {
         try {
+            calificacionService.registrarEliminacionPorAlumno(id);
             alumnoRepository.deleteById(id);
+            alumnoRepository.flush();
+            DespuesDeConfirmar.ejecutar(() -> {
+                rankingService.eliminarAlumno(id);
+                motorAnaliticoService.eliminarAlumno(id);
+            });
         } catch (RuntimeException e) {
             throw new AlumnoExcepcion("No se puede eliminar, alumno no encontrado con id " + id);
         }
@@ -143,13 +230,17 @@ public class AlumnoServiceImpl implements AlumnoService {
     /**
      * Obtiene un alumno por su identificador.
      * 
+     * Las lecturas concurrentes del mismo id comparten una sola consulta
+     * (método "alumnos.obtener-por-id" de la coalescencia de lecturas).
+     * 
      * @param id El identificador del alumno a obtener.
      * @return El alumno encontrado.
      */
     @Override
     public Alumno obtenerAlumnoPorId(Integer id) {
-        return alumnoRepository.findById(id)
-                .orElseThrow(() -> new AlumnoExcepcion("No se econtró al alumno con id " + id));
+        return coalescenciaLecturasService.ejecutar("alumnos.obtener-por-id", id,
+                () -> alumnoRepository.findById(id)
+                        .orElseThrow(() -> new AlumnoExcepcion("No se econtró al alumno con id " + id)));
     }
 
     /**
@@ -161,4 +252,182 @@ public class AlumnoServiceImpl implements AlumnoService {
     public List<Alumno> listarAlumnos() {
         return alumnoRepository.findAll();
     }
+
+    /**
+     * Obtiene el kardex de un alumno con una sola consulta a la base de datos,
+     * sin importar cuántas asignaturas tenga.
+     * 
+     * @param id El identificador del alumno.
+     * @return El kardex del alumno.
+     * @throws AlumnoExcepcion Si el alumno no se encuentra en la base de datos.
+     */
+    @Override
+    public KardexDTO obtenerKardex(Integer id) {
+        List<FilaKardexDTO> filas = alumnoRepository.obtenerKardex(id);
+        if (filas.isEmpty()) {
+            throw new AlumnoExcepcion("No se econtró al alumno con id " + id);
+        }
+
+        FilaKardexDTO primera = filas.get(0);
+        KardexDTO kardex = new KardexDTO();
+        kardex.setId_alumno(primera.getIdAlumno());
+        kardex.setMatricula(primera.getMatricula());
+        kardex.setNombre(primera.getNombre());
+        kardex.setId_grado(primera.getIdGrado());
+        kardex.setGrado(primera.getNombreGrado());
+
+        long suma = 0;
+        for (FilaKardexDTO fila : filas) {
+            if (fila.getIdCalificacion() == null) {
+                continue;
+            }
+            kardex.getMaterias().add(new MateriaKardexDTO(fila.getIdCalificacion(), fila.getIdAsignatura(),
+                    fila.getNombreAsignatura(), fila.getCalificacion()));
+            suma += fila.getCalificacion().centesimas();
+        }
+        if (!kardex.getMaterias().isEmpty()) {
+            kardex.setPromedio(Puntaje.deCentesimas((int) Math.round((double) suma / kardex.getMaterias().size())));
+        }
+        return kardex;
+    }
+
+    /**
+     * Lista una página de los alumnos de un grado. Sólo se admite ordenar por
+     * nombre o por matrícula, que son las columnas cubiertas por los índices
+     * compuestos con el grado; el id desempata para que el orden sea estable
+     * entre páginas.
+     * 
+     * @param idGrado El identificador del grado.
+     * @param pagina  El número de página, empezando en 0.
+     * @param tamanio El tamaño de la página.
+     * @param orden   El campo de ordenamiento: "nombre" o "matricula".
+     * @return La página de alumnos del grado.
+     * @throws GradoExcepcion  Si el grado no se encuentra en la base de datos.
+     * @throws AlumnoExcepcion Si la página, el tamaño o el orden no son válidos.
+     */
+    @Override
+    public PaginaDTO<Alumno> listarAlumnosPorGrado(Integer idGrado, int pagina, int tamanio, String orden) {
+        if (pagina < 0) {
+            throw new AlumnoExcepcion("La página no puede ser negativa.");
+        }
+        if (tamanio < 1 || tamanio > tamanioMaximoPagina) {
+            throw new AlumnoExcepcion("El tamaño de página debe estar entre 1 y " + tamanioMaximoPagina + ".");
+        }
+        Sort sort;
+        if ("nombre".equals(orden)) {
+            sort = Sort.by("nombre", "id");
+        } else if ("matricula".equals(orden)) {
+            sort = Sort.by("matricula", "id");
+        } else {
+            throw new AlumnoExcepcion("Orden no válido: " + orden + ". Use nombre o matricula.");
+        }
+        if (!gradoRepository.existsById(idGrado)) {
+            throw new GradoExcepcion("Grado no encontrado");
+        }
+        return PaginaDTO.de(alumnoRepository.findByGradoId(idGrado, PageRequest.of(pagina, tamanio, sort)));
+    }
+
+    /**
+     * Obtiene los alumnos con los ids indicados con una sola consulta IN.
+     *
+     * @param ids Los identificadores a consultar.
+     * @return Los alumnos encontrados por id y los ids que no existen.
+     * @throws AlumnoExcepcion Si no se indica ningún id o se excede
+     *         escuela.lotes.tamanio-maximo.
+     */
+    @Override
+    public LoteDTO<Alumno> obtenerAlumnosPorIds(List<Integer> ids) {
+        Set<Integer> distintos = Lotes.validar(ids, tamanioMaximoLote, AlumnoExcepcion::new);
+        return LoteDTO.de(distintos, alumnoRepository.findAllByIdIn(distintos), Alumno::getId);
+    }
+
+    /**
+     * Cambia de grado a todos los alumnos de los grados indicados, por ejemplo
+     * de 1A a 2A, con tres sentencias sin importar el número de alumnos: la
+     * lectura de los grados, la lectura que bloquea a los alumnos de los grados
+     * de origen para contarlos y un solo UPDATE con CASE sobre id_grado. Al
+     * simular, los alumnos sólo se cuentan con una consulta agrupada, sin
+     * bloquearlos. Como cada alumno se cambia según su grado original, se
+     * admiten cadenas (1A a 2A y 2A a 3A) y varios grados hacia un mismo
+     * destino.
+     * El UPDATE se declara sobre la entidad Alumno, por lo que Hibernate
+     * invalida al confirmar las consultas en caché que leen alumnos. Al
+     * confirmar se actualizan también los rankings y la tabla analítica en
+     * memoria y se vuelve a generar la instantánea analítica.
+     *
+     * @param promociones El identificador del grado nuevo por grado actual.
+     * @param simular     true para sólo contar los alumnos de cada grado.
+     * @return El número de alumnos promovidos de cada grado.
+     * @throws GradoExcepcion Si no se indica ningún grado, se excede
+     *                        escuela.lotes.tamanio-maximo, algún grado no existe
+     *                        o se promueve a sí mismo.
+     */
+    @Override
+    @Transactional
+    public ResultadoPromocionDTO promoverGrados(Map<Integer, Integer> promociones, boolean simular) {
+        if (promociones == null || promociones.isEmpty()) {
+            throw new GradoExcepcion("Debe indicar al menos un grado a promover");
+        }
+        if (promociones.size() > tamanioMaximoLote) {
+            throw new GradoExcepcion("Se pueden promover como máximo " + tamanioMaximoLote + " grados a la vez");
+        }
+        Map<Integer, Integer> remapeo = new LinkedHashMap<>(promociones);
+        Set<Integer> idsGrados = new HashSet<>(remapeo.keySet());
+        remapeo.forEach((origen, destino) -> {
+            if (destino == null || destino.equals(origen)) {
+                throw new GradoExcepcion("El grado " + origen + " debe promoverse a un grado distinto");
+            }
+            idsGrados.add(destino);
+        });
+        Map<Integer, Grado> grados = gradoRepository.findAllById(idsGrados).stream()
+                .collect(Collectors.toMap(Grado::getId, Function.identity()));
+        for (Integer idGrado : idsGrados) {
+            if (!grados.containsKey(idGrado)) {
+                throw new GradoExcepcion("Grado no encontrado con id: " + idGrado);
+            }
+        }
+        // La simulación sólo cuenta; la promoción bloquea los alumnos que va a
+        // mover, de modo que el detalle coincide con las filas actualizadas.
+        Map<Integer, Long> alumnosPorGrado = simular
+                ? alumnoRepository.contarPorGrado(remapeo.keySet()).stream()
+                        .collect(Collectors.toMap(ConteoGradoDTO::getIdGrado, ConteoGradoDTO::getAlumnos))
+                : alumnoRepository.bloquearPorGrados(remapeo.keySet()).stream()
+                        .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        List<PromocionGradoDTO> detalle = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<Integer, Integer> promocion : remapeo.entrySet()) {
+            long alumnos = alumnosPorGrado.getOrDefault(promocion.getKey(), 0L);
+            detalle.add(new PromocionGradoDTO(promocion.getKey(), grados.get(promocion.getKey()).getNombre_grado(),
+                    promocion.getValue(), grados.get(promocion.getValue()).getNombre_grado(), alumnos));
+            total += alumnos;
+        }
+        if (simular || total == 0) {
+            return new ResultadoPromocionDTO(simular, total, detalle);
+        }
+
+        StringBuilder sql = new StringBuilder("UPDATE alumnos SET id_grado = CASE id_grado");
+        for (int i = 0; i < remapeo.size(); i++) {
+            sql.append(" WHEN :origen").append(i).append(" THEN :destino").append(i);
+        }
+        sql.append(" END WHERE id_grado IN (:origenes)");
+        NativeQuery<?> actualizacion = entityManager.createNativeQuery(sql.toString())
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Alumno.class);
+        int i = 0;
+        for (Map.Entry<Integer, Integer> promocion : remapeo.entrySet()) {
+            actualizacion.setParameter("origen" + i, promocion.getKey());
+            actualizacion.setParameter("destino" + i, promocion.getValue());
+            i++;
+        }
+        actualizacion.setParameterList("origenes", remapeo.keySet());
+        int actualizados = actualizacion.executeUpdate();
+
+        DespuesDeConfirmar.ejecutar(() -> {
+            rankingService.cambiarGrados(remapeo);
+            motorAnaliticoService.cambiarGrados(remapeo);
+            analiticaService.solicitarReconstruccion();
+        });
+        return new ResultadoPromocionDTO(false, actualizados, detalle);
+    }
 }
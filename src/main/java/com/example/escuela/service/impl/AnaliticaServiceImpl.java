@@ -0,0 +1,360 @@
+package com.example.escuela.service.impl;
+
+import com.example.dto.EstadoInstantaneaDTO;
+import com.example.dto.ResumenAnaliticoDTO;
+import com.example.escuela.excepciones.InstantaneaExcepcion;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.persistencia.InstantaneaCalificaciones;
+import com.example.escuela.service.AnaliticaService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Implementación del servicio AnaliticaService.
+ * Cada intervalo lee todas las calificaciones en una sola consulta y las
+ * escribe en una {@link InstantaneaCalificaciones}. Las filas se copian del
+ * ResultSet directamente a las columnas, sin una lista intermedia de objetos. Las consultas recorren las
+ * columnas mapeadas en memoria de la instantánea vigente; la instantánea se
+ * reemplaza completa, por lo que una consulta nunca ve una mezcla de dos
+ * generaciones. Al iniciar se abre la instantánea que haya en disco, de modo que
+ * las consultas se atienden desde el primer momento.
+ *
+ * La instantánea se genera en un hilo propio y no en el de tareas programadas,
+ * que comparten las demás tareas (@Scheduled) de la aplicación: leer todas las
+ * calificaciones y escribir el archivo no retrasa la escritura diferida, el
+ * relevo de eventos ni el historial.
+ */
+@Service
+public class AnaliticaServiceImpl implements AnaliticaService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnaliticaServiceImpl.class);
+
+    /**
+     * Lee todas las calificaciones como identificadores y centésimas, sin cargar
+     * entidades.
+     */
+    private static final String CONSULTA_FILAS = "SELECT a.id_alumno, a.id_grado, c.id_asignatura, "
+            + "c.calificacion * 100 FROM calificaciones c JOIN alumnos a ON a.id_alumno = c.id_alumno";
+
+    /**
+     * Columnas de la instantánea que se llenan fila por fila desde el ResultSet,
+     * sin crear un objeto por fila. Crecen al doble cuando se llenan.
+     */
+    private static final class Columnas implements RowCallbackHandler {
+        private int filas;
+        private int[] alumnos = new int[1024];
+        private int[] asignaturas = new int[1024];
+        private int[] grados = new int[1024];
+        private short[] calificaciones = new short[1024];
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (filas == alumnos.length) {
+                int capacidad = Math.multiplyExact(filas, 2);
+                alumnos = Arrays.copyOf(alumnos, capacidad);
+                asignaturas = Arrays.copyOf(asignaturas, capacidad);
+                grados = Arrays.copyOf(grados, capacidad);
+                calificaciones = Arrays.copyOf(calificaciones, capacidad);
+            }
+            alumnos[filas] = rs.getInt(1);
+            grados[filas] = rs.getInt(2);
+            asignaturas[filas] = rs.getInt(3);
+            calificaciones[filas] = rs.getShort(4);
+            filas++;
+        }
+    }
+
+    /**
+     * Acumulados de las calificaciones de cada grupo, en centésimas. Los grupos
+     * se identifican por su posición en la lista ordenada de ids.
+     */
+    private static final class Acumulados {
+        private final long[] calificaciones;
+        private final long[] suma;
+        private final int[] minima;
+        private final int[] maxima;
+        private final long[] reprobadas;
+
+        private Acumulados(int grupos) {
+            calificaciones = new long[grupos];
+            suma = new long[grupos];
+            minima = new int[grupos];
+            maxima = new int[grupos];
+            reprobadas = new long[grupos];
+            Arrays.fill(minima, Integer.MAX_VALUE);
+            Arrays.fill(maxima, Integer.MIN_VALUE);
+        }
+
+        private void agregar(int grupo, int calificacion, int aprobatoria) {
+            calificaciones[grupo]++;
+            suma[grupo] += calificacion;
+            minima[grupo] = Math.min(minima[grupo], calificacion);
+            maxima[grupo] = Math.max(maxima[grupo], calificacion);
+            if (calificacion < aprobatoria) {
+                reprobadas[grupo]++;
+            }
+        }
+
+        private ResumenAnaliticoDTO resumen(int grupo, int id) {
+            double escala = Puntaje.ESCALA;
+            long total = calificaciones[grupo];
+            return new ResumenAnaliticoDTO(id, total,
+                    Math.round((double) suma[grupo] / total) / escala,
+                    minima[grupo] / escala, maxima[grupo] / escala, reprobadas[grupo],
+                    (double) reprobadas[grupo] / total);
+        }
+    }
+
+    /**
+     * Plantilla JDBC para leer las calificaciones al generar la instantánea.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Indica si la instantánea se genera periódicamente.
+     */
+    @Value("${escuela.analitica.habilitada:false}")
+    private boolean habilitada;
+
+    /**
+     * Ruta del archivo de la instantánea.
+     */
+    @Value("${escuela.analitica.instantanea:calificaciones.instantanea}")
+    private String rutaInstantanea;
+
+    /**
+     * Calificación mínima aprobatoria.
+     */
+    @Value("${escuela.analitica.calificacion-aprobatoria:60}")
+    private Puntaje calificacionAprobatoria;
+
+    /**
+     * Indica si se pidió volver a generar la instantánea antes del siguiente
+     * intervalo.
+     */
+    private final AtomicBoolean reconstruccionPendiente = new AtomicBoolean();
+
+    private volatile InstantaneaCalificaciones instantanea;
+    private volatile long duracionMs;
+
+    /**
+     * Hilo que genera la instantánea. Admite una generación en curso y una en
+     * espera; otra solicitud mientras tanto se descarta, pues la que espera ya
+     * leerá los datos más recientes.
+     */
+    private ExecutorService generador;
+
+    /**
+     * Constructor por defecto para la clase AnaliticaServiceImpl.
+     */
+    public AnaliticaServiceImpl() {
+    }
+
+    /**
+     * Abre la instantánea existente en disco, si la hay y es válida.
+     */
+    @PostConstruct
+    void abrir() {
+        generador = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1), tarea -> {
+            Thread hilo = new Thread(tarea, "analitica-instantanea");
+            hilo.setDaemon(true);
+            return hilo;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+        Path ruta = Path.of(rutaInstantanea);
+        if (!habilitada || !Files.exists(ruta)) {
+            return;
+        }
+        try {
+            instantanea = InstantaneaCalificaciones.abrir(ruta);
+            log.info("Se abrió la instantánea analítica {} con {} calificaciones", ruta, instantanea.getFilas());
+        } catch (IOException e) {
+            log.warn("No se pudo abrir la instantánea analítica {}: {}", ruta, e.getMessage());
+        }
+    }
+
+    /**
+     * Detiene el hilo de generación y cierra la instantánea al detener la
+     * aplicación.
+     *
+     * @throws IOException          Si ocurre un error al cerrar el archivo.
+     * @throws InterruptedException Si se interrumpe la espera al hilo de
+     *                              generación.
+     */
+    @PreDestroy
+    void cerrar() throws IOException, InterruptedException {
+        generador.shutdownNow();
+        generador.awaitTermination(10, TimeUnit.SECONDS);
+        if (instantanea != null) {
+            instantanea.close();
+        }
+    }
+
+    /**
+     * Genera la instantánea periódicamente si está habilitada. Sólo la encarga
+     * al hilo de generación, sin esperar a que termine.
+     */
+    @Scheduled(fixedDelayString = "${escuela.analitica.intervalo-ms:300000}")
+    public void reconstruirProgramada() {
+        if (habilitada) {
+            generador.execute(this::generar);
+        }
+    }
+
+    /**
+     * Marca la instantánea para que {@link #reconstruirPendiente()} la vuelva a
+     * generar.
+     */
+    @Override
+    public void solicitarReconstruccion() {
+        reconstruccionPendiente.set(true);
+    }
+
+    /**
+     * Genera la instantánea si se pidió con {@link #solicitarReconstruccion()}
+     * desde la última revisión.
+     */
+    @Scheduled(fixedDelayString = "${escuela.analitica.revision-ms:1000}")
+    public void reconstruirPendiente() {
+        if (reconstruccionPendiente.getAndSet(false)) {
+            reconstruirProgramada();
+        }
+    }
+
+    private void generar() {
+        try {
+            reconstruir();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo generar la instantánea analítica: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Vuelve a generar la instantánea a partir de la base de datos y la
+     * sustituye por la vigente.
+     */
+    @Override
+    public synchronized void reconstruir() {
+        long inicio = System.nanoTime();
+        Columnas columnas = new Columnas();
+        jdbcTemplate.query(CONSULTA_FILAS, columnas);
+        int total = columnas.filas;
+        Path ruta = Path.of(rutaInstantanea);
+        InstantaneaCalificaciones anterior = instantanea;
+        try {
+            InstantaneaCalificaciones.escribir(ruta, columnas.alumnos, columnas.asignaturas, columnas.grados,
+                    columnas.calificaciones, total);
+            instantanea = InstantaneaCalificaciones.abrir(ruta);
+            if (anterior != null) {
+                anterior.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir la instantánea " + ruta, e);
+        }
+        duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        log.debug("Instantánea analítica generada con {} calificaciones en {} ms", total, duracionMs);
+    }
+
+    /**
+     * Obtiene el resumen de las calificaciones de cada grado, en orden de id.
+     *
+     * @return Una lista con un resumen por grado.
+     */
+    @Override
+    public List<ResumenAnaliticoDTO> resumirPorGrado() {
+        InstantaneaCalificaciones datos = vigente();
+        return resumir(datos, datos::grado, null);
+    }
+
+    /**
+     * Obtiene el resumen de las calificaciones de cada asignatura, en orden de id.
+     *
+     * @param idGrado Si no es null, sólo considera a los alumnos de ese grado.
+     * @return Una lista con un resumen por asignatura.
+     */
+    @Override
+    public List<ResumenAnaliticoDTO> resumirPorAsignatura(Integer idGrado) {
+        InstantaneaCalificaciones datos = vigente();
+        return resumir(datos, datos::asignatura, idGrado);
+    }
+
+    /**
+     * Obtiene el estado de la instantánea.
+     *
+     * @return El estado de la instantánea.
+     */
+    @Override
+    public EstadoInstantaneaDTO obtenerEstado() {
+        InstantaneaCalificaciones datos = instantanea;
+        if (datos == null) {
+            return new EstadoInstantaneaDTO(habilitada, 0, 0, null, duracionMs);
+        }
+        return new EstadoInstantaneaDTO(habilitada, datos.getFilas(), datos.getBytes(),
+                Instant.ofEpochMilli(datos.getGenerada()), duracionMs);
+    }
+
+    private InstantaneaCalificaciones vigente() {
+        InstantaneaCalificaciones datos = instantanea;
+        if (datos == null) {
+            throw new InstantaneaExcepcion(habilitada ? "La instantánea analítica aún no se ha generado"
+                    : "La instantánea analítica está deshabilitada");
+        }
+        return datos;
+    }
+
+    /**
+     * Recorre las columnas de la instantánea y acumula las calificaciones por la
+     * clave indicada. Una primera pasada reúne las claves y las ordena sin
+     * repetidos; la segunda acumula cada fila en la posición de su clave.
+     */
+    private List<ResumenAnaliticoDTO> resumir(InstantaneaCalificaciones datos, IntUnaryOperator clave,
+            Integer idGrado) {
+        int aprobatoria = calificacionAprobatoria.centesimas();
+        int[] claves = new int[datos.getFilas()];
+        int filtradas = 0;
+        for (int fila = 0; fila < datos.getFilas(); fila++) {
+            if (idGrado == null || datos.grado(fila) == idGrado) {
+                claves[filtradas++] = clave.applyAsInt(fila);
+            }
+        }
+        int[] ids = IntStream.of(claves).limit(filtradas).sorted().distinct().toArray();
+        Acumulados acumulados = new Acumulados(ids.length);
+        for (int fila = 0; fila < datos.getFilas(); fila++) {
+            if (idGrado == null || datos.grado(fila) == idGrado) {
+                acumulados.agregar(Arrays.binarySearch(ids, clave.applyAsInt(fila)), datos.calificacion(fila),
+                        aprobatoria);
+            }
+        }
+        List<ResumenAnaliticoDTO> resumenes = new ArrayList<>(ids.length);
+        for (int grupo = 0; grupo < ids.length; grupo++) {
+            resumenes.add(acumulados.resumen(grupo, ids[grupo]));
+        }
+        return resumenes;
+    }
+}
@@ -1,17 +1,24 @@
 package com.example.escuela.service.impl;
 
 import com.example.dto.AsignaturaDTO;
+import com.example.dto.LoteDTO;
 import com.example.escuela.excepciones.AsignaturaExcepcion;
 import com.example.escuela.excepciones.GradoExcepcion;
 import com.example.escuela.model.Asignatura;
 import com.example.escuela.model.Grado;
 import com.example.escuela.repository.AsignaturaRepository;
 import com.example.escuela.service.AsignaturaService;
+import com.example.escuela.service.CalificacionService;
+import com.example.escuela.service.MotorAnaliticoService;
+import com.example.escuela.service.RankingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import com.example.escuela.repository.GradoRepository;
 
@@ -38,6 +45,33 @@ public class AsignaturaServiceImpl implements AsignaturaService {
     @Autowired
     private GradoRepository gradoRepository;
 
+    /**
+     * Número máximo de ids distintos en una consulta por lote.
+     */
+    @Value("${escuela.lotes.tamanio-maximo:200}")
+    private int tamanioMaximoLote;
+
+    /**
+     * Servicio de rankings en memoria, que se actualiza cuando se elimina una
+     * asignatura junto con sus calificaciones.
+     */
+    @Autowired
+    private RankingService rankingService;
+
+    /**
+     * Tabla analítica en memoria, de la que se quitan las calificaciones de una
+     * asignatura eliminada.
+     */
+    @Autowired
+    private MotorAnaliticoService motorAnaliticoService;
+
+    /**
+     * Servicio de calificaciones, que registra la eliminación de las
+     * calificaciones de la asignatura.
+     */
+    @Autowired
+    private CalificacionService calificacionService;
+
     /**
      * Constructor por defecto para la clase AsignaturaServiceImpl.
      */
@@ -73,12 +107,8 @@ public class AsignaturaServiceImpl implements AsignaturaService {
      * @throws AsignaturaExcepcion Si la materia ya está registrada.
      */
     public void validarNombre(String nombreAsignaturaDTO) {
-        List<Asignatura> asignaturas = obtenerAsignaturas();
-        for (Asignatura asignatura : asignaturas) {
-            String nombreAsignatura = asignatura.getNombre();
-            if (nombreAsignatura.equals(nombreAsignaturaDTO)) {
-                throw new AsignaturaExcepcion("Esta materia ya está registrada");
-            }
+        if (asignaturaRepository.existsByNombre(nombreAsignaturaDTO)) {
+            throw new AsignaturaExcepcion("Esta materia ya está registrada");
         }
     }
 
@@ -122,16 +152,25 @@ public class AsignaturaServiceImpl implements AsignaturaService {
     }
 
     /**
-     * Elimina una asignatura de la base de datos.
+     * Elimina una asignatura de la base de datos. Sus calificaciones se eliminan
+     * en cascada; antes se registra la eliminación de cada una en la bandeja de
+     * salida y en el historial.
      *
      * @param id El identificador de la asignatura a eliminar.
      * @throws AsignaturaExcepcion Si no se encuentra una asignatura con el id
      *                             especificado.
      */
     @Override
+    @Transactional
     public void eliminarAsignatura(Integer id) {
         try {
+            calificacionService.registrarEliminacionPorAsignatura(id);
             asignaturaRepository.deleteById(id);
+            asignaturaRepository.flush();
+            DespuesDeConfirmar.ejecutar(() -> {
+                rankingService.eliminarAsignatura(id);
+                motorAnaliticoService.eliminarAsignatura(id);
+            });
         } catch (Exception e) {
             throw new AsignaturaExcepcion("Error al eliminar la asignatura. Asegurese que no esté asociada a un grado o alumno.");
         }
@@ -177,4 +216,18 @@ public class AsignaturaServiceImpl implements AsignaturaService {
         }
         return existente.get();
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene las asignaturas con los ids indicados con una sola consulta IN.
+     *
+     * @param ids Los identificadores a consultar.
+     * @return Las asignaturas encontradas por id y los ids que no existen.
+     * @throws AsignaturaExcepcion Si no se indica ningún id o se excede
+     *         escuela.lotes.tamanio-maximo.
+     */
+    @Override
+    public LoteDTO<Asignatura> obtenerAsignaturasPorIds(List<Integer> ids) {
+        Set<Integer> distintos = Lotes.validar(ids, tamanioMaximoLote, AsignaturaExcepcion::new);
+        return LoteDTO.de(distintos, asignaturaRepository.findAllByIdIn(distintos), Asignatura::getId);
+    }
+}
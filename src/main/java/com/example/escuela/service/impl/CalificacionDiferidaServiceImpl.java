@@ -0,0 +1,485 @@
+package com.example.escuela.service.impl;
+
+import com.example.dto.AcuseCalificacionDTO;
+import com.example.dto.CalificacionDTO;
+import com.example.dto.EstadoEscrituraDiferidaDTO;
+import com.example.dto.FilaCalificacionGuardadaDTO;
+import com.example.escuela.excepciones.AlumnoExcepcion;
+import com.example.escuela.excepciones.AsignaturaExcepcion;
+import com.example.escuela.excepciones.CalificacionExcepcion;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.EventoCalificacion;
+import com.example.escuela.model.TipoEventoCalificacion;
+import com.example.escuela.persistencia.DiarioCalificaciones;
+import com.example.escuela.repository.AlumnoRepository;
+import com.example.escuela.repository.AsignaturaRepository;
+import com.example.escuela.repository.CalificacionRepository;
+import com.example.escuela.service.CalificacionDiferidaService;
+import com.example.escuela.service.EventoCalificacionService;
+import com.example.escuela.service.HistorialCalificacionService;
+import com.example.escuela.service.MotorAnaliticoService;
+import com.example.escuela.service.RankingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementación del servicio CalificacionDiferidaService.
+ * Las calificaciones aceptadas se registran en un {@link DiarioCalificaciones}
+ * y se responden de inmediato. Una tarea programada las escribe después en la
+ * base de datos en lotes, agrupando los envíos repetidos de un mismo alumno y
+ * asignatura para que sólo se escriba el último valor. Cada lote se escribe con
+ * una consulta que bloquea las calificaciones existentes, una sola sentencia
+ * INSERT ... ON DUPLICATE KEY UPDATE y, si hay calificaciones nuevas, una
+ * consulta de sus ids, sin importar cuántas calificaciones tenga.
+ * Al iniciar, las calificaciones del diario que no alcanzaron a escribirse se
+ * vuelven a encolar.
+ *
+ * Gana la última escritura: aceptar una calificación sólo verifica que no
+ * exista en ese momento. Si otra solicitud la crea antes de que se escriba la
+ * diferida, la diferida la sobrescribe y se registra como una actualización,
+ * con el valor sobrescrito como anterior en el historial.
+ */
+@Service
+public class CalificacionDiferidaServiceImpl implements CalificacionDiferidaService {
+
+    private static final Logger log = LoggerFactory.getLogger(CalificacionDiferidaServiceImpl.class);
+
+    /**
+     * Calificación aceptada que aún no se escribe en la base de datos.
+     *
+     * @param registro  Registro del diario con los datos de la calificación.
+     * @param aceptada  Momento, en milisegundos, en que se aceptó.
+     */
+    private record Pendiente(DiarioCalificaciones.Registro registro, long aceptada) {
+    }
+
+    /**
+     * Repositorio para realizar operaciones CRUD sobre la entidad Calificacion.
+     */
+    @Autowired
+    private CalificacionRepository calificacionRepository;
+
+    /**
+     * Repositorio para verificar la existencia de los alumnos.
+     */
+    @Autowired
+    private AlumnoRepository alumnoRepository;
+
+    /**
+     * Repositorio para verificar la existencia de las asignaturas.
+     */
+    @Autowired
+    private AsignaturaRepository asignaturaRepository;
+
+    /**
+     * Servicio para registrar los cambios en la bandeja de salida de eventos.
+     */
+    @Autowired
+    private EventoCalificacionService eventoCalificacionService;
+
+    /**
+     * Servicio que registra cada cambio en el historial de calificaciones.
+     */
+    @Autowired
+    private HistorialCalificacionService historialCalificacionService;
+
+    /**
+     * Servicio de rankings en memoria que se actualiza al confirmar cada lote.
+     */
+    @Autowired
+    private RankingService rankingService;
+
+    /**
+     * Tabla analítica en memoria que se actualiza al confirmar cada lote.
+     */
+    @Autowired
+    private MotorAnaliticoService motorAnaliticoService;
+
+    /**
+     * Plantilla JDBC con la que se escribe cada lote.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Administrador de transacciones con el que se escribe cada lote.
+     */
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Indica si el modo de escritura diferida está habilitado.
+     */
+    @Value("${escuela.calificaciones.diferidas.habilitada:false}")
+    private boolean habilitada;
+
+    /**
+     * Ruta del archivo del diario local.
+     */
+    @Value("${escuela.calificaciones.diferidas.diario:calificaciones.diario}")
+    private String rutaDiario;
+
+    /**
+     * Tamaño en bytes del diario mapeado en memoria.
+     */
+    @Value("${escuela.calificaciones.diferidas.capacidad-diario:8388608}")
+    private int capacidadDiario;
+
+    /**
+     * Número máximo de calificaciones escritas por lote.
+     */
+    @Value("${escuela.calificaciones.diferidas.tamanio-lote:500}")
+    private int tamanioLote;
+
+    /**
+     * Si las escrituras por lote usan el alias de la fila insertada en lugar de
+     * VALUES(); ver {@link EscrituraCalificaciones}.
+     */
+    @Value("${escuela.calificaciones.alias-de-fila:true}")
+    private boolean aliasDeFila;
+
+    /**
+     * Calificaciones pendientes, agrupadas por alumno y asignatura en orden de
+     * llegada.
+     */
+    private final LinkedHashMap<Long, Pendiente> pendientes = new LinkedHashMap<>();
+
+    private DiarioCalificaciones diario;
+
+    /**
+     * Constructor por defecto para la clase CalificacionDiferidaServiceImpl.
+     */
+    public CalificacionDiferidaServiceImpl() {
+    }
+
+    /**
+     * Abre el diario y encola las calificaciones que quedaron pendientes en la
+     * ejecución anterior.
+     *
+     * @throws IOException Si el diario no se puede abrir.
+     */
+    @PostConstruct
+    public void iniciar() throws IOException {
+        if (!habilitada) {
+            return;
+        }
+        diario = DiarioCalificaciones.abrir(Path.of(rutaDiario), capacidadDiario);
+        long ahora = System.currentTimeMillis();
+        for (DiarioCalificaciones.Registro registro : diario.pendientesAlAbrir()) {
+            encolar(registro, ahora);
+        }
+        if (!pendientes.isEmpty()) {
+            log.info("Se recuperaron {} calificaciones pendientes del diario {}", pendientes.size(), rutaDiario);
+        }
+    }
+
+    /**
+     * Cierra el diario al detener la aplicación.
+     *
+     * @throws IOException Si ocurre un error al cerrar el archivo.
+     */
+    @PreDestroy
+    public void detener() throws IOException {
+        if (diario != null) {
+            diario.close();
+        }
+    }
+
+    /**
+     * Acepta una calificación para escribirla de forma diferida.
+     * Se validan el rango, la existencia del alumno y la asignatura y que el
+     * alumno no tenga ya una calificación escrita en la asignatura. Una
+     * calificación creada por otra solicitud después de esta validación se
+     * sobrescribe al escribir la diferida.
+     *
+     * @param calificacionDTO Objeto que contiene los datos de la calificación a
+     *                        asignar.
+     * @return El acuse con la secuencia asignada en el diario.
+     * @throws CalificacionExcepcion Si el modo no está habilitado, la calificación
+     *                               está fuera de rango, ya existe o el diario
+     *                               está lleno.
+     * @throws AlumnoExcepcion       Si el alumno no se encuentra en la base de
+     *                               datos.
+     * @throws AsignaturaExcepcion   Si la asignatura no se encuentra en la base de
+     *                               datos.
+     */
+    @Override
+    public AcuseCalificacionDTO aceptarCalificacion(CalificacionDTO calificacionDTO) {
+        if (!habilitada) {
+            throw new CalificacionExcepcion("La escritura diferida de calificaciones no está habilitada.");
+        }
+        if (calificacionDTO.getCalificacion() == null || !calificacionDTO.getCalificacion().esValida()) {
+            throw new CalificacionExcepcion("La calificación debe estar entre 0 y 100.");
+        }
+        Integer idAlumno = calificacionDTO.getId_alumno();
+        Integer idAsignatura = calificacionDTO.getId_asignatura();
+        if (!alumnoRepository.existsById(idAlumno)) {
+            throw new AlumnoExcepcion("Alumno no encontrado");
+        }
+        if (!asignaturaRepository.existsById(idAsignatura)) {
+            throw new AsignaturaExcepcion("Asignatura no encontrada");
+        }
+        if (calificacionRepository.existsByAlumnoIdAndAsignaturaId(idAlumno, idAsignatura)) {
+            throw new CalificacionExcepcion("El alumno ya tiene una calificación para esta asignatura.");
+        }
+
+        long secuencia;
+        synchronized (pendientes) {
+            try {
+                secuencia = diario.agregar(idAlumno, idAsignatura, calificacionDTO.getCalificacion());
+            } catch (IllegalStateException | UncheckedIOException e) {
+                throw new CalificacionExcepcion(e.getMessage() + " Intente de nuevo en unos momentos.");
+            }
+            encolar(new DiarioCalificaciones.Registro(secuencia, idAlumno, idAsignatura,
+                    calificacionDTO.getCalificacion()), System.currentTimeMillis());
+        }
+
+        AcuseCalificacionDTO acuse = new AcuseCalificacionDTO();
+        acuse.setSecuencia(secuencia);
+        acuse.setId_alumno(idAlumno);
+        acuse.setId_asignatura(idAsignatura);
+        acuse.setCalificacion(calificacionDTO.getCalificacion());
+        return acuse;
+    }
+
+    /**
+     * Encola un registro reemplazando cualquier valor pendiente del mismo
+     * alumno y asignatura.
+     *
+     * @param registro Registro del diario.
+     * @param aceptada Momento en que se aceptó la calificación.
+     */
+    private void encolar(DiarioCalificaciones.Registro registro, long aceptada) {
+        synchronized (pendientes) {
+            long clave = clave(registro.idAlumno(), registro.idAsignatura());
+            Pendiente anterior = pendientes.remove(clave);
+            long desde = anterior != null ? anterior.aceptada() : aceptada;
+            pendientes.put(clave, new Pendiente(registro, desde));
+        }
+    }
+
+    private static long clave(int idAlumno, int idAsignatura) {
+        return ((long) idAlumno << 32) | (idAsignatura & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Escribe en la base de datos un lote de calificaciones pendientes y
+     * confirma en el diario las secuencias ya escritas.
+     * Si el lote falla por una violación de integridad, se reintenta una por una
+     * para descartar sólo las calificaciones cuyo alumno o asignatura ya no
+     * existen. Cualquier otro fallo devuelve a la cola las calificaciones aún no
+     * escritas para reintentarlas en la siguiente ejecución.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${escuela.calificaciones.diferidas.intervalo-ms:200}")
+    public void vaciarPendientes() {
+        if (!habilitada) {
+            return;
+        }
+        List<Pendiente> lote = new ArrayList<>();
+        synchronized (pendientes) {
+            Iterator<Pendiente> it = pendientes.values().iterator();
+            while (it.hasNext() && lote.size() < tamanioLote) {
+                lote.add(it.next());
+                it.remove();
+            }
+        }
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        try {
+            transaccion.executeWithoutResult(estado -> escribir(lote));
+        } catch (DataIntegrityViolationException e) {
+            for (int i = 0; i < lote.size(); i++) {
+                Pendiente pendiente = lote.get(i);
+                try {
+                    transaccion.executeWithoutResult(estado -> escribir(List.of(pendiente)));
+                } catch (DataIntegrityViolationException rechazo) {
+                    log.warn("Se descartó la calificación diferida {}: {}", pendiente.registro(),
+                            rechazo.getMostSpecificCause().getMessage());
+                } catch (RuntimeException fallo) {
+                    log.warn("No se pudo escribir el lote de calificaciones diferidas, se reintentará", fallo);
+                    devolver(lote.subList(i, lote.size()));
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo escribir el lote de calificaciones diferidas, se reintentará", e);
+            devolver(lote);
+            return;
+        }
+        confirmar();
+    }
+
+    /**
+     * Vuelve a encolar las calificaciones de un lote que no se escribieron, salvo
+     * las que ya tienen un valor más reciente pendiente. Como siguen entre las
+     * pendientes, el diario no se confirma más allá de ellas.
+     *
+     * @param noEscritas Calificaciones del lote que no se escribieron.
+     */
+    private void devolver(List<Pendiente> noEscritas) {
+        synchronized (pendientes) {
+            for (Pendiente pendiente : noEscritas) {
+                DiarioCalificaciones.Registro registro = pendiente.registro();
+                pendientes.putIfAbsent(clave(registro.idAlumno(), registro.idAsignatura()), pendiente);
+            }
+        }
+    }
+
+    /**
+     * Inserta o actualiza las calificaciones de un lote en una sola sentencia.
+     * Las que ya tienen el valor del registro, como un registro que ya se había
+     * escrito antes de un reinicio, no se vuelven a escribir ni generan eventos.
+     *
+     * @param lote Calificaciones pendientes, a lo más una por alumno y
+     *             asignatura.
+     */
+    private void escribir(List<Pendiente> lote) {
+        Map<Long, FilaCalificacionGuardadaDTO> anteriores = leer(lote);
+        List<DiarioCalificaciones.Registro> cambios = new ArrayList<>();
+        for (Pendiente pendiente : lote) {
+            DiarioCalificaciones.Registro registro = pendiente.registro();
+            FilaCalificacionGuardadaDTO anterior = anteriores.get(clave(registro.idAlumno(), registro.idAsignatura()));
+            if (anterior == null || !registro.calificacion().equals(anterior.getCalificacion())) {
+                cambios.add(registro);
+            }
+        }
+        if (cambios.isEmpty()) {
+            return;
+        }
+        EscrituraCalificaciones.insertarOActualizar(jdbcTemplate, aliasDeFila, cambios.stream()
+                .map(r -> new EscrituraCalificaciones.Fila(r.idAlumno(), r.idAsignatura(), r.calificacion()))
+                .toList());
+        List<Pendiente> creadas = lote.stream()
+                .filter(p -> !anteriores.containsKey(clave(p.registro().idAlumno(), p.registro().idAsignatura())))
+                .toList();
+        Map<Long, FilaCalificacionGuardadaDTO> guardadas = new HashMap<>(anteriores);
+        if (!creadas.isEmpty()) {
+            guardadas.putAll(leer(creadas));
+        }
+
+        List<EventoCalificacion> eventos = new ArrayList<>(cambios.size());
+        for (DiarioCalificaciones.Registro registro : cambios) {
+            long clave = clave(registro.idAlumno(), registro.idAsignatura());
+            FilaCalificacionGuardadaDTO anterior = anteriores.get(clave);
+            EventoCalificacion evento = new EventoCalificacion();
+            evento.setTipo(anterior == null ? TipoEventoCalificacion.CREADA : TipoEventoCalificacion.ACTUALIZADA);
+            evento.setIdCalificacion(guardadas.get(clave).getIdCalificacion());
+            evento.setIdAlumno(registro.idAlumno());
+            evento.setIdAsignatura(registro.idAsignatura());
+            evento.setCalificacion(registro.calificacion());
+            eventos.add(evento);
+
+            Calificacion calificacion = new Calificacion();
+            calificacion.setId(guardadas.get(clave).getIdCalificacion());
+            calificacion.setAlumno(alumnoRepository.getReferenceById(registro.idAlumno()));
+            calificacion.setAsignatura(asignaturaRepository.getReferenceById(registro.idAsignatura()));
+            historialCalificacionService.registrar(calificacion, anterior == null ? null : anterior.getCalificacion(),
+                    registro.calificacion());
+        }
+        eventoCalificacionService.registrarTodos(eventos);
+        DespuesDeConfirmar.ejecutar(() -> cambios.forEach(registro -> {
+            Integer idGrado = guardadas.get(clave(registro.idAlumno(), registro.idAsignatura())).getIdGrado();
+            rankingService.registrarCalificacion(registro.idAlumno(), idGrado, registro.idAsignatura(),
+                    registro.calificacion());
+            motorAnaliticoService.registrarCalificacion(registro.idAlumno(), idGrado, registro.idAsignatura(),
+                    registro.calificacion());
+        }));
+    }
+
+    /**
+     * Lee y bloquea en una sola consulta las calificaciones guardadas de los
+     * pendientes indicados.
+     *
+     * @param pendientes Calificaciones pendientes.
+     * @return Las calificaciones guardadas, por alumno y asignatura.
+     */
+    private Map<Long, FilaCalificacionGuardadaDTO> leer(List<Pendiente> pendientes) {
+        Set<Integer> idsAlumnos = new HashSet<>();
+        Set<Integer> idsAsignaturas = new HashSet<>();
+        Set<Long> claves = new HashSet<>();
+        for (Pendiente pendiente : pendientes) {
+            idsAlumnos.add(pendiente.registro().idAlumno());
+            idsAsignaturas.add(pendiente.registro().idAsignatura());
+            claves.add(clave(pendiente.registro().idAlumno(), pendiente.registro().idAsignatura()));
+        }
+        Map<Long, FilaCalificacionGuardadaDTO> guardadas = new HashMap<>();
+        for (FilaCalificacionGuardadaDTO fila : calificacionRepository.bloquearDeAlumnosYAsignaturas(idsAlumnos,
+                idsAsignaturas)) {
+            long clave = clave(fila.getIdAlumno(), fila.getIdAsignatura());
+            if (claves.contains(clave)) {
+                guardadas.put(clave, fila);
+            }
+        }
+        return guardadas;
+    }
+
+    /**
+     * Confirma en el diario todas las secuencias anteriores a la calificación
+     * pendiente más antigua.
+     */
+    private void confirmar() {
+        synchronized (pendientes) {
+            long confirmada = pendientes.values().stream()
+                    .mapToLong(p -> p.registro().secuencia() - 1)
+                    .min()
+                    .orElse(diario.getUltimaSecuencia());
+            try {
+                diario.confirmarHasta(confirmada);
+            } catch (UncheckedIOException e) {
+                log.warn("No se pudo compactar el diario {}, se reintentará", rutaDiario, e);
+            }
+        }
+    }
+
+    /**
+     * Obtiene el estado de la escritura diferida.
+     *
+     * @return El estado actual, con el número de pendientes y el retraso de la
+     *         más antigua.
+     */
+    @Override
+    public EstadoEscrituraDiferidaDTO obtenerEstado() {
+        EstadoEscrituraDiferidaDTO estado = new EstadoEscrituraDiferidaDTO();
+        estado.setHabilitada(habilitada);
+        if (!habilitada) {
+            return estado;
+        }
+        synchronized (pendientes) {
+            long ahora = System.currentTimeMillis();
+            estado.setPendientes(pendientes.size());
+            estado.setUltimaSecuencia(diario.getUltimaSecuencia());
+            estado.setSecuenciaConfirmada(diario.getSecuenciaConfirmada());
+            estado.setRetrasoMs(pendientes.values().stream()
+                    .mapToLong(p -> ahora - p.aceptada())
+                    .max()
+                    .orElse(0L));
+        }
+        return estado;
+    }
+}
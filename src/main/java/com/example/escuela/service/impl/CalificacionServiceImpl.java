@@ -1,22 +1,45 @@
 package com.example.escuela.service.impl;
 
 import com.example.dto.CalificacionDTO;
+import com.example.dto.FilaAlumnoAsignaturaDTO;
+import com.example.dto.LoteDTO;
+import com.example.dto.ResultadoCalificacionDTO;
+import com.example.dto.ResultadoCalificacionDTO.Resultado;
 import com.example.escuela.excepciones.AlumnoExcepcion;
 import com.example.escuela.excepciones.AsignaturaExcepcion;
 import com.example.escuela.excepciones.CalificacionExcepcion;
 import com.example.escuela.model.Alumno;
 import com.example.escuela.model.Asignatura;
 import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.EventoCalificacion;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.model.TipoEventoCalificacion;
 import com.example.escuela.repository.AlumnoRepository;
 import com.example.escuela.repository.AsignaturaRepository;
 import com.example.escuela.repository.CalificacionRepository;
 import com.example.escuela.service.CalificacionService;
+import com.example.escuela.service.CoalescenciaLecturasService;
+import com.example.escuela.service.EventoCalificacionService;
+import com.example.escuela.service.HistorialCalificacionService;
+import com.example.escuela.service.MotorAnaliticoService;
+import com.example.escuela.service.RankingService;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio CalificacionService.
@@ -24,6 +47,8 @@ import java.util.List;
  * alumnos en asignaturas.
  * Utiliza los repositorios CalificacionRepository, AlumnoRepository y
  * AsignaturaRepository para interactuar con la base de datos.
+ * Cada cambio se registra en la bandeja de salida de eventos dentro de la misma
+ * transacción y, al confirmarse, en el historial de calificaciones.
  */
 @Service
 public class CalificacionServiceImpl implements CalificacionService {
@@ -48,6 +73,62 @@ public class CalificacionServiceImpl implements CalificacionService {
     @Autowired
     private AsignaturaRepository asignaturaRepository;
 
+    /**
+     * Servicio para registrar los cambios en la bandeja de salida de eventos.
+     */
+    @Autowired
+    private EventoCalificacionService eventoCalificacionService;
+
+    /**
+     * Servicio que registra cada cambio en el historial de calificaciones.
+     */
+    @Autowired
+    private HistorialCalificacionService historialCalificacionService;
+
+    /**
+     * Servicio de rankings en memoria que se actualiza al confirmar cada cambio.
+     */
+    @Autowired
+    private RankingService rankingService;
+
+    /**
+     * Tabla analítica en memoria que se actualiza al confirmar cada cambio.
+     */
+    @Autowired
+    private MotorAnaliticoService motorAnaliticoService;
+
+    /**
+     * EntityManager para separar las calificaciones que la base de datos elimina
+     * en cascada.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Plantilla JDBC con la que se escriben las calificaciones de un grupo.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Servicio que comparte las lecturas concurrentes de una misma asignatura.
+     */
+    @Autowired
+    private CoalescenciaLecturasService coalescenciaLecturasService;
+
+    /**
+     * Número máximo de ids distintos en una consulta por lote.
+     */
+    @Value("${escuela.lotes.tamanio-maximo:200}")
+    private int tamanioMaximoLote;
+
+    /**
+     * Si las escrituras por lote usan el alias de la fila insertada en lugar de
+     * VALUES(); ver {@link EscrituraCalificaciones}.
+     */
+    @Value("${escuela.calificaciones.alias-de-fila:true}")
+    private boolean aliasDeFila;
+
     /**
      * Constructor por defecto para la clase CalificacionServiceImpl.
      */
@@ -68,9 +149,10 @@ public class CalificacionServiceImpl implements CalificacionService {
      * @throws AsignaturaExcepcion   Si la asignatura no se encuentra en la base de
      */
     @Override
+    @Transactional
     public Calificacion asignarCalificacion(CalificacionDTO calificacionDTO) {
 
-        if (calificacionDTO.getCalificacion() < 0 || calificacionDTO.getCalificacion() > 100) {
+        if (calificacionDTO.getCalificacion() == null || !calificacionDTO.getCalificacion().esValida()) {
             throw new CalificacionExcepcion("La calificación debe estar entre 0 y 100.");
         }
 
@@ -87,7 +169,11 @@ public class CalificacionServiceImpl implements CalificacionService {
         calificacion.setAsignatura(asignatura);
         calificacion.setCalificacion(calificacionDTO.getCalificacion());
 
-        return calificacionRepository.save(calificacion);
+        Calificacion guardada = calificacionRepository.save(calificacion);
+        eventoCalificacionService.registrar(TipoEventoCalificacion.CREADA, guardada);
+        historialCalificacionService.registrar(guardada, null, guardada.getCalificacion());
+        actualizarEnMemoria(guardada);
+        return guardada;
     }
 
     /**
@@ -100,12 +186,8 @@ public class CalificacionServiceImpl implements CalificacionService {
      *                               asignatura especificada.
      */
     public void verificarCalificacionExistente(Alumno alumno, Asignatura asignatura) {
-        List<Calificacion> calificaciones = obtenerCalificacionesPorAlumno(alumno.getId());
-        for (Calificacion calificacion : calificaciones) {
-            Asignatura asignaturaCalificada = calificacion.getAsignatura();
-            if (asignaturaCalificada.getId().equals(asignatura.getId())) {
-                throw new CalificacionExcepcion("El alumno ya tiene una calificación para esta asignatura.");
-            }
+        if (calificacionRepository.existsByAlumnoIdAndAsignaturaId(alumno.getId(), asignatura.getId())) {
+            throw new CalificacionExcepcion("El alumno ya tiene una calificación para esta asignatura.");
         }
     }
 
@@ -121,8 +203,9 @@ public class CalificacionServiceImpl implements CalificacionService {
      *                               permitido (0-100).
      */
     @Override
+    @Transactional
     public Calificacion actualizarCalificacion(Integer id, CalificacionDTO calificacionDTO) {
-        if (calificacionDTO.getCalificacion() < 0 || calificacionDTO.getCalificacion() > 100) {
+        if (calificacionDTO.getCalificacion() == null || !calificacionDTO.getCalificacion().esValida()) {
             throw new CalificacionExcepcion("La calificación debe estar entre 0 y 100.");
         }
 
@@ -133,10 +216,31 @@ public class CalificacionServiceImpl implements CalificacionService {
         }
 
         Calificacion calificacion = existente.get();
+        Puntaje anterior = calificacion.getCalificacion();
         calificacion.setCalificacion(calificacionDTO.getCalificacion());
 
-        return calificacionRepository.save(calificacion);
+        Calificacion guardada = calificacionRepository.save(calificacion);
+        eventoCalificacionService.registrar(TipoEventoCalificacion.ACTUALIZADA, guardada);
+        historialCalificacionService.registrar(guardada, anterior, guardada.getCalificacion());
+        actualizarEnMemoria(guardada);
+        return guardada;
+    }
 
+    /**
+     * Actualiza los rankings y la tabla analítica en memoria con el valor
+     * guardado una vez que la transacción se confirma.
+     *
+     * @param calificacion La calificación guardada.
+     */
+    private void actualizarEnMemoria(Calificacion calificacion) {
+        Integer idAlumno = calificacion.getAlumno().getId();
+        Integer idGrado = calificacion.getAlumno().getGrado().getId();
+        Integer idAsignatura = calificacion.getAsignatura().getId();
+        Puntaje valor = calificacion.getCalificacion();
+        DespuesDeConfirmar.ejecutar(() -> {
+            rankingService.registrarCalificacion(idAlumno, idGrado, idAsignatura, valor);
+            motorAnaliticoService.registrarCalificacion(idAlumno, idGrado, idAsignatura, valor);
+        });
     }
 
     /**
@@ -169,12 +273,142 @@ public class CalificacionServiceImpl implements CalificacionService {
      * 
      * @param idAsignatura El identificador de la asignatura cuyas calificaciones se
      *                     desean obtener.
+     * @return Las calificaciones de la asignatura. Las lecturas concurrentes de
+     *         la misma asignatura comparten la consulta y la lista (método
+     *         "calificaciones.por-asignatura" de la coalescencia de lecturas).
      */
     @Override
     public List<Calificacion> obtenerCalificacionesPorAsignatura(Integer idAsignatura) {
+        return coalescenciaLecturasService.ejecutar("calificaciones.por-asignatura", idAsignatura, () -> {
+            Asignatura asignatura = asignaturaRepository.findById(idAsignatura)
+                    .orElseThrow(() -> new AsignaturaExcepcion("Asignatura no encontrada con id: " + idAsignatura));
+            return calificacionRepository.findByAsignaturaId(asignatura.getId());
+        });
+    }
+
+    /**
+     * Asigna o actualiza las calificaciones de un grupo de alumnos en una
+     * asignatura con un número fijo de sentencias:
+     * - una consulta obtiene y bloquea hasta confirmar las calificaciones
+     * actuales, para que el resultado y el valor anterior de cada alumno no
+     * cambien por otra transacción concurrente;
+     * - una consulta obtiene el grado de todos los alumnos, para validar que
+     * pertenezcan al grado de la asignatura;
+     * - una sola sentencia INSERT ... ON DUPLICATE KEY UPDATE, sobre la
+     * restricción UNIQUE (id_alumno, id_asignatura), escribe todas las
+     * calificaciones nuevas o cambiadas;
+     * - si hubo calificaciones nuevas, una consulta obtiene sus ids;
+     * - una sentencia por lotes registra los eventos en la bandeja de salida.
+     * Los alumnos con una calificación fuera de rango, que no existen o que son
+     * de otro grado se rechazan sin afectar a los demás.
+     *
+     * @param idAsignatura   El identificador de la asignatura.
+     * @param calificaciones La calificación de cada alumno, por id de alumno.
+     * @return El resultado de cada alumno, en el orden recibido.
+     * @throws CalificacionExcepcion Si no se indica ningún alumno o se excede
+     *                               escuela.lotes.tamanio-maximo.
+     * @throws AsignaturaExcepcion   Si la asignatura no se encuentra en la base de
+     *                               datos.
+     */
+    @Override
+    @Transactional
+    public List<ResultadoCalificacionDTO> calificarGrupo(Integer idAsignatura, Map<Integer, Puntaje> calificaciones) {
+        List<Integer> solicitados = calificaciones == null ? null : new ArrayList<>(calificaciones.keySet());
+        Set<Integer> idsAlumnos = Lotes.validar(solicitados, tamanioMaximoLote, CalificacionExcepcion::new);
         Asignatura asignatura = asignaturaRepository.findById(idAsignatura)
                 .orElseThrow(() -> new AsignaturaExcepcion("Asignatura no encontrada con id: " + idAsignatura));
-        return calificacionRepository.findByAsignaturaId(asignatura.getId());
+        Integer idGrado = asignatura.getGrado().getId();
+        Map<Integer, FilaAlumnoAsignaturaDTO> actuales = calificacionRepository
+                .bloquearDeAlumnos(idAsignatura, idsAlumnos).stream()
+                .collect(Collectors.toMap(FilaAlumnoAsignaturaDTO::getIdAlumno, fila -> fila));
+        Map<Integer, FilaAlumnoAsignaturaDTO> filas = calificacionRepository
+                .obtenerFilasDeAlumnos(idAsignatura, idsAlumnos).stream()
+                .collect(Collectors.toMap(FilaAlumnoAsignaturaDTO::getIdAlumno, fila -> fila));
+
+        Map<Integer, ResultadoCalificacionDTO> resultados = new LinkedHashMap<>();
+        List<ResultadoCalificacionDTO> cambios = new ArrayList<>();
+        for (Integer idAlumno : idsAlumnos) {
+            Puntaje valor = calificaciones.get(idAlumno);
+            FilaAlumnoAsignaturaDTO fila = filas.get(idAlumno);
+            FilaAlumnoAsignaturaDTO actual = actuales.get(idAlumno);
+            ResultadoCalificacionDTO resultado = new ResultadoCalificacionDTO(idAlumno, Resultado.RECHAZADA, null,
+                    actual == null ? null : actual.getCalificacion(), valor, null);
+            if (valor == null || !valor.esValida()) {
+                resultado.setMensaje("La calificación debe estar entre 0 y 100.");
+            } else if (fila == null) {
+                resultado.setMensaje("Alumno no encontrado");
+            } else if (!idGrado.equals(fila.getIdGrado())) {
+                resultado.setMensaje("El alumno no pertenece al grado de la asignatura.");
+            } else {
+                resultado.setId_calificacion(actual == null ? null : actual.getIdCalificacion());
+                if (actual == null) {
+                    resultado.setResultado(Resultado.CREADA);
+                } else if (valor.equals(actual.getCalificacion())) {
+                    resultado.setResultado(Resultado.SIN_CAMBIO);
+                } else {
+                    resultado.setResultado(Resultado.ACTUALIZADA);
+                }
+                if (resultado.getResultado() != Resultado.SIN_CAMBIO) {
+                    cambios.add(resultado);
+                }
+            }
+            resultados.put(idAlumno, resultado);
+        }
+        if (cambios.isEmpty()) {
+            return new ArrayList<>(resultados.values());
+        }
+
+        escribirGrupo(idAsignatura, cambios);
+        List<Integer> creadas = cambios.stream()
+                .filter(r -> r.getResultado() == Resultado.CREADA)
+                .map(ResultadoCalificacionDTO::getId_alumno)
+                .toList();
+        if (!creadas.isEmpty()) {
+            for (FilaAlumnoAsignaturaDTO fila : calificacionRepository.obtenerFilasDeAlumnos(idAsignatura, creadas)) {
+                resultados.get(fila.getIdAlumno()).setId_calificacion(fila.getIdCalificacion());
+            }
+        }
+
+        List<EventoCalificacion> eventos = new ArrayList<>();
+        for (ResultadoCalificacionDTO cambio : cambios) {
+            EventoCalificacion evento = new EventoCalificacion();
+            evento.setTipo(cambio.getResultado() == Resultado.CREADA
+                    ? TipoEventoCalificacion.CREADA
+                    : TipoEventoCalificacion.ACTUALIZADA);
+            evento.setIdCalificacion(cambio.getId_calificacion());
+            evento.setIdAlumno(cambio.getId_alumno());
+            evento.setIdAsignatura(idAsignatura);
+            evento.setCalificacion(cambio.getCalificacion());
+            eventos.add(evento);
+
+            Calificacion calificacion = new Calificacion();
+            calificacion.setId(cambio.getId_calificacion());
+            calificacion.setAlumno(alumnoRepository.getReferenceById(cambio.getId_alumno()));
+            calificacion.setAsignatura(asignatura);
+            historialCalificacionService.registrar(calificacion, cambio.getAnterior(), cambio.getCalificacion());
+        }
+        eventoCalificacionService.registrarTodos(eventos);
+        DespuesDeConfirmar.ejecutar(() -> cambios.forEach(cambio -> {
+            rankingService.registrarCalificacion(cambio.getId_alumno(), idGrado, idAsignatura,
+                    cambio.getCalificacion());
+            motorAnaliticoService.registrarCalificacion(cambio.getId_alumno(), idGrado, idAsignatura,
+                    cambio.getCalificacion());
+        }));
+        return new ArrayList<>(resultados.values());
+    }
+
+    /**
+     * Escribe las calificaciones de un grupo con una sola sentencia; véase
+     * {@link EscrituraCalificaciones}.
+     *
+     * @param idAsignatura El identificador de la asignatura.
+     * @param cambios      Las calificaciones nuevas o cambiadas.
+     */
+    private void escribirGrupo(Integer idAsignatura, List<ResultadoCalificacionDTO> cambios) {
+        EscrituraCalificaciones.insertarOActualizar(jdbcTemplate, aliasDeFila, cambios.stream()
+                .map(cambio -> new EscrituraCalificaciones.Fila(cambio.getId_alumno(), idAsignatura,
+                        cambio.getCalificacion()))
+                .toList());
     }
 
     /**
@@ -186,15 +420,66 @@ public class CalificacionServiceImpl implements CalificacionService {
      *                               un grado o alumno.
      */
     @Override
+    @Transactional
     public void eliminarCalificacion(Integer id) {
         try {
-            calificacionRepository.deleteById(id);
+            Optional<Calificacion> existente = calificacionRepository.findById(id);
+            if (existente.isPresent()) {
+                calificacionRepository.delete(existente.get());
+                calificacionRepository.flush();
+                eventoCalificacionService.registrar(TipoEventoCalificacion.ELIMINADA, existente.get());
+                historialCalificacionService.registrar(existente.get(), existente.get().getCalificacion(), null);
+                Integer idAlumno = existente.get().getAlumno().getId();
+                Integer idAsignatura = existente.get().getAsignatura().getId();
+                DespuesDeConfirmar.ejecutar(() -> {
+                    rankingService.eliminarCalificacion(idAlumno, idAsignatura);
+                    motorAnaliticoService.eliminarCalificacion(idAlumno, idAsignatura);
+                });
+            }
         } catch (Exception e) {
             throw new CalificacionExcepcion(
                     "Error al eliminar la asignatura. Asegurese que no esté asociada a un grado o alumno.");
         }
     }
 
+    /**
+     * Bloquea las calificaciones del alumno y registra su eliminación con una
+     * sola sentencia por lotes en la bandeja de salida.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarEliminacionPorAlumno(Integer idAlumno) {
+        registrarEliminadas(calificacionRepository.bloquearPorAlumno(idAlumno));
+    }
+
+    /**
+     * Bloquea las calificaciones de la asignatura y registra su eliminación con
+     * una sola sentencia por lotes en la bandeja de salida.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarEliminacionPorAsignatura(Integer idAsignatura) {
+        registrarEliminadas(calificacionRepository.bloquearPorAsignatura(idAsignatura));
+    }
+
+    private void registrarEliminadas(List<Calificacion> calificaciones) {
+        List<EventoCalificacion> eventos = new ArrayList<>();
+        for (Calificacion calificacion : calificaciones) {
+            EventoCalificacion evento = new EventoCalificacion();
+            evento.setTipo(TipoEventoCalificacion.ELIMINADA);
+            evento.setIdCalificacion(calificacion.getId());
+            evento.setIdAlumno(calificacion.getAlumno().getId());
+            evento.setIdAsignatura(calificacion.getAsignatura().getId());
+            evento.setCalificacion(calificacion.getCalificacion());
+            eventos.add(evento);
+            historialCalificacionService.registrar(calificacion, calificacion.getCalificacion(), null);
+            // La base de datos las elimina en cascada; si siguieran en el contexto de
+            // persistencia, Hibernate rechazaría eliminar el alumno o la asignatura.
+            entityManager.detach(calificacion);
+        }
+        eventoCalificacionService.registrarTodos(eventos);
+    }
+
     /**
      * Obtiene una calificación por su identificador.
      * 
@@ -209,4 +494,17 @@ public class CalificacionServiceImpl implements CalificacionService {
                 .orElseThrow(() -> new CalificacionExcepcion("Calificación no encontrada con id: " + id));
     }
 
-}
\ No newline at end of file
+    /**
+     * Obtiene las calificaciones, con su alumno, asignatura y grados, con los ids indicados con una sola consulta IN.
+     *
+     * @param ids Los identificadores a consultar.
+     * @return Las calificaciones encontradas por id y los ids que no existen.
+     * @throws CalificacionExcepcion Si no se indica ningún id o se excede
+     *         escuela.lotes.tamanio-maximo.
+     */
+    @Override
+    public LoteDTO<Calificacion> obtenerCalificacionesPorIds(List<Integer> ids) {
+        Set<Integer> distintos = Lotes.validar(ids, tamanioMaximoLote, CalificacionExcepcion::new);
+        return LoteDTO.de(distintos, calificacionRepository.findAllByIdIn(distintos), Calificacion::getId);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.escuela.service.impl;
+
+import com.example.dto.EstadisticaCoalescenciaDTO;
+import com.example.escuela.multiescuela.EscuelaActual;
+import com.example.escuela.service.CoalescenciaLecturasService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Implementación del servicio CoalescenciaLecturasService.
+ *
+ * La primera llamada con un método y argumento registra un CompletableFuture y
+ * ejecuta la lectura; las que llegan mientras está en curso esperan ese mismo
+ * resultado sin tomar una conexión del pool. Al terminar, la entrada se elimina,
+ * por lo que no es una caché: una llamada posterior vuelve a consultar.
+ *
+ * Cada método se habilita con escuela.coalescencia.metodos.&lt;metodo&gt;; si no
+ * está configurado se usa escuela.coalescencia.habilitada. Dentro de una
+ * transacción la lectura nunca se comparte, pues debe ver los cambios no
+ * confirmados de esa transacción.
+ */
+@Service
+public class CoalescenciaLecturasServiceImpl implements CoalescenciaLecturasService {
+
+    /**
+     * Entorno para leer la configuración de cada método.
+     */
+    @Autowired
+    private Environment entorno;
+
+    /**
+     * Valor predeterminado para los métodos sin configuración propia.
+     */
+    @Value("${escuela.coalescencia.habilitada:true}")
+    private boolean habilitada;
+
+    /**
+     * Lectura en curso identificada por escuela, método y argumento. Con varias
+     * escuelas, el mismo argumento en dos escuelas son lecturas distintas.
+     */
+    private record Clave(String escuela, String metodo, Object argumento) {
+    }
+
+    /**
+     * Configuración y contadores de un método.
+     */
+    private static final class Metodo {
+        private final boolean habilitado;
+        private final LongAdder solicitudes = new LongAdder();
+        private final LongAdder ejecuciones = new LongAdder();
+        private final LongAdder compartidas = new LongAdder();
+
+        private Metodo(boolean habilitado) {
+            this.habilitado = habilitado;
+        }
+    }
+
+    private final Map<String, Metodo> metodos = new ConcurrentHashMap<>();
+    private final Map<Clave, CompletableFuture<Object>> enCurso = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor por defecto para la clase CoalescenciaLecturasServiceImpl.
+     */
+    public CoalescenciaLecturasServiceImpl() {
+    }
+
+    /**
+     * Ejecuta la lectura o comparte la que ya está en curso.
+     *
+     * @param metodo    Nombre del método en la configuración.
+     * @param argumento Argumento que identifica la lectura.
+     * @param lectura   Lectura a ejecutar.
+     * @param <T>       Tipo del resultado.
+     * @return El resultado de la lectura.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T ejecutar(String metodo, Object argumento, Supplier<T> lectura) {
+        Metodo estado = metodos.computeIfAbsent(metodo, nombre -> new Metodo(
+                entorno.getProperty("escuela.coalescencia.metodos." + nombre, Boolean.class, habilitada)));
+        estado.solicitudes.increment();
+        if (!estado.habilitado || TransactionSynchronizationManager.isActualTransactionActive()) {
+            estado.ejecuciones.increment();
+            return lectura.get();
+        }
+
+        Clave clave = new Clave(EscuelaActual.obtener(), metodo, argumento);
+        CompletableFuture<Object> propia = new CompletableFuture<>();
+        CompletableFuture<Object> existente = enCurso.putIfAbsent(clave, propia);
+        if (existente != null) {
+            estado.compartidas.increment();
+            return (T) esperar(existente);
+        }
+
+        estado.ejecuciones.increment();
+        try {
+            T resultado = lectura.get();
+            propia.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            propia.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propia);
+        }
+    }
+
+    /**
+     * Obtiene las estadísticas de cada método ordenadas por nombre.
+     *
+     * @return Una lista con las estadísticas de cada método.
+     */
+    @Override
+    public List<EstadisticaCoalescenciaDTO> obtenerEstadisticas() {
+        return metodos.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entrada -> {
+                    Metodo estado = entrada.getValue();
+                    long solicitudes = estado.solicitudes.sum();
+                    long compartidas = estado.compartidas.sum();
+                    double razon = solicitudes == 0 ? 0 : (double) compartidas / solicitudes;
+                    return new EstadisticaCoalescenciaDTO(entrada.getKey(), estado.habilitado, solicitudes,
+                            estado.ejecuciones.sum(), compartidas, razon);
+                })
+                .toList();
+    }
+
+    /**
+     * Espera el resultado de otra lectura y relanza su excepción tal cual.
+     */
+    private static Object esperar(CompletableFuture<Object> lectura) {
+        try {
+            return lectura.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.escuela.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilidad para ejecutar acciones sólo cuando la transacción actual se confirma.
+ * Se utiliza para actualizar las estructuras en memoria después de un cambio, de
+ * modo que un cambio revertido no quede reflejado en ellas.
+ */
+final class DespuesDeConfirmar {
+
+    private DespuesDeConfirmar() {
+    }
+
+    /**
+     * Ejecuta la acción al confirmar la transacción actual, o de inmediato si no
+     * hay una transacción activa.
+     *
+     * @param accion La acción a ejecutar.
+     */
+    static void ejecutar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.escuela.service.impl;
+
+import com.example.escuela.model.Puntaje;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilidad para escribir varias calificaciones con una sola sentencia INSERT
+ * de varias filas que actualiza las que ya existen por el índice UNIQUE
+ * (id_alumno, id_asignatura). Se ejecuta con JdbcTemplate sobre la conexión de
+ * la transacción; la entidad Calificacion no está en la caché de segundo nivel,
+ * por lo que no hay entradas que invalidar.
+ *
+ * En MySQL la actualización toma el valor nuevo de un alias de la fila
+ * insertada; la función VALUES() que lo hacía antes está obsoleta desde MySQL
+ * 8.0.20. H2 en modo MySQL no reconoce el alias, por lo que con él se sigue
+ * usando VALUES() (propiedad escuela.calificaciones.alias-de-fila=false).
+ */
+final class EscrituraCalificaciones {
+
+    /**
+     * Calificación a escribir.
+     *
+     * @param idAlumno     Identificador del alumno.
+     * @param idAsignatura Identificador de la asignatura.
+     * @param calificacion Calificación nueva.
+     */
+    record Fila(Integer idAlumno, Integer idAsignatura, Puntaje calificacion) {
+    }
+
+    private EscrituraCalificaciones() {
+    }
+
+    /**
+     * Inserta las calificaciones que no existen y actualiza las demás.
+     *
+     * @param jdbcTemplate Plantilla JDBC de la transacción actual.
+     * @param aliasDeFila  Si se usa el alias de la fila insertada en lugar de
+     *                     VALUES().
+     * @param filas        Las calificaciones a escribir; no debe estar vacía.
+     */
+    static void insertarOActualizar(JdbcTemplate jdbcTemplate, boolean aliasDeFila, List<Fila> filas) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO calificaciones (id_alumno, id_asignatura, calificacion) VALUES ");
+        List<Object> parametros = new ArrayList<>(filas.size() * 3);
+        for (Fila fila : filas) {
+            sql.append(parametros.isEmpty() ? "(?, ?, ?)" : ", (?, ?, ?)");
+            parametros.add(fila.idAlumno());
+            parametros.add(fila.idAsignatura());
+            parametros.add(fila.calificacion().aBigDecimal());
+        }
+        sql.append(aliasDeFila
+                ? " AS nuevo ON DUPLICATE KEY UPDATE calificacion = nuevo.calificacion"
+                : " ON DUPLICATE KEY UPDATE calificacion = VALUES(calificacion)");
+        jdbcTemplate.update(sql.toString(), parametros.toArray());
+    }
+}
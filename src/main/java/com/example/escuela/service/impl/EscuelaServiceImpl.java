@@ -0,0 +1,134 @@
+package com.example.escuela.service.impl;
+
+import com.example.dto.EstadisticaEscuelaDTO;
+import com.example.escuela.multiescuela.EscuelaActual;
+import com.example.escuela.multiescuela.FuenteDatosEscuelas;
+import com.example.escuela.service.EscuelaService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementación del servicio EscuelaService.
+ * Si el DataSource es una {@link FuenteDatosEscuelas}, las escuelas son las que
+ * ésta tiene configuradas; si no, la única escuela es la predeterminada. Las
+ * solicitudes se cuentan por escuela y el uso del pool se lee del pool de
+ * Hikari de cada una al consultar las estadísticas.
+ */
+@Service
+public class EscuelaServiceImpl implements EscuelaService {
+
+    /**
+     * DataSource de la aplicación.
+     */
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Escuela que atiende las solicitudes sin escuela.
+     */
+    @Value("${escuela.multiescuela.predeterminada:principal}")
+    private String predeterminada;
+
+    /**
+     * Contadores de solicitudes de una escuela.
+     */
+    private static final class Contadores {
+        private final LongAdder solicitudes = new LongAdder();
+        private final LongAdder errores = new LongAdder();
+    }
+
+    private final Map<String, Contadores> contadores = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor por defecto para la clase EscuelaServiceImpl.
+     */
+    public EscuelaServiceImpl() {
+    }
+
+    @Override
+    public String actual() {
+        String idEscuela = EscuelaActual.obtener();
+        return idEscuela == null ? predeterminada : idEscuela;
+    }
+
+    @Override
+    public List<String> escuelas() {
+        return dataSource instanceof FuenteDatosEscuelas fuente ? fuente.escuelas() : List.of(predeterminada);
+    }
+
+    @Override
+    public boolean existe(String idEscuela) {
+        return escuelas().contains(idEscuela);
+    }
+
+    @Override
+    public void ejecutarEnCadaEscuela(Runnable accion) {
+        RuntimeException primerError = null;
+        for (String idEscuela : escuelas()) {
+            try {
+                EscuelaActual.ejecutar(idEscuela, accion);
+            } catch (RuntimeException e) {
+                if (primerError == null) {
+                    primerError = e;
+                } else {
+                    primerError.addSuppressed(e);
+                }
+            }
+        }
+        if (primerError != null) {
+            throw primerError;
+        }
+    }
+
+    @Override
+    public void registrarSolicitud(String idEscuela, int estado) {
+        Contadores contador = contadores.computeIfAbsent(idEscuela, id -> new Contadores());
+        contador.solicitudes.increment();
+        if (estado >= 500) {
+            contador.errores.increment();
+        }
+    }
+
+    @Override
+    public List<EstadisticaEscuelaDTO> obtenerEstadisticas() {
+        List<EstadisticaEscuelaDTO> estadisticas = new ArrayList<>();
+        for (String idEscuela : escuelas()) {
+            Contadores contador = contadores.getOrDefault(idEscuela, new Contadores());
+            HikariDataSource pool = pool(idEscuela);
+            HikariPoolMXBean uso = pool == null ? null : pool.getHikariPoolMXBean();
+            estadisticas.add(new EstadisticaEscuelaDTO(idEscuela, idEscuela.equals(predeterminada),
+                    contador.solicitudes.sum(), contador.errores.sum(),
+                    pool == null ? 0 : pool.getMaximumPoolSize(),
+                    uso == null ? 0 : uso.getActiveConnections(),
+                    uso == null ? 0 : uso.getIdleConnections(),
+                    uso == null ? 0 : uso.getThreadsAwaitingConnection()));
+        }
+        return estadisticas;
+    }
+
+    /**
+     * Obtiene el pool de Hikari de una escuela, o null si el DataSource no es de
+     * Hikari.
+     */
+    private HikariDataSource pool(String idEscuela) {
+        if (dataSource instanceof FuenteDatosEscuelas fuente) {
+            return fuente.pool(idEscuela);
+        }
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
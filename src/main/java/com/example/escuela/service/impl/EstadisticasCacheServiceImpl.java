@@ -0,0 +1,64 @@
+package com.example.escuela.service.impl;
+
+import com.example.dto.EstadisticaRegionCacheDTO;
+import com.example.escuela.service.EstadisticasCacheService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implementación del servicio EstadisticasCacheService.
+ * Lee las estadísticas que Hibernate recopila por región cuando la caché de
+ * segundo nivel y las estadísticas están habilitadas.
+ */
+@Service
+public class EstadisticasCacheServiceImpl implements EstadisticasCacheService {
+
+    /**
+     * Fábrica de EntityManager de la que se obtienen las estadísticas de
+     * Hibernate.
+     */
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructor por defecto para la clase EstadisticasCacheServiceImpl.
+     */
+    public EstadisticasCacheServiceImpl() {
+    }
+
+    /**
+     * Obtiene las estadísticas de cada región ordenadas por nombre. Devuelve una
+     * lista vacía si la caché o las estadísticas están deshabilitadas.
+     * 
+     * @return Una lista con las estadísticas de cada región.
+     */
+    @Override
+    public List<EstadisticaRegionCacheDTO> obtenerEstadisticas() {
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<EstadisticaRegionCacheDTO> regiones = new ArrayList<>();
+        if (!estadisticas.isStatisticsEnabled()) {
+            return regiones;
+        }
+        String[] nombres = estadisticas.getSecondLevelCacheRegionNames();
+        Arrays.sort(nombres);
+        for (String nombre : nombres) {
+            CacheRegionStatistics region = estadisticas.getCacheRegionStatistics(nombre);
+            if (region != null) {
+                // JCache no expone el número de entradas; Hibernate lo reporta como
+                // un valor negativo.
+                long entradas = Math.max(region.getElementCountInMemory(), -1L);
+                regiones.add(new EstadisticaRegionCacheDTO(nombre, region.getHitCount(), region.getMissCount(),
+                        region.getPutCount(), entradas));
+            }
+        }
+        return regiones;
+    }
+}
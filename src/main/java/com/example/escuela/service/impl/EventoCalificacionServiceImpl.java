@@ -0,0 +1,230 @@
+package com.example.escuela.service.impl;
+
+import com.example.escuela.eventos.DifusorEventosCalificacion;
+import com.example.escuela.eventos.MarcaAguaEventos;
+import com.example.escuela.excepciones.AlumnoExcepcion;
+import com.example.escuela.excepciones.AsignaturaExcepcion;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.EventoCalificacion;
+import com.example.escuela.model.TipoEventoCalificacion;
+import com.example.escuela.repository.AlumnoRepository;
+import com.example.escuela.repository.AsignaturaRepository;
+import com.example.escuela.repository.EventoCalificacionRepository;
+import com.example.escuela.service.EventoCalificacionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementación del servicio EventoCalificacionService.
+ * Escribe los eventos en la tabla de bandeja de salida dentro de la transacción
+ * del cambio, de modo que un evento existe si y sólo si el cambio se confirmó,
+ * y lo difunde a los suscriptores SSE una vez confirmada la transacción.
+ */
+@Service
+public class EventoCalificacionServiceImpl implements EventoCalificacionService {
+
+    /**
+     * Número máximo de eventos que se devuelven en una consulta.
+     */
+    private static final int LIMITE_MAXIMO = 1000;
+
+    private static final String INSERTAR = "INSERT INTO eventos_calificaciones (tipo, id_calificacion, id_alumno, "
+            + "id_asignatura, calificacion, fecha, publicado) VALUES (?, ?, ?, ?, ?, ?, FALSE)";
+
+    /**
+     * Repositorio para realizar operaciones CRUD sobre la entidad EventoCalificacion.
+     */
+    @Autowired
+    private EventoCalificacionRepository eventoCalificacionRepository;
+
+    /**
+     * Repositorio para verificar que exista el alumno de una suscripción.
+     */
+    @Autowired
+    private AlumnoRepository alumnoRepository;
+
+    /**
+     * Repositorio para verificar que exista la asignatura de una suscripción.
+     */
+    @Autowired
+    private AsignaturaRepository asignaturaRepository;
+
+    /**
+     * Plantilla JDBC con la que se registran los lotes de eventos.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Difusor de eventos a los suscriptores SSE.
+     */
+    @Autowired
+    private DifusorEventosCalificacion difusorEventos;
+
+    /**
+     * Número máximo de eventos que se reproducen al reanudar una suscripción.
+     */
+    @Value("${escuela.eventos.sse.reanudacion-maxima:1000}")
+    private int reanudacionMaxima;
+
+    /**
+     * Milisegundos que deben pasar desde que se registra un evento para que la
+     * consulta incremental lo devuelva.
+     */
+    @Value("${escuela.eventos.gracia-ms:2000}")
+    private long graciaMs;
+
+    /**
+     * Constructor por defecto para la clase EventoCalificacionServiceImpl.
+     */
+    public EventoCalificacionServiceImpl() {
+    }
+
+    /**
+     * Registra un cambio de calificación en la bandeja de salida.
+     *
+     * @param tipo         El tipo de cambio realizado.
+     * @param calificacion La calificación después del cambio.
+     * @return El evento registrado.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public EventoCalificacion registrar(TipoEventoCalificacion tipo, Calificacion calificacion) {
+        EventoCalificacion evento = new EventoCalificacion();
+        evento.setTipo(tipo);
+        evento.setIdCalificacion(calificacion.getId());
+        evento.setIdAlumno(calificacion.getAlumno().getId());
+        evento.setIdAsignatura(calificacion.getAsignatura().getId());
+        evento.setCalificacion(calificacion.getCalificacion());
+        evento.setFecha(LocalDateTime.now());
+        EventoCalificacion guardado = eventoCalificacionRepository.save(evento);
+        DespuesDeConfirmar.ejecutar(() -> difusorEventos.publicar(guardado));
+        return guardado;
+    }
+
+    /**
+     * Registra varios cambios en la bandeja de salida con una sentencia por
+     * lotes de JDBC sobre la conexión de la transacción, y lee los ids
+     * generados de la misma sentencia.
+     *
+     * @param eventos Los eventos a registrar.
+     * @return Los eventos con su id y fecha.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<EventoCalificacion> registrarTodos(List<EventoCalificacion> eventos) {
+        if (eventos.isEmpty()) {
+            return eventos;
+        }
+        LocalDateTime fecha = LocalDateTime.now();
+        jdbcTemplate.execute((ConnectionCallback<Void>) conexion -> {
+            try (PreparedStatement sentencia = conexion.prepareStatement(INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
+                for (EventoCalificacion evento : eventos) {
+                    evento.setFecha(fecha);
+                    sentencia.setString(1, evento.getTipo().name());
+                    sentencia.setInt(2, evento.getIdCalificacion());
+                    sentencia.setInt(3, evento.getIdAlumno());
+                    sentencia.setInt(4, evento.getIdAsignatura());
+                    if (evento.getCalificacion() == null) {
+                        sentencia.setNull(5, Types.DECIMAL);
+                    } else {
+                        sentencia.setBigDecimal(5, evento.getCalificacion().aBigDecimal());
+                    }
+                    sentencia.setTimestamp(6, Timestamp.valueOf(fecha));
+                    sentencia.addBatch();
+                }
+                sentencia.executeBatch();
+                try (ResultSet ids = sentencia.getGeneratedKeys()) {
+                    for (EventoCalificacion evento : eventos) {
+                        if (!ids.next()) {
+                            throw new IllegalStateException("El controlador JDBC no devolvió el id de cada evento");
+                        }
+                        evento.setId(ids.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+        DespuesDeConfirmar.ejecutar(() -> eventos.forEach(difusorEventos::publicar));
+        return eventos;
+    }
+
+    /**
+     * Obtiene los eventos posteriores a un id, en orden, hasta la marca de agua
+     * de {@link MarcaAguaEventos}. Los eventos registrados en los últimos
+     * escuela.eventos.gracia-ms no se devuelven todavía, para que el consumidor
+     * no avance su cursor más allá de un evento con id menor cuya transacción
+     * aún no se confirma.
+     *
+     * @param desde  El id del último evento procesado por el consumidor.
+     * @param limite El número máximo de eventos a devolver, acotado a 1000.
+     * @return Una lista de eventos en orden de id.
+     */
+    @Override
+    public List<EventoCalificacion> obtenerEventosDesde(Long desde, int limite) {
+        int tamanio = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        return MarcaAguaEventos.hastaCorte(
+                eventoCalificacionRepository.findByIdGreaterThanOrderByIdAsc(desde, PageRequest.of(0, tamanio)),
+                LocalDateTime.now().minus(Duration.ofMillis(graciaMs)));
+    }
+
+    /**
+     * Abre una suscripción SSE a los cambios de calificaciones de un alumno. Si se
+     * indica desde, primero se reproducen los eventos posteriores de la bandeja de
+     * salida.
+     *
+     * @param idAlumno El id del alumno.
+     * @param desde    El id del último evento que recibió el cliente, o null.
+     * @return El emisor SSE de la suscripción.
+     * @throws AlumnoExcepcion Si el alumno no existe.
+     */
+    @Override
+    public SseEmitter suscribirPorAlumno(Integer idAlumno, Long desde) {
+        if (!alumnoRepository.existsById(idAlumno)) {
+            throw new AlumnoExcepcion("Alumno no encontrado con id: " + idAlumno);
+        }
+        return difusorEventos.suscribir(DifusorEventosCalificacion.claveAlumno(idAlumno),
+                () -> desde == null ? List.of()
+                        : eventoCalificacionRepository.findByIdAlumnoAndIdGreaterThanOrderByIdAsc(idAlumno, desde,
+                                PageRequest.of(0, reanudacionMaxima + 1)),
+                reanudacionMaxima);
+    }
+
+    /**
+     * Abre una suscripción SSE a los cambios de calificaciones de una asignatura.
+     * Si se indica desde, primero se reproducen los eventos posteriores de la
+     * bandeja de salida.
+     *
+     * @param idAsignatura El id de la asignatura.
+     * @param desde        El id del último evento que recibió el cliente, o null.
+     * @return El emisor SSE de la suscripción.
+     * @throws AsignaturaExcepcion Si la asignatura no existe.
+     */
+    @Override
+    public SseEmitter suscribirPorAsignatura(Integer idAsignatura, Long desde) {
+        if (!asignaturaRepository.existsById(idAsignatura)) {
+            throw new AsignaturaExcepcion("Asignatura no encontrada con id: " + idAsignatura);
+        }
+        return difusorEventos.suscribir(DifusorEventosCalificacion.claveAsignatura(idAsignatura),
+                () -> desde == null ? List.of()
+                        : eventoCalificacionRepository.findByIdAsignaturaAndIdGreaterThanOrderByIdAsc(idAsignatura,
+                                desde, PageRequest.of(0, reanudacionMaxima + 1)),
+                reanudacionMaxima);
+    }
+}
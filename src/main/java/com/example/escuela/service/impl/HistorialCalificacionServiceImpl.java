@@ -0,0 +1,283 @@
+package com.example.escuela.service.impl;
+
+import com.example.dto.PaginaHistorialDTO;
+import com.example.escuela.excepciones.CalificacionExcepcion;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.CambioCalificacion;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.multiescuela.EscuelaActual;
+import com.example.escuela.repository.HistorialCalificacionRepository;
+import com.example.escuela.service.EscuelaService;
+import com.example.escuela.service.HistorialCalificacionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementación del servicio HistorialCalificacionService.
+ * Los cambios se encolan al confirmar la transacción que los hace, en una cola
+ * acotada, y una tarea programada los inserta en lotes con JdbcTemplate, de modo
+ * que la escritura del historial no agrega sentencias a la solicitud. Si la cola
+ * está llena, quien registra el cambio espera a que haya lugar hasta
+ * escuela.historial.espera-maxima-ms; después de ese tiempo el cambio se
+ * descarta y se registra en el log.
+ *
+ * El historial no es transaccional con la calificación: un cambio ya confirmado
+ * se pierde si la cola está llena más de espera-maxima-ms, si la aplicación se
+ * detiene con cambios pendientes que no se pueden escribir, o si el proceso
+ * termina de forma abrupta antes de la siguiente escritura (hasta
+ * escuela.historial.intervalo-ms de cambios, más los lotes en reintento). La
+ * bandeja de salida de eventos sí se escribe en la transacción del cambio, por lo
+ * que es la fuente a consultar cuando se requiere cada cambio sin excepción.
+ *
+ * Cada cambio se escribe en la base de datos de la escuela en la que se hizo.
+ * El actor se toma de la cabecera escuela.historial.cabecera-actor de la
+ * solicitud; los cambios hechos fuera de una solicitud se atribuyen a
+ * escuela.historial.actor-sistema.
+ */
+@Service
+public class HistorialCalificacionServiceImpl implements HistorialCalificacionService {
+
+    private static final Logger log = LoggerFactory.getLogger(HistorialCalificacionServiceImpl.class);
+
+    private static final String INSERTAR = "INSERT INTO historial_calificaciones (id_calificacion, id_alumno, "
+            + "id_asignatura, calificacion_anterior, calificacion_nueva, fecha, actor) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int LONGITUD_ACTOR = 100;
+
+    /**
+     * Cambio encolado que aún no se escribe en la base de datos.
+     */
+    private record Cambio(String escuela, int idCalificacion, int idAlumno, int idAsignatura, Puntaje anterior,
+            Puntaje nueva, LocalDateTime fecha, String actor) {
+    }
+
+    /**
+     * Repositorio para consultar el historial.
+     */
+    @Autowired
+    private HistorialCalificacionRepository historialCalificacionRepository;
+
+    /**
+     * Plantilla JDBC con la que se insertan los lotes.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Servicio de escuelas, para escribir cada cambio en la base de su escuela.
+     */
+    @Autowired
+    private EscuelaService escuelaService;
+
+    /**
+     * Número máximo de cambios encolados.
+     */
+    @Value("${escuela.historial.capacidad-cola:10000}")
+    private int capacidadCola;
+
+    /**
+     * Número máximo de cambios insertados por lote.
+     */
+    @Value("${escuela.historial.tamanio-lote:500}")
+    private int tamanioLote;
+
+    /**
+     * Milisegundos que se espera lugar en la cola antes de descartar un cambio.
+     */
+    @Value("${escuela.historial.espera-maxima-ms:1000}")
+    private long esperaMaximaMs;
+
+    /**
+     * Cabecera de la solicitud que identifica a quien hace el cambio.
+     */
+    @Value("${escuela.historial.cabecera-actor:X-Usuario}")
+    private String cabeceraActor;
+
+    /**
+     * Actor de los cambios hechos sin cabecera o fuera de una solicitud.
+     */
+    @Value("${escuela.historial.actor-sistema:sistema}")
+    private String actorSistema;
+
+    /**
+     * Número máximo de cambios devueltos por página.
+     */
+    @Value("${escuela.historial.tamanio-maximo-pagina:100}")
+    private int tamanioMaximoPagina;
+
+    private BlockingQueue<Cambio> cola;
+
+    /**
+     * Cambios de un lote que no se pudo escribir; se reintentan antes que los
+     * de la cola.
+     */
+    private final List<Cambio> reintentos = new ArrayList<>();
+
+    private final LongAdder descartados = new LongAdder();
+
+    /**
+     * Constructor por defecto para la clase HistorialCalificacionServiceImpl.
+     */
+    public HistorialCalificacionServiceImpl() {
+    }
+
+    /**
+     * Crea la cola con la capacidad configurada.
+     */
+    @PostConstruct
+    public void iniciar() {
+        cola = new ArrayBlockingQueue<>(capacidadCola);
+    }
+
+    /**
+     * Escribe los cambios encolados antes de detener la aplicación.
+     */
+    @PreDestroy
+    public void detener() {
+        vaciarPendientes();
+        if (!cola.isEmpty() || !reintentos.isEmpty()) {
+            log.warn("Se perdieron {} cambios del historial de calificaciones al detener la aplicación",
+                    cola.size() + reintentos.size());
+        }
+    }
+
+    @Override
+    public void registrar(Calificacion calificacion, Puntaje anterior, Puntaje nueva) {
+        Cambio cambio = new Cambio(escuelaService.actual(), calificacion.getId(),
+                calificacion.getAlumno().getId(), calificacion.getAsignatura().getId(), anterior, nueva,
+                LocalDateTime.now(), actor());
+        DespuesDeConfirmar.ejecutar(() -> encolar(cambio));
+    }
+
+    /**
+     * Encola un cambio esperando lugar hasta escuela.historial.espera-maxima-ms.
+     */
+    private void encolar(Cambio cambio) {
+        try {
+            if (cola.offer(cambio, esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        descartados.increment();
+        log.error("Cola del historial de calificaciones llena; se descartó {} ({} descartados en total)", cambio,
+                descartados.sum());
+    }
+
+    /**
+     * Obtiene el actor de la solicitud actual.
+     */
+    private String actor() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos) {
+            String valor = atributos.getRequest().getHeader(cabeceraActor);
+            if (StringUtils.hasText(valor)) {
+                valor = valor.trim();
+                return valor.length() > LONGITUD_ACTOR ? valor.substring(0, LONGITUD_ACTOR) : valor;
+            }
+        }
+        return actorSistema;
+    }
+
+    /**
+     * Inserta en lotes los cambios encolados, agrupados por escuela. Un lote que
+     * falla se conserva y se reintenta en la siguiente ejecución.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${escuela.historial.intervalo-ms:200}")
+    public synchronized void vaciarPendientes() {
+        while (true) {
+            List<Cambio> lote = new ArrayList<>(reintentos);
+            reintentos.clear();
+            cola.drainTo(lote, tamanioLote - lote.size());
+            if (lote.isEmpty()) {
+                return;
+            }
+            Map<String, List<Cambio>> porEscuela = new LinkedHashMap<>();
+            for (Cambio cambio : lote) {
+                porEscuela.computeIfAbsent(cambio.escuela(), e -> new ArrayList<>()).add(cambio);
+            }
+            porEscuela.forEach((idEscuela, cambios) -> {
+                try {
+                    EscuelaActual.ejecutar(idEscuela, () -> insertar(cambios));
+                } catch (RuntimeException e) {
+                    log.warn("No se pudo escribir el historial de calificaciones de la escuela {}, se reintentará",
+                            idEscuela, e);
+                    reintentos.addAll(cambios);
+                }
+            });
+            if (!reintentos.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Inserta los cambios con una sola sentencia por lotes de JDBC.
+     */
+    private void insertar(List<Cambio> cambios) {
+        jdbcTemplate.batchUpdate(INSERTAR, cambios, cambios.size(), (sentencia, cambio) -> {
+            sentencia.setInt(1, cambio.idCalificacion());
+            sentencia.setInt(2, cambio.idAlumno());
+            sentencia.setInt(3, cambio.idAsignatura());
+            if (cambio.anterior() == null) {
+                sentencia.setNull(4, Types.DECIMAL);
+            } else {
+                sentencia.setBigDecimal(4, cambio.anterior().aBigDecimal());
+            }
+            if (cambio.nueva() == null) {
+                sentencia.setNull(5, Types.DECIMAL);
+            } else {
+                sentencia.setBigDecimal(5, cambio.nueva().aBigDecimal());
+            }
+            sentencia.setTimestamp(6, Timestamp.valueOf(cambio.fecha()));
+            sentencia.setString(7, cambio.actor());
+        });
+    }
+
+    /**
+     * Obtiene una página del historial de un alumno en una asignatura con una
+     * consulta por rango de id sobre el índice (id_alumno, id_asignatura,
+     * id_cambio), sin contar ni saltar filas. Los cambios de los últimos
+     * escuela.historial.intervalo-ms pueden no estar escritos todavía.
+     *
+     * @throws CalificacionExcepcion Si el límite está fuera de rango.
+     */
+    @Override
+    public PaginaHistorialDTO obtenerHistorial(Integer idAlumno, Integer idAsignatura, Long antes, int limite) {
+        if (limite < 1 || limite > tamanioMaximoPagina) {
+            throw new CalificacionExcepcion("El límite debe estar entre 1 y " + tamanioMaximoPagina + ".");
+        }
+        List<CambioCalificacion> cambios = historialCalificacionRepository
+                .findByIdAlumnoAndIdAsignaturaAndIdLessThanOrderByIdDesc(idAlumno, idAsignatura,
+                        antes == null ? Long.MAX_VALUE : antes, PageRequest.of(0, limite + 1));
+        if (cambios.size() <= limite) {
+            return new PaginaHistorialDTO(cambios, null);
+        }
+        List<CambioCalificacion> pagina = cambios.subList(0, limite);
+        return new PaginaHistorialDTO(new ArrayList<>(pagina), pagina.get(limite - 1).getId());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.escuela.service.impl;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Utilidad para validar los ids de las consultas por lote.
+ */
+final class Lotes {
+
+    private Lotes() {
+    }
+
+    /**
+     * Valida los ids solicitados y elimina los repetidos conservando el orden.
+     *
+     * @param ids     Ids solicitados.
+     * @param maximo  Número máximo de ids distintos por lote.
+     * @param error   Crea la excepción de la entidad con el mensaje de error.
+     * @return Los ids sin repetir.
+     */
+    static Set<Integer> validar(List<Integer> ids, int maximo, Function<String, RuntimeException> error) {
+        if (ids == null || ids.isEmpty()) {
+            throw error.apply("Debe indicar al menos un id");
+        }
+        Set<Integer> distintos = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (id == null) {
+                throw error.apply("La lista de ids contiene un valor vacío");
+            }
+            distintos.add(id);
+        }
+        if (distintos.size() > maximo) {
+            throw error.apply("Se pueden consultar como máximo " + maximo + " ids por lote");
+        }
+        return distintos;
+    }
+}
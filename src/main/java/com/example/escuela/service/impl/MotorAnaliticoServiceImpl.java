@@ -0,0 +1,272 @@
+package com.example.escuela.service.impl;
+
+import com.example.dto.FilaCalificacionDTO;
+import com.example.dto.ResumenAnaliticoDTO;
+import com.example.escuela.estructuras.TablaCalificaciones;
+import com.example.escuela.excepciones.CalificacionExcepcion;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.repository.CalificacionRepository;
+import com.example.escuela.service.EscuelaService;
+import com.example.escuela.service.MotorAnaliticoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Implementación del servicio MotorAnaliticoService.
+ * Guarda las calificaciones en una {@link TablaCalificaciones}: columnas int
+ * para alumno, asignatura y grado y short para la calificación en centésimas,
+ * sin objetos ni entidades. Las consultas recorren las columnas bajo el candado
+ * de lectura; los cambios se aplican bajo el de escritura al confirmarse cada
+ * transacción, igual que en los rankings. Con varias escuelas, cada una tiene
+ * su propia tabla.
+ */
+@Service
+public class MotorAnaliticoServiceImpl implements MotorAnaliticoService {
+
+    private static final Logger log = LoggerFactory.getLogger(MotorAnaliticoServiceImpl.class);
+
+    /**
+     * Repositorio para leer las calificaciones al reconstruir la tabla.
+     */
+    @Autowired
+    private CalificacionRepository calificacionRepository;
+
+    /**
+     * Calificación mínima aprobatoria.
+     */
+    @Value("${escuela.analitica.calificacion-aprobatoria:60}")
+    private Puntaje calificacionAprobatoria;
+
+    /**
+     * Servicio para conocer la escuela de cada operación.
+     */
+    @Autowired
+    private EscuelaService escuelaService;
+
+    /**
+     * Tabla de una escuela con su candado.
+     */
+    private static final class EstadoEscuela {
+        private final ReadWriteLock candado = new ReentrantReadWriteLock();
+        private TablaCalificaciones tabla = new TablaCalificaciones();
+
+        /**
+         * Cambios recibidos mientras se reconstruye la tabla; se aplican de nuevo
+         * sobre el resultado antes de publicarlo. Es null si no hay una
+         * reconstrucción en curso.
+         */
+        private List<Consumer<TablaCalificaciones>> cambiosDuranteReconstruccion;
+    }
+
+    private final Map<String, EstadoEscuela> escuelas = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor por defecto para la clase MotorAnaliticoServiceImpl.
+     */
+    public MotorAnaliticoServiceImpl() {
+    }
+
+    /**
+     * Carga la tabla al terminar de iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirAlIniciar() {
+        try {
+            escuelaService.ejecutarEnCadaEscuela(this::reconstruir);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo cargar la tabla analítica de calificaciones: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene la tabla de la escuela actual.
+     */
+    private EstadoEscuela escuela() {
+        return escuelas.computeIfAbsent(escuelaService.actual(), id -> new EstadoEscuela());
+    }
+
+    /**
+     * Vuelve a cargar la tabla completa de la escuela actual desde su base de
+     * datos y la sustituye por la vigente.
+     */
+    @Override
+    public void reconstruir() {
+        EstadoEscuela escuela = escuela();
+        escuela.candado.writeLock().lock();
+        try {
+            escuela.cambiosDuranteReconstruccion = new ArrayList<>();
+        } finally {
+            escuela.candado.writeLock().unlock();
+        }
+
+        TablaCalificaciones nueva;
+        try {
+            List<FilaCalificacionDTO> filas = calificacionRepository.obtenerFilas();
+            nueva = new TablaCalificaciones(filas.size());
+            for (FilaCalificacionDTO fila : filas) {
+                nueva.poner(fila.getIdAlumno(), fila.getIdGrado(), fila.getIdAsignatura(),
+                        centesimas(fila.getCalificacion()));
+            }
+        } catch (RuntimeException e) {
+            escuela.candado.writeLock().lock();
+            try {
+                escuela.cambiosDuranteReconstruccion = null;
+            } finally {
+                escuela.candado.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        escuela.candado.writeLock().lock();
+        try {
+            escuela.cambiosDuranteReconstruccion.forEach(cambio -> cambio.accept(nueva));
+            escuela.cambiosDuranteReconstruccion = null;
+            escuela.tabla = nueva;
+        } finally {
+            escuela.candado.writeLock().unlock();
+        }
+        log.info("Tabla analítica de la escuela {} cargada: {} calificaciones, {} bytes", escuelaService.actual(),
+                nueva.filas(), nueva.bytes());
+    }
+
+    /**
+     * Aplica un cambio a la tabla vigente y, si hay una reconstrucción en curso,
+     * lo guarda para aplicarlo también sobre el resultado.
+     */
+    private void aplicar(Consumer<TablaCalificaciones> cambio) {
+        EstadoEscuela escuela = escuela();
+        escuela.candado.writeLock().lock();
+        try {
+            cambio.accept(escuela.tabla);
+            if (escuela.cambiosDuranteReconstruccion != null) {
+                escuela.cambiosDuranteReconstruccion.add(cambio);
+            }
+        } finally {
+            escuela.candado.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void registrarCalificacion(Integer idAlumno, Integer idGrado, Integer idAsignatura,
+            Puntaje calificacion) {
+        short valor = centesimas(calificacion);
+        aplicar(t -> t.poner(idAlumno, idGrado, idAsignatura, valor));
+    }
+
+    @Override
+    public void eliminarCalificacion(Integer idAlumno, Integer idAsignatura) {
+        aplicar(t -> t.quitar(idAlumno, idAsignatura));
+    }
+
+    @Override
+    public void cambiarGrado(Integer idAlumno, Integer idGrado) {
+        aplicar(t -> t.cambiarGrado(idAlumno, idGrado));
+    }
+
+    @Override
+    public void cambiarGrados(Map<Integer, Integer> remapeo) {
+        aplicar(t -> t.cambiarGrados(remapeo));
+    }
+
+    @Override
+    public void eliminarAlumno(Integer idAlumno) {
+        aplicar(t -> t.quitarAlumno(idAlumno));
+    }
+
+    @Override
+    public void eliminarAsignatura(Integer idAsignatura) {
+        aplicar(t -> t.quitarAsignatura(idAsignatura));
+    }
+
+    /**
+     * Filtra, agrupa y resume las calificaciones de la tabla vigente.
+     *
+     * @throws CalificacionExcepcion Si la agrupación no existe o el rango de
+     *                               calificaciones no es válido.
+     */
+    @Override
+    public List<ResumenAnaliticoDTO> agregar(String agrupar, Integer idAlumno, Integer idAsignatura,
+            Integer idGrado, Puntaje minima, Puntaje maxima) {
+        TablaCalificaciones.Dimension dimension = dimension(agrupar);
+        Puntaje desde = minima == null ? Puntaje.CERO : minima;
+        Puntaje hasta = maxima == null ? Puntaje.CIEN : maxima;
+        if (!desde.esValida() || !hasta.esValida() || desde.compareTo(hasta) > 0) {
+            throw new CalificacionExcepcion("El rango de calificaciones debe estar entre 0 y 100 y la mínima no "
+                    + "puede ser mayor que la máxima");
+        }
+        TablaCalificaciones.Filtro filtro = new TablaCalificaciones.Filtro(
+                idAlumno == null ? 0 : idAlumno,
+                idAsignatura == null ? 0 : idAsignatura,
+                idGrado == null ? 0 : idGrado,
+                centesimas(desde), centesimas(hasta));
+        short aprobatoria = centesimas(calificacionAprobatoria);
+
+        TablaCalificaciones.Agregado agregado;
+        EstadoEscuela escuela = escuela();
+        escuela.candado.readLock().lock();
+        try {
+            agregado = escuela.tabla.agregar(filtro, dimension, aprobatoria);
+        } finally {
+            escuela.candado.readLock().unlock();
+        }
+
+        List<ResumenAnaliticoDTO> resumenes = new ArrayList<>(agregado.grupos());
+        for (int g = 0; g < agregado.grupos(); g++) {
+            resumenes.add(resumen(agregado, g, dimension == null ? null : agregado.id(g)));
+        }
+        return resumenes;
+    }
+
+    @Override
+    public TablaCalificaciones obtenerCopia() {
+        EstadoEscuela escuela = escuela();
+        escuela.candado.readLock().lock();
+        try {
+            return escuela.tabla.copiar();
+        } finally {
+            escuela.candado.readLock().unlock();
+        }
+    }
+
+    private static TablaCalificaciones.Dimension dimension(String agrupar) {
+        if (agrupar == null || agrupar.isBlank()) {
+            return null;
+        }
+        try {
+            return TablaCalificaciones.Dimension.valueOf(agrupar.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new CalificacionExcepcion("Agrupación no válida: " + agrupar
+                    + ". Use alumno, asignatura o grado");
+        }
+    }
+
+    private static ResumenAnaliticoDTO resumen(TablaCalificaciones.Agregado agregado, int g, Integer id) {
+        int calificaciones = agregado.calificaciones(g);
+        if (calificaciones == 0) {
+            return new ResumenAnaliticoDTO(id, 0, 0, 0, 0, 0, 0);
+        }
+        double escala = TablaCalificaciones.ESCALA;
+        return new ResumenAnaliticoDTO(id, calificaciones,
+                Math.round((double) agregado.suma(g) / calificaciones) / escala,
+                agregado.minima(g) / escala, agregado.maxima(g) / escala, agregado.reprobadas(g),
+                (double) agregado.reprobadas(g) / calificaciones);
+    }
+
+    private static short centesimas(Puntaje calificacion) {
+        return (short) calificacion.centesimas();
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.escuela.service.impl;
+
+import com.example.escuela.excepciones.CamposExcepcion;
+import com.example.escuela.service.ProyeccionCamposService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementación del servicio ProyeccionCamposService.
+ *
+ * Los campos pedidos se validan contra el metamodelo de JPA y se seleccionan
+ * con una consulta Criteria de tuplas: sólo se leen sus columnas y sólo se
+ * unen las tablas de las asociaciones de las que se pide algún campo distinto
+ * del id. El id de una asociación se lee de la llave foránea sin unir su tabla.
+ */
+@Service
+public class ProyeccionCamposServiceImpl implements ProyeccionCamposService {
+
+    /**
+     * Nivel máximo de anidamiento al expandir una asociación completa.
+     */
+    private static final int PROFUNDIDAD_MAXIMA = 4;
+
+    /**
+     * EntityManager para construir y ejecutar las consultas.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructor por defecto para la clase ProyeccionCamposServiceImpl.
+     */
+    public ProyeccionCamposServiceImpl() {
+    }
+
+    /**
+     * Lista las filas de la entidad con sólo los campos indicados.
+     *
+     * @param entidad Clase de la entidad a listar.
+     * @param campos  Lista de campos separados por comas.
+     * @return Una lista de mapas con los campos pedidos, ordenada por id.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listar(Class<?> entidad, String campos) {
+        EntityType<?> tipo = entityManager.getMetamodel().entity(entidad);
+        Set<List<String>> rutas = new LinkedHashSet<>();
+        for (String campo : campos.split(",")) {
+            if (!campo.isBlank()) {
+                resolver(tipo, campo.trim(), campo.trim().split("\\."), 0, new ArrayList<>(), rutas);
+            }
+        }
+        if (rutas.isEmpty()) {
+            throw new CamposExcepcion("Debe indicar al menos un campo en fields");
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<?> raiz = consulta.from(entidad);
+        Map<List<String>, From<?, ?>> uniones = new HashMap<>();
+        List<Selection<?>> selecciones = new ArrayList<>();
+        for (List<String> ruta : rutas) {
+            selecciones.add(camino(raiz, ruta, uniones).alias(String.join(".", ruta)));
+        }
+        consulta.multiselect(selecciones)
+                .orderBy(cb.asc(raiz.get(tipo.getId(tipo.getIdType().getJavaType()).getName())));
+
+        List<Map<String, Object>> filas = new ArrayList<>();
+        for (Tuple tupla : entityManager.createQuery(consulta).getResultList()) {
+            Map<String, Object> fila = new LinkedHashMap<>();
+            for (List<String> ruta : rutas) {
+                colocar(fila, ruta, tupla.get(String.join(".", ruta)));
+            }
+            filas.add(fila);
+        }
+        return filas;
+    }
+
+    /**
+     * Valida un campo y agrega las rutas de atributos básicos que le
+     * corresponden.
+     */
+    private static void resolver(ManagedType<?> tipo, String campo, String[] segmentos, int indice,
+            List<String> prefijo, Set<List<String>> rutas) {
+        Attribute<?, ?> atributo = atributo(tipo, segmentos[indice], campo);
+        List<String> ruta = new ArrayList<>(prefijo);
+        ruta.add(atributo.getName());
+        boolean ultimo = indice == segmentos.length - 1;
+        if (atributo.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+            if (!ultimo) {
+                throw new CamposExcepcion("El campo " + String.join(".", ruta) + " no tiene subcampos: " + campo);
+            }
+            rutas.add(ruta);
+        } else if (atributo.getPersistentAttributeType() == Attribute.PersistentAttributeType.MANY_TO_ONE
+                || atributo.getPersistentAttributeType() == Attribute.PersistentAttributeType.ONE_TO_ONE) {
+            ManagedType<?> destino = (ManagedType<?>) ((SingularAttribute<?, ?>) atributo).getType();
+            if (ultimo) {
+                expandir(destino, ruta, rutas, 1);
+            } else {
+                resolver(destino, campo, segmentos, indice + 1, ruta, rutas);
+            }
+        } else {
+            throw new CamposExcepcion("El campo " + String.join(".", ruta) + " no puede seleccionarse");
+        }
+    }
+
+    /**
+     * Agrega todos los atributos de una asociación en el orden en que se
+     * declaran, como en el JSON completo.
+     */
+    private static void expandir(ManagedType<?> tipo, List<String> prefijo, Set<List<String>> rutas,
+            int profundidad) {
+        if (profundidad > PROFUNDIDAD_MAXIMA) {
+            return;
+        }
+        for (Field campo : tipo.getJavaType().getDeclaredFields()) {
+            Attribute<?, ?> atributo;
+            try {
+                atributo = tipo.getAttribute(campo.getName());
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            List<String> ruta = new ArrayList<>(prefijo);
+            ruta.add(atributo.getName());
+            if (atributo.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                rutas.add(ruta);
+            } else if (atributo.getPersistentAttributeType() == Attribute.PersistentAttributeType.MANY_TO_ONE
+                    || atributo.getPersistentAttributeType() == Attribute.PersistentAttributeType.ONE_TO_ONE) {
+                expandir((ManagedType<?>) ((SingularAttribute<?, ?>) atributo).getType(), ruta, rutas,
+                        profundidad + 1);
+            }
+        }
+    }
+
+    private static Attribute<?, ?> atributo(ManagedType<?> tipo, String nombre, String campo) {
+        try {
+            return tipo.getAttribute(nombre);
+        } catch (IllegalArgumentException e) {
+            throw new CamposExcepcion("Campo desconocido: " + campo);
+        }
+    }
+
+    /**
+     * Obtiene la expresión de una ruta. Las asociaciones intermedias se unen con
+     * LEFT JOIN una sola vez, salvo cuando de ellas sólo se lee el id, que se
+     * toma de la llave foránea de la tabla anterior.
+     */
+    private static Path<?> camino(Root<?> raiz, List<String> ruta, Map<List<String>, From<?, ?>> uniones) {
+        From<?, ?> desde = raiz;
+        int ultimaAsociacion = ruta.size() - 1;
+        if (ruta.size() > 1 && esId(desde, ruta)) {
+            ultimaAsociacion--;
+        }
+        for (int i = 0; i < ultimaAsociacion; i++) {
+            From<?, ?> actual = desde;
+            String asociacion = ruta.get(i);
+            desde = uniones.computeIfAbsent(ruta.subList(0, i + 1), clave -> actual.join(asociacion, JoinType.LEFT));
+        }
+        Path<?> camino = desde;
+        for (int i = ultimaAsociacion; i < ruta.size(); i++) {
+            camino = camino.get(ruta.get(i));
+        }
+        return camino;
+    }
+
+    /**
+     * Indica si el último segmento de la ruta es el id de la asociación que lo
+     * contiene.
+     */
+    private static boolean esId(From<?, ?> raiz, List<String> ruta) {
+        ManagedType<?> tipo = (ManagedType<?>) raiz.getModel();
+        for (int i = 0; i < ruta.size() - 1; i++) {
+            tipo = (ManagedType<?>) ((SingularAttribute<?, ?>) tipo.getAttribute(ruta.get(i))).getType();
+        }
+        Attribute<?, ?> ultimo = tipo.getAttribute(ruta.get(ruta.size() - 1));
+        return ultimo instanceof SingularAttribute<?, ?> singular && singular.isId();
+    }
+
+    /**
+     * Coloca un valor en la fila creando los mapas anidados de sus asociaciones.
+     */
+    @SuppressWarnings("unchecked")
+    private static void colocar(Map<String, Object> fila, List<String> ruta, Object valor) {
+        Map<String, Object> actual = fila;
+        for (int i = 0; i < ruta.size() - 1; i++) {
+            actual = (Map<String, Object>) actual.computeIfAbsent(ruta.get(i), clave -> new LinkedHashMap<>());
+        }
+        actual.put(ruta.get(ruta.size() - 1), valor);
+    }
+}
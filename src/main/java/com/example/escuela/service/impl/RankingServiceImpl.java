@@ -0,0 +1,475 @@
+package com.example.escuela.service.impl;
+
+import com.example.dto.FilaCalificacionDTO;
+import com.example.dto.PosicionRankingDTO;
+import com.example.escuela.estructuras.ArbolOrdenEstadistico;
+import com.example.escuela.excepciones.CalificacionExcepcion;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.repository.CalificacionRepository;
+import com.example.escuela.service.EscuelaService;
+import com.example.escuela.service.RankingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del servicio RankingService.
+ * Guarda un {@link ArbolOrdenEstadistico} por asignatura, ordenado por
+ * calificación y después por promedio general, y uno por grado, ordenado por
+ * promedio general. Las consultas de ranking y de posición de un alumno toman
+ * tiempo O(log n).
+ * Cuando cambia una calificación cambia también el promedio del alumno, por lo
+ * que se reinsertan todas sus entradas; esto cuesta O(k log n), donde k es el
+ * número de asignaturas del alumno.
+ * Con varias escuelas, cada una tiene sus propios rankings y su propio candado.
+ */
+@Service
+public class RankingServiceImpl implements RankingService {
+
+    private static final Logger log = LoggerFactory.getLogger(RankingServiceImpl.class);
+
+    /**
+     * Número máximo de posiciones devueltas en una consulta de ranking.
+     */
+    private static final int LIMITE_MAXIMO = 100;
+
+    /**
+     * Entrada de un alumno en un ranking.
+     *
+     * @param idAlumno     Identificador del alumno.
+     * @param calificacion Valor por el que se ordena el ranking.
+     * @param promedio     Promedio general del alumno, usado para desempatar.
+     */
+    private record Entrada(int idAlumno, Puntaje calificacion, double promedio) {
+
+        /**
+         * Entrada del ranking de grado, que se ordena por el promedio
+         * redondeado a centésimas y desempata con el promedio exacto.
+         */
+        private static Entrada dePromedio(int idAlumno, double promedio) {
+            return new Entrada(idAlumno, Puntaje.deCentesimas((int) Math.round(promedio * Puntaje.ESCALA)),
+                    promedio);
+        }
+    }
+
+    /**
+     * Orden de los rankings: mayor calificación, después mayor promedio y por
+     * último menor id de alumno para que el orden sea total.
+     */
+    private static final Comparator<Entrada> ORDEN = (a, b) -> {
+        int c = b.calificacion().compareTo(a.calificacion());
+        if (c != 0) {
+            return c;
+        }
+        c = Double.compare(b.promedio(), a.promedio());
+        return c != 0 ? c : Integer.compare(a.idAlumno(), b.idAlumno());
+    };
+
+    /**
+     * Calificaciones y grado de un alumno.
+     */
+    private static final class EstadoAlumno {
+        private int idGrado;
+        private final Map<Integer, Puntaje> calificaciones = new HashMap<>();
+
+        private double promedio() {
+            long suma = 0;
+            for (Puntaje valor : calificaciones.values()) {
+                suma += valor.centesimas();
+            }
+            return calificaciones.isEmpty() ? 0 : (double) suma / Puntaje.ESCALA / calificaciones.size();
+        }
+    }
+
+    /**
+     * Conjunto de rankings que se reemplaza completo al reconstruir.
+     */
+    private static final class Rankings {
+        private final Map<Integer, EstadoAlumno> alumnos;
+        private final Map<Integer, ArbolOrdenEstadistico<Entrada>> porAsignatura;
+        private final Map<Integer, ArbolOrdenEstadistico<Entrada>> porGrado;
+
+        private Rankings(Map<Integer, EstadoAlumno> alumnos,
+                Map<Integer, ArbolOrdenEstadistico<Entrada>> porAsignatura,
+                Map<Integer, ArbolOrdenEstadistico<Entrada>> porGrado) {
+            this.alumnos = alumnos;
+            this.porAsignatura = porAsignatura;
+            this.porGrado = porGrado;
+        }
+
+        private Rankings() {
+            this(new HashMap<>(), new HashMap<>(), new HashMap<>());
+        }
+
+        /**
+         * Quita todas las entradas de un alumno de los rankings.
+         */
+        private void quitar(int idAlumno) {
+            EstadoAlumno estado = alumnos.get(idAlumno);
+            if (estado == null || estado.calificaciones.isEmpty()) {
+                return;
+            }
+            double promedio = estado.promedio();
+            estado.calificaciones.forEach((idAsignatura, valor) -> {
+                ArbolOrdenEstadistico<Entrada> arbol = porAsignatura.get(idAsignatura);
+                if (arbol != null) {
+                    arbol.eliminar(new Entrada(idAlumno, valor, promedio));
+                }
+            });
+            ArbolOrdenEstadistico<Entrada> arbolGrado = porGrado.get(estado.idGrado);
+            if (arbolGrado != null) {
+                arbolGrado.eliminar(Entrada.dePromedio(idAlumno, promedio));
+            }
+        }
+
+        /**
+         * Inserta todas las entradas de un alumno con su promedio actual.
+         */
+        private void poner(int idAlumno) {
+            EstadoAlumno estado = alumnos.get(idAlumno);
+            if (estado == null) {
+                return;
+            }
+            if (estado.calificaciones.isEmpty()) {
+                alumnos.remove(idAlumno);
+                return;
+            }
+            double promedio = estado.promedio();
+            estado.calificaciones.forEach((idAsignatura, valor) -> porAsignatura
+                    .computeIfAbsent(idAsignatura, id -> new ArbolOrdenEstadistico<>(ORDEN))
+                    .agregar(new Entrada(idAlumno, valor, promedio)));
+            porGrado.computeIfAbsent(estado.idGrado, id -> new ArbolOrdenEstadistico<>(ORDEN))
+                    .agregar(Entrada.dePromedio(idAlumno, promedio));
+        }
+    }
+
+    /**
+     * Repositorio para leer las calificaciones al reconstruir los rankings.
+     */
+    @Autowired
+    private CalificacionRepository calificacionRepository;
+
+    /**
+     * Servicio para conocer la escuela de cada operación.
+     */
+    @Autowired
+    private EscuelaService escuelaService;
+
+    /**
+     * Rankings de una escuela con su candado.
+     */
+    private static final class EstadoEscuela {
+        private final ReadWriteLock candado = new ReentrantReadWriteLock();
+        private Rankings rankings = new Rankings();
+
+        /**
+         * Cambios recibidos mientras se reconstruyen los rankings; se aplican de
+         * nuevo sobre el resultado antes de publicarlo. Es null si no hay una
+         * reconstrucción en curso.
+         */
+        private List<Consumer<Rankings>> cambiosDuranteReconstruccion;
+    }
+
+    private final Map<String, EstadoEscuela> escuelas = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor por defecto para la clase RankingServiceImpl.
+     */
+    public RankingServiceImpl() {
+    }
+
+    /**
+     * Reconstruye los rankings al terminar de iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirAlIniciar() {
+        try {
+            escuelaService.ejecutarEnCadaEscuela(this::reconstruir);
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron reconstruir los rankings de calificaciones: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene los rankings de la escuela actual.
+     */
+    private EstadoEscuela escuela() {
+        return escuelas.computeIfAbsent(escuelaService.actual(), id -> new EstadoEscuela());
+    }
+
+    /**
+     * Reconstruye todos los rankings de la escuela actual a partir de su base de
+     * datos. Los estados de los alumnos y los árboles de cada asignatura y grado
+     * se construyen en paralelo.
+     */
+    @Override
+    public void reconstruir() {
+        EstadoEscuela escuela = escuela();
+        escuela.candado.writeLock().lock();
+        try {
+            escuela.cambiosDuranteReconstruccion = new ArrayList<>();
+        } finally {
+            escuela.candado.writeLock().unlock();
+        }
+
+        Rankings nuevos;
+        try {
+            List<FilaCalificacionDTO> filas = calificacionRepository.obtenerFilas();
+            Map<Integer, EstadoAlumno> alumnos = filas.parallelStream()
+                    .collect(Collectors.groupingByConcurrent(FilaCalificacionDTO::getIdAlumno))
+                    .entrySet().parallelStream()
+                    .collect(Collectors.toConcurrentMap(Map.Entry::getKey, e -> {
+                        EstadoAlumno estado = new EstadoAlumno();
+                        for (FilaCalificacionDTO fila : e.getValue()) {
+                            estado.idGrado = fila.getIdGrado();
+                            estado.calificaciones.put(fila.getIdAsignatura(), fila.getCalificacion());
+                        }
+                        return estado;
+                    }));
+
+            Map<Integer, List<Entrada>> entradasAsignatura = new ConcurrentHashMap<>();
+            Map<Integer, List<Entrada>> entradasGrado = new ConcurrentHashMap<>();
+            alumnos.entrySet().parallelStream().forEach(e -> {
+                double promedio = e.getValue().promedio();
+                e.getValue().calificaciones.forEach((idAsignatura, valor) -> entradasAsignatura
+                        .computeIfAbsent(idAsignatura, id -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(new Entrada(e.getKey(), valor, promedio)));
+                entradasGrado
+                        .computeIfAbsent(e.getValue().idGrado, id -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(Entrada.dePromedio(e.getKey(), promedio));
+            });
+
+            nuevos = new Rankings(new HashMap<>(alumnos), construirArboles(entradasAsignatura),
+                    construirArboles(entradasGrado));
+        } catch (RuntimeException e) {
+            escuela.candado.writeLock().lock();
+            try {
+                escuela.cambiosDuranteReconstruccion = null;
+            } finally {
+                escuela.candado.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        escuela.candado.writeLock().lock();
+        try {
+            escuela.cambiosDuranteReconstruccion.forEach(cambio -> cambio.accept(nuevos));
+            escuela.cambiosDuranteReconstruccion = null;
+            escuela.rankings = nuevos;
+        } finally {
+            escuela.candado.writeLock().unlock();
+        }
+        log.info("Rankings de la escuela {} reconstruidos: {} alumnos, {} asignaturas, {} grados",
+                escuelaService.actual(), nuevos.alumnos.size(), nuevos.porAsignatura.size(), nuevos.porGrado.size());
+    }
+
+    /**
+     * Construye en paralelo un árbol por cada grupo de entradas.
+     */
+    private static Map<Integer, ArbolOrdenEstadistico<Entrada>> construirArboles(Map<Integer, List<Entrada>> grupos) {
+        return new HashMap<>(grupos.entrySet().parallelStream()
+                .collect(Collectors.toConcurrentMap(Map.Entry::getKey, e -> {
+                    ArbolOrdenEstadistico<Entrada> arbol = new ArbolOrdenEstadistico<>(ORDEN);
+                    e.getValue().forEach(arbol::agregar);
+                    return arbol;
+                })));
+    }
+
+    /**
+     * Aplica un cambio a los rankings actuales y, si hay una reconstrucción en
+     * curso, lo guarda para aplicarlo también sobre el resultado.
+     */
+    private void aplicar(Consumer<Rankings> cambio) {
+        EstadoEscuela escuela = escuela();
+        escuela.candado.writeLock().lock();
+        try {
+            cambio.accept(escuela.rankings);
+            if (escuela.cambiosDuranteReconstruccion != null) {
+                escuela.cambiosDuranteReconstruccion.add(cambio);
+            }
+        } finally {
+            escuela.candado.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void registrarCalificacion(Integer idAlumno, Integer idGrado, Integer idAsignatura,
+            Puntaje calificacion) {
+        aplicar(r -> {
+            r.quitar(idAlumno);
+            EstadoAlumno estado = r.alumnos.computeIfAbsent(idAlumno, id -> new EstadoAlumno());
+            estado.idGrado = idGrado;
+            estado.calificaciones.put(idAsignatura, calificacion);
+            r.poner(idAlumno);
+        });
+    }
+
+    @Override
+    public void eliminarCalificacion(Integer idAlumno, Integer idAsignatura) {
+        aplicar(r -> {
+            EstadoAlumno estado = r.alumnos.get(idAlumno);
+            if (estado == null || !estado.calificaciones.containsKey(idAsignatura)) {
+                return;
+            }
+            r.quitar(idAlumno);
+            estado.calificaciones.remove(idAsignatura);
+            r.poner(idAlumno);
+        });
+    }
+
+    @Override
+    public void cambiarGrado(Integer idAlumno, Integer idGrado) {
+        aplicar(r -> {
+            EstadoAlumno estado = r.alumnos.get(idAlumno);
+            if (estado == null || estado.idGrado == idGrado) {
+                return;
+            }
+            r.quitar(idAlumno);
+            estado.idGrado = idGrado;
+            r.poner(idAlumno);
+        });
+    }
+
+    @Override
+    public void cambiarGrados(Map<Integer, Integer> remapeo) {
+        aplicar(r -> {
+            List<Integer> cambiados = new ArrayList<>();
+            r.alumnos.forEach((idAlumno, estado) -> {
+                if (remapeo.containsKey(estado.idGrado)) {
+                    cambiados.add(idAlumno);
+                }
+            });
+            for (Integer idAlumno : cambiados) {
+                r.quitar(idAlumno);
+                EstadoAlumno estado = r.alumnos.get(idAlumno);
+                estado.idGrado = remapeo.get(estado.idGrado);
+                r.poner(idAlumno);
+            }
+        });
+    }
+
+    @Override
+    public void eliminarAlumno(Integer idAlumno) {
+        aplicar(r -> {
+            r.quitar(idAlumno);
+            r.alumnos.remove(idAlumno);
+        });
+    }
+
+    @Override
+    public void eliminarAsignatura(Integer idAsignatura) {
+        aplicar(r -> {
+            ArbolOrdenEstadistico<Entrada> arbol = r.porAsignatura.get(idAsignatura);
+            if (arbol == null) {
+                return;
+            }
+            for (Entrada entrada : arbol.primeros(arbol.tamanio())) {
+                r.quitar(entrada.idAlumno());
+                r.alumnos.get(entrada.idAlumno()).calificaciones.remove(idAsignatura);
+                r.poner(entrada.idAlumno());
+            }
+            r.porAsignatura.remove(idAsignatura);
+        });
+    }
+
+    @Override
+    public List<PosicionRankingDTO> obtenerRankingAsignatura(Integer idAsignatura, int limite) {
+        return primeros(r -> r.porAsignatura.get(idAsignatura), limite);
+    }
+
+    @Override
+    public List<PosicionRankingDTO> obtenerRankingGrado(Integer idGrado, int limite) {
+        return primeros(r -> r.porGrado.get(idGrado), limite);
+    }
+
+    /**
+     * Obtiene la posición de un alumno en el ranking de una asignatura.
+     *
+     * @throws CalificacionExcepcion Si el alumno no tiene calificación en la
+     *                               asignatura.
+     */
+    @Override
+    public PosicionRankingDTO obtenerPosicionEnAsignatura(Integer idAsignatura, Integer idAlumno) {
+        EstadoEscuela escuela = escuela();
+        escuela.candado.readLock().lock();
+        try {
+            EstadoAlumno estado = escuela.rankings.alumnos.get(idAlumno);
+            Puntaje valor = estado == null ? null : estado.calificaciones.get(idAsignatura);
+            if (valor == null) {
+                throw new CalificacionExcepcion("El alumno " + idAlumno
+                        + " no tiene calificación en la asignatura " + idAsignatura);
+            }
+            return posicion(escuela.rankings.porAsignatura.get(idAsignatura),
+                    new Entrada(idAlumno, valor, estado.promedio()));
+        } finally {
+            escuela.candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene la posición de un alumno en el ranking de su grado.
+     *
+     * @throws CalificacionExcepcion Si el alumno no tiene calificaciones en el
+     *                               grado.
+     */
+    @Override
+    public PosicionRankingDTO obtenerPosicionEnGrado(Integer idGrado, Integer idAlumno) {
+        EstadoEscuela escuela = escuela();
+        escuela.candado.readLock().lock();
+        try {
+            EstadoAlumno estado = escuela.rankings.alumnos.get(idAlumno);
+            if (estado == null || estado.idGrado != idGrado) {
+                throw new CalificacionExcepcion("El alumno " + idAlumno
+                        + " no tiene calificaciones en el grado " + idGrado);
+            }
+            double promedio = estado.promedio();
+            return posicion(escuela.rankings.porGrado.get(idGrado), Entrada.dePromedio(idAlumno, promedio));
+        } finally {
+            escuela.candado.readLock().unlock();
+        }
+    }
+
+    private List<PosicionRankingDTO> primeros(Function<Rankings, ArbolOrdenEstadistico<Entrada>> arbolDe, int limite) {
+        EstadoEscuela escuela = escuela();
+        escuela.candado.readLock().lock();
+        try {
+            ArbolOrdenEstadistico<Entrada> arbol = arbolDe.apply(escuela.rankings);
+            if (arbol == null) {
+                return List.of();
+            }
+            List<Entrada> entradas = arbol.primeros(Math.max(0, Math.min(limite, LIMITE_MAXIMO)));
+            List<PosicionRankingDTO> resultado = new ArrayList<>(entradas.size());
+            for (int i = 0; i < entradas.size(); i++) {
+                resultado.add(aDTO(entradas.get(i), i, arbol.tamanio()));
+            }
+            return resultado;
+        } finally {
+            escuela.candado.readLock().unlock();
+        }
+    }
+
+    private static PosicionRankingDTO posicion(ArbolOrdenEstadistico<Entrada> arbol, Entrada entrada) {
+        return aDTO(entrada, arbol.posicion(entrada), arbol.tamanio());
+    }
+
+    private static PosicionRankingDTO aDTO(Entrada entrada, int indice, int total) {
+        return new PosicionRankingDTO(indice + 1, total, entrada.idAlumno(), entrada.calificacion(),
+                entrada.promedio());
+    }
+}
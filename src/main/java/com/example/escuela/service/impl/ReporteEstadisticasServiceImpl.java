@@ -0,0 +1,111 @@
+package com.example.escuela.service.impl;
+
+import com.example.dto.EstadisticaCeldaDTO;
+import com.example.dto.ReporteEstadisticasDTO;
+import com.example.escuela.estadisticas.CalculoEstadisticas;
+import com.example.escuela.estructuras.TablaCalificaciones;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.service.MotorAnaliticoService;
+import com.example.escuela.service.ReporteEstadisticasService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Implementación del servicio ReporteEstadisticasService.
+ * Toma una copia de la tabla analítica en memoria, por lo que el reporte no
+ * consulta la base de datos ni retiene el candado de la tabla, y la calcula con
+ * {@link CalculoEstadisticas} en un ForkJoinPool propio cuyo paralelismo se
+ * configura con escuela.reporte.paralelismo.
+ */
+@Service
+public class ReporteEstadisticasServiceImpl implements ReporteEstadisticasService {
+
+    /**
+     * Servicio que mantiene la tabla analítica en memoria.
+     */
+    @Autowired
+    private MotorAnaliticoService motorAnaliticoService;
+
+    /**
+     * Hilos del pool; 0 usa uno por procesador disponible.
+     */
+    @Value("${escuela.reporte.paralelismo:0}")
+    private int paralelismo;
+
+    /**
+     * Filas a partir de las cuales una celda se reparte en varias tareas.
+     */
+    @Value("${escuela.reporte.umbral-filas:16384}")
+    private int umbralFilas;
+
+    /**
+     * Calificación mínima aprobatoria.
+     */
+    @Value("${escuela.analitica.calificacion-aprobatoria:60}")
+    private Puntaje calificacionAprobatoria;
+
+    private ForkJoinPool pool;
+    private CalculoEstadisticas calculo;
+
+    /**
+     * Constructor por defecto para la clase ReporteEstadisticasServiceImpl.
+     */
+    public ReporteEstadisticasServiceImpl() {
+    }
+
+    /**
+     * Crea el pool con el paralelismo configurado.
+     */
+    @PostConstruct
+    void iniciar() {
+        int hilos = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(hilos, p -> {
+            ForkJoinWorkerThread hilo = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            hilo.setName("reporte-estadisticas-" + hilo.getPoolIndex());
+            return hilo;
+        }, null, false);
+        calculo = new CalculoEstadisticas(pool, umbralFilas);
+    }
+
+    /**
+     * Detiene el pool al cerrar la aplicación.
+     */
+    @PreDestroy
+    void detener() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public ReporteEstadisticasDTO generar() {
+        long inicio = System.nanoTime();
+        TablaCalificaciones tabla = motorAnaliticoService.obtenerCopia();
+        short aprobatoria = (short) calificacionAprobatoria.centesimas();
+        CalculoEstadisticas.Celda[] celdas = calculo.calcular(tabla, aprobatoria);
+
+        List<EstadisticaCeldaDTO> estadisticas = new ArrayList<>(celdas.length);
+        for (CalculoEstadisticas.Celda celda : celdas) {
+            estadisticas.add(aDTO(celda));
+        }
+        return new ReporteEstadisticasDTO(Instant.now(), (System.nanoTime() - inicio) / 1_000_000,
+                pool.getParallelism(), tabla.filas(), estadisticas);
+    }
+
+    private static EstadisticaCeldaDTO aDTO(CalculoEstadisticas.Celda celda) {
+        double escala = TablaCalificaciones.ESCALA;
+        return new EstadisticaCeldaDTO(celda.idGrado(), celda.idAsignatura(), celda.calificaciones(),
+                Math.round((double) celda.suma() / celda.calificaciones()) / escala,
+                celda.minima() / escala, celda.maxima() / escala,
+                celda.percentil10() / escala, celda.percentil25() / escala, celda.mediana() / escala,
+                celda.percentil75() / escala, celda.percentil90() / escala, celda.reprobadas(),
+                (double) celda.reprobadas() / celda.calificaciones());
+    }
+}
@@ -0,0 +1,40 @@
+-- Esquema inicial, equivalente al que creaba SiceiDB.sql. Las bases de datos
+-- existentes se registran en esta versión (spring.flyway.baseline-version=1)
+-- sin volver a ejecutarla.
+
+CREATE TABLE grados (
+    id_grado INT AUTO_INCREMENT PRIMARY KEY,
+    nombre_grado VARCHAR(10) NOT NULL UNIQUE
+);
+
+CREATE TABLE alumnos (
+    id_alumno INT AUTO_INCREMENT PRIMARY KEY,
+    matricula VARCHAR(20) NOT NULL UNIQUE,
+    nombre VARCHAR(100) NOT NULL,
+    correo_electronico VARCHAR(100),
+    id_grado INT NOT NULL,
+    FOREIGN KEY (id_grado) REFERENCES grados(id_grado)
+        ON UPDATE CASCADE ON DELETE RESTRICT
+);
+
+CREATE TABLE asignaturas (
+    id_asignatura INT AUTO_INCREMENT PRIMARY KEY,
+    nombre VARCHAR(100) NOT NULL,
+    id_grado INT NOT NULL,
+    FOREIGN KEY (id_grado) REFERENCES grados(id_grado)
+        ON UPDATE CASCADE ON DELETE RESTRICT
+);
+
+CREATE TABLE calificaciones (
+    id_calificacion INT AUTO_INCREMENT PRIMARY KEY,
+    id_alumno INT NOT NULL,
+    id_asignatura INT NOT NULL,
+    calificacion DECIMAL(5,2) NOT NULL CHECK (calificacion BETWEEN 0 AND 100),
+
+    FOREIGN KEY (id_alumno) REFERENCES alumnos(id_alumno)
+        ON UPDATE CASCADE ON DELETE CASCADE,
+    FOREIGN KEY (id_asignatura) REFERENCES asignaturas(id_asignatura)
+        ON UPDATE CASCADE ON DELETE CASCADE,
+
+    UNIQUE (id_alumno, id_asignatura)
+);
@@ -0,0 +1,15 @@
+-- Bandeja de salida de eventos de calificaciones (EventoCalificacion).
+
+CREATE TABLE eventos_calificaciones (
+    id_evento BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tipo VARCHAR(20) NOT NULL,
+    id_calificacion INT NOT NULL,
+    id_alumno INT NOT NULL,
+    id_asignatura INT NOT NULL,
+    calificacion DECIMAL(5,2),
+    fecha DATETIME(3) NOT NULL,
+    publicado BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+-- EventoCalificacionRepository.findByPublicadoFalseOrderByIdAsc
+CREATE INDEX idx_eventos_publicado ON eventos_calificaciones (publicado, id_evento);
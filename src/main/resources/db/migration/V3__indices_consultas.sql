@@ -0,0 +1,23 @@
+-- Índices para las consultas de los repositorios. Las búsquedas por llave
+-- primaria y las que cubren las restricciones UNIQUE del esquema inicial no
+-- necesitan índices adicionales:
+--   alumnos.matricula                     AlumnoRepository.existsByMatricula
+--   calificaciones (id_alumno, id_asignatura)
+--                                         CalificacionRepository.findByAlumnoId,
+--                                         findByAlumnoIdAndAsignaturaId,
+--                                         existsByAlumnoIdAndAsignaturaId y el kardex
+
+-- AlumnoRepository.findByGradoId ordenado por nombre o por matrícula; el id
+-- desempata y en InnoDB ya forma parte de cada índice secundario.
+CREATE INDEX idx_alumnos_grado_nombre ON alumnos (id_grado, nombre);
+CREATE INDEX idx_alumnos_grado_matricula ON alumnos (id_grado, matricula);
+
+-- AsignaturaRepository.findByGradoId
+CREATE INDEX idx_asignaturas_grado_nombre ON asignaturas (id_grado, nombre);
+
+-- AsignaturaRepository.existsByNombre
+CREATE INDEX idx_asignaturas_nombre ON asignaturas (nombre);
+
+-- CalificacionRepository.findByAsignaturaId y las estadísticas por asignatura,
+-- que se resuelven sólo con el índice.
+CREATE INDEX idx_calificaciones_asignatura_calificacion ON calificaciones (id_asignatura, calificacion);
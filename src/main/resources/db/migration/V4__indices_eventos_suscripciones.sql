@@ -0,0 +1,5 @@
+-- Índices para reanudar las suscripciones SSE de un alumno o de una asignatura
+-- (EventoCalificacionRepository.findByIdAlumnoAndIdGreaterThanOrderByIdAsc y
+-- findByIdAsignaturaAndIdGreaterThanOrderByIdAsc).
+CREATE INDEX idx_eventos_alumno ON eventos_calificaciones (id_alumno, id_evento);
+CREATE INDEX idx_eventos_asignatura ON eventos_calificaciones (id_asignatura, id_evento);
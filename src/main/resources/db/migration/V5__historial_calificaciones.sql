@@ -0,0 +1,17 @@
+-- Historial de cambios de calificaciones (CambioCalificacion). Sólo se insertan
+-- filas; no tiene llaves foráneas para conservar el historial de alumnos y
+-- asignaturas eliminados.
+
+CREATE TABLE historial_calificaciones (
+    id_cambio BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id_calificacion INT NOT NULL,
+    id_alumno INT NOT NULL,
+    id_asignatura INT NOT NULL,
+    calificacion_anterior DECIMAL(5,2),
+    calificacion_nueva DECIMAL(5,2),
+    fecha DATETIME(3) NOT NULL,
+    actor VARCHAR(100) NOT NULL
+);
+
+-- HistorialCalificacionRepository.findByIdAlumnoAndIdAsignaturaAndIdLessThanOrderByIdDesc
+CREATE INDEX idx_historial_alumno_asignatura ON historial_calificaciones (id_alumno, id_asignatura, id_cambio);
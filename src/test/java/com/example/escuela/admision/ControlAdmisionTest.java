@@ -0,0 +1,97 @@
+package com.example.escuela.admision;
+
+import com.example.escuela.excepciones.AdmisionExcepcion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"escuela.admision.habilitada=true",
+		"escuela.admision.listado.rafaga=2",
+		"escuela.admision.listado.fichas-por-segundo=0.5",
+		"escuela.admision.escritura.concurrencia=1" })
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ControlAdmisionTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ControlAdmisionInterceptor controlAdmision;
+
+	@Autowired
+	private RequestMappingHandlerMapping mapeo;
+
+	@Test
+	void rechazaConRetryAfterAlAgotarLaCubetaDelEndpointYCliente() throws Exception {
+		mockMvc.perform(get("/api/grados").with(cliente("10.0.0.1"))).andExpect(status().isOk());
+		mockMvc.perform(get("/api/grados").with(cliente("10.0.0.1"))).andExpect(status().isOk());
+		mockMvc.perform(get("/api/grados").with(cliente("10.0.0.1")))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "2"))
+				.andExpect(jsonPath("$.mensaje").value("Se excedió el límite de solicitudes para GET /api/grados"));
+
+		mockMvc.perform(get("/api/grados").with(cliente("10.0.0.2"))).andExpect(status().isOk());
+		mockMvc.perform(get("/api/asignaturas").with(cliente("10.0.0.1"))).andExpect(status().isOk());
+	}
+
+	@Test
+	void rechazaEscriturasQueExcedenLaConcurrenciaDeSuClase() throws Exception {
+		MockHttpServletRequest primera = solicitud("POST", "/api/grados");
+		MockHttpServletRequest segunda = solicitud("POST", "/api/alumnos");
+		MockHttpServletResponse respuesta = new MockHttpServletResponse();
+
+		assertTrue(controlAdmision.preHandle(primera, respuesta, mapeo.getHandler(primera).getHandler()));
+		Object manejador = mapeo.getHandler(segunda).getHandler();
+		AdmisionExcepcion rechazo = assertThrows(AdmisionExcepcion.class,
+				() -> controlAdmision.preHandle(segunda, respuesta, manejador));
+		assertEquals(1, rechazo.getSegundosReintento());
+
+		controlAdmision.afterCompletion(primera, respuesta, null, null);
+		assertTrue(controlAdmision.preHandle(segunda, respuesta, manejador));
+		controlAdmision.afterCompletion(segunda, respuesta, null, null);
+	}
+
+	@Test
+	void laCubetaSeRecargaALaTasaConfiguradaHastaSuCapacidad() {
+		long segundo = 1_000_000_000L;
+		CubetaFichas cubeta = new CubetaFichas(2, 4, 0);
+		assertEquals(0, cubeta.consumir(0));
+		assertEquals(0, cubeta.consumir(0));
+		assertEquals(segundo / 4, cubeta.consumir(0));
+		assertEquals(0, cubeta.consumir(segundo / 4));
+		assertTrue(cubeta.llena(10 * segundo));
+		assertEquals(0, cubeta.consumir(10 * segundo));
+		assertEquals(0, cubeta.consumir(10 * segundo));
+		assertTrue(cubeta.consumir(10 * segundo) > 0);
+	}
+
+	private static RequestPostProcessor cliente(String direccion) {
+		return solicitud -> {
+			solicitud.setRemoteAddr(direccion);
+			return solicitud;
+		};
+	}
+
+	private static MockHttpServletRequest solicitud(String metodo, String ruta) {
+		MockHttpServletRequest solicitud = new MockHttpServletRequest(metodo, ruta);
+		solicitud.setRemoteAddr("10.0.0.3");
+		return solicitud;
+	}
+}
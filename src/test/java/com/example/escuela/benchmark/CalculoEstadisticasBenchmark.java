@@ -0,0 +1,78 @@
+package com.example.escuela.benchmark;
+
+import com.example.escuela.estadisticas.CalculoEstadisticas;
+import com.example.escuela.estructuras.TablaCalificaciones;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cómo escala el reporte de estadísticas por grado y asignatura con el
+ * número de hilos del ForkJoinPool, sobre un millón de calificaciones de 12
+ * grados con 10 asignaturas cada uno. El número de procesadores disponibles se
+ * imprime al terminar cada fork; con menos procesadores que hilos no se puede
+ * esperar mejora.
+ *
+ * Ejecución: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.filtro=CalculoEstadisticas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculoEstadisticasBenchmark {
+
+	private static final int GRADOS = 12;
+	private static final int ASIGNATURAS_POR_GRADO = 10;
+
+	@Param({ "1", "2", "4", "8" })
+	public int paralelismo;
+
+	@Param({ "100000" })
+	public int alumnos;
+
+	private TablaCalificaciones tabla;
+	private ForkJoinPool pool;
+	private CalculoEstadisticas calculo;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		Random aleatorio = new Random(3);
+		tabla = new TablaCalificaciones(alumnos * ASIGNATURAS_POR_GRADO);
+		for (int a = 1; a <= alumnos; a++) {
+			int grado = a % GRADOS + 1;
+			for (int s = 1; s <= ASIGNATURAS_POR_GRADO; s++) {
+				tabla.poner(a, grado, (grado - 1) * ASIGNATURAS_POR_GRADO + s, (short) aleatorio.nextInt(10001));
+			}
+		}
+		pool = new ForkJoinPool(paralelismo);
+		calculo = new CalculoEstadisticas(pool, 16384);
+	}
+
+	@TearDown(Level.Trial)
+	public void cerrar() {
+		pool.shutdown();
+		System.out.printf("%nparalelismo %d con %d procesadores disponibles%n", paralelismo,
+				Runtime.getRuntime().availableProcessors());
+	}
+
+	@Benchmark
+	public CalculoEstadisticas.Celda[] reporte() {
+		return calculo.calcular(tabla, (short) 6000);
+	}
+}
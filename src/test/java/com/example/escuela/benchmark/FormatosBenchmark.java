@@ -0,0 +1,119 @@
+package com.example.escuela.benchmark;
+
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.Grado;
+import com.example.escuela.model.Puntaje;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara JSON, CBOR y Smile al codificar y decodificar la respuesta de
+ * GET /api/calificaciones: calificaciones con su alumno, asignatura y grados.
+ * Los mappers se construyen con Jackson2ObjectMapperBuilder, igual que los
+ * convertidores de Spring MVC. El tamaño de cada formato se imprime al terminar
+ * cada fork.
+ *
+ * Ejecución: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.filtro=Formatos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatosBenchmark {
+
+	@Param({ "json", "cbor", "smile" })
+	public String formato;
+
+	@Param({ "1000" })
+	public int calificaciones;
+
+	private ObjectMapper mapper;
+	private JavaType tipo;
+	private List<Calificacion> lista;
+	private byte[] codificada;
+
+	@Setup(Level.Trial)
+	public void preparar() throws Exception {
+		mapper = switch (formato) {
+			case "json" -> Jackson2ObjectMapperBuilder.json().build();
+			case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+			case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+			default -> throw new IllegalArgumentException("Formato desconocido: " + formato);
+		};
+		tipo = mapper.getTypeFactory().constructCollectionType(List.class, Calificacion.class);
+		lista = calificaciones(calificaciones);
+		codificada = mapper.writeValueAsBytes(lista);
+	}
+
+	@TearDown(Level.Trial)
+	public void reportarTamanio() {
+		System.out.printf("%n%s: %d calificaciones en %d bytes%n", formato, calificaciones, codificada.length);
+	}
+
+	@Benchmark
+	public byte[] codificar() throws Exception {
+		return mapper.writeValueAsBytes(lista);
+	}
+
+	@Benchmark
+	public List<Calificacion> decodificar() throws Exception {
+		return mapper.readValue(codificada, tipo);
+	}
+
+	/**
+	 * Genera calificaciones de 40 alumnos en 10 asignaturas repartidas en 4 grados.
+	 */
+	static List<Calificacion> calificaciones(int total) {
+		List<Grado> grados = new ArrayList<>();
+		for (int i = 1; i <= 4; i++) {
+			Grado grado = new Grado();
+			grado.setId(i);
+			grado.setNombre_grado(i + "A");
+			grados.add(grado);
+		}
+		List<Calificacion> lista = new ArrayList<>(total);
+		for (int i = 0; i < total; i++) {
+			Alumno alumno = new Alumno();
+			alumno.setId(i % 40 + 1);
+			alumno.setMatricula(String.format("A%05d", alumno.getId()));
+			alumno.setNombre("Alumno " + alumno.getId());
+			alumno.setCorreoElectronico("alumno" + alumno.getId() + "@escuela.mx");
+			alumno.setGrado(grados.get(alumno.getId() % 4));
+
+			Asignatura asignatura = new Asignatura();
+			asignatura.setId(i % 10 + 1);
+			asignatura.setNombre("Asignatura " + asignatura.getId());
+			asignatura.setGrado(alumno.getGrado());
+
+			Calificacion calificacion = new Calificacion();
+			calificacion.setId(i + 1);
+			calificacion.setAlumno(alumno);
+			calificacion.setAsignatura(asignatura);
+			calificacion.setCalificacion(Puntaje.deCentesimas((50 + (i * 7) % 51) * Puntaje.ESCALA));
+			lista.add(calificacion);
+		}
+		return lista;
+	}
+}
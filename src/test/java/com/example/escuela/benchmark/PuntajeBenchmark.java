@@ -0,0 +1,102 @@
+package com.example.escuela.benchmark;
+
+import com.example.escuela.model.Puntaje;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara leer y promediar calificaciones como Float, que era el tipo de las
+ * entidades y DTOs, contra {@link Puntaje}. Los valores de entrada son los
+ * BigDecimal que entrega el driver para la columna DECIMAL(5,2).
+ * Con -prof gc se ven los bytes por operación: cada Float es un objeto nuevo y
+ * los Puntaje válidos son instancias compartidas. Al terminar se imprime
+ * cuántos valores no tienen representación exacta en float y la diferencia
+ * entre el promedio en float y el exacto.
+ *
+ * Ejecución: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.filtro=Puntaje -Djmh.opciones="-prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PuntajeBenchmark {
+
+	@Param({ "10000" })
+	public int calificaciones;
+
+	private BigDecimal[] columna;
+	private Float[] flotantes;
+	private Puntaje[] puntajes;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		Random aleatorio = new Random(5);
+		columna = new BigDecimal[calificaciones];
+		for (int i = 0; i < calificaciones; i++) {
+			columna[i] = BigDecimal.valueOf(aleatorio.nextInt(10001), 2);
+		}
+		flotantes = new Float[calificaciones];
+		puntajes = new Puntaje[calificaciones];
+	}
+
+	@TearDown(Level.Trial)
+	public void reportarPrecision() {
+		int inexactos = 0;
+		for (int c = 0; c <= 100 * Puntaje.ESCALA; c++) {
+			if (new BigDecimal((float) c / Puntaje.ESCALA).compareTo(BigDecimal.valueOf(c, 2)) != 0) {
+				inexactos++;
+			}
+		}
+		float sumaFloat = 0;
+		long sumaCentesimas = 0;
+		for (BigDecimal valor : columna) {
+			sumaFloat += valor.floatValue();
+			sumaCentesimas += Puntaje.de(valor).centesimas();
+		}
+		System.out.printf("%n%d de %d calificaciones válidas no son exactas en float%n", inexactos,
+				100 * Puntaje.ESCALA + 1);
+		System.out.printf("promedio float %.6f, exacto %.6f%n", sumaFloat / calificaciones,
+				(double) sumaCentesimas / Puntaje.ESCALA / calificaciones);
+	}
+
+	@Benchmark
+	public double leerFloat() {
+		double suma = 0;
+		for (int i = 0; i < columna.length; i++) {
+			flotantes[i] = columna[i].floatValue();
+		}
+		for (Float valor : flotantes) {
+			suma += valor;
+		}
+		return suma / flotantes.length;
+	}
+
+	@Benchmark
+	public double leerPuntaje() {
+		long suma = 0;
+		for (int i = 0; i < columna.length; i++) {
+			puntajes[i] = Puntaje.de(columna[i]);
+		}
+		for (Puntaje valor : puntajes) {
+			suma += valor.centesimas();
+		}
+		return (double) suma / Puntaje.ESCALA / puntajes.length;
+	}
+}
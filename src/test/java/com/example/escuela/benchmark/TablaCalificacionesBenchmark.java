@@ -0,0 +1,186 @@
+package com.example.escuela.benchmark;
+
+import com.example.escuela.estructuras.TablaCalificaciones;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara las consultas de agregación de la tabla analítica en memoria con las
+ * consultas SQL equivalentes sobre H2 en memoria (modo MySQL, como el perfil
+ * h2), con las columnas, la restricción única y los índices que usan esas
+ * consultas en el esquema de las migraciones:
+ * <ul>
+ *   <li>porGrado: número, suma, mínima, máxima y reprobadas de cada grado.</li>
+ *   <li>reprobadasPorAsignatura: lo mismo por asignatura, sólo para un grado y
+ *   calificaciones menores a 60.</li>
+ * </ul>
+ * Ambos lados devuelven los mismos agregados; en SQL sólo se leen las filas del
+ * resultado, sin crear entidades. Se desactiva OPTIMIZE_REUSE_RESULTS porque,
+ * sin escrituras entre consultas, H2 devolvería el resultado anterior sin
+ * volver a ejecutarlas.
+ *
+ * Ejecución: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.filtro=TablaCalificaciones
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TablaCalificacionesBenchmark {
+
+	private static final int GRADOS = 10;
+	private static final int ASIGNATURAS_POR_GRADO = 10;
+	private static final short APROBATORIA = 6000;
+
+	private static final String SQL_POR_GRADO = "select a.id_grado, count(*), sum(c.calificacion), "
+			+ "min(c.calificacion), max(c.calificacion), "
+			+ "sum(case when c.calificacion < 60 then 1 else 0 end) "
+			+ "from calificaciones c join alumnos a on a.id_alumno = c.id_alumno "
+			+ "group by a.id_grado order by a.id_grado";
+
+	private static final String SQL_REPROBADAS_POR_ASIGNATURA = "select c.id_asignatura, count(*), "
+			+ "sum(c.calificacion), min(c.calificacion), max(c.calificacion), count(*) "
+			+ "from calificaciones c join alumnos a on a.id_alumno = c.id_alumno "
+			+ "where a.id_grado = ? and c.calificacion between 0 and 59.99 "
+			+ "group by c.id_asignatura order by c.id_asignatura";
+
+	@Param({ "memoria", "sql" })
+	public String motor;
+
+	@Param({ "20000" })
+	public int alumnos;
+
+	private TablaCalificaciones tabla;
+	private Connection conexion;
+	private PreparedStatement porGrado;
+	private PreparedStatement reprobadasPorAsignatura;
+
+	@Setup(Level.Trial)
+	public void preparar() throws Exception {
+		if (motor.equals("memoria")) {
+			tabla = new TablaCalificaciones(alumnos * ASIGNATURAS_POR_GRADO);
+			for (int a = 1; a <= alumnos; a++) {
+				int grado = grado(a);
+				for (int s = 0; s < ASIGNATURAS_POR_GRADO; s++) {
+					tabla.poner(a, grado, asignatura(grado, s), (short) (calificacion(a, s) * 100));
+				}
+			}
+			return;
+		}
+		conexion = DriverManager.getConnection(
+				"jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;OPTIMIZE_REUSE_RESULTS=FALSE");
+		try (Statement ddl = conexion.createStatement()) {
+			ddl.execute("create table alumnos (id_alumno int primary key, id_grado int not null)");
+			ddl.execute("create table calificaciones (id_calificacion int auto_increment primary key, "
+					+ "id_alumno int not null, id_asignatura int not null, calificacion decimal(5,2) not null, "
+					+ "unique (id_alumno, id_asignatura))");
+			ddl.execute("create index idx_alumnos_grado on alumnos (id_grado)");
+			ddl.execute("create index idx_calificaciones_asignatura on calificaciones (id_asignatura)");
+		}
+		try (PreparedStatement alumno = conexion.prepareStatement("insert into alumnos values (?, ?)");
+				PreparedStatement calificacion = conexion.prepareStatement(
+						"insert into calificaciones (id_alumno, id_asignatura, calificacion) values (?, ?, ?)")) {
+			for (int a = 1; a <= alumnos; a++) {
+				int grado = grado(a);
+				alumno.setInt(1, a);
+				alumno.setInt(2, grado);
+				alumno.addBatch();
+				for (int s = 0; s < ASIGNATURAS_POR_GRADO; s++) {
+					calificacion.setInt(1, a);
+					calificacion.setInt(2, asignatura(grado, s));
+					calificacion.setInt(3, calificacion(a, s));
+					calificacion.addBatch();
+				}
+				if (a % 1000 == 0) {
+					alumno.executeBatch();
+					calificacion.executeBatch();
+				}
+			}
+			alumno.executeBatch();
+			calificacion.executeBatch();
+		}
+		try (Statement analizar = conexion.createStatement()) {
+			analizar.execute("analyze");
+		}
+		porGrado = conexion.prepareStatement(SQL_POR_GRADO);
+		reprobadasPorAsignatura = conexion.prepareStatement(SQL_REPROBADAS_POR_ASIGNATURA);
+	}
+
+	@TearDown(Level.Trial)
+	public void cerrar() throws SQLException {
+		if (conexion != null) {
+			conexion.close();
+		}
+	}
+
+	@Benchmark
+	public long porGrado() throws SQLException {
+		if (tabla != null) {
+			return resumir(tabla.agregar(TablaCalificaciones.Filtro.TODAS, TablaCalificaciones.Dimension.GRADO,
+					APROBATORIA));
+		}
+		return resumir(porGrado);
+	}
+
+	@Benchmark
+	public long reprobadasPorAsignatura() throws SQLException {
+		if (tabla != null) {
+			TablaCalificaciones.Filtro filtro = new TablaCalificaciones.Filtro(0, 0, 3, (short) 0, (short) 5999);
+			return resumir(tabla.agregar(filtro, TablaCalificaciones.Dimension.ASIGNATURA, APROBATORIA));
+		}
+		reprobadasPorAsignatura.setInt(1, 3);
+		return resumir(reprobadasPorAsignatura);
+	}
+
+	private static long resumir(TablaCalificaciones.Agregado agregado) {
+		long total = 0;
+		for (int g = 0; g < agregado.grupos(); g++) {
+			total += agregado.id(g) + agregado.calificaciones(g) + agregado.suma(g) + agregado.minima(g)
+					+ agregado.maxima(g) + agregado.reprobadas(g);
+		}
+		return total;
+	}
+
+	private static long resumir(PreparedStatement consulta) throws SQLException {
+		long total = 0;
+		try (ResultSet filas = consulta.executeQuery()) {
+			while (filas.next()) {
+				total += filas.getInt(1) + filas.getLong(2) + filas.getBigDecimal(3).longValue()
+						+ filas.getBigDecimal(4).longValue() + filas.getBigDecimal(5).longValue() + filas.getLong(6);
+			}
+		}
+		return total;
+	}
+
+	private static int grado(int alumno) {
+		return alumno % GRADOS + 1;
+	}
+
+	private static int asignatura(int grado, int indice) {
+		return (grado - 1) * ASIGNATURAS_POR_GRADO + indice + 1;
+	}
+
+	private static int calificacion(int alumno, int asignatura) {
+		return 40 + (alumno * 7 + asignatura * 13) % 61;
+	}
+}
@@ -0,0 +1,37 @@
+package com.example.escuela.config;
+
+import com.example.dto.FilaKardexDTO;
+import com.example.dto.KardexDTO;
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.GlobalExceptionHandler;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.model.PuntajeConverter;
+import com.example.escuela.model.TipoEventoCalificacion;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EscuelaRuntimeHintsTest {
+
+	@Test
+	void registraLosDtosYLasEntidadesConSusAccesores() throws Exception {
+		RuntimeHints hints = new RuntimeHints();
+		new EscuelaRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+		assertTrue(RuntimeHintsPredicates.reflection().onMethod(KardexDTO.class.getMethod("getPromedio")).test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onMethod(Alumno.class.getMethod("setNombre", String.class))
+				.test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onConstructor(FilaKardexDTO.class.getConstructors()[0])
+				.test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onType(TipoEventoCalificacion.class).test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onMethod(Puntaje.class.getMethod("valueOf", String.class))
+				.test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onType(PuntajeConverter.class).test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onType(Puntaje.Deserializador.class).test(hints));
+		assertFalse(RuntimeHintsPredicates.reflection().onType(GlobalExceptionHandler.class).test(hints));
+		assertTrue(RuntimeHintsPredicates.resource().forResource("application-h2.properties").test(hints));
+	}
+}
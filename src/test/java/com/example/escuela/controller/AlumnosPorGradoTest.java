@@ -0,0 +1,109 @@
+package com.example.escuela.controller;
+
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Grado;
+import com.example.escuela.repository.AlumnoRepository;
+import com.example.escuela.repository.GradoRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:alumnosporgrado;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"escuela.alumnos.tamanio-maximo-pagina=3" })
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class AlumnosPorGradoTest {
+
+	private static final String LISTA = "/api/alumnos/grado/{idGrado}";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private GradoRepository gradoRepository;
+
+	@Autowired
+	private AlumnoRepository alumnoRepository;
+
+	@Test
+	void paginaLosAlumnosDelGradoPorNombreYPorMatricula() throws Exception {
+		Grado grado = grado("1A");
+		Grado otro = grado("1B");
+		alumno(grado, "M5", "Ana");
+		alumno(grado, "M3", "Beto");
+		alumno(grado, "M1", "Carla");
+		alumno(grado, "M4", "Dora");
+		alumno(grado, "M2", "Eva");
+		alumno(otro, "M6", "Abel");
+
+		Map<String, Object> primera = pagina(grado, 0, 2, "nombre");
+		assertThat(nombres(primera)).containsExactly("Ana", "Beto");
+		assertThat(primera).containsEntry("totalElementos", 5).containsEntry("totalPaginas", 3);
+		assertThat(nombres(pagina(grado, 1, 2, "nombre"))).containsExactly("Carla", "Dora");
+		assertThat(nombres(pagina(grado, 2, 2, "nombre"))).containsExactly("Eva");
+		assertThat(nombres(pagina(grado, 3, 2, "nombre"))).isEmpty();
+
+		assertThat(nombres(pagina(grado, 0, 3, "matricula"))).containsExactly("Carla", "Eva", "Beto");
+		assertThat(nombres(pagina(grado, 1, 3, "matricula"))).containsExactly("Dora", "Ana");
+
+		rechazada(get(LISTA, grado.getId()).param("tamanio", "4"));
+		rechazada(get(LISTA, grado.getId()).param("tamanio", "0"));
+		rechazada(get(LISTA, grado.getId()).param("pagina", "-1"));
+		rechazada(get(LISTA, grado.getId()).param("orden", "correo"));
+		rechazada(get(LISTA, 0));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String> nombres(Map<String, Object> pagina) {
+		return ((List<Map<String, Object>>) pagina.get("contenido")).stream()
+				.map(alumno -> (String) alumno.get("nombre"))
+				.toList();
+	}
+
+	private Map<String, Object> pagina(Grado grado, int pagina, int tamanio, String orden) throws Exception {
+		String json = mockMvc.perform(get(LISTA, grado.getId()).param("pagina", String.valueOf(pagina))
+				.param("tamanio", String.valueOf(tamanio)).param("orden", orden)
+				.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+		return objectMapper.readValue(json, new TypeReference<>() {
+		});
+	}
+
+	private void rechazada(MockHttpServletRequestBuilder solicitud) throws Exception {
+		mockMvc.perform(solicitud.accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+	}
+
+	private Grado grado(String nombre) {
+		Grado grado = new Grado();
+		grado.setNombre_grado(nombre);
+		return gradoRepository.save(grado);
+	}
+
+	private void alumno(Grado grado, String matricula, String nombre) {
+		Alumno alumno = new Alumno();
+		alumno.setMatricula(matricula);
+		alumno.setNombre(nombre);
+		alumno.setGrado(grado);
+		alumnoRepository.save(alumno);
+	}
+}
@@ -0,0 +1,198 @@
+package com.example.escuela.controller;
+
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.Grado;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.repository.AlumnoRepository;
+import com.example.escuela.repository.AsignaturaRepository;
+import com.example.escuela.repository.CalificacionRepository;
+import com.example.escuela.repository.GradoRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:calificaciones;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class CalificacionControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private GradoRepository gradoRepository;
+
+	@Autowired
+	private AlumnoRepository alumnoRepository;
+
+	@Autowired
+	private AsignaturaRepository asignaturaRepository;
+
+	@Autowired
+	private CalificacionRepository calificacionRepository;
+
+	private static Grado grado;
+
+	@BeforeEach
+	void sembrar() {
+		if (grado == null) {
+			grado = new Grado();
+			grado.setNombre_grado("C1");
+			gradoRepository.save(grado);
+		}
+	}
+
+	@Test
+	void conservaLasCentesimasDeLaCalificacion() throws Exception {
+		Alumno carla = alumno(grado, "C3", "Carla");
+		Asignatura quimica = asignatura(grado, "Química");
+		String cuerpo = "{\"id_alumno\":" + carla.getId() + ",\"id_asignatura\":" + quimica.getId()
+				+ ",\"calificacion\":%s}";
+
+		for (String invalida : new String[] { "89.955", "-1", "100.01", "null" }) {
+			mockMvc.perform(post("/api/calificaciones").contentType(MediaType.APPLICATION_JSON)
+					.content(cuerpo.formatted(invalida)))
+					.andExpect(status().isBadRequest());
+		}
+		assertThat(calificacionRepository.existsByAlumnoIdAndAsignaturaId(carla.getId(), quimica.getId())).isFalse();
+		String json = mockMvc.perform(post("/api/calificaciones").contentType(MediaType.APPLICATION_JSON)
+				.content(cuerpo.formatted("89.95")))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		assertThat(json).contains("\"calificacion\":89.95");
+		assertThat(calificacionRepository.findByAlumnoIdAndAsignaturaId(carla.getId(), quimica.getId()))
+				.hasValueSatisfying(c -> assertThat(c.getCalificacion()).isEqualTo(Puntaje.valueOf("89.95")));
+	}
+
+	@Test
+	void calificaAUnGrupoConResultadoPorAlumno() throws Exception {
+		Grado otroGrado = new Grado();
+		otroGrado.setNombre_grado("C2");
+		gradoRepository.save(otroGrado);
+		Asignatura geografia = asignatura(grado, "Geografía");
+		Alumno actualizado = alumno(grado, "C4", "Dora");
+		Alumno nuevo = alumno(grado, "C5", "Elsa");
+		Alumno igual = alumno(grado, "C6", "Fer");
+		Alumno fueraDeRango = alumno(grado, "C7", "Gil");
+		Alumno deOtroGrado = alumno(otroGrado, "C8", "Hugo");
+		calificacion(actualizado, geografia, "60");
+		calificacion(igual, geografia, "75");
+
+		String cuerpo = "{\"%d\":88.5,\"%d\":91,\"%d\":75,\"%d\":101,\"%d\":80,\"0\":70}".formatted(
+				actualizado.getId(), nuevo.getId(), igual.getId(), fueraDeRango.getId(), deOtroGrado.getId());
+		List<Map<String, Object>> resultados = calificarGrupo(geografia, cuerpo);
+
+		assertThat(resultados).extracting(r -> r.get("resultado"))
+				.containsExactly("ACTUALIZADA", "CREADA", "SIN_CAMBIO", "RECHAZADA", "RECHAZADA", "RECHAZADA");
+		assertThat(resultados.get(0)).containsEntry("anterior", 60.0).containsEntry("calificacion", 88.5);
+		assertThat(resultados.get(4).get("mensaje")).isEqualTo("El alumno no pertenece al grado de la asignatura.");
+		assertThat(calificacionRepository.findByAlumnoIdAndAsignaturaId(actualizado.getId(), geografia.getId()))
+				.hasValueSatisfying(c -> assertThat(c.getCalificacion()).isEqualTo(Puntaje.valueOf("88.5")));
+		assertThat(calificacionRepository.findByAlumnoIdAndAsignaturaId(nuevo.getId(), geografia.getId()))
+				.hasValueSatisfying(c -> assertThat(c.getId()).isEqualTo(resultados.get(1).get("id_calificacion")));
+		assertThat(calificacionRepository.existsByAlumnoIdAndAsignaturaId(fueraDeRango.getId(), geografia.getId()))
+				.isFalse();
+		assertThat(calificacionRepository.existsByAlumnoIdAndAsignaturaId(deOtroGrado.getId(), geografia.getId()))
+				.isFalse();
+	}
+
+	@Test
+	void elGrupoEsperaAUnCambioConcurrenteYReportaSuValorComoAnterior() throws Exception {
+		Asignatura civismo = asignatura(grado, "Civismo");
+		Alumno ivan = alumno(grado, "C9", "Iván");
+		calificacion(ivan, civismo, "60");
+		String cuerpo = "{\"%d\":90}".formatted(ivan.getId());
+		AtomicReference<List<Map<String, Object>>> resultados = new AtomicReference<>();
+		Thread grupo = new Thread(() -> {
+			try {
+				resultados.set(calificarGrupo(civismo, cuerpo));
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+			calificacionRepository.bloquearDeAlumnos(civismo.getId(), List.of(ivan.getId()));
+			jdbcTemplate.update("UPDATE calificaciones SET calificacion = 65 WHERE id_alumno = ? AND id_asignatura = ?",
+					ivan.getId(), civismo.getId());
+			grupo.start();
+			try {
+				grupo.join(300);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			assertThat(grupo.isAlive()).as("la calificación del grupo espera el bloqueo de la fila").isTrue();
+		});
+		grupo.join(5000);
+
+		assertThat(resultados.get()).singleElement().satisfies(r -> assertThat(r)
+				.containsEntry("resultado", "ACTUALIZADA")
+				.containsEntry("anterior", 65.0)
+				.containsEntry("calificacion", 90.0));
+	}
+
+	private List<Map<String, Object>> calificarGrupo(Asignatura asignatura, String cuerpo) throws Exception {
+		String json = mockMvc.perform(put("/api/calificaciones/asignatura/{id}", asignatura.getId())
+				.contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+		return objectMapper.readValue(json, new TypeReference<>() {
+		});
+	}
+
+	private Alumno alumno(Grado grado, String matricula, String nombre) {
+		Alumno alumno = new Alumno();
+		alumno.setMatricula(matricula);
+		alumno.setNombre(nombre);
+		alumno.setCorreoElectronico(matricula + "@escuela.mx");
+		alumno.setGrado(grado);
+		return alumnoRepository.save(alumno);
+	}
+
+	private Asignatura asignatura(Grado grado, String nombre) {
+		Asignatura asignatura = new Asignatura();
+		asignatura.setNombre(nombre);
+		asignatura.setGrado(grado);
+		return asignaturaRepository.save(asignatura);
+	}
+
+	private void calificacion(Alumno alumno, Asignatura asignatura, String valor) {
+		Calificacion calificacion = new Calificacion();
+		calificacion.setAlumno(alumno);
+		calificacion.setAsignatura(asignatura);
+		calificacion.setCalificacion(Puntaje.valueOf(valor));
+		calificacionRepository.save(calificacion);
+	}
+}
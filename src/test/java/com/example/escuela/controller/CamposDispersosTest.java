@@ -0,0 +1,144 @@
+package com.example.escuela.controller;
+
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.Grado;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.repository.AlumnoRepository;
+import com.example.escuela.repository.AsignaturaRepository;
+import com.example.escuela.repository.CalificacionRepository;
+import com.example.escuela.repository.GradoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:campos;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class CamposDispersosTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private GradoRepository gradoRepository;
+
+	@Autowired
+	private AlumnoRepository alumnoRepository;
+
+	@Autowired
+	private AsignaturaRepository asignaturaRepository;
+
+	@Autowired
+	private CalificacionRepository calificacionRepository;
+
+	@TestConfiguration
+	static class Configuracion {
+		@Bean
+		static BeanPostProcessor contadorSentencias() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String nombre) {
+					return bean instanceof DataSource dataSource ? ContadorSentencias.envolver(dataSource) : bean;
+				}
+			};
+		}
+	}
+
+	@BeforeEach
+	void sembrar() {
+		if (calificacionRepository.count() > 0) {
+			return;
+		}
+		Grado grado = new Grado();
+		grado.setNombre_grado("1A");
+		gradoRepository.save(grado);
+		Alumno alumno = new Alumno();
+		alumno.setMatricula("C1");
+		alumno.setNombre("Ana");
+		alumno.setCorreoElectronico("ana@escuela.mx");
+		alumno.setGrado(grado);
+		alumnoRepository.save(alumno);
+		Asignatura asignatura = new Asignatura();
+		asignatura.setNombre("Mate");
+		asignatura.setGrado(grado);
+		asignaturaRepository.save(asignatura);
+		Calificacion calificacion = new Calificacion();
+		calificacion.setAlumno(alumno);
+		calificacion.setAsignatura(asignatura);
+		calificacion.setCalificacion(Puntaje.valueOf("95"));
+		calificacionRepository.save(calificacion);
+	}
+
+	@Test
+	void elIdDeUnaAsociacionSeLeeDeLaLlaveForaneaSinUnirTablas() throws Exception {
+		String sql = unicaSentencia(get("/api/calificaciones").param("fields", "id,calificacion,asignatura.id"),
+				jsonPath("$[0].calificacion").value(95.0),
+				jsonPath("$[0].asignatura.id").isNumber(),
+				jsonPath("$[0].asignatura.nombre").doesNotExist(),
+				jsonPath("$[0].alumno").doesNotExist());
+		assertFalse(sql.contains(" join "), sql);
+	}
+
+	@Test
+	void unirSoloLasAsociacionesDeLasQueSePidenCampos() throws Exception {
+		String sql = unicaSentencia(get("/api/calificaciones").param("fields", "calificacion,alumno.nombre"),
+				jsonPath("$[0].*", hasSize(2)),
+				jsonPath("$[0].alumno.*", hasSize(1)),
+				jsonPath("$[0].alumno.nombre").value("Ana"));
+		assertEquals(1, sql.split(" join ", -1).length - 1, sql);
+		assertFalse(sql.contains("correo_electronico"), sql);
+	}
+
+	@Test
+	void unaAsociacionSolaIncluyeTodosSusCampos() throws Exception {
+		mockMvc.perform(get("/api/alumnos").param("fields", "nombre,grado"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].nombre").value("Ana"))
+				.andExpect(jsonPath("$[0].grado.nombre_grado").value("1A"))
+				.andExpect(jsonPath("$[0].grado.id").isNumber())
+				.andExpect(jsonPath("$[0].matricula").doesNotExist());
+	}
+
+	@Test
+	void rechazaCamposDesconocidos() throws Exception {
+		mockMvc.perform(get("/api/asignaturas").param("fields", "id,profesor"))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().json("{\"mensaje\":\"Campo desconocido: profesor\"}"));
+		mockMvc.perform(get("/api/asignaturas").param("fields", "nombre.id"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private String unicaSentencia(RequestBuilder solicitud, ResultMatcher... esperados) throws Exception {
+		ContadorSentencias.iniciar();
+		List<ContadorSentencias.Sentencia> sentencias;
+		try {
+			mockMvc.perform(solicitud).andExpect(status().isOk()).andExpectAll(esperados);
+		} finally {
+			sentencias = ContadorSentencias.detener();
+		}
+		assertEquals(1, sentencias.size(), () -> "Sentencias: " + sentencias);
+		return sentencias.get(0).sql().toLowerCase();
+	}
+}
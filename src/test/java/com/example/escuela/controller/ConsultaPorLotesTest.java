@@ -0,0 +1,72 @@
+package com.example.escuela.controller;
+
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Grado;
+import com.example.escuela.repository.AlumnoRepository;
+import com.example.escuela.repository.GradoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:lotes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"escuela.lotes.tamanio-maximo=3" })
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ConsultaPorLotesTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private GradoRepository gradoRepository;
+
+	@Autowired
+	private AlumnoRepository alumnoRepository;
+
+	@Test
+	void devuelveLosEncontradosPorIdEnOrdenYLosFaltantes() throws Exception {
+		Grado grado = new Grado();
+		grado.setNombre_grado("1A");
+		gradoRepository.save(grado);
+		Integer ana = alumno(grado, "L1", "Ana");
+		Integer beto = alumno(grado, "L2", "Beto");
+
+		mockMvc.perform(get("/api/alumnos").param("ids", beto + ",0," + ana + "," + beto))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.encontrados.*.nombre", contains("Beto", "Ana")))
+				.andExpect(jsonPath("$.encontrados['" + ana + "'].grado.nombre_grado").value("1A"))
+				.andExpect(jsonPath("$.faltantes", contains(0)));
+	}
+
+	@Test
+	void rechazaLotesMayoresAlMaximo() throws Exception {
+		mockMvc.perform(get("/api/asignaturas").param("ids", "1,2,3,4"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.mensaje").value("Se pueden consultar como máximo 3 ids por lote"));
+	}
+
+	@Test
+	void rechazaFieldsJuntoConIds() throws Exception {
+		mockMvc.perform(get("/api/calificaciones").param("ids", "1").param("fields", "id"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.mensaje").value("El parámetro fields no puede combinarse con ids"));
+	}
+
+	private Integer alumno(Grado grado, String matricula, String nombre) {
+		Alumno alumno = new Alumno();
+		alumno.setMatricula(matricula);
+		alumno.setNombre(nombre);
+		alumno.setCorreoElectronico(matricula + "@escuela.mx");
+		alumno.setGrado(grado);
+		return alumnoRepository.save(alumno).getId();
+	}
+}
@@ -0,0 +1,147 @@
+package com.example.escuela.controller;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cuenta las sentencias SQL ejecutadas y las filas leídas en el hilo actual.
+ * Envuelve el DataSource con proxies de JDBC, por lo que cubre tanto a
+ * Hibernate como a JdbcTemplate, y sólo registra lo ejecutado entre
+ * {@link #iniciar()} y {@link #detener()} en el mismo hilo; las tareas
+ * programadas que corren en otros hilos no se cuentan.
+ */
+final class ContadorSentencias {
+
+	/**
+	 * Sentencia ejecutada con el número de filas leídas de sus resultados.
+	 */
+	static final class Sentencia {
+		private final String sql;
+		private int filas;
+
+		Sentencia(String sql) {
+			this.sql = sql;
+		}
+
+		String sql() {
+			return sql;
+		}
+
+		int filas() {
+			return filas;
+		}
+
+		@Override
+		public String toString() {
+			return "[" + filas + " fila(s)] " + sql;
+		}
+	}
+
+	private static final ThreadLocal<List<Sentencia>> ACTIVO = new ThreadLocal<>();
+
+	private ContadorSentencias() {
+	}
+
+	static void iniciar() {
+		ACTIVO.set(new ArrayList<>());
+	}
+
+	static List<Sentencia> detener() {
+		List<Sentencia> sentencias = ACTIVO.get();
+		ACTIVO.remove();
+		return sentencias;
+	}
+
+	static DataSource envolver(DataSource dataSource) {
+		return proxy(DataSource.class, dataSource, (metodo, args, resultado) -> {
+			if (resultado instanceof Connection conexion) {
+				return conexion(conexion);
+			}
+			return resultado;
+		});
+	}
+
+	private static Connection conexion(Connection conexion) {
+		return proxy(Connection.class, conexion, (metodo, args, resultado) -> {
+			if (resultado instanceof CallableStatement sentencia) {
+				return sentencia(CallableStatement.class, sentencia, (String) args[0]);
+			}
+			if (resultado instanceof PreparedStatement sentencia) {
+				return sentencia(PreparedStatement.class, sentencia, (String) args[0]);
+			}
+			if (resultado instanceof Statement sentencia) {
+				return sentencia(Statement.class, sentencia, null);
+			}
+			return resultado;
+		});
+	}
+
+	private static <T extends Statement> T sentencia(Class<T> tipo, T sentencia, String sqlPreparado) {
+		Sentencia[] ultima = new Sentencia[1];
+		return proxy(tipo, sentencia, (metodo, args, resultado) -> {
+			String nombre = metodo.getName();
+			if (nombre.startsWith("execute")) {
+				String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : sqlPreparado;
+				ultima[0] = registrar(sql);
+			}
+			if (resultado instanceof ResultSet filas && (nombre.equals("executeQuery")
+					|| nombre.equals("getResultSet"))) {
+				return resultados(filas, ultima[0]);
+			}
+			return resultado;
+		});
+	}
+
+	private static ResultSet resultados(ResultSet resultados, Sentencia sentencia) {
+		if (sentencia == null) {
+			return resultados;
+		}
+		return proxy(ResultSet.class, resultados, (metodo, args, resultado) -> {
+			if (metodo.getName().equals("next") && Boolean.TRUE.equals(resultado)) {
+				sentencia.filas++;
+			}
+			return resultado;
+		});
+	}
+
+	private static Sentencia registrar(String sql) {
+		List<Sentencia> sentencias = ACTIVO.get();
+		if (sentencias == null) {
+			return null;
+		}
+		Sentencia sentencia = new Sentencia(sql);
+		sentencias.add(sentencia);
+		return sentencia;
+	}
+
+	@FunctionalInterface
+	private interface Envoltura {
+		Object envolver(Method metodo, Object[] args, Object resultado) throws Exception;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> tipo, T objetivo, Envoltura envoltura) {
+		InvocationHandler manejador = (instancia, metodo, args) -> {
+			if (metodo.getName().equals("unwrap") || metodo.getName().equals("isWrapperFor")) {
+				return metodo.invoke(objetivo, args);
+			}
+			try {
+				return envoltura.envolver(metodo, args, metodo.invoke(objetivo, args));
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		};
+		return (T) Proxy.newProxyInstance(ContadorSentencias.class.getClassLoader(), new Class<?>[] { tipo },
+				manejador);
+	}
+}
@@ -0,0 +1,163 @@
+package com.example.escuela.controller;
+
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.Grado;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.repository.AlumnoRepository;
+import com.example.escuela.repository.AsignaturaRepository;
+import com.example.escuela.repository.CalificacionRepository;
+import com.example.escuela.repository.GradoRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:flujo;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"escuela.reactivo.habilitado=true",
+		"escuela.reactivo.url=r2dbc:h2:mem:///flujo;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class FlujoCalificacionesTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private GradoRepository gradoRepository;
+
+	@Autowired
+	private AlumnoRepository alumnoRepository;
+
+	@Autowired
+	private AsignaturaRepository asignaturaRepository;
+
+	@Autowired
+	private CalificacionRepository calificacionRepository;
+
+	private static Alumno ana;
+	private static Asignatura historia;
+
+	@BeforeEach
+	void sembrar() {
+		if (ana != null) {
+			return;
+		}
+		Grado grado = new Grado();
+		grado.setNombre_grado("F1");
+		gradoRepository.save(grado);
+		ana = alumno(grado, "F1", "Ana");
+		Alumno beto = alumno(grado, "F2", "Beto");
+		historia = asignatura(grado, "Historia");
+		Asignatura fisica = asignatura(grado, "Física");
+		calificacion(ana, historia, "81.5");
+		calificacion(ana, fisica, "90");
+		calificacion(beto, historia, "67.25");
+	}
+
+	@Test
+	void losFlujosTienenLasMismasCalificacionesQueLosListados() throws Exception {
+		assertThat(flujo("/api/calificaciones/flujo")).isEqualTo(listado("/api/calificaciones"));
+		assertThat(flujo("/api/calificaciones/flujo/alumno/" + ana.getId()))
+				.hasSize(2)
+				.isEqualTo(listado("/api/calificaciones/alumno/" + ana.getId()));
+		assertThat(flujo("/api/calificaciones/flujo/asignatura/" + historia.getId()))
+				.hasSize(2)
+				.isEqualTo(listado("/api/calificaciones/asignatura/" + historia.getId()));
+	}
+
+	@Test
+	void rechazaAlumnosQueNoExisten() throws Exception {
+		MockHttpServletResponse respuesta = completar(get("/api/calificaciones/flujo/alumno/0"));
+		assertThat(respuesta.getStatus()).isEqualTo(400);
+		assertThat(lineas(respuesta.getContentAsString(StandardCharsets.UTF_8)))
+				.containsExactly(Map.of("mensaje", "Alumno no encontrado con id: 0"));
+	}
+
+	private List<Map<String, Object>> flujo(String url) throws Exception {
+		MockHttpServletResponse respuesta = completar(get(url).accept(MediaType.APPLICATION_NDJSON));
+		assertThat(respuesta.getStatus()).isEqualTo(200);
+		assertThat(respuesta.getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+		return lineas(respuesta.getContentAsString(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Ejecuta la solicitud y espera a que terminen sus etapas asíncronas: la
+	 * verificación de existencia y después el flujo de calificaciones.
+	 */
+	private MockHttpServletResponse completar(RequestBuilder solicitud) throws Exception {
+		MvcResult resultado = mockMvc.perform(solicitud).andExpect(request().asyncStarted()).andReturn();
+		while (resultado.getRequest().isAsyncStarted()) {
+			resultado.getAsyncResult();
+			resultado = mockMvc.perform(asyncDispatch(resultado)).andReturn();
+		}
+		return resultado.getResponse();
+	}
+
+	private List<Map<String, Object>> listado(String url) throws Exception {
+		String json = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn().getResponse()
+				.getContentAsString(StandardCharsets.UTF_8);
+		return objectMapper.readValue(json, new TypeReference<>() {
+		});
+	}
+
+	private List<Map<String, Object>> lineas(String ndjson) throws Exception {
+		List<Map<String, Object>> lineas = new ArrayList<>();
+		for (String linea : ndjson.split("\n")) {
+			if (!linea.isBlank()) {
+				lineas.add(objectMapper.readValue(linea, new TypeReference<>() {
+				}));
+			}
+		}
+		return lineas;
+	}
+
+	private Alumno alumno(Grado grado, String matricula, String nombre) {
+		Alumno alumno = new Alumno();
+		alumno.setMatricula(matricula);
+		alumno.setNombre(nombre);
+		alumno.setCorreoElectronico(matricula + "@escuela.mx");
+		alumno.setGrado(grado);
+		return alumnoRepository.save(alumno);
+	}
+
+	private Asignatura asignatura(Grado grado, String nombre) {
+		Asignatura asignatura = new Asignatura();
+		asignatura.setNombre(nombre);
+		asignatura.setGrado(grado);
+		return asignaturaRepository.save(asignatura);
+	}
+
+	private void calificacion(Alumno alumno, Asignatura asignatura, String valor) {
+		Calificacion calificacion = new Calificacion();
+		calificacion.setAlumno(alumno);
+		calificacion.setAsignatura(asignatura);
+		calificacion.setCalificacion(Puntaje.valueOf(valor));
+		calificacionRepository.save(calificacion);
+	}
+}
@@ -0,0 +1,176 @@
+package com.example.escuela.controller;
+
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Grado;
+import com.example.escuela.model.TipoEventoCalificacion;
+import com.example.escuela.repository.AlumnoRepository;
+import com.example.escuela.repository.AsignaturaRepository;
+import com.example.escuela.repository.EventoCalificacionRepository;
+import com.example.escuela.repository.GradoRepository;
+import com.example.escuela.service.HistorialCalificacionService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:historial;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"escuela.historial.intervalo-ms=600000" })
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class HistorialCalificacionesTest {
+
+	private static final String HISTORIAL = "/api/calificaciones/historial/alumno/{idAlumno}/asignatura/{idAsignatura}";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private GradoRepository gradoRepository;
+
+	@Autowired
+	private AlumnoRepository alumnoRepository;
+
+	@Autowired
+	private AsignaturaRepository asignaturaRepository;
+
+	@Autowired
+	private HistorialCalificacionService historialCalificacionService;
+
+	@Autowired
+	private EventoCalificacionRepository eventoCalificacionRepository;
+
+	@Test
+	void registraCadaCambioYLoPagina() throws Exception {
+		Grado grado = new Grado();
+		grado.setNombre_grado("H1");
+		gradoRepository.save(grado);
+		Alumno alumno = new Alumno();
+		alumno.setMatricula("H1");
+		alumno.setNombre("Ana");
+		alumno.setGrado(grado);
+		alumnoRepository.save(alumno);
+		Asignatura asignatura = new Asignatura();
+		asignatura.setNombre("Historia");
+		asignatura.setGrado(grado);
+		asignaturaRepository.save(asignatura);
+
+		Map<String, Object> creada = objeto(post("/api/calificaciones").header("X-Usuario", "maestra")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"id_alumno\":" + alumno.getId() + ",\"id_asignatura\":" + asignatura.getId()
+						+ ",\"calificacion\":70}"));
+		Object id = creada.get("id");
+		objeto(put("/api/calificaciones/{id}", id).header("X-Usuario", "maestra")
+				.contentType(MediaType.APPLICATION_JSON).content("{\"calificacion\":75.5}"));
+		objeto(put("/api/calificaciones/{id}", id).header("X-Usuario", "directora")
+				.contentType(MediaType.APPLICATION_JSON).content("{\"calificacion\":80}"));
+		objeto(delete("/api/calificaciones/{id}", id));
+
+		assertThat(objeto(get(HISTORIAL, alumno.getId(), asignatura.getId()))).containsEntry("contenido", List.of());
+		historialCalificacionService.vaciarPendientes();
+
+		Map<String, Object> primera = objeto(get(HISTORIAL, alumno.getId(), asignatura.getId())
+				.param("limite", "3"));
+		List<Map<String, Object>> cambios = cambios(primera);
+		assertThat(cambios).extracting(c -> c.get("anterior")).containsExactly(80.0, 75.5, 70.0);
+		assertThat(cambios).extracting(c -> c.get("nueva")).containsExactly(null, 80.0, 75.5);
+		assertThat(cambios).extracting(c -> c.get("actor")).containsExactly("sistema", "directora", "maestra");
+		assertThat(primera.get("siguiente")).isNotNull();
+
+		Map<String, Object> segunda = objeto(get(HISTORIAL, alumno.getId(), asignatura.getId())
+				.param("antes", String.valueOf(primera.get("siguiente"))).param("limite", "3"));
+		assertThat(cambios(segunda)).singleElement()
+				.satisfies(c -> assertThat(c).containsEntry("anterior", null).containsEntry("nueva", 70.0));
+		assertThat(segunda.get("siguiente")).isNull();
+
+		mockMvc.perform(get(HISTORIAL, alumno.getId(), asignatura.getId()).param("limite", "0"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void registraLasCalificacionesEliminadasEnCascada() throws Exception {
+		Grado grado = new Grado();
+		grado.setNombre_grado("H2");
+		gradoRepository.save(grado);
+		Alumno ana = alumno(grado, "H2", "Ana");
+		Alumno beto = alumno(grado, "H3", "Beto");
+		Asignatura historia = asignatura(grado, "Historia");
+		Asignatura fisica = asignatura(grado, "Física");
+		calificar(ana, historia, "70");
+		calificar(ana, fisica, "85");
+		calificar(beto, historia, "90");
+
+		objeto(delete("/api/alumnos/{id}", ana.getId()));
+		objeto(delete("/api/asignaturas/{id}", historia.getId()));
+		historialCalificacionService.vaciarPendientes();
+
+		assertThat(cambios(objeto(get(HISTORIAL, ana.getId(), fisica.getId())))).first()
+				.satisfies(c -> assertThat(c).containsEntry("anterior", 85.0).containsEntry("nueva", null));
+		assertThat(cambios(objeto(get(HISTORIAL, ana.getId(), historia.getId())))).first()
+				.satisfies(c -> assertThat(c).containsEntry("anterior", 70.0).containsEntry("nueva", null));
+		assertThat(cambios(objeto(get(HISTORIAL, beto.getId(), historia.getId())))).first()
+				.satisfies(c -> assertThat(c).containsEntry("anterior", 90.0).containsEntry("nueva", null));
+		assertThat(eventoCalificacionRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 100)))
+				.filteredOn(e -> e.getTipo() == TipoEventoCalificacion.ELIMINADA)
+				.extracting(e -> e.getIdAlumno(), e -> e.getIdAsignatura())
+				.containsExactlyInAnyOrder(tuple(ana.getId(), historia.getId()), tuple(ana.getId(), fisica.getId()),
+						tuple(beto.getId(), historia.getId()));
+	}
+
+	private Alumno alumno(Grado grado, String matricula, String nombre) {
+		Alumno alumno = new Alumno();
+		alumno.setMatricula(matricula);
+		alumno.setNombre(nombre);
+		alumno.setGrado(grado);
+		return alumnoRepository.save(alumno);
+	}
+
+	private Asignatura asignatura(Grado grado, String nombre) {
+		Asignatura asignatura = new Asignatura();
+		asignatura.setNombre(nombre);
+		asignatura.setGrado(grado);
+		return asignaturaRepository.save(asignatura);
+	}
+
+	private void calificar(Alumno alumno, Asignatura asignatura, String valor) throws Exception {
+		objeto(post("/api/calificaciones").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"id_alumno\":" + alumno.getId() + ",\"id_asignatura\":" + asignatura.getId()
+						+ ",\"calificacion\":" + valor + "}"));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Map<String, Object>> cambios(Map<String, Object> pagina) {
+		return (List<Map<String, Object>>) pagina.get("contenido");
+	}
+
+	private Map<String, Object> objeto(MockHttpServletRequestBuilder solicitud) throws Exception {
+		String json = mockMvc.perform(solicitud.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+		return objectMapper.readValue(json, new TypeReference<>() {
+		});
+	}
+}
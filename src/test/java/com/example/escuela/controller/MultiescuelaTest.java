@@ -0,0 +1,106 @@
+package com.example.escuela.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"escuela.multiescuela.habilitada=true",
+		"escuela.multiescuela.escuelas=norte,sur",
+		"escuela.multiescuela.predeterminada=norte",
+		"escuela.multiescuela.norte.url=jdbc:h2:mem:norte;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"escuela.multiescuela.norte.pool.maximo=4",
+		"escuela.multiescuela.sur.url=jdbc:h2:mem:sur;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"escuela.multiescuela.sur.pool.maximo=2" })
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class MultiescuelaTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void cadaEscuelaVeSoloSusDatos() throws Exception {
+		int gradoNorte = crear("norte", "/api/grados", "{\"nombre_grado\":\"Norte 1\"}");
+		int gradoSur = crear("sur", "/api/grados", "{\"nombre_grado\":\"Sur 1\"}");
+		assertThat(gradoSur).isEqualTo(gradoNorte);
+
+		// La segunda lectura de cada escuela sale de la caché de segundo nivel.
+		for (int i = 0; i < 2; i++) {
+			assertThat(objeto(get("/api/grados/{id}", gradoNorte).header("X-Escuela", "norte")))
+					.containsEntry("nombre_grado", "Norte 1");
+			assertThat(objeto(get("/api/grados/{id}", gradoSur).header("X-Escuela", "sur")))
+					.containsEntry("nombre_grado", "Sur 1");
+		}
+		assertThat(objeto(get("/api/grados/{id}", gradoNorte))).containsEntry("nombre_grado", "Norte 1");
+
+		int alumno = crear("norte", "/api/alumnos",
+				"{\"matricula\":\"N1\",\"nombre\":\"Ana\",\"id_grado\":" + gradoNorte + "}");
+		int asignatura = crear("norte", "/api/asignaturas",
+				"{\"nombre\":\"Historia\",\"id_grado\":" + gradoNorte + "}");
+		crear("norte", "/api/calificaciones",
+				"{\"id_alumno\":" + alumno + ",\"id_asignatura\":" + asignatura + ",\"calificacion\":85}");
+
+		assertThat(lista(get("/api/ranking/grado/{id}", gradoNorte).header("X-Escuela", "norte"))).hasSize(1);
+		assertThat(lista(get("/api/ranking/grado/{id}", gradoSur).header("X-Escuela", "sur"))).isEmpty();
+		assertThat(lista(get("/api/alumnos").header("X-Escuela", "sur"))).isEmpty();
+	}
+
+	@Test
+	void rechazaUnaEscuelaNoConfigurada() throws Exception {
+		mockMvc.perform(get("/api/grados").header("X-Escuela", "oeste"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void lasEstadisticasMuestranElPoolDeCadaEscuela() throws Exception {
+		mockMvc.perform(get("/api/grados").header("X-Escuela", "sur")).andExpect(status().isOk());
+
+		List<Map<String, Object>> estadisticas = lista(get("/api/escuelas/estadisticas"));
+
+		assertThat(estadisticas).extracting(e -> e.get("escuela")).containsExactly("norte", "sur");
+		assertThat(estadisticas).extracting(e -> e.get("poolMaximo")).containsExactly(4, 2);
+		assertThat(estadisticas).extracting(e -> e.get("predeterminada")).containsExactly(true, false);
+		assertThat(((Number) estadisticas.get(1).get("solicitudes")).longValue()).isPositive();
+	}
+
+	private int crear(String escuela, String url, String cuerpo) throws Exception {
+		return (Integer) objeto(post(url).header("X-Escuela", escuela)
+				.contentType(MediaType.APPLICATION_JSON).content(cuerpo)).get("id");
+	}
+
+	private Map<String, Object> objeto(MockHttpServletRequestBuilder solicitud) throws Exception {
+		return objectMapper.readValue(contenido(solicitud), new TypeReference<>() {
+		});
+	}
+
+	private List<Map<String, Object>> lista(MockHttpServletRequestBuilder solicitud) throws Exception {
+		return objectMapper.readValue(contenido(solicitud), new TypeReference<>() {
+		});
+	}
+
+	private String contenido(MockHttpServletRequestBuilder solicitud) throws Exception {
+		return mockMvc.perform(solicitud.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+	}
+}
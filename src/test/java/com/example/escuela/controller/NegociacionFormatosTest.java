@@ -0,0 +1,135 @@
+package com.example.escuela.controller;
+
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.Grado;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.repository.AlumnoRepository;
+import com.example.escuela.repository.AsignaturaRepository;
+import com.example.escuela.repository.GradoRepository;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:formatos;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class NegociacionFormatosTest {
+
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private GradoRepository gradoRepository;
+
+	@Autowired
+	private AlumnoRepository alumnoRepository;
+
+	@Autowired
+	private AsignaturaRepository asignaturaRepository;
+
+	@ParameterizedTest
+	@ValueSource(strings = { "application/cbor", "application/x-jackson-smile" })
+	void listaLosGradosEnElFormatoBinarioSolicitado(String formato) throws Exception {
+		for (String nombre : List.of("1A", "2A", "3A")) {
+			Grado grado = new Grado();
+			grado.setNombre_grado(nombre + formato.length());
+			gradoRepository.save(grado);
+		}
+		MediaType tipo = MediaType.parseMediaType(formato);
+		ObjectMapper binario = tipo.equals(SMILE) ? Jackson2ObjectMapperBuilder.smile().build()
+				: Jackson2ObjectMapperBuilder.cbor().build();
+		JavaType lista = binario.getTypeFactory().constructCollectionType(List.class, Grado.class);
+
+		byte[] json = mockMvc.perform(get("/api/grados").accept(MediaType.APPLICATION_JSON))
+				.andReturn().getResponse().getContentAsByteArray();
+		byte[] codificada = mockMvc.perform(get("/api/grados").accept(tipo))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(tipo))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		List<Grado> esperados = new ObjectMapper().readValue(json, lista);
+		assertEquals(esperados, binario.readValue(codificada, lista));
+		assertTrue(codificada.length < json.length, () -> formato + " no es más compacto que JSON");
+	}
+
+	@Test
+	void aceptaCuerposEnCbor() throws Exception {
+		Grado grado = new Grado();
+		grado.setNombre_grado("CBOR");
+		byte[] cuerpo = Jackson2ObjectMapperBuilder.cbor().build().writeValueAsBytes(grado);
+
+		mockMvc.perform(post("/api/grados").contentType(MediaType.APPLICATION_CBOR).content(cuerpo)
+				.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON));
+		assertTrue(gradoRepository.findAll().stream().anyMatch(g -> "CBOR".equals(g.getNombre_grado())));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "application/cbor", "application/x-jackson-smile" })
+	void leeLasCalificacionesEnviadasComoDoubleOFloat(String formato) throws Exception {
+		Grado grado = new Grado();
+		grado.setNombre_grado("P" + formato.length());
+		gradoRepository.save(grado);
+		Alumno alumno = new Alumno();
+		alumno.setMatricula("P" + formato.length());
+		alumno.setNombre("Paz");
+		alumno.setGrado(grado);
+		alumnoRepository.save(alumno);
+		MediaType tipo = MediaType.parseMediaType(formato);
+		ObjectMapper binario = tipo.equals(SMILE) ? Jackson2ObjectMapperBuilder.smile().build()
+				: Jackson2ObjectMapperBuilder.cbor().build();
+
+		for (Number valor : List.of(89.95, 89.95f, 89.955)) {
+			Asignatura asignatura = new Asignatura();
+			asignatura.setNombre(valor.getClass().getSimpleName() + valor);
+			asignatura.setGrado(grado);
+			asignaturaRepository.save(asignatura);
+			byte[] cuerpo = binario.writeValueAsBytes(Map.of("id_alumno", alumno.getId(),
+					"id_asignatura", asignatura.getId(), "calificacion", valor));
+			ResultActions respuesta = mockMvc.perform(post("/api/calificaciones").contentType(tipo).content(cuerpo)
+					.accept(tipo));
+			if (valor.doubleValue() == 89.955) {
+				respuesta.andExpect(status().isBadRequest());
+				continue;
+			}
+
+			byte[] codificada = respuesta.andExpect(status().isOk())
+					.andExpect(content().contentType(tipo))
+					.andReturn().getResponse().getContentAsByteArray();
+			assertEquals(Puntaje.valueOf("89.95"), binario.readValue(codificada, Calificacion.class).getCalificacion(),
+					() -> formato + " con " + valor.getClass().getSimpleName());
+		}
+	}
+
+	@Test
+	void sinAcceptSigueRespondiendoJson() throws Exception {
+		mockMvc.perform(get("/api/calificaciones"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON));
+	}
+}
@@ -0,0 +1,440 @@
+package com.example.escuela.controller;
+
+import com.example.dto.CalificacionDTO;
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.Grado;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.repository.AlumnoRepository;
+import com.example.escuela.repository.AsignaturaRepository;
+import com.example.escuela.repository.CalificacionRepository;
+import com.example.escuela.repository.EventoCalificacionRepository;
+import com.example.escuela.repository.GradoRepository;
+import com.example.escuela.service.AnaliticaService;
+import com.example.escuela.service.CalificacionService;
+import com.example.escuela.service.MotorAnaliticoService;
+import com.example.escuela.service.RankingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Presupuesto de sentencias SQL y filas leídas por endpoint.
+ *
+ * Cada endpoint de com.example.escuela.controller declara cuántas sentencias
+ * puede ejecutar y cuántas filas puede leer al atender una solicitud sobre los
+ * datos sembrados (3 grados, 4 asignaturas y 8 alumnos por grado, todos con
+ * calificación). La caché de segundo nivel se vacía antes de cada medición, de
+ * modo que el presupuesto corresponde al peor caso. Un endpoint nuevo sin
+ * presupuesto hace fallar la prueba; un presupuesto excedido muestra las
+ * sentencias ejecutadas.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:presupuestos;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"escuela.calificaciones.diferidas.habilitada=true",
+		"escuela.analitica.habilitada=true" })
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class PresupuestoSentenciasTest {
+
+	private static final Logger log = LoggerFactory.getLogger(PresupuestoSentenciasTest.class);
+
+	private static final int GRADOS = 3;
+	private static final int ASIGNATURAS_POR_GRADO = 4;
+	private static final int ALUMNOS_POR_GRADO = 8;
+
+	/**
+	 * Presupuesto de un endpoint.
+	 *
+	 * @param endpoint   Método HTTP y patrón de la ruta, como en el mapeo.
+	 * @param sentencias Número máximo de sentencias SQL.
+	 * @param filas      Número máximo de filas leídas.
+	 * @param solicitud  Prepara los datos que necesita y construye la solicitud.
+	 */
+	record Presupuesto(String endpoint, int sentencias, int filas,
+			Function<Datos, MockHttpServletRequestBuilder> solicitud) {
+	}
+
+	private static Presupuesto presupuesto(String endpoint, int sentencias, int filas,
+			Function<Datos, MockHttpServletRequestBuilder> solicitud) {
+		return new Presupuesto(endpoint, sentencias, filas, solicitud);
+	}
+
+	private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder solicitud, String cuerpo) {
+		return solicitud.contentType(MediaType.APPLICATION_JSON).content(cuerpo);
+	}
+
+	static final List<Presupuesto> PRESUPUESTOS = List.of(
+			// Grados
+			presupuesto("GET /api/grados", 1, 3, d -> get("/api/grados")),
+			presupuesto("GET /api/grados/{id}", 1, 1, d -> get("/api/grados/{id}", d.grado)),
+			presupuesto("POST /api/grados", 2, 3,
+					d -> json(post("/api/grados"), "{\"nombre_grado\":\"" + d.nombreNuevo(5) + "\"}")),
+			presupuesto("PUT /api/grados/{id}", 3, 6,
+					d -> json(put("/api/grados/{id}", d.nuevoGrado()), "{\"nombre_grado\":\"" + d.nombreNuevo(5) + "\"}")),
+			presupuesto("DELETE /api/grados/{id}", 2, 1, d -> delete("/api/grados/{id}", d.nuevoGrado())),
+
+			// Alumnos
+			presupuesto("GET /api/alumnos", 4, 27, d -> get("/api/alumnos")),
+			presupuesto("GET /api/alumnos ?!ids&fields", 1, 24,
+					d -> get("/api/alumnos").param("fields", "id,nombre,grado.nombre_grado")),
+			presupuesto("GET /api/alumnos ?ids", 1, 2,
+					d -> get("/api/alumnos").param("ids", d.alumno + "," + (d.alumno + 1) + ",0")),
+			presupuesto("GET /api/alumnos/{id}", 1, 1, d -> get("/api/alumnos/{id}", d.alumno)),
+			presupuesto("GET /api/alumnos/{id}/kardex", 1, 4, d -> get("/api/alumnos/{id}/kardex", d.alumno)),
+			presupuesto("GET /api/alumnos/grado/{idGrado}", 3, 7,
+					d -> get("/api/alumnos/grado/{idGrado}", d.grado).param("tamanio", "5")),
+			presupuesto("POST /api/alumnos", 3, 1, d -> json(post("/api/alumnos"),
+					"{\"matricula\":\"" + d.nombreNuevo(20) + "\",\"nombre\":\"Nuevo\",\"id_grado\":" + d.grado + "}")),
+			presupuesto("PUT /api/alumnos/{id}", 2, 1, d -> json(put("/api/alumnos/{id}", d.nuevoAlumno()),
+					"{\"matricula\":\"" + d.nombreNuevo(20) + "\",\"nombre\":\"Cambio\",\"id_grado\":" + d.grado + "}")),
+			// Incluye el bloqueo de las calificaciones que se eliminan en cascada, para
+			// registrarlas en el historial y en la bandeja de salida.
+			presupuesto("DELETE /api/alumnos/{id}", 3, 1, d -> delete("/api/alumnos/{id}", d.nuevoAlumno())),
+			presupuesto("POST /api/alumnos/promocion", 3, 3, d -> json(post("/api/alumnos/promocion"),
+					"{\"" + d.nuevoGradoConAlumno() + "\":" + d.nuevoGrado() + "}")),
+
+			// Asignaturas
+			presupuesto("GET /api/asignaturas", 4, 15, d -> get("/api/asignaturas")),
+			presupuesto("GET /api/asignaturas ?!ids&fields", 1, 12, d -> get("/api/asignaturas").param("fields", "id,nombre")),
+			presupuesto("GET /api/asignaturas ?ids", 1, 2,
+					d -> get("/api/asignaturas").param("ids", d.asignatura + "," + (d.asignatura + 1) + ",0")),
+			presupuesto("GET /api/asignaturas/{id}", 1, 1, d -> get("/api/asignaturas/{id}", d.asignatura)),
+			presupuesto("GET /api/asignaturas/grado/{idGrado}", 2, 5,
+					d -> get("/api/asignaturas/grado/{idGrado}", d.grado)),
+			presupuesto("POST /api/asignaturas", 3, 1, d -> json(post("/api/asignaturas"),
+					"{\"nombre\":\"" + d.nombreNuevo(30) + "\",\"id_grado\":" + d.grado + "}")),
+			presupuesto("PUT /api/asignaturas/{id}", 3, 1, d -> json(put("/api/asignaturas/{id}", d.nuevaAsignatura()),
+					"{\"nombre\":\"" + d.nombreNuevo(30) + "\",\"id_grado\":" + d.grado + "}")),
+			presupuesto("DELETE /api/asignaturas/{id}", 3, 1,
+					d -> delete("/api/asignaturas/{id}", d.nuevaAsignatura())),
+
+			// Calificaciones
+			presupuesto("GET /api/calificaciones", 37, 132, d -> get("/api/calificaciones")),
+			presupuesto("GET /api/calificaciones ?!ids&fields", 1, 96,
+					d -> get("/api/calificaciones").param("fields", "id,calificacion,alumno.nombre,asignatura.id")),
+			presupuesto("GET /api/calificaciones ?ids", 1, 2,
+					d -> get("/api/calificaciones").param("ids", d.calificacion + "," + (d.calificacion + 1) + ",0")),
+			presupuesto("GET /api/calificaciones/{id}", 1, 1, d -> get("/api/calificaciones/{id}", d.calificacion)),
+			presupuesto("GET /api/calificaciones/alumno/{idAlumno}", 6, 9,
+					d -> get("/api/calificaciones/alumno/{idAlumno}", d.alumno)),
+			presupuesto("GET /api/calificaciones/asignatura/{idAsignatura}", 10, 17,
+					d -> get("/api/calificaciones/asignatura/{idAsignatura}", d.asignatura)),
+			presupuesto("POST /api/calificaciones", 5, 2, d -> json(post("/api/calificaciones"),
+					"{\"id_alumno\":" + d.nuevoAlumno() + ",\"id_asignatura\":" + d.asignatura + ",\"calificacion\":85}")),
+			presupuesto("PUT /api/calificaciones/{id}", 3, 1,
+					d -> json(put("/api/calificaciones/{id}", d.calificacion), "{\"calificacion\":77}")),
+			presupuesto("DELETE /api/calificaciones/{id}", 3, 1,
+					d -> delete("/api/calificaciones/{id}", d.nuevaCalificacion())),
+			// Incluye la lectura que bloquea las calificaciones actuales del grupo.
+			presupuesto("PUT /api/calificaciones/asignatura/{idAsignatura}", 6, 7,
+					d -> json(put("/api/calificaciones/asignatura/{idAsignatura}", d.asignatura),
+							"{\"" + d.alumno + "\":91,\"" + d.nuevoAlumno() + "\":82,\"" + d.nuevoAlumno() + "\":73}")),
+			presupuesto("POST /api/calificaciones/diferidas", 3, 2, d -> json(post("/api/calificaciones/diferidas"),
+					"{\"id_alumno\":" + d.nuevoAlumno() + ",\"id_asignatura\":" + d.asignatura + ",\"calificacion\":90}")),
+			presupuesto("GET /api/calificaciones/diferidas/estado", 0, 0,
+					d -> get("/api/calificaciones/diferidas/estado")),
+			presupuesto("GET /api/calificaciones/historial/alumno/{idAlumno}/asignatura/{idAsignatura}", 1, 6,
+					d -> get("/api/calificaciones/historial/alumno/{idAlumno}/asignatura/{idAsignatura}", d.alumno,
+							d.asignatura).param("limite", "5")),
+			presupuesto("GET /api/calificaciones/eventos", 1, 1,
+					d -> get("/api/calificaciones/eventos").param("desde", String.valueOf(d.eventosRecientes()))
+							.param("limite", "1")),
+			presupuesto("GET /api/calificaciones/eventos/alumno/{idAlumno}", 1, 1,
+					d -> get("/api/calificaciones/eventos/alumno/{idAlumno}", d.alumno)),
+			presupuesto("GET /api/calificaciones/eventos/asignatura/{idAsignatura}", 2, 3,
+					d -> get("/api/calificaciones/eventos/asignatura/{idAsignatura}", d.asignatura)
+							.header("Last-Event-ID", d.eventosRecientes())),
+
+			// Analítica
+			presupuesto("GET /api/analitica/grados", 0, 0, d -> get("/api/analitica/grados")),
+			presupuesto("GET /api/analitica/asignaturas", 0, 0,
+					d -> get("/api/analitica/asignaturas").param("idGrado", String.valueOf(d.grado))),
+			presupuesto("GET /api/analitica/instantanea", 0, 0, d -> get("/api/analitica/instantanea")),
+			presupuesto("GET /api/analitica/consulta", 0, 0,
+					d -> get("/api/analitica/consulta").param("agrupar", "asignatura")
+							.param("idGrado", String.valueOf(d.grado)).param("maxima", "80")),
+			presupuesto("GET /api/analitica/reporte", 0, 0, d -> get("/api/analitica/reporte")),
+
+			// Rankings, caché, coalescencia y escuelas
+			presupuesto("GET /api/ranking/asignatura/{idAsignatura}", 0, 0,
+					d -> get("/api/ranking/asignatura/{idAsignatura}", d.asignatura)),
+			presupuesto("GET /api/ranking/asignatura/{idAsignatura}/alumno/{idAlumno}", 0, 0,
+					d -> get("/api/ranking/asignatura/{idAsignatura}/alumno/{idAlumno}", d.asignatura, d.alumno)),
+			presupuesto("GET /api/ranking/grado/{idGrado}", 0, 0, d -> get("/api/ranking/grado/{idGrado}", d.grado)),
+			presupuesto("GET /api/ranking/grado/{idGrado}/alumno/{idAlumno}", 0, 0,
+					d -> get("/api/ranking/grado/{idGrado}/alumno/{idAlumno}", d.grado, d.alumno)),
+			presupuesto("GET /api/cache/estadisticas", 0, 0, d -> get("/api/cache/estadisticas")),
+			presupuesto("GET /api/coalescencia/estadisticas", 0, 0, d -> get("/api/coalescencia/estadisticas")),
+			presupuesto("GET /api/escuelas/estadisticas", 0, 0, d -> get("/api/escuelas/estadisticas")));
+
+	@DynamicPropertySource
+	static void diarioTemporal(DynamicPropertyRegistry registro) throws IOException {
+		Path diario = Files.createTempFile("presupuestos", ".diario");
+		Files.delete(diario);
+		diario.toFile().deleteOnExit();
+		registro.add("escuela.calificaciones.diferidas.diario", diario::toString);
+		Path instantanea = Files.createTempFile("presupuestos", ".instantanea");
+		Files.delete(instantanea);
+		instantanea.toFile().deleteOnExit();
+		registro.add("escuela.analitica.instantanea", instantanea::toString);
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private RequestMappingHandlerMapping handlerMapping;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private GradoRepository gradoRepository;
+
+	@Autowired
+	private AlumnoRepository alumnoRepository;
+
+	@Autowired
+	private AsignaturaRepository asignaturaRepository;
+
+	@Autowired
+	private CalificacionRepository calificacionRepository;
+
+	@Autowired
+	private EventoCalificacionRepository eventoCalificacionRepository;
+
+	@Autowired
+	private CalificacionService calificacionService;
+
+	@Autowired
+	private RankingService rankingService;
+
+	@Autowired
+	private AnaliticaService analiticaService;
+
+	@Autowired
+	private MotorAnaliticoService motorAnaliticoService;
+
+	@TestConfiguration
+	static class Configuracion {
+		@Bean
+		static BeanPostProcessor contadorSentencias() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String nombre) {
+					return bean instanceof DataSource dataSource ? ContadorSentencias.envolver(dataSource) : bean;
+				}
+			};
+		}
+	}
+
+	@Test
+	void cadaEndpointTienePresupuesto() {
+		TreeSet<String> endpoints = new TreeSet<>();
+		for (Map.Entry<RequestMappingInfo, HandlerMethod> mapeo : handlerMapping.getHandlerMethods().entrySet()) {
+			if (!mapeo.getValue().getBeanType().getPackageName().equals(getClass().getPackageName())) {
+				continue;
+			}
+			RequestMappingInfo info = mapeo.getKey();
+			String parametros = info.getParamsCondition().getExpressions().isEmpty() ? ""
+					: " ?" + info.getParamsCondition().getExpressions().stream().map(Object::toString)
+							.sorted().collect(Collectors.joining("&"));
+			for (var metodo : info.getMethodsCondition().getMethods()) {
+				for (String patron : info.getPatternValues()) {
+					endpoints.add(metodo.name() + " " + patron + parametros);
+				}
+			}
+		}
+		TreeSet<String> declarados = PRESUPUESTOS.stream().map(Presupuesto::endpoint)
+				.collect(Collectors.toCollection(TreeSet::new));
+
+		TreeSet<String> sinPresupuesto = new TreeSet<>(endpoints);
+		sinPresupuesto.removeAll(declarados);
+		TreeSet<String> sobrantes = new TreeSet<>(declarados);
+		sobrantes.removeAll(endpoints);
+		assertTrue(sinPresupuesto.isEmpty(), () -> "Endpoints sin presupuesto de sentencias: " + sinPresupuesto);
+		assertTrue(sobrantes.isEmpty(), () -> "Presupuestos de endpoints inexistentes: " + sobrantes);
+		assertEquals(PRESUPUESTOS.size(), declarados.size(), "Hay presupuestos duplicados");
+	}
+
+	@TestFactory
+	Stream<DynamicTest> cadaEndpointRespetaSuPresupuesto() {
+		Datos datos = sembrar();
+		return PRESUPUESTOS.stream().map(presupuesto -> DynamicTest.dynamicTest(presupuesto.endpoint(), () -> {
+			MockHttpServletRequestBuilder solicitud = presupuesto.solicitud().apply(datos);
+			entityManagerFactory.getCache().evictAll();
+
+			ContadorSentencias.iniciar();
+			int estado;
+			try {
+				estado = mockMvc.perform(solicitud).andReturn().getResponse().getStatus();
+			} finally {
+				datos.ultimas = ContadorSentencias.detener();
+			}
+			List<ContadorSentencias.Sentencia> sentencias = datos.ultimas;
+			int filas = sentencias.stream().mapToInt(ContadorSentencias.Sentencia::filas).sum();
+
+			log.debug("{} HTTP {}: {}/{} sentencias, {}/{} filas", presupuesto.endpoint(), estado,
+					sentencias.size(), presupuesto.sentencias(), filas, presupuesto.filas());
+			String detalle = sentencias.stream().map(Object::toString).collect(Collectors.joining("\n  ", "\n  ", ""));
+			assertTrue(estado < 400, () -> presupuesto.endpoint() + " respondió HTTP " + estado);
+			assertTrue(sentencias.size() <= presupuesto.sentencias(), () -> presupuesto.endpoint() + " ejecutó "
+					+ sentencias.size() + " sentencias (presupuesto " + presupuesto.sentencias() + "):" + detalle);
+			assertTrue(filas <= presupuesto.filas(), () -> presupuesto.endpoint() + " leyó " + filas
+					+ " filas (presupuesto " + presupuesto.filas() + "):" + detalle);
+		}));
+	}
+
+	/**
+	 * Identificadores de los datos sembrados y utilidades para crear registros
+	 * nuevos que los endpoints de escritura pueden modificar o eliminar.
+	 */
+	final class Datos {
+		private final AtomicInteger secuencia = new AtomicInteger();
+		private Integer grado;
+		private Integer alumno;
+		private Integer asignatura;
+		private Integer calificacion;
+		private List<ContadorSentencias.Sentencia> ultimas = new ArrayList<>();
+
+		String nombreNuevo(int longitud) {
+			String nombre = "N" + secuencia.incrementAndGet();
+			return nombre.substring(0, Math.min(nombre.length(), longitud));
+		}
+
+		Integer nuevoGrado() {
+			Grado nuevo = new Grado();
+			nuevo.setNombre_grado(nombreNuevo(10));
+			return gradoRepository.save(nuevo).getId();
+		}
+
+		Integer nuevoAlumno() {
+			Alumno nuevo = new Alumno();
+			nuevo.setMatricula(nombreNuevo(20));
+			nuevo.setNombre("Temporal");
+			nuevo.setGrado(gradoRepository.getReferenceById(grado));
+			return alumnoRepository.save(nuevo).getId();
+		}
+
+		Integer nuevoGradoConAlumno() {
+			Integer nuevo = nuevoGrado();
+			Alumno alumno = new Alumno();
+			alumno.setMatricula(nombreNuevo(20));
+			alumno.setNombre("Promovido");
+			alumno.setGrado(gradoRepository.getReferenceById(nuevo));
+			alumnoRepository.save(alumno);
+			return nuevo;
+		}
+
+		Integer nuevaAsignatura() {
+			Asignatura nueva = new Asignatura();
+			nueva.setNombre(nombreNuevo(100));
+			nueva.setGrado(gradoRepository.getReferenceById(grado));
+			return asignaturaRepository.save(nueva).getId();
+		}
+
+		Integer nuevaCalificacion() {
+			CalificacionDTO dto = new CalificacionDTO();
+			dto.setId_alumno(nuevoAlumno());
+			dto.setId_asignatura(asignatura);
+			dto.setCalificacion(Puntaje.valueOf("70"));
+			return calificacionService.asignarCalificacion(dto).getId();
+		}
+
+		/**
+		 * Registra un evento nuevo y devuelve el id anterior, de modo que la
+		 * consulta de eventos desde ese id tenga al menos uno; las tareas en
+		 * segundo plano pueden registrar otros, por eso la consulta usa limite=1.
+		 */
+		long eventosRecientes() {
+			long ultimo = eventoCalificacionRepository.findAll(PageRequest.of(0, 1, Sort.by("id").descending()))
+					.stream().findFirst().map(e -> e.getId()).orElse(0L);
+			nuevaCalificacion();
+			return ultimo;
+		}
+	}
+
+	private Datos sembrar() {
+		Datos datos = new Datos();
+		for (int g = 0; g < GRADOS; g++) {
+			Grado grado = new Grado();
+			grado.setNombre_grado("G" + g);
+			grado = gradoRepository.save(grado);
+
+			List<Asignatura> asignaturas = new ArrayList<>();
+			for (int s = 0; s < ASIGNATURAS_POR_GRADO; s++) {
+				Asignatura asignatura = new Asignatura();
+				asignatura.setNombre("Asignatura " + g + "-" + s);
+				asignatura.setGrado(grado);
+				asignaturas.add(asignaturaRepository.save(asignatura));
+			}
+			for (int a = 0; a < ALUMNOS_POR_GRADO; a++) {
+				Alumno alumno = new Alumno();
+				alumno.setMatricula("S" + g + "-" + a);
+				alumno.setNombre("Alumno " + g + "-" + a);
+				alumno.setGrado(grado);
+				alumno = alumnoRepository.save(alumno);
+				for (Asignatura asignatura : asignaturas) {
+					Calificacion calificacion = new Calificacion();
+					calificacion.setAlumno(alumno);
+					calificacion.setAsignatura(asignatura);
+					calificacion.setCalificacion(
+							Puntaje.deCentesimas((60 + (a * 7 + asignatura.getId()) % 40) * Puntaje.ESCALA));
+					calificacion = calificacionRepository.save(calificacion);
+					if (datos.calificacion == null) {
+						datos.grado = grado.getId();
+						datos.alumno = alumno.getId();
+						datos.asignatura = asignatura.getId();
+						datos.calificacion = calificacion.getId();
+					}
+				}
+			}
+		}
+		rankingService.reconstruir();
+		analiticaService.reconstruir();
+		motorAnaliticoService.reconstruir();
+		return datos;
+	}
+}
@@ -0,0 +1,183 @@
+package com.example.escuela.controller;
+
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.Grado;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.repository.AlumnoRepository;
+import com.example.escuela.repository.AsignaturaRepository;
+import com.example.escuela.repository.CalificacionRepository;
+import com.example.escuela.repository.GradoRepository;
+import com.example.escuela.service.RankingService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:promocion;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class PromocionGradosTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private GradoRepository gradoRepository;
+
+	@Autowired
+	private AlumnoRepository alumnoRepository;
+
+	@Autowired
+	private AsignaturaRepository asignaturaRepository;
+
+	@Autowired
+	private CalificacionRepository calificacionRepository;
+
+	@Autowired
+	private RankingService rankingService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void promueveGradosEncadenadosConUnaSolaActualizacion() throws Exception {
+		Grado primero = grado("1A");
+		Grado segundo = grado("2A");
+		Grado tercero = grado("3A");
+		Alumno ana = alumno(primero, "P1", "Ana");
+		Alumno beto = alumno(primero, "P2", "Beto");
+		Alumno carla = alumno(segundo, "P3", "Carla");
+		Asignatura historia = new Asignatura();
+		historia.setNombre("Historia");
+		historia.setGrado(primero);
+		asignaturaRepository.save(historia);
+		Calificacion calificacion = new Calificacion();
+		calificacion.setAlumno(ana);
+		calificacion.setAsignatura(historia);
+		calificacion.setCalificacion(Puntaje.valueOf("90"));
+		calificacionRepository.save(calificacion);
+		rankingService.reconstruir();
+		String cuerpo = "{\"%d\":%d,\"%d\":%d}".formatted(primero.getId(), segundo.getId(), segundo.getId(),
+				tercero.getId());
+
+		Map<String, Object> simulada = objeto(post("/api/alumnos/promocion").param("simular", "true")
+				.contentType(MediaType.APPLICATION_JSON).content(cuerpo));
+		assertThat(simulada).containsEntry("simulada", true).containsEntry("alumnos", 3);
+		assertThat(grados(simulada)).extracting(g -> g.get("gradoOrigen"), g -> g.get("gradoDestino"),
+				g -> g.get("alumnos"))
+				.containsExactly(tuple("1A", "2A", 2),
+						tuple("2A", "3A", 1));
+		assertThat(alumnoRepository.findById(ana.getId()).orElseThrow().getGrado().getId())
+				.isEqualTo(primero.getId());
+
+		Map<String, Object> promovida = objeto(post("/api/alumnos/promocion")
+				.contentType(MediaType.APPLICATION_JSON).content(cuerpo));
+		assertThat(promovida).containsEntry("simulada", false).containsEntry("alumnos", 3);
+		assertThat(alumnoRepository.findAllById(List.of(ana.getId(), beto.getId(), carla.getId())))
+				.extracting(a -> a.getMatricula(), a -> a.getGrado().getId())
+				.containsExactlyInAnyOrder(tuple("P1", segundo.getId()),
+						tuple("P2", segundo.getId()),
+						tuple("P3", tercero.getId()));
+		assertThat(rankingService.obtenerRankingGrado(segundo.getId(), 10))
+				.singleElement().satisfies(p -> assertThat(p.getId_alumno()).isEqualTo(ana.getId()));
+		assertThat(rankingService.obtenerRankingGrado(primero.getId(), 10)).isEmpty();
+
+		mockMvc.perform(post("/api/alumnos/promocion").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"%d\":%d}".formatted(tercero.getId(), tercero.getId())))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/api/alumnos/promocion").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"%d\":0}".formatted(tercero.getId())))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void elDetalleCuentaLosAlumnosQueSeActualizanTrasUnCambioConcurrente() throws Exception {
+		Grado cuarto = grado("4A");
+		Grado quinto = grado("5A");
+		Grado sexto = grado("6A");
+		alumno(cuarto, "P4", "Diana");
+		Alumno elena = alumno(cuarto, "P5", "Elena");
+		String cuerpo = "{\"%d\":%d}".formatted(cuarto.getId(), quinto.getId());
+		AtomicReference<Map<String, Object>> resultado = new AtomicReference<>();
+		Thread promocion = new Thread(() -> {
+			try {
+				resultado.set(objeto(post("/api/alumnos/promocion").contentType(MediaType.APPLICATION_JSON)
+						.content(cuerpo)));
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+			jdbcTemplate.update("UPDATE alumnos SET id_grado = ? WHERE id_alumno = ?", sexto.getId(), elena.getId());
+			promocion.start();
+			try {
+				promocion.join(300);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			assertThat(promocion.isAlive()).as("la promoción espera el bloqueo del alumno").isTrue();
+		});
+		promocion.join(5000);
+
+		assertThat(resultado.get()).containsEntry("alumnos", 1);
+		assertThat(grados(resultado.get())).singleElement()
+				.satisfies(g -> assertThat(g).containsEntry("alumnos", 1));
+		assertThat(alumnoRepository.findById(elena.getId()).orElseThrow().getGrado().getId())
+				.isEqualTo(sexto.getId());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Map<String, Object>> grados(Map<String, Object> resultado) {
+		return (List<Map<String, Object>>) resultado.get("grados");
+	}
+
+	private Map<String, Object> objeto(MockHttpServletRequestBuilder solicitud) throws Exception {
+		String json = mockMvc.perform(solicitud.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+		return objectMapper.readValue(json, new TypeReference<>() {
+		});
+	}
+
+	private Grado grado(String nombre) {
+		Grado grado = new Grado();
+		grado.setNombre_grado(nombre);
+		return gradoRepository.save(grado);
+	}
+
+	private Alumno alumno(Grado grado, String matricula, String nombre) {
+		Alumno alumno = new Alumno();
+		alumno.setMatricula(matricula);
+		alumno.setNombre(nombre);
+		alumno.setGrado(grado);
+		return alumnoRepository.save(alumno);
+	}
+}
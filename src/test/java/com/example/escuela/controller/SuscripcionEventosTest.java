@@ -0,0 +1,155 @@
+package com.example.escuela.controller;
+
+import com.example.dto.CalificacionDTO;
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Grado;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.repository.AlumnoRepository;
+import com.example.escuela.repository.AsignaturaRepository;
+import com.example.escuela.repository.GradoRepository;
+import com.example.escuela.service.CalificacionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:suscripciones;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class SuscripcionEventosTest {
+
+	private static final Pattern EVENTO = Pattern.compile("id:(\\d+)\nevent:(\\w+)\n");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private GradoRepository gradoRepository;
+
+	@Autowired
+	private AlumnoRepository alumnoRepository;
+
+	@Autowired
+	private AsignaturaRepository asignaturaRepository;
+
+	@Autowired
+	private CalificacionService calificacionService;
+
+	private static Grado grado;
+	private static Asignatura asignatura;
+
+	@BeforeEach
+	void sembrar() {
+		if (grado != null) {
+			return;
+		}
+		grado = new Grado();
+		grado.setNombre_grado("S1");
+		gradoRepository.save(grado);
+		asignatura = new Asignatura();
+		asignatura.setNombre("Química");
+		asignatura.setGrado(grado);
+		asignaturaRepository.save(asignatura);
+	}
+
+	@Test
+	void enviaLosCambiosConfirmadosDelAlumnoSuscrito() throws Exception {
+		Integer ana = alumno("S-ana");
+		Integer beto = alumno("S-beto");
+		MockHttpServletResponse respuesta = suscribir("/api/calificaciones/eventos/alumno/" + ana, null);
+
+		Integer calificacion = calificar(ana, "70");
+		calificar(beto, "95");
+		CalificacionDTO cambio = new CalificacionDTO();
+		cambio.setCalificacion(Puntaje.valueOf("88"));
+		calificacionService.actualizarCalificacion(calificacion, cambio);
+
+		assertThat(esperarEventos(respuesta, 2)).extracting(e -> e[1]).containsExactly("creada", "actualizada");
+		assertThat(respuesta.getContentAsString(StandardCharsets.UTF_8)).doesNotContain("\"idAlumno\":" + beto);
+	}
+
+	@Test
+	void reanudaDesdeLastEventId() throws Exception {
+		Integer carla = alumno("S-carla");
+		Integer primera = calificar(carla, "60");
+		calificacionService.eliminarCalificacion(primera);
+		calificar(carla, "65");
+		MockHttpServletResponse completa = suscribir("/api/calificaciones/eventos/alumno/" + carla, 0L);
+		List<String[]> eventos = esperarEventos(completa, 3);
+		assertThat(eventos).extracting(e -> e[1]).containsExactly("creada", "eliminada", "creada");
+
+		MockHttpServletResponse reanudada = suscribir("/api/calificaciones/eventos/alumno/" + carla,
+				Long.valueOf(eventos.get(0)[0]));
+		assertThat(esperarEventos(reanudada, 2)).extracting(e -> e[0])
+				.containsExactly(eventos.get(1)[0], eventos.get(2)[0]);
+	}
+
+	@Test
+	void rechazaAlumnosQueNoExisten() throws Exception {
+		MockHttpServletResponse respuesta = suscribir("/api/calificaciones/eventos/alumno/0", null);
+
+		assertThat(respuesta.getStatus()).isEqualTo(400);
+		assertThat(respuesta.getContentAsString(StandardCharsets.UTF_8))
+				.contains("event:error", "Alumno no encontrado con id: 0");
+	}
+
+	private MockHttpServletResponse suscribir(String url, Long ultimoEvento) throws Exception {
+		var solicitud = get(url);
+		if (ultimoEvento != null) {
+			solicitud.header("Last-Event-ID", ultimoEvento);
+		}
+		return mockMvc.perform(solicitud).andExpect(request().asyncStarted()).andReturn().getResponse();
+	}
+
+	/**
+	 * Espera hasta que la respuesta contenga el número de eventos indicado y
+	 * devuelve el id y el nombre de cada uno.
+	 */
+	private List<String[]> esperarEventos(MockHttpServletResponse respuesta, int cantidad) throws Exception {
+		long limite = System.currentTimeMillis() + 5000;
+		List<String[]> eventos = new ArrayList<>();
+		while (System.currentTimeMillis() < limite) {
+			eventos.clear();
+			Matcher encontrado = EVENTO.matcher(respuesta.getContentAsString(StandardCharsets.UTF_8));
+			while (encontrado.find()) {
+				eventos.add(new String[] { encontrado.group(1), encontrado.group(2) });
+			}
+			if (eventos.size() >= cantidad) {
+				break;
+			}
+			Thread.sleep(20);
+		}
+		return eventos;
+	}
+
+	private Integer alumno(String matricula) {
+		Alumno alumno = new Alumno();
+		alumno.setMatricula(matricula);
+		alumno.setNombre(matricula);
+		alumno.setGrado(grado);
+		return alumnoRepository.save(alumno).getId();
+	}
+
+	private Integer calificar(Integer idAlumno, String valor) {
+		CalificacionDTO dto = new CalificacionDTO();
+		dto.setId_alumno(idAlumno);
+		dto.setId_asignatura(asignatura.getId());
+		dto.setCalificacion(Puntaje.valueOf(valor));
+		return calificacionService.asignarCalificacion(dto).getId();
+	}
+}
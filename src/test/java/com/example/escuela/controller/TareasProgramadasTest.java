@@ -0,0 +1,126 @@
+package com.example.escuela.controller;
+
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Grado;
+import com.example.escuela.repository.AlumnoRepository;
+import com.example.escuela.repository.AsignaturaRepository;
+import com.example.escuela.repository.CalificacionRepository;
+import com.example.escuela.repository.GradoRepository;
+import com.example.escuela.service.AnaliticaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Comprueba que una tarea lenta no detiene a las demás tareas programadas.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:tareas;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"escuela.calificaciones.diferidas.habilitada=true",
+		"escuela.calificaciones.diferidas.intervalo-ms=50",
+		"escuela.analitica.habilitada=true",
+		"escuela.analitica.revision-ms=50" })
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class TareasProgramadasTest {
+
+	@DynamicPropertySource
+	static void archivos(DynamicPropertyRegistry registro) throws IOException {
+		Path diario = Files.createTempFile("tareas", ".diario");
+		Files.delete(diario);
+		diario.toFile().deleteOnExit();
+		registro.add("escuela.calificaciones.diferidas.diario", diario::toString);
+		Path instantanea = Files.createTempFile("tareas", ".instantanea");
+		Files.delete(instantanea);
+		instantanea.toFile().deleteOnExit();
+		registro.add("escuela.analitica.instantanea", instantanea::toString);
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AnaliticaService analiticaService;
+
+	@Autowired
+	private GradoRepository gradoRepository;
+
+	@Autowired
+	private AlumnoRepository alumnoRepository;
+
+	@Autowired
+	private AsignaturaRepository asignaturaRepository;
+
+	@Autowired
+	private CalificacionRepository calificacionRepository;
+
+	@MockitoSpyBean
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void unaInstantaneaLentaNoRetrasaLaEscrituraDiferida() throws Exception {
+		Grado grado = new Grado();
+		grado.setNombre_grado("T1");
+		gradoRepository.save(grado);
+		Alumno alumno = new Alumno();
+		alumno.setMatricula("T1");
+		alumno.setNombre("Tomás");
+		alumno.setGrado(grado);
+		alumnoRepository.save(alumno);
+		Asignatura asignatura = new Asignatura();
+		asignatura.setNombre("Taller");
+		asignatura.setGrado(grado);
+		asignaturaRepository.save(asignatura);
+
+		CountDownLatch leyendo = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+		doAnswer(invocacion -> {
+			leyendo.countDown();
+			liberar.await(30, TimeUnit.SECONDS);
+			return invocacion.callRealMethod();
+		}).when(jdbcTemplate).query(startsWith("SELECT a.id_alumno"), any(RowCallbackHandler.class));
+		try {
+			analiticaService.solicitarReconstruccion();
+			assertThat(leyendo.await(5, TimeUnit.SECONDS)).as("la instantánea empezó a generarse").isTrue();
+
+			mockMvc.perform(post("/api/calificaciones/diferidas").contentType(MediaType.APPLICATION_JSON)
+					.content("{\"id_alumno\":" + alumno.getId() + ",\"id_asignatura\":" + asignatura.getId()
+							+ ",\"calificacion\":75}"))
+					.andExpect(status().isAccepted());
+
+			long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (!calificacionRepository.existsByAlumnoIdAndAsignaturaId(alumno.getId(), asignatura.getId())
+					&& System.nanoTime() < limite) {
+				Thread.sleep(20);
+			}
+			assertThat(calificacionRepository.existsByAlumnoIdAndAsignaturaId(alumno.getId(), asignatura.getId()))
+					.as("la calificación diferida se escribió mientras se generaba la instantánea").isTrue();
+			assertThat(liberar.getCount()).isEqualTo(1);
+		} finally {
+			liberar.countDown();
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.example.escuela.estadisticas;
+
+import com.example.escuela.estructuras.TablaCalificaciones;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalculoEstadisticasTest {
+
+	@Test
+	void coincideConElCalculoSecuencialExactoConCualquierParalelismo() {
+		TablaCalificaciones tabla = new TablaCalificaciones();
+		Map<Long, List<Short>> porCelda = new TreeMap<>();
+		Random aleatorio = new Random(5);
+		for (int alumno = 1; alumno <= 3000; alumno++) {
+			int grado = 1 + aleatorio.nextInt(4);
+			for (int asignatura = 1; asignatura <= 6; asignatura++) {
+				short valor = (short) aleatorio.nextInt(10001);
+				tabla.poner(alumno, grado, asignatura, valor);
+				porCelda.computeIfAbsent((long) grado << 32 | asignatura, k -> new ArrayList<>()).add(valor);
+			}
+		}
+
+		CalculoEstadisticas.Celda[] secuencial = calcular(tabla, 1, Integer.MAX_VALUE);
+		CalculoEstadisticas.Celda[] paralelo = calcular(tabla, 4, 100);
+		assertEquals(Arrays.asList(secuencial), Arrays.asList(paralelo));
+
+		assertEquals(porCelda.size(), paralelo.length);
+		int i = 0;
+		for (Map.Entry<Long, List<Short>> entrada : porCelda.entrySet()) {
+			short[] valores = new short[entrada.getValue().size()];
+			long suma = 0;
+			long reprobadas = 0;
+			for (int j = 0; j < valores.length; j++) {
+				valores[j] = entrada.getValue().get(j);
+				suma += valores[j];
+				reprobadas += valores[j] < 6000 ? 1 : 0;
+			}
+			Arrays.sort(valores);
+
+			CalculoEstadisticas.Celda celda = paralelo[i++];
+			assertEquals((int) (entrada.getKey() >>> 32), celda.idGrado());
+			assertEquals((int) (long) entrada.getKey(), celda.idAsignatura());
+			assertEquals(valores.length, celda.calificaciones());
+			assertEquals(suma, celda.suma());
+			assertEquals(valores[0], celda.minima());
+			assertEquals(valores[valores.length - 1], celda.maxima());
+			assertEquals(reprobadas, celda.reprobadas());
+			assertPercentil(valores, 0.10, celda.percentil10());
+			assertPercentil(valores, 0.25, celda.percentil25());
+			assertPercentil(valores, 0.50, celda.mediana());
+			assertPercentil(valores, 0.75, celda.percentil75());
+			assertPercentil(valores, 0.90, celda.percentil90());
+		}
+	}
+
+	@Test
+	void sinCalificacionesNoHayCeldas() {
+		assertEquals(0, calcular(new TablaCalificaciones(), 2, 10).length);
+	}
+
+	/**
+	 * El percentil por rango más cercano debe caer en la misma décima que el
+	 * valor exacto.
+	 */
+	private static void assertPercentil(short[] ordenados, double p, int obtenido) {
+		int exacto = ordenados[(int) Math.ceil(p * ordenados.length) - 1];
+		assertTrue(obtenido <= exacto && exacto - obtenido < HistogramaCalificaciones.ANCHO_CUBETA,
+				"percentil " + p + ": exacto " + exacto + ", obtenido " + obtenido);
+	}
+
+	private static CalculoEstadisticas.Celda[] calcular(TablaCalificaciones tabla, int hilos, int umbral) {
+		ForkJoinPool pool = new ForkJoinPool(hilos);
+		try {
+			return new CalculoEstadisticas(pool, umbral).calcular(tabla, (short) 6000);
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
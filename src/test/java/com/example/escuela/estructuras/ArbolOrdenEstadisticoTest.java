@@ -0,0 +1,44 @@
+package com.example.escuela.estructuras;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArbolOrdenEstadisticoTest {
+
+	@Test
+	void mantienePosicionesIgualQueUnaListaOrdenada() {
+		ArbolOrdenEstadistico<Integer> arbol = new ArbolOrdenEstadistico<>(Comparator.reverseOrder());
+		List<Integer> esperado = new ArrayList<>();
+		Random aleatorio = new Random(7);
+
+		for (int i = 0; i < 2000; i++) {
+			int valor = aleatorio.nextInt(500);
+			if (aleatorio.nextInt(3) == 0) {
+				assertEquals(esperado.remove((Integer) valor), arbol.eliminar(valor));
+			} else if (!esperado.contains(valor)) {
+				assertTrue(arbol.agregar(valor));
+				esperado.add(valor);
+			} else {
+				assertFalse(arbol.agregar(valor));
+			}
+		}
+
+		esperado.sort(Collections.reverseOrder());
+		assertEquals(esperado.size(), arbol.tamanio());
+		assertEquals(esperado.subList(0, 10), arbol.primeros(10));
+		for (int i = 0; i < esperado.size(); i++) {
+			assertEquals(i, arbol.posicion(esperado.get(i)));
+			assertEquals(esperado.get(i), arbol.obtener(i));
+		}
+		assertEquals(-1, arbol.posicion(1000));
+	}
+}
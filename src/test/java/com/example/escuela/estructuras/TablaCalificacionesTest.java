@@ -0,0 +1,115 @@
+package com.example.escuela.estructuras;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TablaCalificacionesTest {
+
+	/**
+	 * Calificación del modelo: grado del alumno y valor en centésimas.
+	 */
+	private record Fila(int alumno, int asignatura, int grado, short valor) {
+	}
+
+	@Test
+	void coincideConUnMapaTrasCambiosAleatorios() {
+		TablaCalificaciones tabla = new TablaCalificaciones();
+		Map<Long, Fila> esperado = new HashMap<>();
+		Map<Integer, Integer> gradoDe = new HashMap<>();
+		Random aleatorio = new Random(11);
+
+		for (int i = 0; i < 20000; i++) {
+			int alumno = 1 + aleatorio.nextInt(300);
+			int asignatura = 1 + aleatorio.nextInt(40);
+			int operacion = aleatorio.nextInt(100);
+			if (operacion < 70) {
+				int grado = gradoDe.computeIfAbsent(alumno, id -> 1 + aleatorio.nextInt(6));
+				short valor = (short) aleatorio.nextInt(10001);
+				tabla.poner(alumno, grado, asignatura, valor);
+				esperado.put(clave(alumno, asignatura), new Fila(alumno, asignatura, grado, valor));
+			} else if (operacion < 90) {
+				assertEquals(esperado.remove(clave(alumno, asignatura)) != null, tabla.quitar(alumno, asignatura));
+			} else if (operacion < 96) {
+				int grado = 1 + aleatorio.nextInt(6);
+				gradoDe.put(alumno, grado);
+				tabla.cambiarGrado(alumno, grado);
+				esperado.replaceAll((k, f) -> f.alumno() == alumno ? new Fila(alumno, f.asignatura(), grado, f.valor()) : f);
+			} else if (operacion < 98) {
+				long quitadas = esperado.values().stream().filter(f -> f.alumno() == alumno).count();
+				esperado.values().removeIf(f -> f.alumno() == alumno);
+				assertEquals(quitadas, tabla.quitarAlumno(alumno));
+			} else {
+				long quitadas = esperado.values().stream().filter(f -> f.asignatura() == asignatura).count();
+				esperado.values().removeIf(f -> f.asignatura() == asignatura);
+				assertEquals(quitadas, tabla.quitarAsignatura(asignatura));
+			}
+		}
+
+		assertEquals(esperado.size(), tabla.filas());
+		for (Fila fila : esperado.values()) {
+			assertEquals(fila.valor(), tabla.obtener(fila.alumno(), fila.asignatura()));
+		}
+		assertEquals(-1, tabla.obtener(1000, 1));
+
+		TablaCalificaciones.Filtro filtro = new TablaCalificaciones.Filtro(0, 0, 3, (short) 2000, (short) 9000);
+		comparar(esperado, filtro, TablaCalificaciones.Dimension.ASIGNATURA, tabla.agregar(filtro,
+				TablaCalificaciones.Dimension.ASIGNATURA, (short) 6000));
+		comparar(esperado, TablaCalificaciones.Filtro.TODAS, TablaCalificaciones.Dimension.GRADO,
+				tabla.agregar(TablaCalificaciones.Filtro.TODAS, TablaCalificaciones.Dimension.GRADO, (short) 6000));
+		comparar(esperado, filtro, null, tabla.agregar(filtro, null, (short) 6000));
+	}
+
+	@Test
+	void sinAgruparDevuelveUnTotalAunqueNoHayaFilas() {
+		TablaCalificaciones.Agregado total = new TablaCalificaciones()
+				.agregar(TablaCalificaciones.Filtro.TODAS, null, (short) 6000);
+
+		assertEquals(1, total.grupos());
+		assertEquals(0, total.calificaciones(0));
+	}
+
+	private static void comparar(Map<Long, Fila> filas, TablaCalificaciones.Filtro filtro,
+			TablaCalificaciones.Dimension agrupar, TablaCalificaciones.Agregado agregado) {
+		Map<Integer, long[]> grupos = new TreeMap<>();
+		for (Fila fila : filas.values()) {
+			if ((filtro.idGrado() != 0 && fila.grado() != filtro.idGrado()) || fila.valor() < filtro.minima()
+					|| fila.valor() > filtro.maxima()) {
+				continue;
+			}
+			int id = agrupar == null ? 0 : switch (agrupar) {
+				case ALUMNO -> fila.alumno();
+				case ASIGNATURA -> fila.asignatura();
+				case GRADO -> fila.grado();
+			};
+			long[] g = grupos.computeIfAbsent(id, k -> new long[] { 0, 0, Long.MAX_VALUE, Long.MIN_VALUE, 0 });
+			g[0]++;
+			g[1] += fila.valor();
+			g[2] = Math.min(g[2], fila.valor());
+			g[3] = Math.max(g[3], fila.valor());
+			g[4] += fila.valor() < 6000 ? 1 : 0;
+		}
+
+		assertEquals(grupos.size(), agregado.grupos());
+		int i = 0;
+		for (Map.Entry<Integer, long[]> grupo : grupos.entrySet()) {
+			long[] g = grupo.getValue();
+			assertEquals(grupo.getKey(), agregado.id(i));
+			assertEquals(g[0], agregado.calificaciones(i));
+			assertEquals(g[1], agregado.suma(i));
+			assertEquals(g[2], agregado.minima(i));
+			assertEquals(g[3], agregado.maxima(i));
+			assertEquals(g[4], agregado.reprobadas(i));
+			i++;
+		}
+	}
+
+	private static long clave(int alumno, int asignatura) {
+		return (long) alumno << 32 | asignatura;
+	}
+}
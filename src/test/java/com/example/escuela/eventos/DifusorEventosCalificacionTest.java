@@ -0,0 +1,158 @@
+package com.example.escuela.eventos;
+
+import com.example.escuela.model.EventoCalificacion;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.model.TipoEventoCalificacion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DifusorEventosCalificacionTest {
+
+	private final CountDownLatch liberar = new CountDownLatch(1);
+	private final Deque<EmisorPrueba> emisores = new ArrayDeque<>();
+	private final DifusorEventosCalificacion difusor = new DifusorEventosCalificacion() {
+		@Override
+		SseEmitter crearEmisor() {
+			return emisores.remove();
+		}
+	};
+
+	@BeforeEach
+	void configurar() {
+		ReflectionTestUtils.setField(difusor, "capacidad", 2);
+		ReflectionTestUtils.setField(difusor, "timeoutMs", 0L);
+		ReflectionTestUtils.setField(difusor, "hilosEnvio", 1);
+		ReflectionTestUtils.setField(difusor, "plazoEnvioMs", 60_000L);
+		ReflectionTestUtils.setField(difusor, "latidoMs", 60_000L);
+		ReflectionTestUtils.setField(difusor, "revisionMs", 20L);
+		ReflectionTestUtils.invokeMethod(difusor, "iniciar");
+	}
+
+	@AfterEach
+	void detener() {
+		liberar.countDown();
+		ReflectionTestUtils.invokeMethod(difusor, "detener");
+	}
+
+	@Test
+	void desconectaAlSuscriptorQueLlenaSuBufer() throws Exception {
+		EmisorPrueba detenido = suscribir(DifusorEventosCalificacion.claveAlumno(1), true);
+		suscribir(DifusorEventosCalificacion.claveAlumno(2), true);
+
+		difusor.publicar(evento(1L, 1, 7));
+		detenido.esperarEnvio();
+		difusor.publicar(evento(2L, 1, 7));
+		difusor.publicar(evento(3L, 1, 7));
+		assertEquals(2, difusor.getSuscriptores());
+
+		difusor.publicar(evento(4L, 1, 7));
+		assertEquals(1, difusor.getDesconectados());
+		assertEquals(1, difusor.getSuscriptores(), "el suscriptor del alumno 2 sigue conectado");
+	}
+
+	@Test
+	void losEventosSeEntreganPorAlumnoYPorAsignatura() throws Exception {
+		EmisorPrueba alumno = suscribir(DifusorEventosCalificacion.claveAlumno(1), true);
+		EmisorPrueba asignatura = suscribir(DifusorEventosCalificacion.claveAsignatura(7), true);
+		suscribir(DifusorEventosCalificacion.claveAsignatura(8), true);
+
+		difusor.publicar(evento(1L, 1, 7));
+		alumno.esperarEnvio();
+		asignatura.esperarEnvio();
+		for (long id = 2; id <= 4; id++) {
+			difusor.publicar(evento(id, 1, 7));
+		}
+
+		assertEquals(2, difusor.getDesconectados());
+		assertEquals(1, difusor.getSuscriptores());
+	}
+
+	@Test
+	void unSuscriptorDetenidoNoRetrasaALosDemas() throws Exception {
+		ReflectionTestUtils.setField(difusor, "plazoEnvioMs", 100L);
+		EmisorPrueba detenido = suscribir(DifusorEventosCalificacion.claveAlumno(1), true);
+		EmisorPrueba atento = suscribir(DifusorEventosCalificacion.claveAlumno(2), false);
+
+		difusor.publicar(evento(1L, 1, 7));
+		detenido.esperarEnvio();
+		for (long id = 2; id <= 4; id++) {
+			difusor.publicar(evento(id, 2, 7));
+			assertTrue(atento.recibidos.tryAcquire(1, 5, TimeUnit.SECONDS),
+					"el suscriptor del alumno 2 recibe sus eventos aunque el del alumno 1 no lea");
+		}
+
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (difusor.getDesconectados() == 0 && System.nanoTime() < limite) {
+			Thread.sleep(20);
+		}
+		assertEquals(1, difusor.getDesconectados(), "la revisión propia del difusor desconecta al detenido");
+		assertEquals(1, difusor.getSuscriptores(), "sólo se desconecta el suscriptor detenido");
+
+		difusor.publicar(evento(5L, 2, 7));
+		assertTrue(atento.recibidos.tryAcquire(1, 5, TimeUnit.SECONDS));
+	}
+
+	private EmisorPrueba suscribir(String clave, boolean detenido) {
+		EmisorPrueba emisor = new EmisorPrueba(detenido);
+		emisores.add(emisor);
+		difusor.suscribir(clave, List::of, 10);
+		return emisor;
+	}
+
+	/**
+	 * Emisor que cuenta los eventos enviados. Si está detenido, cada envío espera
+	 * a que termine la prueba, como con un cliente que no lee.
+	 */
+	private final class EmisorPrueba extends SseEmitter {
+		private final boolean detenido;
+		private final CountDownLatch enviando = new CountDownLatch(1);
+		private final Semaphore recibidos = new Semaphore(0);
+
+		EmisorPrueba(boolean detenido) {
+			super(0L);
+			this.detenido = detenido;
+		}
+
+		@Override
+		public void send(SseEventBuilder evento) throws IOException {
+			enviando.countDown();
+			if (detenido) {
+				try {
+					liberar.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException(e);
+				}
+			}
+			recibidos.release();
+		}
+
+		void esperarEnvio() throws InterruptedException {
+			assertTrue(enviando.await(5, TimeUnit.SECONDS), "el envío no empezó");
+		}
+	}
+
+	private static EventoCalificacion evento(Long id, Integer idAlumno, Integer idAsignatura) {
+		EventoCalificacion evento = new EventoCalificacion();
+		evento.setId(id);
+		evento.setTipo(TipoEventoCalificacion.CREADA);
+		evento.setIdAlumno(idAlumno);
+		evento.setIdAsignatura(idAsignatura);
+		evento.setCalificacion(Puntaje.valueOf("80"));
+		return evento;
+	}
+}
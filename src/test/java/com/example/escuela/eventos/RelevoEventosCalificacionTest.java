@@ -0,0 +1,141 @@
+package com.example.escuela.eventos;
+
+import com.example.escuela.model.EventoCalificacion;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.model.TipoEventoCalificacion;
+import com.example.escuela.repository.EventoCalificacionRepository;
+import com.example.escuela.service.EscuelaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RelevoEventosCalificacionTest {
+
+	@TempDir
+	Path directorio;
+
+	@Mock
+	private EventoCalificacionRepository eventoCalificacionRepository;
+
+	@Mock
+	private EscuelaService escuelaService;
+
+	@InjectMocks
+	private RelevoEventosCalificacion relevo;
+
+	private final List<EventoCalificacion> bandeja = new ArrayList<>();
+	private final SumideroMemoriaEventos memoria = new SumideroMemoriaEventos();
+	private final SumideroArchivoEventos archivo = new SumideroArchivoEventos();
+	private final AtomicInteger fallasPendientes = new AtomicInteger();
+
+	@BeforeEach
+	void configurar() {
+		when(eventoCalificacionRepository.findByPublicadoFalseOrderByIdAsc(any(Pageable.class)))
+				.thenAnswer(invocacion -> bandeja.stream()
+						.filter(e -> !e.isPublicado())
+						.sorted(Comparator.comparing(EventoCalificacion::getId))
+						.limit(invocacion.<Pageable>getArgument(0).getPageSize())
+						.toList());
+		when(eventoCalificacionRepository.marcarPublicados(anyList())).thenAnswer(invocacion -> {
+			Collection<?> ids = invocacion.getArgument(0);
+			bandeja.stream().filter(e -> ids.contains(e.getId())).forEach(e -> e.setPublicado(true));
+			return ids.size();
+		});
+		when(escuelaService.escuelas()).thenReturn(List.of("principal"));
+		lenient().when(escuelaService.actual()).thenReturn("principal");
+		SumideroEventos fallido = eventos -> {
+			if (fallasPendientes.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+				throw new IllegalStateException("Sumidero no disponible");
+			}
+		};
+		ReflectionTestUtils.setField(archivo, "objectMapper", new ObjectMapper().findAndRegisterModules());
+		ReflectionTestUtils.setField(archivo, "ruta", directorio.resolve("eventos.log").toString());
+		ReflectionTestUtils.setField(relevo, "sumideros", List.of(memoria, archivo, fallido));
+		ReflectionTestUtils.setField(relevo, "tamanioLote", 10);
+		ReflectionTestUtils.setField(relevo, "graciaMs", 60_000L);
+	}
+
+	@Test
+	void publicaEnOrdenDeIdHastaLaMarcaDeAgua() throws Exception {
+		LocalDateTime antiguo = LocalDateTime.now().minusMinutes(5);
+		bandeja.add(evento(2L, antiguo));
+		bandeja.add(evento(1L, antiguo));
+		EventoCalificacion reciente = evento(3L, LocalDateTime.now());
+		bandeja.add(reciente);
+		bandeja.add(evento(4L, antiguo));
+
+		relevo.publicarPendientes();
+
+		assertEquals(List.of(1L, 2L), ids(memoria));
+		assertEquals(2, Files.readAllLines(directorio.resolve("eventos.log")).size());
+		assertTrue(Files.readAllLines(directorio.resolve("eventos.log")).get(0).contains("\"calificacion\":85.5"));
+		assertEquals(List.of(true, true, false, false), bandeja.stream().map(EventoCalificacion::isPublicado).toList());
+
+		reciente.setFecha(antiguo);
+		relevo.publicarPendientes();
+
+		assertEquals(List.of(3L, 4L), ids(memoria));
+		assertEquals(4, Files.readAllLines(directorio.resolve("eventos.log")).size());
+		assertTrue(bandeja.stream().allMatch(EventoCalificacion::isPublicado));
+	}
+
+	@Test
+	void siUnSumideroFallaElLoteSeEntregaDeNuevo() {
+		bandeja.add(evento(1L, LocalDateTime.now().minusMinutes(5)));
+		fallasPendientes.set(1);
+
+		relevo.publicarPendientes();
+
+		assertEquals(List.of(1L), ids(memoria));
+		assertEquals(false, bandeja.get(0).isPublicado());
+
+		relevo.publicarPendientes();
+
+		assertEquals(List.of(1L), ids(memoria), "los consumidores reciben el evento repetido");
+		assertEquals(true, bandeja.get(0).isPublicado());
+		relevo.publicarPendientes();
+		assertEquals(List.of(), ids(memoria));
+	}
+
+	private static List<Long> ids(SumideroMemoriaEventos sumidero) {
+		List<EventoCalificacion> recibidos = new ArrayList<>();
+		sumidero.getCola().drainTo(recibidos);
+		return recibidos.stream().map(EventoCalificacion::getId).toList();
+	}
+
+	private static EventoCalificacion evento(Long id, LocalDateTime fecha) {
+		EventoCalificacion evento = new EventoCalificacion();
+		evento.setId(id);
+		evento.setTipo(TipoEventoCalificacion.CREADA);
+		evento.setIdCalificacion(id.intValue());
+		evento.setIdAlumno(1);
+		evento.setIdAsignatura(10);
+		evento.setCalificacion(Puntaje.valueOf("85.5"));
+		evento.setFecha(fecha);
+		return evento;
+	}
+}
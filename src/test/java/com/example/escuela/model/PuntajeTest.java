@@ -0,0 +1,72 @@
+package com.example.escuela.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuntajeTest {
+
+	private final PuntajeConverter converter = new PuntajeConverter();
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	void conservaLasCentesimasYComparteLasInstanciasValidas() {
+		Puntaje puntaje = Puntaje.valueOf("89.95");
+		assertEquals(8995, puntaje.centesimas());
+		assertEquals(new BigDecimal("89.95"), puntaje.aBigDecimal());
+		assertEquals("89.95", puntaje.toString());
+		assertSame(puntaje, Puntaje.de(new BigDecimal("89.950")));
+		assertSame(Puntaje.CIEN, Puntaje.valueOf(" 100 "));
+	}
+
+	@Test
+	void rechazaMasDeDosDecimales() {
+		assertThrows(NumberFormatException.class, () -> Puntaje.valueOf("89.955"));
+		assertThrows(NumberFormatException.class, () -> Puntaje.de(new BigDecimal("0.001")));
+		assertThrows(NumberFormatException.class, () -> converter.convertToEntityAttribute(new BigDecimal("70.125")));
+	}
+
+	@Test
+	void losValoresFueraDeRangoSeLeenPeroNoSonValidos() {
+		Puntaje negativo = Puntaje.valueOf("-0.01");
+		Puntaje excedido = Puntaje.valueOf("100.01");
+
+		assertEquals(-1, negativo.centesimas());
+		assertEquals(10001, excedido.centesimas());
+		assertFalse(negativo.esValida());
+		assertFalse(excedido.esValida());
+		assertTrue(Puntaje.CERO.esValida());
+		assertTrue(Puntaje.CIEN.esValida());
+		assertEquals(excedido, Puntaje.deCentesimas(10001));
+		assertTrue(negativo.compareTo(Puntaje.CERO) < 0);
+	}
+
+	@Test
+	void elConvertidorRespetaLosNulosYLaEscalaDeLaColumna() {
+		assertNull(converter.convertToDatabaseColumn(null));
+		assertNull(converter.convertToEntityAttribute(null));
+		assertEquals(new BigDecimal("7.50"), converter.convertToDatabaseColumn(Puntaje.valueOf("7.5")));
+		assertEquals(Puntaje.valueOf("7.5"), converter.convertToEntityAttribute(new BigDecimal("7.500")));
+		assertEquals(Puntaje.valueOf("-3"), converter.convertToEntityAttribute(new BigDecimal("-3.00")));
+	}
+
+	@Test
+	void seLeeDeJsonComoNumeroOTexto() throws Exception {
+		assertEquals(Puntaje.valueOf("89.95"), mapper.readValue("89.95", Puntaje.class));
+		assertEquals(Puntaje.valueOf("90"), mapper.readValue("90", Puntaje.class));
+		assertEquals(Puntaje.valueOf("90.5"), mapper.readValue("\"90.5\"", Puntaje.class));
+		assertNull(mapper.readValue("null", Puntaje.class));
+		assertEquals("89.95", mapper.writeValueAsString(Puntaje.valueOf("89.95")));
+		assertThrows(InvalidFormatException.class, () -> mapper.readValue("89.9500000001", Puntaje.class));
+		assertThrows(InvalidFormatException.class, () -> mapper.readValue("\"ochenta\"", Puntaje.class));
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.escuela.persistencia;
+
+import com.example.escuela.model.Puntaje;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DiarioCalificacionesTest {
+
+	@TempDir
+	Path directorio;
+
+	@Test
+	void recuperaLosRegistrosNoConfirmadosAlReabrir() throws Exception {
+		Path ruta = directorio.resolve("calificaciones.diario");
+		try (DiarioCalificaciones diario = DiarioCalificaciones.abrir(ruta, 4096)) {
+			diario.agregar(1, 10, puntaje("90.5"));
+			diario.agregar(2, 10, puntaje("75"));
+			diario.agregar(3, 11, puntaje("60"));
+			diario.confirmarHasta(1);
+		}
+
+		try (DiarioCalificaciones diario = DiarioCalificaciones.abrir(ruta, 4096)) {
+			List<DiarioCalificaciones.Registro> pendientes = diario.pendientesAlAbrir();
+			assertEquals(2, pendientes.size());
+			assertEquals(new DiarioCalificaciones.Registro(2, 2, 10, puntaje("75")), pendientes.get(0));
+			assertEquals(new DiarioCalificaciones.Registro(3, 3, 11, puntaje("60")), pendientes.get(1));
+			assertEquals(4, diario.agregar(4, 12, puntaje("100")));
+		}
+	}
+
+	@Test
+	void reutilizaElEspacioCuandoTodoEstaConfirmado() throws Exception {
+		Path ruta = directorio.resolve("calificaciones.diario");
+		try (DiarioCalificaciones diario = DiarioCalificaciones.abrir(ruta, 16 + 2 * 24)) {
+			diario.agregar(1, 10, puntaje("80"));
+			diario.agregar(2, 10, puntaje("81"));
+			assertThrows(IllegalStateException.class, () -> diario.agregar(3, 10, puntaje("82")));
+
+			diario.confirmarHasta(diario.getUltimaSecuencia());
+			assertEquals(3, diario.agregar(3, 10, puntaje("82")));
+		}
+
+		try (DiarioCalificaciones diario = DiarioCalificaciones.abrir(ruta, 16 + 2 * 24)) {
+			List<DiarioCalificaciones.Registro> pendientes = diario.pendientesAlAbrir();
+			assertEquals(List.of(new DiarioCalificaciones.Registro(3, 3, 10, puntaje("82"))), pendientes);
+			assertEquals(2, diario.getSecuenciaConfirmada());
+		}
+	}
+
+	@Test
+	void compactaLosPendientesCuandoSiempreQuedaAlguno() throws Exception {
+		Path ruta = directorio.resolve("calificaciones.diario");
+		try (DiarioCalificaciones diario = DiarioCalificaciones.abrir(ruta, 16 + 4 * 24)) {
+			for (int alumno = 1; alumno <= 4; alumno++) {
+				diario.agregar(alumno, 10, puntaje("70"));
+			}
+			diario.confirmarHasta(2);
+			assertEquals(5, diario.agregar(5, 10, puntaje("75")));
+			assertEquals(6, diario.agregar(6, 10, puntaje("80")));
+			assertThrows(IllegalStateException.class, () -> diario.agregar(7, 10, puntaje("85")));
+
+			diario.confirmarHasta(3);
+			assertEquals(7, diario.agregar(7, 10, puntaje("85")));
+		}
+		assertEquals(16 + 4 * 24, Files.size(ruta));
+
+		try (DiarioCalificaciones diario = DiarioCalificaciones.abrir(ruta, 16 + 4 * 24)) {
+			assertEquals(List.of(4L, 5L, 6L, 7L),
+					diario.pendientesAlAbrir().stream().map(DiarioCalificaciones.Registro::secuencia).toList());
+			assertEquals(new DiarioCalificaciones.Registro(7, 7, 10, puntaje("85")), diario.pendientesAlAbrir().get(3));
+			assertEquals(3, diario.getSecuenciaConfirmada());
+		}
+	}
+
+	private static Puntaje puntaje(String valor) {
+		return Puntaje.valueOf(valor);
+	}
+}
@@ -0,0 +1,66 @@
+package com.example.escuela.persistencia;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InstantaneaCalificacionesTest {
+
+	@TempDir
+	Path directorio;
+
+	@Test
+	void leeLasColumnasEscritas() throws Exception {
+		Path ruta = directorio.resolve("calificaciones.instantanea");
+		InstantaneaCalificaciones.escribir(ruta, new int[] { 1, 2, 3 }, new int[] { 10, 10, 11 },
+				new int[] { 5, 5, 6 }, new short[] { 9050, 7525, 10000 }, 3);
+
+		try (InstantaneaCalificaciones instantanea = InstantaneaCalificaciones.abrir(ruta)) {
+			assertEquals(3, instantanea.getFilas());
+			assertEquals(32 + 3 * 14, instantanea.getBytes());
+			assertEquals(2, instantanea.alumno(1));
+			assertEquals(11, instantanea.asignatura(2));
+			assertEquals(6, instantanea.grado(2));
+			assertEquals(7525, instantanea.calificacion(1));
+			assertEquals(10000, instantanea.calificacion(2));
+		}
+	}
+
+	@Test
+	void laInstantaneaAbiertaNoCambiaAlReemplazarla() throws Exception {
+		Path ruta = directorio.resolve("calificaciones.instantanea");
+		InstantaneaCalificaciones.escribir(ruta, new int[] { 1 }, new int[] { 10 }, new int[] { 5 },
+				new short[] { 8000 }, 1);
+
+		try (InstantaneaCalificaciones anterior = InstantaneaCalificaciones.abrir(ruta)) {
+			InstantaneaCalificaciones.escribir(ruta, new int[] { 7, 8 }, new int[] { 20, 20 }, new int[] { 6, 6 },
+					new short[] { 6000, 6500 }, 2);
+			assertEquals(1, anterior.getFilas());
+			assertEquals(8000, anterior.calificacion(0));
+			try (InstantaneaCalificaciones nueva = InstantaneaCalificaciones.abrir(ruta)) {
+				assertEquals(2, nueva.getFilas());
+				assertEquals(8, nueva.alumno(1));
+			}
+		}
+	}
+
+	@Test
+	void rechazaUnArchivoAlterado() throws Exception {
+		Path ruta = directorio.resolve("calificaciones.instantanea");
+		InstantaneaCalificaciones.escribir(ruta, new int[] { 1, 2 }, new int[] { 10, 10 }, new int[] { 5, 5 },
+				new short[] { 9000, 8000 }, 2);
+		try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.WRITE)) {
+			canal.write(ByteBuffer.wrap(new byte[] { 0x7F }), 32 + 3 * 8);
+		}
+
+		assertThrows(IOException.class, () -> InstantaneaCalificaciones.abrir(ruta));
+	}
+}
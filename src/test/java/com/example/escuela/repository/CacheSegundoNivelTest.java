@@ -0,0 +1,123 @@
+package com.example.escuela.repository;
+
+import com.example.escuela.config.CacheConfig;
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.Grado;
+import com.example.escuela.model.Puntaje;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara las sentencias SQL de los listados con la caché de segundo nivel vacía
+ * (equivalente a no tenerla) y con la caché ya poblada. Las consultas se hacen
+ * fuera de una transacción de prueba para que cada llamada use una sesión nueva
+ * y sólo la caché de segundo nivel pueda evitar las lecturas.
+ */
+@DataJpaTest(properties = "escuela.cache.estadisticas=true")
+@ActiveProfiles("h2")
+@Import(CacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheSegundoNivelTest {
+
+	private static final int GRADOS = 4;
+	private static final int ASIGNATURAS_POR_GRADO = 3;
+	private static final int ALUMNOS_POR_GRADO = 5;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private GradoRepository gradoRepository;
+
+	@Autowired
+	private AsignaturaRepository asignaturaRepository;
+
+	@Autowired
+	private AlumnoRepository alumnoRepository;
+
+	@Autowired
+	private CalificacionRepository calificacionRepository;
+
+	@Test
+	void losListadosHacenMenosConsultasConLaCachePoblada() {
+		List<Integer> grados = sembrar();
+		Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		entityManagerFactory.getCache().evictAll();
+
+		long[] alumnos = medir(estadisticas, () -> alumnoRepository.findAll());
+		long[] calificaciones = medir(estadisticas, () -> calificacionRepository.findAll());
+		long[] asignaturas = medir(estadisticas, () -> grados.forEach(asignaturaRepository::findByGradoId));
+
+		assertEquals(1 + GRADOS, alumnos[0]);
+		assertEquals(1, alumnos[1]);
+		assertTrue(calificaciones[1] < calificaciones[0],
+				"sin caché: " + calificaciones[0] + ", con caché: " + calificaciones[1]);
+		assertEquals(0, asignaturas[1]);
+		assertTrue(estadisticas.getCacheRegionStatistics("grados").getHitCount() > 0);
+	}
+
+	/**
+	 * Ejecuta la consulta dos veces: la primera con la caché vacía para esa
+	 * consulta y la segunda con la caché ya poblada.
+	 *
+	 * @return El número de sentencias de cada ejecución.
+	 */
+	private long[] medir(Statistics estadisticas, Runnable consulta) {
+		long[] sentencias = new long[2];
+		for (int i = 0; i < 2; i++) {
+			estadisticas.clear();
+			consulta.run();
+			sentencias[i] = estadisticas.getPrepareStatementCount();
+		}
+		return sentencias;
+	}
+
+	private List<Integer> sembrar() {
+		List<Integer> grados = new ArrayList<>();
+		for (int g = 0; g < GRADOS; g++) {
+			Grado grado = new Grado();
+			grado.setNombre_grado(g + "A");
+			grado = gradoRepository.save(grado);
+			grados.add(grado.getId());
+
+			List<Asignatura> asignaturas = new ArrayList<>();
+			for (int s = 0; s < ASIGNATURAS_POR_GRADO; s++) {
+				Asignatura asignatura = new Asignatura();
+				asignatura.setNombre("Asignatura " + g + "-" + s);
+				asignatura.setGrado(grado);
+				asignaturas.add(asignaturaRepository.save(asignatura));
+			}
+			for (int a = 0; a < ALUMNOS_POR_GRADO; a++) {
+				Alumno alumno = new Alumno();
+				alumno.setMatricula("M" + g + "-" + a);
+				alumno.setNombre("Alumno " + g + "-" + a);
+				alumno.setGrado(grado);
+				alumno = alumnoRepository.save(alumno);
+				for (Asignatura asignatura : asignaturas) {
+					Calificacion calificacion = new Calificacion();
+					calificacion.setAlumno(alumno);
+					calificacion.setAsignatura(asignatura);
+					calificacion.setCalificacion(Puntaje.deCentesimas((60 + a * 5) * Puntaje.ESCALA));
+					calificacionRepository.save(calificacion);
+				}
+			}
+		}
+		return grados;
+	}
+}
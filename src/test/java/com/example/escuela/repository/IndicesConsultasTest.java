@@ -0,0 +1,185 @@
+package com.example.escuela.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Revisa con EXPLAIN, sobre el esquema de las migraciones en H2 con modo MySQL,
+ * que las consultas de los repositorios usan un índice y no recorren la tabla
+ * completa. Cada caso ejecuta el método del repositorio y analiza el SQL que
+ * Hibernate envió, capturado con un StatementInspector, de modo que un cambio
+ * en la consulta derivada se refleja en el plan revisado.
+ *
+ * H2 crea un índice propio para cada llave foránea y lo prefiere sobre los
+ * índices compuestos que empiezan por la misma columna, mientras que MySQL
+ * descarta ese índice implícito; en esos casos sólo se comprueba que no haya un
+ * recorrido completo.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:indices;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector="
+				+ "com.example.escuela.repository.IndicesConsultasTest$Captura" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class IndicesConsultasTest {
+
+	/**
+	 * Guarda las sentencias SELECT que Hibernate prepara en el hilo actual.
+	 */
+	public static class Captura implements StatementInspector {
+
+		static final ThreadLocal<List<String>> SENTENCIAS = ThreadLocal.withInitial(ArrayList::new);
+
+		@Override
+		public String inspect(String sql) {
+			if (sql.stripLeading().toLowerCase().startsWith("select")) {
+				SENTENCIAS.get().add(sql);
+			}
+			return sql;
+		}
+	}
+
+	/**
+	 * Repositorios sobre los que se ejecuta cada caso.
+	 */
+	record Repositorios(AlumnoRepository alumnos, AsignaturaRepository asignaturas,
+			CalificacionRepository calificaciones, EventoCalificacionRepository eventos,
+			HistorialCalificacionRepository historial) {
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private AlumnoRepository alumnoRepository;
+
+	@Autowired
+	private AsignaturaRepository asignaturaRepository;
+
+	@Autowired
+	private CalificacionRepository calificacionRepository;
+
+	@Autowired
+	private EventoCalificacionRepository eventoCalificacionRepository;
+
+	@Autowired
+	private HistorialCalificacionRepository historialCalificacionRepository;
+
+	static Stream<Arguments> consultas() {
+		return Stream.of(
+				caso("AlumnoRepository.findByGradoId por nombre",
+						r -> r.alumnos().findByGradoId(1, PageRequest.of(1, 20, Sort.by("nombre", "id"))), null),
+				caso("AlumnoRepository.findByGradoId por matrícula",
+						r -> r.alumnos().findByGradoId(1, PageRequest.of(1, 20, Sort.by("matricula", "id"))), null),
+				caso("AlumnoRepository.existsByMatricula", r -> r.alumnos().existsByMatricula("M1"), null),
+				caso("AlumnoRepository.obtenerKardex", r -> r.alumnos().obtenerKardex(1), null),
+				caso("AlumnoRepository.findAllByIdIn", r -> r.alumnos().findAllByIdIn(Set.of(1, 2)), null),
+				caso("AlumnoRepository.contarPorGrado", r -> r.alumnos().contarPorGrado(Set.of(1, 2)), null),
+				caso("AlumnoRepository.bloquearPorGrados", r -> r.alumnos().bloquearPorGrados(Set.of(1, 2)), null),
+				caso("AsignaturaRepository.findByGradoId", r -> r.asignaturas().findByGradoId(1),
+						"idx_asignaturas_grado_nombre"),
+				caso("AsignaturaRepository.existsByNombre", r -> r.asignaturas().existsByNombre("Mate"),
+						"idx_asignaturas_nombre"),
+				caso("CalificacionRepository.findByAlumnoId", r -> r.calificaciones().findByAlumnoId(1), null),
+				caso("CalificacionRepository.findByAlumnoIdAndAsignaturaId",
+						r -> r.calificaciones().findByAlumnoIdAndAsignaturaId(1, 2), null),
+				caso("CalificacionRepository.existsByAlumnoIdAndAsignaturaId",
+						r -> r.calificaciones().existsByAlumnoIdAndAsignaturaId(1, 2), null),
+				caso("CalificacionRepository.findByAsignaturaId", r -> r.calificaciones().findByAsignaturaId(1), null),
+				caso("CalificacionRepository.bloquearPorAlumno", r -> r.calificaciones().bloquearPorAlumno(1), null),
+				caso("CalificacionRepository.bloquearPorAsignatura", r -> r.calificaciones().bloquearPorAsignatura(1),
+						null),
+				caso("CalificacionRepository.bloquearDeAlumnos",
+						r -> r.calificaciones().bloquearDeAlumnos(1, Set.of(1, 2)), null),
+				caso("CalificacionRepository.bloquearDeAlumnosYAsignaturas",
+						r -> r.calificaciones().bloquearDeAlumnosYAsignaturas(Set.of(1, 2), Set.of(1, 2)), null),
+				caso("CalificacionRepository.obtenerFilasDeAlumnos",
+						r -> r.calificaciones().obtenerFilasDeAlumnos(1, Set.of(1, 2)), null),
+				caso("CalificacionRepository.findAllByIdIn", r -> r.calificaciones().findAllByIdIn(Set.of(1, 2)), null),
+				caso("EventoCalificacionRepository.findByPublicadoFalseOrderByIdAsc",
+						r -> r.eventos().findByPublicadoFalseOrderByIdAsc(PageRequest.of(0, 200)),
+						"idx_eventos_publicado"),
+				caso("EventoCalificacionRepository.findByIdGreaterThanOrderByIdAsc",
+						r -> r.eventos().findByIdGreaterThanOrderByIdAsc(10L, PageRequest.of(0, 100)), null),
+				caso("EventoCalificacionRepository.findByIdAlumnoAndIdGreaterThanOrderByIdAsc",
+						r -> r.eventos().findByIdAlumnoAndIdGreaterThanOrderByIdAsc(1, 10L, PageRequest.of(0, 1001)),
+						"idx_eventos_alumno"),
+				caso("EventoCalificacionRepository.findByIdAsignaturaAndIdGreaterThanOrderByIdAsc",
+						r -> r.eventos().findByIdAsignaturaAndIdGreaterThanOrderByIdAsc(1, 10L,
+								PageRequest.of(0, 1001)),
+						"idx_eventos_asignatura"),
+				caso("HistorialCalificacionRepository.findByIdAlumnoAndIdAsignaturaAndIdLessThanOrderByIdDesc",
+						r -> r.historial().findByIdAlumnoAndIdAsignaturaAndIdLessThanOrderByIdDesc(1, 2, 100L,
+								PageRequest.of(0, 21)),
+						"idx_historial_alumno_asignatura"));
+	}
+
+	private static Arguments caso(String consulta, Consumer<Repositorios> llamada, String indiceEsperado) {
+		return Arguments.of(consulta, llamada, indiceEsperado);
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("consultas")
+	void laConsultaUsaUnIndice(String consulta, Consumer<Repositorios> llamada, String indiceEsperado) {
+		Captura.SENTENCIAS.get().clear();
+		llamada.accept(new Repositorios(alumnoRepository, asignaturaRepository, calificacionRepository,
+				eventoCalificacionRepository, historialCalificacionRepository));
+		List<String> sentencias = List.copyOf(Captura.SENTENCIAS.get());
+		assertFalse(sentencias.isEmpty(), () -> consulta + " no envió ninguna consulta");
+
+		for (String sql : sentencias) {
+			String plan = explicar(sql);
+			assertFalse(plan.contains("tablescan"), () -> consulta + " recorre la tabla completa:\n" + sql + "\n" + plan);
+		}
+		if (indiceEsperado != null) {
+			String plan = explicar(sentencias.get(0));
+			assertTrue(plan.contains(indiceEsperado), () -> consulta + " no usa " + indiceEsperado + ":\n" + plan);
+		}
+	}
+
+	/**
+	 * Obtiene el plan de una sentencia con sus parámetros ligados a valores de
+	 * ejemplo del tipo que H2 infiere para cada uno.
+	 */
+	private String explicar(String sql) {
+		return jdbcTemplate.execute((ConnectionCallback<String>) conexion -> {
+			try (PreparedStatement sentencia = conexion.prepareStatement("explain " + sql)) {
+				ParameterMetaData parametros = sentencia.getParameterMetaData();
+				for (int i = 1; i <= parametros.getParameterCount(); i++) {
+					switch (parametros.getParameterType(i)) {
+						case Types.VARCHAR, Types.CHAR, Types.CLOB -> sentencia.setString(i, "M1");
+						case Types.BOOLEAN -> sentencia.setBoolean(i, false);
+						default -> sentencia.setInt(i, 1);
+					}
+				}
+				try (ResultSet plan = sentencia.executeQuery()) {
+					plan.next();
+					return plan.getString(1).toLowerCase();
+				}
+			}
+		});
+	}
+}
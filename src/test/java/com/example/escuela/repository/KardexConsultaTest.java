@@ -0,0 +1,91 @@
+package com.example.escuela.repository;
+
+import com.example.dto.FilaKardexDTO;
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.Grado;
+import com.example.escuela.model.Puntaje;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara el número de sentencias SQL del kardex contra el camino anterior
+ * (buscar el alumno y después sus calificaciones con sus relaciones), para
+ * distintas cantidades de asignaturas.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("h2")
+class KardexConsultaTest {
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private AlumnoRepository alumnoRepository;
+
+	@Autowired
+	private CalificacionRepository calificacionRepository;
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 5, 30 })
+	void elKardexUsaUnaSolaSentenciaSinImportarLasAsignaturas(int asignaturas) {
+		Integer idAlumno = sembrar(asignaturas);
+		Statistics estadisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+				.getStatistics();
+
+		estadisticas.clear();
+		List<FilaKardexDTO> filas = alumnoRepository.obtenerKardex(idAlumno);
+		long sentenciasKardex = estadisticas.getPrepareStatementCount();
+
+		entityManager.clear();
+		estadisticas.clear();
+		alumnoRepository.findById(idAlumno);
+		calificacionRepository.findByAlumnoId(idAlumno);
+		long sentenciasAnteriores = estadisticas.getPrepareStatementCount();
+
+		assertEquals(asignaturas, filas.size());
+		assertEquals(1, sentenciasKardex);
+		assertTrue(sentenciasAnteriores > sentenciasKardex,
+				"el camino anterior usa " + sentenciasAnteriores + " sentencias");
+	}
+
+	private Integer sembrar(int asignaturas) {
+		Grado grado = new Grado();
+		grado.setNombre_grado("1A");
+		entityManager.persist(grado);
+
+		Alumno alumno = new Alumno();
+		alumno.setMatricula("M-" + asignaturas);
+		alumno.setNombre("Alumno");
+		alumno.setGrado(grado);
+		entityManager.persist(alumno);
+
+		for (int i = 0; i < asignaturas; i++) {
+			Asignatura asignatura = new Asignatura();
+			asignatura.setNombre("Asignatura " + i);
+			asignatura.setGrado(grado);
+			entityManager.persist(asignatura);
+
+			Calificacion calificacion = new Calificacion();
+			calificacion.setAlumno(alumno);
+			calificacion.setAsignatura(asignatura);
+			calificacion.setCalificacion(Puntaje.deCentesimas((70 + i % 30) * Puntaje.ESCALA));
+			entityManager.persist(calificacion);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		return alumno.getId();
+	}
+}
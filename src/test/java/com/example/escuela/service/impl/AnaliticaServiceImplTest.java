@@ -0,0 +1,157 @@
+package com.example.escuela.service.impl;
+
+import com.example.dto.FilaCalificacionDTO;
+import com.example.dto.ResumenAnaliticoDTO;
+import com.example.escuela.excepciones.InstantaneaExcepcion;
+import com.example.escuela.model.Puntaje;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AnaliticaServiceImplTest {
+
+	@TempDir
+	Path directorio;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@InjectMocks
+	private AnaliticaServiceImpl servicio;
+
+	private final List<FilaCalificacionDTO> filas = new ArrayList<>();
+
+	@BeforeEach
+	void configurar() {
+		ReflectionTestUtils.setField(servicio, "habilitada", true);
+		ReflectionTestUtils.setField(servicio, "rutaInstantanea", directorio.resolve("a.instantanea").toString());
+		ReflectionTestUtils.setField(servicio, "calificacionAprobatoria", Puntaje.valueOf("60"));
+		servicio.abrir();
+	}
+
+	@AfterEach
+	void cerrar() throws Exception {
+		servicio.cerrar();
+	}
+
+	@Test
+	void resumePorGradoYPorAsignaturaDesdeLaInstantanea() {
+		leerFilas(new CountDownLatch(0));
+		filas.add(new FilaCalificacionDTO(1, 1, 10, Puntaje.valueOf("90.5")));
+		filas.add(new FilaCalificacionDTO(1, 1, 11, Puntaje.valueOf("59.99")));
+		filas.add(new FilaCalificacionDTO(2, 1, 10, Puntaje.valueOf("70")));
+		filas.add(new FilaCalificacionDTO(3, 2, 20, Puntaje.valueOf("100")));
+		servicio.reconstruir();
+		filas.clear();
+
+		assertEquals(List.of(new ResumenAnaliticoDTO(1, 3, 73.5, 59.99, 90.5, 1, 1 / 3.0),
+				new ResumenAnaliticoDTO(2, 1, 100, 100, 100, 0, 0)), servicio.resumirPorGrado());
+		assertEquals(List.of(new ResumenAnaliticoDTO(10, 2, 80.25, 70, 90.5, 0, 0),
+				new ResumenAnaliticoDTO(11, 1, 59.99, 59.99, 59.99, 1, 1)), servicio.resumirPorAsignatura(1));
+		assertEquals(3, servicio.resumirPorAsignatura(null).size());
+	}
+
+	@Test
+	void generaInstantaneasDeMasFilasQueLaCapacidadInicial() {
+		leerFilas(new CountDownLatch(0));
+		for (int alumno = 1; alumno <= 3000; alumno++) {
+			filas.add(new FilaCalificacionDTO(alumno, alumno % 3 + 1, 10, Puntaje.valueOf("80")));
+		}
+		servicio.reconstruir();
+
+		assertEquals(3000, servicio.obtenerEstado().getFilas());
+		assertEquals(List.of(new ResumenAnaliticoDTO(10, 1000, 80, 80, 80, 0, 0)), servicio.resumirPorAsignatura(2));
+	}
+
+	@Test
+	void generaLaInstantaneaSolicitadaUnaSolaVezEnLaRevision() throws Exception {
+		leerFilas(new CountDownLatch(0));
+		filas.add(new FilaCalificacionDTO(1, 1, 10, Puntaje.valueOf("80")));
+		servicio.solicitarReconstruccion();
+		servicio.solicitarReconstruccion();
+		assertEquals(0, servicio.obtenerEstado().getFilas());
+
+		servicio.reconstruirPendiente();
+		esperarFilas(1);
+
+		filas.add(new FilaCalificacionDTO(2, 1, 10, Puntaje.valueOf("90")));
+		servicio.reconstruirPendiente();
+		assertEquals(1, servicio.obtenerEstado().getFilas());
+	}
+
+	@Test
+	void unaGeneracionLentaNoDetieneAlHiloQueLaProgramo() throws Exception {
+		CountDownLatch lenta = new CountDownLatch(1);
+		leerFilas(lenta);
+		filas.add(new FilaCalificacionDTO(1, 1, 10, Puntaje.valueOf("80")));
+
+		assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+			servicio.reconstruirProgramada();
+			servicio.solicitarReconstruccion();
+			servicio.reconstruirPendiente();
+			servicio.reconstruirProgramada();
+		});
+		lenta.countDown();
+		esperarFilas(1);
+	}
+
+	@Test
+	void sinInstantaneaLasConsultasFallan() {
+		assertThrows(InstantaneaExcepcion.class, servicio::resumirPorGrado);
+		assertEquals(0, servicio.obtenerEstado().getFilas());
+	}
+
+	/**
+	 * Simula la consulta de las calificaciones: cuando se libera, entrega las
+	 * filas de la prueba al manejador, cada una como un ResultSet.
+	 */
+	private void leerFilas(CountDownLatch liberada) {
+		doAnswer(invocacion -> {
+			liberada.await();
+			RowCallbackHandler manejador = invocacion.getArgument(1);
+			for (FilaCalificacionDTO fila : List.copyOf(filas)) {
+				ResultSet rs = mock(ResultSet.class);
+				when(rs.getInt(1)).thenReturn(fila.getIdAlumno());
+				when(rs.getInt(2)).thenReturn(fila.getIdGrado());
+				when(rs.getInt(3)).thenReturn(fila.getIdAsignatura());
+				when(rs.getShort(4)).thenReturn((short) fila.getCalificacion().centesimas());
+				manejador.processRow(rs);
+			}
+			return null;
+		}).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+	}
+
+	private void esperarFilas(long esperadas) throws InterruptedException {
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (servicio.obtenerEstado().getFilas() != esperadas && System.nanoTime() < limite) {
+			Thread.sleep(10);
+		}
+		assertEquals(esperadas, servicio.obtenerEstado().getFilas());
+	}
+}
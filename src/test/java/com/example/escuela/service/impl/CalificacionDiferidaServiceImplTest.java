@@ -0,0 +1,271 @@
+package com.example.escuela.service.impl;
+
+import com.example.dto.CalificacionDTO;
+import com.example.dto.FilaCalificacionGuardadaDTO;
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.EventoCalificacion;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.model.TipoEventoCalificacion;
+import com.example.escuela.repository.AlumnoRepository;
+import com.example.escuela.repository.AsignaturaRepository;
+import com.example.escuela.repository.CalificacionRepository;
+import com.example.escuela.service.EventoCalificacionService;
+import com.example.escuela.service.HistorialCalificacionService;
+import com.example.escuela.service.MotorAnaliticoService;
+import com.example.escuela.service.RankingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class CalificacionDiferidaServiceImplTest {
+
+	@TempDir
+	Path directorio;
+
+	@Mock
+	private CalificacionRepository calificacionRepository;
+
+	@Mock
+	private AlumnoRepository alumnoRepository;
+
+	@Mock
+	private AsignaturaRepository asignaturaRepository;
+
+	@Mock
+	private EventoCalificacionService eventoCalificacionService;
+
+	@Mock
+	private HistorialCalificacionService historialCalificacionService;
+
+	@Mock
+	private RankingService rankingService;
+
+	@Mock
+	private MotorAnaliticoService motorAnaliticoService;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@InjectMocks
+	private CalificacionDiferidaServiceImpl servicio;
+
+	/**
+	 * Segunda instancia con el mismo diario, para simular un reinicio.
+	 */
+	@InjectMocks
+	private CalificacionDiferidaServiceImpl reiniciado;
+
+	/**
+	 * Calificaciones confirmadas en la base de datos simulada, por alumno.
+	 */
+	private final Map<Integer, Puntaje> escritas = new HashMap<>();
+
+	/**
+	 * Calificaciones escritas en la transacción en curso; se descartan si se
+	 * revierte.
+	 */
+	private final Map<Integer, Puntaje> enCurso = new HashMap<>();
+
+	/**
+	 * Excepción que lanza la escritura de la calificación de cada alumno.
+	 */
+	private final Map<Integer, RuntimeException> fallas = new HashMap<>();
+
+	@BeforeEach
+	void configurar() {
+		lenient().when(alumnoRepository.existsById(anyInt())).thenReturn(true);
+		lenient().when(asignaturaRepository.existsById(anyInt())).thenReturn(true);
+		lenient().when(calificacionRepository.existsByAlumnoIdAndAsignaturaId(anyInt(), anyInt()))
+				.thenAnswer(invocacion -> escritas.containsKey(invocacion.<Integer>getArgument(0)));
+		lenient().when(alumnoRepository.getReferenceById(anyInt())).thenAnswer(invocacion -> {
+			Alumno alumno = new Alumno();
+			alumno.setId(invocacion.getArgument(0));
+			return alumno;
+		});
+		lenient().when(asignaturaRepository.getReferenceById(anyInt())).thenReturn(new Asignatura());
+		lenient().when(calificacionRepository.bloquearDeAlumnosYAsignaturas(anyCollection(), anyCollection()))
+				.thenAnswer(invocacion -> {
+					Map<Integer, Puntaje> visibles = new HashMap<>(escritas);
+					visibles.putAll(enCurso);
+					Collection<Integer> idsAlumnos = invocacion.getArgument(0);
+					return idsAlumnos.stream().filter(visibles::containsKey)
+							.map(id -> new FilaCalificacionGuardadaDTO(id, id, 1, 10, visibles.get(id))).toList();
+				});
+		lenient().when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocacion -> {
+			Object[] parametros = (Object[]) invocacion.getRawArguments()[1];
+			for (int i = 0; i < parametros.length; i += 3) {
+				RuntimeException falla = fallas.get((Integer) parametros[i]);
+				if (falla != null) {
+					throw falla;
+				}
+			}
+			for (int i = 0; i < parametros.length; i += 3) {
+				enCurso.put((Integer) parametros[i], Puntaje.de((BigDecimal) parametros[i + 2]));
+			}
+			return parametros.length / 3;
+		});
+		lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		lenient().doAnswer(invocacion -> {
+			escritas.putAll(enCurso);
+			enCurso.clear();
+			return null;
+		}).when(transactionManager).commit(any());
+		lenient().doAnswer(invocacion -> {
+			enCurso.clear();
+			return null;
+		}).when(transactionManager).rollback(any());
+	}
+
+	@AfterEach
+	void cerrar() throws Exception {
+		servicio.detener();
+		reiniciado.detener();
+	}
+
+	@Test
+	void escribeSoloElUltimoValorDeCadaAlumnoYConfirmaElDiario() throws Exception {
+		iniciar(servicio);
+		aceptar(servicio, 1, "70");
+		aceptar(servicio, 1, "75.5");
+		aceptar(servicio, 2, "90");
+
+		servicio.vaciarPendientes();
+
+		assertEquals(Map.of(1, Puntaje.valueOf("75.5"), 2, Puntaje.valueOf("90")), escritas);
+		assertEquals(0, servicio.obtenerEstado().getPendientes());
+		assertEquals(3, servicio.obtenerEstado().getSecuenciaConfirmada());
+		verify(jdbcTemplate).update(anyString(), any(Object[].class));
+		assertEquals(List.of(TipoEventoCalificacion.CREADA, TipoEventoCalificacion.CREADA),
+				eventosRegistrados().stream().map(EventoCalificacion::getTipo).toList());
+	}
+
+	@Test
+	void unFalloQueNoEsDeIntegridadDevuelveLoNoEscritoALaCola() throws Exception {
+		iniciar(servicio);
+		for (int alumno = 1; alumno <= 4; alumno++) {
+			aceptar(servicio, alumno, "80");
+		}
+		fallas.put(2, new DataIntegrityViolationException("El alumno 2 ya no existe"));
+		fallas.put(3, new QueryTimeoutException("Se perdió la conexión"));
+
+		servicio.vaciarPendientes();
+
+		assertEquals(Map.of(1, Puntaje.valueOf("80")), escritas);
+		assertEquals(2, servicio.obtenerEstado().getPendientes());
+		assertEquals(0, servicio.obtenerEstado().getSecuenciaConfirmada());
+
+		fallas.remove(3);
+		servicio.vaciarPendientes();
+
+		assertEquals(Map.of(1, Puntaje.valueOf("80"), 3, Puntaje.valueOf("80"), 4, Puntaje.valueOf("80")), escritas);
+		assertEquals(0, servicio.obtenerEstado().getPendientes());
+		assertEquals(4, servicio.obtenerEstado().getSecuenciaConfirmada());
+	}
+
+	@Test
+	void alReiniciarVuelveAEncolarLoQueNoSeEscribio() throws Exception {
+		iniciar(servicio);
+		aceptar(servicio, 1, "60");
+		aceptar(servicio, 2, "65");
+		fallas.put(1, new QueryTimeoutException("Se perdió la conexión"));
+		servicio.vaciarPendientes();
+		servicio.detener();
+		fallas.clear();
+
+		iniciar(reiniciado);
+		assertEquals(2, reiniciado.obtenerEstado().getPendientes());
+		reiniciado.vaciarPendientes();
+
+		assertEquals(Map.of(1, Puntaje.valueOf("60"), 2, Puntaje.valueOf("65")), escritas);
+		assertEquals(2, reiniciado.obtenerEstado().getSecuenciaConfirmada());
+	}
+
+	@Test
+	void sobrescribeLaCalificacionCreadaDespuesDeAceptarlaComoActualizacion() throws Exception {
+		iniciar(servicio);
+		aceptar(servicio, 1, "85");
+		escritas.put(1, Puntaje.valueOf("70"));
+
+		servicio.vaciarPendientes();
+
+		assertEquals(Map.of(1, Puntaje.valueOf("85")), escritas);
+		EventoCalificacion evento = eventosRegistrados().get(0);
+		assertEquals(TipoEventoCalificacion.ACTUALIZADA, evento.getTipo());
+		assertEquals(1, evento.getIdCalificacion());
+		verify(historialCalificacionService).registrar(any(Calificacion.class), eq(Puntaje.valueOf("70")),
+				eq(Puntaje.valueOf("85")));
+	}
+
+	@Test
+	void noEscribeLasCalificacionesQueYaTienenElMismoValor() throws Exception {
+		iniciar(servicio);
+		aceptar(servicio, 1, "70");
+		escritas.put(1, Puntaje.valueOf("70"));
+
+		servicio.vaciarPendientes();
+
+		assertEquals(1, servicio.obtenerEstado().getSecuenciaConfirmada());
+		verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+		verifyNoInteractions(eventoCalificacionService, historialCalificacionService, rankingService);
+	}
+
+	private List<EventoCalificacion> eventosRegistrados() {
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<EventoCalificacion>> eventos = ArgumentCaptor.forClass(List.class);
+		verify(eventoCalificacionService).registrarTodos(eventos.capture());
+		return eventos.getValue();
+	}
+
+	private void aceptar(CalificacionDiferidaServiceImpl servicio, int idAlumno, String calificacion) {
+		CalificacionDTO dto = new CalificacionDTO();
+		dto.setId_alumno(idAlumno);
+		dto.setId_asignatura(10);
+		dto.setCalificacion(Puntaje.valueOf(calificacion));
+		servicio.aceptarCalificacion(dto);
+	}
+
+	private void iniciar(CalificacionDiferidaServiceImpl servicio) throws Exception {
+		ReflectionTestUtils.setField(servicio, "habilitada", true);
+		ReflectionTestUtils.setField(servicio, "rutaDiario", directorio.resolve("calificaciones.diario").toString());
+		ReflectionTestUtils.setField(servicio, "capacidadDiario", 4096);
+		ReflectionTestUtils.setField(servicio, "tamanioLote", 500);
+		servicio.iniciar();
+	}
+}
@@ -0,0 +1,121 @@
+package com.example.escuela.service.impl;
+
+import com.example.dto.EstadisticaCoalescenciaDTO;
+import com.example.escuela.excepciones.AlumnoExcepcion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescenciaLecturasServiceImplTest {
+
+	private static final int HILOS = 8;
+
+	private final CoalescenciaLecturasServiceImpl servicio = new CoalescenciaLecturasServiceImpl();
+	private final ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+
+	@BeforeEach
+	void configurar() {
+		ReflectionTestUtils.setField(servicio, "entorno",
+				new MockEnvironment().withProperty("escuela.coalescencia.metodos.deshabilitado", "false"));
+		ReflectionTestUtils.setField(servicio, "habilitada", true);
+	}
+
+	@AfterEach
+	void detener() {
+		hilos.shutdownNow();
+	}
+
+	@Test
+	void lasLecturasConcurrentesIdenticasCompartenUnaEjecucion() throws Exception {
+		AtomicInteger ejecuciones = new AtomicInteger();
+		CountDownLatch liberar = new CountDownLatch(1);
+		List<Future<Object>> resultados = lanzar("lectura", 7, () -> {
+			ejecuciones.incrementAndGet();
+			esperar(liberar);
+			return new Object();
+		});
+		esperarCompartidas("lectura", HILOS - 1);
+		liberar.countDown();
+
+		Object primero = resultados.get(0).get(5, TimeUnit.SECONDS);
+		for (Future<Object> resultado : resultados) {
+			assertSame(primero, resultado.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, ejecuciones.get());
+		EstadisticaCoalescenciaDTO estadistica = servicio.obtenerEstadisticas().get(0);
+		assertEquals(new EstadisticaCoalescenciaDTO("lectura", true, HILOS, 1, HILOS - 1, (HILOS - 1) / (double) HILOS),
+				estadistica);
+
+		servicio.ejecutar("lectura", 7, Object::new);
+		assertEquals(2, servicio.obtenerEstadisticas().get(0).getEjecuciones());
+	}
+
+	@Test
+	void laExcepcionDeLaLecturaSeEntregaATodasLasLlamadas() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		List<Future<Object>> resultados = lanzar("fallida", 1, () -> {
+			esperar(liberar);
+			throw new AlumnoExcepcion("No se econtró al alumno con id 1");
+		});
+		esperarCompartidas("fallida", HILOS - 1);
+		liberar.countDown();
+
+		for (Future<Object> resultado : resultados) {
+			ExecutionException error = assertThrows(ExecutionException.class, () -> resultado.get(5, TimeUnit.SECONDS));
+			assertTrue(error.getCause() instanceof AlumnoExcepcion);
+		}
+	}
+
+	@Test
+	void unMetodoDeshabilitadoEjecutaCadaLectura() {
+		servicio.ejecutar("deshabilitado", 1, Object::new);
+		servicio.ejecutar("deshabilitado", 1, Object::new);
+
+		EstadisticaCoalescenciaDTO estadistica = servicio.obtenerEstadisticas().get(0);
+		assertEquals(new EstadisticaCoalescenciaDTO("deshabilitado", false, 2, 2, 0, 0), estadistica);
+	}
+
+	private List<Future<Object>> lanzar(String metodo, Object argumento, Supplier<Object> lectura) {
+		List<Future<Object>> resultados = new ArrayList<>();
+		for (int i = 0; i < HILOS; i++) {
+			resultados.add(hilos.submit(() -> servicio.ejecutar(metodo, argumento, lectura)));
+		}
+		return resultados;
+	}
+
+	private void esperarCompartidas(String metodo, long compartidas) throws InterruptedException {
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (servicio.obtenerEstadisticas().stream().filter(e -> e.getMetodo().equals(metodo))
+				.noneMatch(e -> e.getCompartidas() == compartidas)) {
+			assertTrue(System.nanoTime() < limite, "Las lecturas no se compartieron");
+			Thread.sleep(5);
+		}
+	}
+
+	private static void esperar(CountDownLatch liberar) {
+		try {
+			assertTrue(liberar.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
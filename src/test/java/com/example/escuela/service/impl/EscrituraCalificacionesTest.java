@@ -0,0 +1,44 @@
+package com.example.escuela.service.impl;
+
+import com.example.escuela.model.Puntaje;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EscrituraCalificacionesTest {
+
+	private static final List<EscrituraCalificaciones.Fila> FILAS = List.of(
+			new EscrituraCalificaciones.Fila(1, 10, Puntaje.valueOf("80")),
+			new EscrituraCalificaciones.Fila(2, 10, Puntaje.valueOf("95.5")));
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void actualizaDesdeElAliasDeLaFilaInsertada() {
+		EscrituraCalificaciones.insertarOActualizar(jdbcTemplate, true, FILAS);
+
+		verify(jdbcTemplate).update(eq("INSERT INTO calificaciones (id_alumno, id_asignatura, calificacion) VALUES "
+				+ "(?, ?, ?), (?, ?, ?) AS nuevo ON DUPLICATE KEY UPDATE calificacion = nuevo.calificacion"),
+				aryEq(new Object[] { 1, 10, new BigDecimal("80.00"), 2, 10, new BigDecimal("95.50") }));
+	}
+
+	@Test
+	void sinAliasUsaValues() {
+		EscrituraCalificaciones.insertarOActualizar(jdbcTemplate, false, FILAS.subList(0, 1));
+
+		verify(jdbcTemplate).update(eq("INSERT INTO calificaciones (id_alumno, id_asignatura, calificacion) VALUES "
+				+ "(?, ?, ?) ON DUPLICATE KEY UPDATE calificacion = VALUES(calificacion)"),
+				aryEq(new Object[] { 1, 10, new BigDecimal("80.00") }));
+	}
+}
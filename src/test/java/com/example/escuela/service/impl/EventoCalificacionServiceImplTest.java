@@ -0,0 +1,58 @@
+package com.example.escuela.service.impl;
+
+import com.example.escuela.model.EventoCalificacion;
+import com.example.escuela.repository.EventoCalificacionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventoCalificacionServiceImplTest {
+
+	@Mock
+	private EventoCalificacionRepository eventoCalificacionRepository;
+
+	@InjectMocks
+	private EventoCalificacionServiceImpl servicio;
+
+	@Test
+	void laConsultaIncrementalSeDetieneEnElPrimerEventoDentroDelPeriodoDeGracia() {
+		LocalDateTime antiguo = LocalDateTime.now().minusMinutes(5);
+		List<EventoCalificacion> bandeja = List.of(evento(5L, antiguo), evento(6L, antiguo),
+				evento(7L, LocalDateTime.now()), evento(8L, antiguo));
+		when(eventoCalificacionRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+				.thenAnswer(invocacion -> bandeja.stream().filter(e -> e.getId() > invocacion.<Long>getArgument(0))
+						.limit(invocacion.<Pageable>getArgument(1).getPageSize()).toList());
+		ReflectionTestUtils.setField(servicio, "graciaMs", 60_000L);
+
+		assertEquals(List.of(5L, 6L), ids(servicio.obtenerEventosDesde(4L, 100)));
+		assertEquals(List.of(5L), ids(servicio.obtenerEventosDesde(4L, 1)));
+		assertEquals(List.of(), ids(servicio.obtenerEventosDesde(6L, 100)));
+
+		ReflectionTestUtils.setField(servicio, "graciaMs", 0L);
+		assertEquals(List.of(7L, 8L), ids(servicio.obtenerEventosDesde(6L, 100)));
+	}
+
+	private static List<Long> ids(List<EventoCalificacion> eventos) {
+		return eventos.stream().map(EventoCalificacion::getId).toList();
+	}
+
+	private static EventoCalificacion evento(Long id, LocalDateTime fecha) {
+		EventoCalificacion evento = new EventoCalificacion();
+		evento.setId(id);
+		evento.setFecha(fecha);
+		return evento;
+	}
+}
@@ -0,0 +1,123 @@
+package com.example.escuela.service.impl;
+
+import com.example.escuela.model.Alumno;
+import com.example.escuela.model.Asignatura;
+import com.example.escuela.model.Calificacion;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.service.EscuelaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HistorialCalificacionServiceImplTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private EscuelaService escuelaService;
+
+	@InjectMocks
+	private HistorialCalificacionServiceImpl servicio;
+
+	/**
+	 * Id de calificación de cada cambio insertado, en orden.
+	 */
+	private final List<Integer> insertados = new ArrayList<>();
+
+	/**
+	 * Lotes que intentó insertar la plantilla, incluidos los que fallaron.
+	 */
+	private final List<Integer> lotes = new ArrayList<>();
+
+	private boolean fallar;
+
+	@BeforeEach
+	void configurar() {
+		doAnswer(invocacion -> {
+			Collection<?> cambios = invocacion.getArgument(1);
+			lotes.add(cambios.size());
+			if (fallar) {
+				throw new QueryTimeoutException("Se perdió la conexión");
+			}
+			for (Object cambio : cambios) {
+				insertados.add((Integer) ReflectionTestUtils.getField(cambio, "idCalificacion"));
+			}
+			return new int[0][];
+		}).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(),
+				any(ParameterizedPreparedStatementSetter.class));
+		when(escuelaService.actual()).thenReturn("principal");
+		ReflectionTestUtils.setField(servicio, "capacidadCola", 2);
+		ReflectionTestUtils.setField(servicio, "tamanioLote", 500);
+		ReflectionTestUtils.setField(servicio, "esperaMaximaMs", 10L);
+		ReflectionTestUtils.setField(servicio, "actorSistema", "sistema");
+		servicio.iniciar();
+	}
+
+	@Test
+	void descartaLosCambiosQueNoCabenEnLaCola() {
+		for (int id = 1; id <= 3; id++) {
+			registrar(id);
+		}
+
+		assertEquals(1, descartados());
+		servicio.vaciarPendientes();
+		assertEquals(List.of(1, 2), insertados);
+	}
+
+	@Test
+	void reintentaElLoteQueFallaAntesQueLosCambiosNuevos() {
+		registrar(1);
+		registrar(2);
+		fallar = true;
+		servicio.vaciarPendientes();
+		assertEquals(List.of(2), lotes);
+		assertEquals(List.of(), insertados);
+
+		registrar(3);
+		registrar(4);
+		fallar = false;
+		servicio.vaciarPendientes();
+
+		assertEquals(List.of(1, 2, 3, 4), insertados);
+		assertEquals(List.of(2, 4), lotes);
+		assertEquals(0, descartados());
+	}
+
+	private void registrar(int idCalificacion) {
+		Alumno alumno = new Alumno();
+		alumno.setId(10);
+		Asignatura asignatura = new Asignatura();
+		asignatura.setId(20);
+		Calificacion calificacion = new Calificacion();
+		calificacion.setId(idCalificacion);
+		calificacion.setAlumno(alumno);
+		calificacion.setAsignatura(asignatura);
+		servicio.registrar(calificacion, null, Puntaje.valueOf("80"));
+	}
+
+	private long descartados() {
+		return ((LongAdder) ReflectionTestUtils.getField(servicio, "descartados")).sum();
+	}
+}
@@ -0,0 +1,144 @@
+package com.example.escuela.service.impl;
+
+import com.example.dto.FilaCalificacionDTO;
+import com.example.dto.PosicionRankingDTO;
+import com.example.escuela.excepciones.CalificacionExcepcion;
+import com.example.escuela.model.Puntaje;
+import com.example.escuela.repository.CalificacionRepository;
+import com.example.escuela.service.EscuelaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RankingServiceImplTest {
+
+	@Mock
+	private CalificacionRepository calificacionRepository;
+
+	@Mock
+	private EscuelaService escuelaService;
+
+	@InjectMocks
+	private RankingServiceImpl servicio;
+
+	/**
+	 * Grado 1: Ana (90, 70; promedio 80), Beto (90, 100; promedio 95) y Carla
+	 * (95, 50; promedio 72.5) en las asignaturas 10 y 11.
+	 */
+	private static final List<FilaCalificacionDTO> FILAS = List.of(
+			fila(1, 1, 10, "90"), fila(1, 1, 11, "70"),
+			fila(2, 1, 10, "90"), fila(2, 1, 11, "100"),
+			fila(3, 1, 10, "95"), fila(3, 1, 11, "50"));
+
+	@BeforeEach
+	void configurar() {
+		when(escuelaService.actual()).thenReturn("escuela");
+	}
+
+	@Test
+	void ordenaPorCalificacionYDesempataPorPromedio() {
+		reconstruir(FILAS);
+
+		assertThat(servicio.obtenerRankingAsignatura(10, 10))
+				.extracting(PosicionRankingDTO::getPosicion, PosicionRankingDTO::getId_alumno,
+						PosicionRankingDTO::getTotal)
+				.containsExactly(tuple(1, 3, 3), tuple(2, 2, 3), tuple(3, 1, 3));
+		assertThat(servicio.obtenerRankingGrado(1, 10))
+				.extracting(PosicionRankingDTO::getId_alumno, PosicionRankingDTO::getCalificacion)
+				.containsExactly(tuple(2, Puntaje.valueOf("95")), tuple(1, Puntaje.valueOf("80")),
+						tuple(3, Puntaje.valueOf("72.5")));
+		assertThat(servicio.obtenerRankingAsignatura(10, 2)).hasSize(2);
+		assertThat(servicio.obtenerRankingAsignatura(99, 10)).isEmpty();
+	}
+
+	@Test
+	void obtieneLaPosicionDeUnAlumnoEnSuAsignaturaYEnSuGrado() {
+		reconstruir(FILAS);
+
+		PosicionRankingDTO enAsignatura = servicio.obtenerPosicionEnAsignatura(10, 2);
+		assertThat(enAsignatura.getPosicion()).isEqualTo(2);
+		assertThat(enAsignatura.getTotal()).isEqualTo(3);
+		assertThat(enAsignatura.getCalificacion()).isEqualTo(Puntaje.valueOf("90"));
+		assertThat(enAsignatura.getPromedio()).isEqualTo(95.0);
+		assertThat(servicio.obtenerPosicionEnGrado(1, 3).getPosicion()).isEqualTo(3);
+
+		assertThatThrownBy(() -> servicio.obtenerPosicionEnAsignatura(12, 1))
+				.isInstanceOf(CalificacionExcepcion.class);
+		assertThatThrownBy(() -> servicio.obtenerPosicionEnGrado(2, 1)).isInstanceOf(CalificacionExcepcion.class);
+		assertThatThrownBy(() -> servicio.obtenerPosicionEnGrado(1, 99)).isInstanceOf(CalificacionExcepcion.class);
+	}
+
+	@Test
+	void aplicaLosCambiosSinReconstruir() {
+		reconstruir(FILAS);
+
+		servicio.registrarCalificacion(4, 1, 10, Puntaje.valueOf("99"));
+		assertThat(servicio.obtenerPosicionEnAsignatura(10, 4).getPosicion()).isEqualTo(1);
+		assertThat(servicio.obtenerPosicionEnAsignatura(10, 3).getPosicion()).isEqualTo(2);
+
+		// Ana sube su promedio a 95 y empata con Beto; desempata el menor id.
+		servicio.registrarCalificacion(1, 1, 11, Puntaje.valueOf("100"));
+		assertThat(servicio.obtenerRankingAsignatura(10, 10)).extracting(PosicionRankingDTO::getId_alumno)
+				.containsExactly(4, 3, 1, 2);
+		assertThat(servicio.obtenerPosicionEnGrado(1, 4).getCalificacion()).isEqualTo(Puntaje.valueOf("99"));
+
+		servicio.eliminarCalificacion(3, 10);
+		assertThat(servicio.obtenerRankingAsignatura(10, 10)).extracting(PosicionRankingDTO::getId_alumno)
+				.containsExactly(4, 1, 2);
+		assertThat(servicio.obtenerPosicionEnGrado(1, 3).getCalificacion()).isEqualTo(Puntaje.valueOf("50"));
+		assertThatThrownBy(() -> servicio.obtenerPosicionEnAsignatura(10, 3))
+				.isInstanceOf(CalificacionExcepcion.class);
+
+		servicio.cambiarGrado(2, 2);
+		assertThat(servicio.obtenerRankingGrado(1, 10)).extracting(PosicionRankingDTO::getId_alumno)
+				.containsExactly(4, 1, 3);
+		assertThat(servicio.obtenerRankingGrado(2, 10)).extracting(PosicionRankingDTO::getId_alumno)
+				.containsExactly(2);
+		assertThat(servicio.obtenerPosicionEnAsignatura(10, 2).getPosicion()).isEqualTo(3);
+	}
+
+	@Test
+	void unCambioDuranteLaReconstruccionNoSePierde() throws Exception {
+		CountDownLatch leyendo = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+		when(calificacionRepository.obtenerFilas()).thenAnswer(invocacion -> {
+			leyendo.countDown();
+			assertThat(liberar.await(5, TimeUnit.SECONDS)).isTrue();
+			return FILAS;
+		});
+		Thread reconstruccion = new Thread(servicio::reconstruir);
+		reconstruccion.start();
+		assertThat(leyendo.await(5, TimeUnit.SECONDS)).isTrue();
+
+		servicio.registrarCalificacion(5, 1, 10, Puntaje.valueOf("60"));
+		servicio.eliminarCalificacion(1, 10);
+		liberar.countDown();
+		reconstruccion.join(5000);
+
+		assertThat(servicio.obtenerRankingAsignatura(10, 10)).extracting(PosicionRankingDTO::getId_alumno)
+				.containsExactly(3, 2, 5);
+		assertThat(servicio.obtenerPosicionEnGrado(1, 1).getCalificacion()).isEqualTo(Puntaje.valueOf("70"));
+	}
+
+	private void reconstruir(List<FilaCalificacionDTO> filas) {
+		when(calificacionRepository.obtenerFilas()).thenReturn(filas);
+		servicio.reconstruir();
+	}
+
+	private static FilaCalificacionDTO fila(int idAlumno, int idGrado, int idAsignatura, String calificacion) {
+		return new FilaCalificacionDTO(idAlumno, idGrado, idAsignatura, Puntaje.valueOf(calificacion));
+	}
+}